@@ -21,6 +21,7 @@
 import com.rapiddweller.common.Expression;
 import com.rapiddweller.common.ParseUtil;
 import com.rapiddweller.common.StringUtil;
+import com.rapiddweller.common.context.DefaultContext;
 import com.rapiddweller.common.exception.ExceptionFactory;
 import com.rapiddweller.common.exception.SyntaxError;
 import com.rapiddweller.script.antlr.DatabeneScriptLexer;
@@ -36,6 +37,7 @@
 import com.rapiddweller.script.expression.ConstantExpression;
 import com.rapiddweller.script.expression.DivisionExpression;
 import com.rapiddweller.script.expression.EqualsExpression;
+import com.rapiddweller.script.expression.ExpressionUtil;
 import com.rapiddweller.script.expression.FieldExpression;
 import com.rapiddweller.script.expression.ForNameExpression;
 import com.rapiddweller.script.expression.GreaterExpression;
@@ -56,6 +58,9 @@
 import com.rapiddweller.script.expression.TypeConvertingExpression;
 import com.rapiddweller.script.expression.UnaryMinusExpression;
 import com.rapiddweller.script.expression.UnsignedRightShiftExpression;
+import com.rapiddweller.script.parser.PrattScriptParser;
+import com.rapiddweller.script.parser.ScriptLexer;
+import com.rapiddweller.script.parser.StreamingListParser;
 import org.antlr.runtime.ANTLRReaderStream;
 import org.antlr.runtime.CommonToken;
 import org.antlr.runtime.CommonTokenStream;
@@ -66,6 +71,7 @@
 import org.slf4j.Logger;
 
 import java.io.IOException;
+import java.io.Reader;
 import java.io.StringReader;
 import java.util.List;
 import java.util.Objects;
@@ -84,24 +90,85 @@ public class DatabeneScriptParser {
   private static final WeightedSample<?>[] NO_SAMPLES = {};
   public static final String ILLEGAL_STATE_IN_REGEX_PARSING = "Encountered illegal state in regex parsing";
 
+  private static final String RULE_EXPRESSION = "expression";
+  private static final String RULE_BEAN_SPEC = "beanSpec";
+  private static final String RULE_WEIGHTED_LITERAL_LIST = "weightedLiteralList";
+  private static final String RULE_TRANSITION_LIST = "transitionList";
+
+  private static volatile ParseCache parseCache = null;
+  private static volatile ParserBackend backend = ParserBackend.ANTLR;
+  private static volatile boolean constantFolding = false;
+
   // interface -------------------------------------------------------------------------------------------------------
 
   private DatabeneScriptParser() {
     // private constructor to prevent instantiation of this utility class
   }
 
+  /** Returns the {@link ParseCache} used by the parse methods or null if caching is disabled (default). */
+  public static ParseCache getParseCache() {
+    return parseCache;
+  }
+
+  /** Activates caching of parse results with the given cache, or deactivates it if the argument is null. */
+  public static void setParseCache(ParseCache cache) {
+    parseCache = cache;
+  }
+
+  /** Returns the parser implementation used by the parse methods. */
+  public static ParserBackend getBackend() {
+    return backend;
+  }
+
+  /** Selects the parser implementation to be used by the parse methods.
+   *  Switching the backend clears the parse cache, since the backends weight their results differently. */
+  public static void setBackend(ParserBackend backend) {
+    if (Objects.requireNonNull(backend) != DatabeneScriptParser.backend) {
+      DatabeneScriptParser.backend = backend;
+      clearParseCache();
+    }
+  }
+
+  /** Tells if {@link #parseExpression(String)} folds constant subexpressions of its results. */
+  public static boolean isConstantFolding() {
+    return constantFolding;
+  }
+
+  /** Activates or deactivates constant folding of parsed expressions (default: deactivated).
+   *  @see ExpressionUtil#foldConstants(Expression, Context) */
+  public static void setConstantFolding(boolean constantFolding) {
+    if (constantFolding != DatabeneScriptParser.constantFolding) {
+      DatabeneScriptParser.constantFolding = constantFolding;
+      clearParseCache();
+    }
+  }
+
   public static WeightedSample<?>[] parseWeightedLiteralList(String text) throws SyntaxError {
     if (StringUtil.isEmpty(text)) {
       return new WeightedSample[0];
     }
+    ParserBackend currentBackend = backend;
+    String cacheRule = cacheRule(RULE_WEIGHTED_LITERAL_LIST, currentBackend, false);
+    WeightedSample<?>[] cached = (WeightedSample<?>[]) lookup(cacheRule, text);
+    if (cached != null) {
+      return copy(cached);
+    }
+    if (currentBackend == ParserBackend.PRATT) {
+      PrattScriptParser parser = new PrattScriptParser(text);
+      WeightedSample<?>[] result = parser.parseWeightedLiteralList();
+      store(cacheRule, text, parser.getTokenCount(), copy(result));
+      return result;
+    }
     try {
       com.rapiddweller.script.antlr.DatabeneScriptParser parser = parser(text);
       com.rapiddweller.script.antlr.DatabeneScriptParser.weightedLiteralList_return r = parser.weightedLiteralList();
-      checkForSyntaxErrors(text, "weightedLiteralList", parser, r);
+      checkForSyntaxErrors(text, RULE_WEIGHTED_LITERAL_LIST, parser, r);
       if (r != null) {
         CommonTree tree = (CommonTree) r.getTree();
         logParseResult(text, tree);
-        return convertWeightedLiteralList(tree);
+        WeightedSample<?>[] result = convertWeightedLiteralList(tree);
+        store(cacheRule, text, treeSize(tree), copy(result));
+        return result;
       } else {
         return NO_SAMPLES;
       }
@@ -119,17 +186,43 @@ public static WeightedSample<?>[] parseWeightedLiteralList(String text) throws S
     }
   }
 
+  /** Parses a weighted literal list from a character stream into a {@link WeightedLiteralTable}
+   *  without materializing the text or a syntax tree. Weights must be numeric literals. */
+  public static WeightedLiteralTable parseWeightedLiteralTable(Reader in) throws SyntaxError {
+    return new StreamingListParser(new ScriptLexer(in)).parseWeightedLiteralTable();
+  }
+
+  /** Parses a weighted literal list into a {@link WeightedLiteralTable}. Weights must be numeric literals. */
+  public static WeightedLiteralTable parseWeightedLiteralTable(CharSequence text) throws SyntaxError {
+    return new StreamingListParser(new ScriptLexer(text)).parseWeightedLiteralTable();
+  }
+
   public static Expression<?> parseExpression(String text) throws SyntaxError {
     if (StringUtil.isEmpty(text)) {
       return null;
     }
+    ParserBackend currentBackend = backend;
+    boolean folding = constantFolding;
+    String cacheRule = cacheRule(RULE_EXPRESSION, currentBackend, folding);
+    Expression<?> cached = (Expression<?>) lookup(cacheRule, text);
+    if (cached != null) {
+      return cached;
+    }
+    if (currentBackend == ParserBackend.PRATT) {
+      PrattScriptParser parser = new PrattScriptParser(text);
+      Expression<?> result = foldIf(folding, parser.parseExpression());
+      store(cacheRule, text, parser.getTokenCount(), result);
+      return result;
+    }
     try {
       com.rapiddweller.script.antlr.DatabeneScriptParser parser = parser(text);
       com.rapiddweller.script.antlr.DatabeneScriptParser.expression_return r = parser.expression();
-      checkForSyntaxErrors(text, "expression", parser, r);
+      checkForSyntaxErrors(text, RULE_EXPRESSION, parser, r);
       CommonTree tree = (CommonTree) r.getTree();
       logParseResult(text, tree);
-      return convertNode(tree);
+      Expression<?> result = foldIf(folding, convertNode(tree));
+      store(cacheRule, text, treeSize(tree), result);
+      return result;
     } catch (RuntimeException e) {
       if (e.getCause() instanceof RecognitionException) {
         throw mapToSyntaxError((RecognitionException) e.getCause(), text);
@@ -143,18 +236,43 @@ public static Expression<?> parseExpression(String text) throws SyntaxError {
     }
   }
 
+  /** Parses a transition list from a character stream into a sparse {@link TransitionMatrix}
+   *  without materializing the text or a syntax tree. Weights must be numeric literals. */
+  public static TransitionMatrix parseTransitionMatrix(Reader in) throws SyntaxError {
+    return new StreamingListParser(new ScriptLexer(in)).parseTransitionMatrix();
+  }
+
+  /** Parses a transition list into a sparse {@link TransitionMatrix}. Weights must be numeric literals. */
+  public static TransitionMatrix parseTransitionMatrix(CharSequence text) throws SyntaxError {
+    return new StreamingListParser(new ScriptLexer(text)).parseTransitionMatrix();
+  }
+
   public static WeightedTransition[] parseTransitionList(String text) throws SyntaxError {
     if (StringUtil.isEmpty(text)) {
       return NO_TRANSITIONS;
     }
+    ParserBackend currentBackend = backend;
+    String cacheRule = cacheRule(RULE_TRANSITION_LIST, currentBackend, false);
+    WeightedTransition[] cached = (WeightedTransition[]) lookup(cacheRule, text);
+    if (cached != null) {
+      return cached.clone();
+    }
+    if (currentBackend == ParserBackend.PRATT) {
+      PrattScriptParser parser = new PrattScriptParser(text);
+      WeightedTransition[] result = parser.parseTransitionList();
+      store(cacheRule, text, parser.getTokenCount(), result.clone());
+      return result;
+    }
     try {
       com.rapiddweller.script.antlr.DatabeneScriptParser parser = parser(text);
       com.rapiddweller.script.antlr.DatabeneScriptParser.transitionList_return r = parser.transitionList();
-      checkForSyntaxErrors(text, "transitionList", parser, r);
+      checkForSyntaxErrors(text, RULE_TRANSITION_LIST, parser, r);
       if (r != null) {
         CommonTree tree = (CommonTree) r.getTree();
         logParseResult(text, tree);
-        return convertTransitionList(tree);
+        WeightedTransition[] result = convertTransitionList(tree);
+        store(cacheRule, text, treeSize(tree), result.clone());
+        return result;
       } else {
         return NO_TRANSITIONS;
       }
@@ -176,6 +294,9 @@ public static Expression<?>[] parseBeanSpecList(String text) throws SyntaxError
     if (StringUtil.isEmpty(text)) {
       return NO_EXPRESSIONS;
     }
+    if (backend == ParserBackend.PRATT) {
+      return new PrattScriptParser(text).parseBeanSpecList();
+    }
     CommonTree tree = parseBeanSpecListAsTree(text);
     return convertBeanSpecList(Objects.requireNonNull(tree));
   }
@@ -212,6 +333,9 @@ public static BeanSpec[] resolveBeanSpecList(String text, Context context) {
     if (StringUtil.isEmpty(text)) {
       return null;
     }
+    if (backend == ParserBackend.PRATT) {
+      return new PrattScriptParser(text).resolveBeanSpecList(context);
+    }
     CommonTree tree = parseBeanSpecListAsTree(text);
     return resolveBeanSpecList(Objects.requireNonNull(tree), context);
   }
@@ -220,16 +344,30 @@ public static Expression<?> parseBeanSpec(String text) throws SyntaxError {
     if (StringUtil.isEmpty(text)) {
       return null;
     }
+    ParserBackend currentBackend = backend;
+    String cacheRule = cacheRule(RULE_BEAN_SPEC, currentBackend, false);
+    Expression<?> cached = (Expression<?>) lookup(cacheRule, text);
+    if (cached != null) {
+      return cached;
+    }
+    if (currentBackend == ParserBackend.PRATT) {
+      PrattScriptParser parser = new PrattScriptParser(text);
+      Expression<?> result = parser.parseBeanSpec();
+      store(cacheRule, text, parser.getTokenCount(), result);
+      return result;
+    }
     try {
       com.rapiddweller.script.antlr.DatabeneScriptParser parser = parser(text);
       com.rapiddweller.script.antlr.DatabeneScriptParser.beanSpec_return r = parser.beanSpec();
-      checkForSyntaxErrors(text, "beanSpec", parser, r);
+      checkForSyntaxErrors(text, RULE_BEAN_SPEC, parser, r);
       if (r != null) {
         CommonTree tree = (CommonTree) r.getTree();
         if (logger.isDebugEnabled()) {
           logParseResult(text, tree);
         }
-        return convertBeanSpec(tree);
+        Expression<?> result = convertBeanSpec(tree);
+        store(cacheRule, text, treeSize(tree), result);
+        return result;
       } else {
         return null;
       }
@@ -250,10 +388,13 @@ public static BeanSpec resolveBeanSpec(String text, Context context) throws Synt
     if (StringUtil.isEmpty(text)) {
       return null;
     }
+    if (backend == ParserBackend.PRATT) {
+      return new PrattScriptParser(text).resolveBeanSpec(context);
+    }
     try {
       com.rapiddweller.script.antlr.DatabeneScriptParser parser = parser(text);
       com.rapiddweller.script.antlr.DatabeneScriptParser.beanSpec_return r = parser.beanSpec();
-      checkForSyntaxErrors(text, "beanSpec", parser, r);
+      checkForSyntaxErrors(text, RULE_BEAN_SPEC, parser, r);
       if (r != null) {
         CommonTree tree = (CommonTree) r.getTree();
         if (logger.isDebugEnabled()) {
@@ -278,6 +419,43 @@ public static BeanSpec resolveBeanSpec(String text, Context context) throws Synt
 
   // private helpers -------------------------------------------------------------------------------------------------
 
+  private static Expression<?> foldIf(boolean folding, Expression<?> expression) {
+    return (folding && expression != null ? ExpressionUtil.foldConstants(expression, new DefaultContext()) : expression);
+  }
+
+  /** Qualifies the rule name with the settings which were used for parsing, so that a result is only
+   *  returned from the cache to callers which use the same settings, even if they are changed during parsing. */
+  private static String cacheRule(String rule, ParserBackend backend, boolean folding) {
+    return rule + '/' + backend + (folding ? "/folded" : "");
+  }
+
+  private static void clearParseCache() {
+    ParseCache cache = parseCache;
+    if (cache != null) {
+      cache.clear();
+    }
+  }
+
+  private static Object lookup(String rule, String text) {
+    ParseCache cache = parseCache;
+    return (cache != null ? cache.get(rule, text) : null);
+  }
+
+  private static void store(String rule, String text, int weight, Object result) {
+    ParseCache cache = parseCache;
+    if (cache != null) {
+      cache.put(rule, text, result, weight);
+    }
+  }
+
+  private static WeightedSample<?>[] copy(WeightedSample<?>[] samples) {
+    WeightedSample<?>[] result = new WeightedSample<?>[samples.length];
+    for (int i = 0; i < samples.length; i++) {
+      result[i] = new WeightedSample<>(samples[i].getValue(), samples[i].getWeight());
+    }
+    return result;
+  }
+
   private static void checkForSyntaxErrors(String text, String type,
                                            com.rapiddweller.script.antlr.DatabeneScriptParser parser, ParserRuleReturnScope r) {
     if (parser.getNumberOfSyntaxErrors() > 0) {
@@ -791,6 +969,14 @@ private static void logParseResult(String input, CommonTree result) {
 
   // CommonTree helpers ----------------------------------------------------------------------------------------------
 
+  private static int treeSize(CommonTree node) {
+    int size = 1;
+    for (int i = 0; i < node.getChildCount(); i++) {
+      size += treeSize(childAt(i, node));
+    }
+    return size;
+  }
+
   private static CommonTree childAt(int index, CommonTree node) {
     return (CommonTree) node.getChild(index);
   }
@@ -19,9 +19,30 @@
 import com.rapiddweller.common.Expression;
 import com.rapiddweller.common.Filter;
 import com.rapiddweller.common.context.ContextHolder;
+import com.rapiddweller.script.expression.PrimitiveExpression;
+import com.rapiddweller.script.expression.PrimitiveValue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
 
 /**
- * {@link Filter} implementation based on a boolean filter {@link Expression}.<br/><br/>
+ * {@link Filter} implementation based on a boolean filter {@link Expression}.
+ * If the expression is a {@link PrimitiveExpression}, it is evaluated without boxing.
+ * The method {@link #accept(Object)} binds the candidate as '_candidate' in the context and must not be
+ * called concurrently. The bulk methods {@link #filter(Iterable)} and {@link #filter(Stream)} check
+ * the candidates in parallel, binding them in a {@link SlotContext} per thread and operation, which reads
+ * all other variables from the filter's context. Variables which the expression sets, e.g. by assignments,
+ * are kept in a {@link LayeredScriptContext} per thread, so the filter's context is only read
+ * and must not be modified during a bulk operation. The throughput of the bulk methods
+ * is reported per thread name by {@link #getThroughput()}.<br/><br/>
  * Created: 08.03.2011 12:00:26
  * @param <E> the type parameter
  * @author Volker Bergmann
@@ -29,17 +50,178 @@
  */
 public class ExpressionBasedFilter<E> extends ContextHolder implements Filter<E> {
 
+  private static final String CANDIDATE = "_candidate";
+  private static final VariableSlots CANDIDATE_SLOTS = new VariableSlots(CANDIDATE);
+  /** the minimum number of candidates which is checked by one fork/join task */
+  private static final int MIN_CHUNK_SIZE = 256;
+
   protected final Expression<Boolean> expression;
+  private final PrimitiveValue result;
+  private final ConcurrentMap<String, ThreadStatistics> statistics;
 
   public ExpressionBasedFilter(Expression<Boolean> expression, Context context) {
     super(context);
     this.expression = expression;
+    this.result = (expression instanceof PrimitiveExpression ? new PrimitiveValue() : null);
+    this.statistics = new ConcurrentHashMap<>();
   }
 
   @Override
   public boolean accept(E candidate) {
-    context.set("_candidate", candidate);
+    context.set(CANDIDATE, candidate);
+    return evaluate(context, result);
+  }
+
+  /** Checks the candidates in parallel in the common {@link ForkJoinPool}
+   *  and returns the accepted ones in their original order. */
+  public List<E> filter(Iterable<? extends E> candidates) {
+    return filter(candidates, ForkJoinPool.commonPool());
+  }
+
+  /** Checks the candidates in parallel in the given {@link ForkJoinPool}
+   *  and returns the accepted ones in their original order. */
+  public List<E> filter(Iterable<? extends E> candidates, ForkJoinPool pool) {
+    List<? extends E> list = toRandomAccessList(candidates);
+    boolean[] accepted = new boolean[list.size()];
+    int chunkSize = Math.max(MIN_CHUNK_SIZE, list.size() / (pool.getParallelism() * 4));
+    pool.invoke(new FilterTask(list, 0, list.size(), chunkSize, accepted, new ConcurrentHashMap<>()));
+    List<E> result = new ArrayList<>();
+    for (int i = 0; i < accepted.length; i++) {
+      if (accepted[i]) {
+        result.add(list.get(i));
+      }
+    }
+    return result;
+  }
+
+  /** Returns a parallel stream of the accepted candidates, which keeps the encounter order of the input. */
+  public Stream<E> filter(Stream<E> candidates) {
+    Map<Thread, Worker> workers = new ConcurrentHashMap<>();
+    return candidates.parallel().filter(candidate -> {
+      Worker worker = worker(workers);
+      long start = System.nanoTime();
+      boolean accepted = worker.accept(candidate);
+      worker.statistics.nanos.add(System.nanoTime() - start);
+      return accepted;
+    });
+  }
+
+  /** Reports the candidates checked per thread by the bulk methods so far.
+   *  The numbers are complete for operations which have finished. */
+  public List<FilterThroughput> getThroughput() {
+    List<FilterThroughput> result = new ArrayList<>(statistics.size());
+    for (Map.Entry<String, ThreadStatistics> entry : statistics.entrySet()) {
+      ThreadStatistics stats = entry.getValue();
+      result.add(new FilterThroughput(
+          entry.getKey(), stats.candidates.sum(), stats.accepted.sum(), stats.nanos.sum()));
+    }
+    return result;
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private boolean evaluate(Context context, PrimitiveValue result) {
+    if (result != null) {
+      ((PrimitiveExpression<Boolean>) expression).evaluatePrimitive(context, result);
+      return result.booleanValue();
+    }
     return expression.evaluate(context);
   }
 
+  /** Returns the worker of the current thread in a bulk operation. The workers are kept per operation,
+   *  so that they and their contexts can be collected when the operation is done. */
+  private Worker worker(Map<Thread, Worker> workers) {
+    Thread thread = Thread.currentThread();
+    Worker result = workers.get(thread);
+    if (result == null) {
+      result = new Worker(thread.getName());
+      workers.put(thread, result);
+    }
+    return result;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> List<? extends T> toRandomAccessList(Iterable<? extends T> candidates) {
+    if (candidates instanceof List && candidates instanceof RandomAccess) {
+      return (List<? extends T>) candidates;
+    }
+    List<T> result = new ArrayList<>();
+    for (T candidate : candidates) {
+      result.add(candidate);
+    }
+    return result;
+  }
+
+  /** Holds the context of one thread in a bulk operation. It is only used by that thread. */
+  private final class Worker {
+
+    final SlotContext context;
+    final PrimitiveValue result;
+    final ThreadStatistics statistics;
+
+    Worker(String threadName) {
+      Context layer = new LayeredScriptContext(ExpressionBasedFilter.this.context);
+      this.context = new SlotContext(CANDIDATE_SLOTS, layer);
+      this.result = (ExpressionBasedFilter.this.result != null ? new PrimitiveValue() : null);
+      this.statistics = ExpressionBasedFilter.this.statistics.computeIfAbsent(
+          threadName, name -> new ThreadStatistics());
+    }
+
+    boolean accept(E candidate) {
+      context.setSlot(0, candidate);
+      boolean value = evaluate(context, result);
+      statistics.candidates.increment();
+      if (value) {
+        statistics.accepted.increment();
+      }
+      return value;
+    }
+  }
+
+  /** The numbers of candidates checked and accepted by the threads of a name and the time they took. */
+  private static final class ThreadStatistics {
+    final LongAdder candidates = new LongAdder();
+    final LongAdder accepted = new LongAdder();
+    final LongAdder nanos = new LongAdder();
+  }
+
+  /** Checks the candidates of an index range, splitting it in halves down to the chunk size. */
+  private final class FilterTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<? extends E> candidates;
+    private final int from;
+    private final int to;
+    private final int chunkSize;
+    private final boolean[] accepted;
+    private final Map<Thread, Worker> workers;
+
+    FilterTask(List<? extends E> candidates, int from, int to, int chunkSize, boolean[] accepted,
+        Map<Thread, Worker> workers) {
+      this.candidates = candidates;
+      this.from = from;
+      this.to = to;
+      this.chunkSize = chunkSize;
+      this.accepted = accepted;
+      this.workers = workers;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from > chunkSize) {
+        int middle = (from + to) >>> 1;
+        invokeAll(new FilterTask(candidates, from, middle, chunkSize, accepted, workers),
+            new FilterTask(candidates, middle, to, chunkSize, accepted, workers));
+        return;
+      }
+      Worker worker = worker(workers);
+      long start = System.nanoTime();
+      for (int i = from; i < to; i++) {
+        accepted[i] = worker.accept(candidates.get(i));
+      }
+      worker.statistics.nanos.add(System.nanoTime() - start);
+    }
+  }
+
 }
@@ -0,0 +1,52 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script;
+
+/**
+ * Reports how many candidates one thread has checked in the bulk operations of an
+ * {@link ExpressionBasedFilter}, how many of them were accepted and how long it took.<br/><br/>
+ * Created: 18.10.2026 20:41:16
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public class FilterThroughput {
+
+  private final String threadName;
+  private final long candidates;
+  private final long accepted;
+  private final long nanos;
+
+  public FilterThroughput(String threadName, long candidates, long accepted, long nanos) {
+    this.threadName = threadName;
+    this.candidates = candidates;
+    this.accepted = accepted;
+    this.nanos = nanos;
+  }
+
+  public String getThreadName() {
+    return threadName;
+  }
+
+  public long getCandidates() {
+    return candidates;
+  }
+
+  public long getAccepted() {
+    return accepted;
+  }
+
+  public long getNanos() {
+    return nanos;
+  }
+
+  public double getCandidatesPerSecond() {
+    return (nanos > 0 ? candidates * 1e9 / nanos : 0.);
+  }
+
+  @Override
+  public String toString() {
+    return threadName + ": " + accepted + " of " + candidates + " accepted, "
+        + Math.round(getCandidatesPerSecond()) + " candidates/s";
+  }
+
+}
@@ -0,0 +1,210 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script;
+
+import com.rapiddweller.common.Context;
+import com.rapiddweller.common.bean.ClassCache;
+import com.rapiddweller.common.bean.ClassProvider;
+import com.rapiddweller.common.bean.DefaultClassProvider;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link ScriptContext} which overlays a shared parent context with local variables. All writes,
+ * e.g. by assignments, go to the overlay, the parent is only read, so any number of layered contexts
+ * can use the same parent concurrently, as long as the parent itself is not modified meanwhile.
+ * The overlay is a small array of names and values which is allocated on the first write, imports
+ * create a local class cache on the first import. A layered context itself is not thread-safe.
+ * It is intended to be used by one thread or task at a time and to be reused for its evaluations
+ * by {@link #reset()}, since expressions cache their resolutions per context.
+ * It does not rely on thread-local state, so it works the same in platform and virtual threads.<br/><br/>
+ * Created: 18.10.2026 21:02:25
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public class LayeredScriptContext implements ScriptContext {
+
+  /** marks a variable which has been removed locally and hides the parent's variable */
+  private static final Object REMOVED = new Object();
+  private static final int INITIAL_CAPACITY = 4;
+
+  private final Context parent;
+  private String[] keys;
+  private Object[] values;
+  private int size;
+  private ClassCache classCache;
+
+  /** Creates a layer over the parent. Classes are resolved by the parent if it is a {@link ClassProvider}. */
+  public LayeredScriptContext(Context parent) {
+    this.parent = parent;
+    this.keys = null;
+    this.values = null;
+    this.size = 0;
+    this.classCache = null;
+  }
+
+  public Context getParent() {
+    return parent;
+  }
+
+  /** Tells if the variable has been set or removed in this layer. */
+  public boolean isLocal(String key) {
+    return (indexOf(key) >= 0);
+  }
+
+  /** Tells if classes or packages have been imported in this layer. */
+  boolean hasImports() {
+    return (classCache != null);
+  }
+
+  /** Discards all local variables and imports, keeping the allocated arrays for reuse. */
+  public void reset() {
+    if (size > 0) {
+      Arrays.fill(keys, 0, size, null);
+      Arrays.fill(values, 0, size, null);
+      size = 0;
+    }
+    classCache = null;
+  }
+
+  // Context interface implementation --------------------------------------------------------------------------------
+
+  @Override
+  public Object get(String key) {
+    int index = indexOf(key);
+    if (index >= 0) {
+      Object value = values[index];
+      return (value != REMOVED ? value : null);
+    }
+    return parent.get(key);
+  }
+
+  @Override
+  public void set(String key, Object value) {
+    int index = indexOf(key);
+    if (index >= 0) {
+      values[index] = value;
+    } else {
+      append(key, value);
+    }
+  }
+
+  @Override
+  public void remove(String key) {
+    set(key, REMOVED);
+  }
+
+  @Override
+  public boolean contains(String key) {
+    int index = indexOf(key);
+    return (index >= 0 ? values[index] != REMOVED : parent.contains(key));
+  }
+
+  @Override
+  public Set<String> keySet() {
+    Set<String> result = new LinkedHashSet<>(parent.keySet());
+    for (int i = 0; i < size; i++) {
+      if (values[i] != REMOVED) {
+        result.add(keys[i]);
+      } else {
+        result.remove(keys[i]);
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public Set<Map.Entry<String, Object>> entrySet() {
+    Map<String, Object> result = new LinkedHashMap<>();
+    for (Map.Entry<String, Object> entry : parent.entrySet()) {
+      result.put(entry.getKey(), entry.getValue());
+    }
+    for (int i = 0; i < size; i++) {
+      if (values[i] != REMOVED) {
+        result.put(keys[i], values[i]);
+      } else {
+        result.remove(keys[i]);
+      }
+    }
+    return result.entrySet();
+  }
+
+  // ScriptContext interface implementation --------------------------------------------------------------------------
+
+  @Override
+  public Class<?> forName(String className) {
+    return forName(className, true);
+  }
+
+  @Override
+  public Class<?> forName(String className, boolean required) {
+    if (classCache != null) {
+      Class<?> result = classCache.forName(className, false);
+      if (result != null) {
+        return result;
+      }
+    }
+    return DefaultClassProvider.resolveByObjectOrDefaultInstance(className, required, parent);
+  }
+
+  @Override
+  public void importClass(String className) {
+    localClassCache().importClass(className);
+  }
+
+  public void importPackage(String packageName) {
+    localClassCache().importPackage(packageName);
+  }
+
+  /** Discards the local state, the parent is not closed. */
+  @Override
+  public void close() {
+    reset();
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder(getClass().getSimpleName()).append('{');
+    for (int i = 0; i < size; i++) {
+      builder.append(i > 0 ? ", " : "").append(keys[i]).append('=').append(values[i] != REMOVED ? values[i] : "-");
+    }
+    return builder.append("} -> ").append(parent).toString();
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private int indexOf(String key) {
+    for (int i = 0; i < size; i++) {
+      String candidate = keys[i];
+      if (candidate == key || candidate.equals(key)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private void append(String key, Object value) {
+    if (keys == null) {
+      keys = new String[INITIAL_CAPACITY];
+      values = new Object[INITIAL_CAPACITY];
+    } else if (size == keys.length) {
+      keys = Arrays.copyOf(keys, size * 2);
+      values = Arrays.copyOf(values, size * 2);
+    }
+    keys[size] = key;
+    values[size] = value;
+    size++;
+  }
+
+  private ClassCache localClassCache() {
+    if (classCache == null) {
+      classCache = new ClassCache();
+    }
+    return classCache;
+  }
+
+}
@@ -0,0 +1,170 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script;
+
+import com.rapiddweller.common.exception.ExceptionFactory;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+
+/**
+ * Size-bounded, thread-safe cache for the results of {@link DatabeneScriptParser} calls.
+ * Entries are keyed by parser entry rule and script text and weighted by the number of nodes
+ * of the syntax tree (or tokens, for the hand-written parser) they were created from.
+ * When the total weight exceeds the configured maximum, the least recently used entries are evicted.<br/><br/>
+ * Cached results are shared between callers, so expressions obtained from the cache
+ * must not be modified.<br/><br/>
+ * Created: 12.10.2026 09:14:31
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public class ParseCache {
+
+  public static final long DEFAULT_MAX_WEIGHT = 100000;
+
+  private final long maxWeight;
+  private final LinkedHashMap<Key, Entry> entries;
+  private long weight;
+  private long hitCount;
+  private long missCount;
+  private long evictionCount;
+
+  public ParseCache() {
+    this(DEFAULT_MAX_WEIGHT);
+  }
+
+  public ParseCache(long maxWeight) {
+    if (maxWeight <= 0) {
+      throw ExceptionFactory.getInstance().illegalArgument("maxWeight must be positive, but was " + maxWeight);
+    }
+    this.maxWeight = maxWeight;
+    this.entries = new LinkedHashMap<>(256, 0.75f, true);
+    this.weight = 0;
+  }
+
+  // interface -------------------------------------------------------------------------------------------------------
+
+  /** Returns the cached result for the given rule and text or null if there is none. */
+  public synchronized Object get(String rule, String text) {
+    Entry entry = entries.get(new Key(rule, text));
+    if (entry != null) {
+      hitCount++;
+      return entry.value;
+    } else {
+      missCount++;
+      return null;
+    }
+  }
+
+  /** Stores a parse result with the given weight, evicting least recently used entries if necessary. */
+  public synchronized void put(String rule, String text, Object value, int weight) {
+    if (value == null || weight > maxWeight) {
+      return;
+    }
+    Entry previous = entries.put(new Key(rule, text), new Entry(value, weight));
+    if (previous != null) {
+      this.weight -= previous.weight;
+    }
+    this.weight += weight;
+    Iterator<Entry> iterator = entries.values().iterator();
+    while (this.weight > maxWeight && iterator.hasNext()) {
+      Entry eldest = iterator.next();
+      iterator.remove();
+      this.weight -= eldest.weight;
+      evictionCount++;
+    }
+  }
+
+  public synchronized void clear() {
+    entries.clear();
+    weight = 0;
+  }
+
+  // statistics ------------------------------------------------------------------------------------------------------
+
+  public long getMaxWeight() {
+    return maxWeight;
+  }
+
+  public synchronized long getWeight() {
+    return weight;
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  public synchronized long getHitCount() {
+    return hitCount;
+  }
+
+  public synchronized long getMissCount() {
+    return missCount;
+  }
+
+  public synchronized long getEvictionCount() {
+    return evictionCount;
+  }
+
+  public synchronized double getHitRate() {
+    long requests = hitCount + missCount;
+    return (requests > 0 ? (double) hitCount / requests : 0.);
+  }
+
+  public synchronized void resetStatistics() {
+    hitCount = 0;
+    missCount = 0;
+    evictionCount = 0;
+  }
+
+  @Override
+  public synchronized String toString() {
+    return getClass().getSimpleName() + "[size=" + entries.size() + ", weight=" + weight + "/" + maxWeight +
+        ", hits=" + hitCount + ", misses=" + missCount + ", evictions=" + evictionCount + "]";
+  }
+
+  // helper classes --------------------------------------------------------------------------------------------------
+
+  private static final class Key {
+
+    private final String rule;
+    private final String text;
+    private final int hashCode;
+
+    Key(String rule, String text) {
+      this.rule = rule;
+      this.text = text;
+      this.hashCode = rule.hashCode() * 31 + text.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key that = (Key) o;
+      return this.hashCode == that.hashCode && Objects.equals(this.rule, that.rule) && Objects.equals(this.text, that.text);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+  private static final class Entry {
+
+    final Object value;
+    final int weight;
+
+    Entry(Object value, int weight) {
+      this.value = value;
+      this.weight = weight;
+    }
+  }
+
+}
@@ -0,0 +1,19 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script;
+
+/**
+ * Lists the parser implementations available to the {@link DatabeneScriptParser}.<br/><br/>
+ * Created: 13.10.2026 11:20:44
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public enum ParserBackend {
+
+  /** The parser generated by ANTLR from the grammar file <code>DatabeneScript.g</code> (default). */
+  ANTLR,
+
+  /** The hand-written {@link com.rapiddweller.script.parser.PrattScriptParser}. */
+  PRATT
+
+}
@@ -0,0 +1,103 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script;
+
+import com.rapiddweller.common.Context;
+import com.rapiddweller.common.Expression;
+import com.rapiddweller.common.exception.ExceptionFactory;
+
+/**
+ * Wraps an {@link Expression} whose parameters are bound by position, similar to a JDBC PreparedStatement.
+ * The parameters occupy the first slots of the {@link VariableSlots} of the expression, the other free
+ * variables the following ones. A caller creates a {@link SlotContext} once by {@link #createContext(Context)},
+ * binds the parameter values by {@link #setParameter(SlotContext, int, Object)} and evaluates the expression
+ * by {@link #evaluate(Context)}, as often as needed. Evaluated in other contexts, the expression reads
+ * all variables from the context as usual. Instances are thread-safe, their slot contexts are not.<br/><br/>
+ * Created: 18.10.2026 16:40:52
+ * @param <E> the result type of the expression
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public class PreparedExpression<E> implements Expression<E> {
+
+  private final Expression<E> expression;
+  private final int parameterCount;
+  private final VariableSlots slots;
+
+  public PreparedExpression(Expression<E> expression, String... parameterNames) {
+    this.expression = expression;
+    this.parameterCount = parameterNames.length;
+    this.slots = VariableSlots.of(parameterNames, expression);
+  }
+
+  /** Parses the text as expression with the given parameters. */
+  @SuppressWarnings("unchecked")
+  public static <T> PreparedExpression<T> prepare(String text, String... parameterNames) {
+    return new PreparedExpression<>((Expression<T>) DatabeneScriptParser.parseExpression(text), parameterNames);
+  }
+
+  public Expression<E> getExpression() {
+    return expression;
+  }
+
+  public VariableSlots getSlots() {
+    return slots;
+  }
+
+  public int getParameterCount() {
+    return parameterCount;
+  }
+
+  /** Creates a context for evaluating the expression, in which unbound variables are looked up in the parent. */
+  public SlotContext createContext(Context parent) {
+    return new SlotContext(slots, parent);
+  }
+
+  /** Binds the value of a parameter, like PreparedStatement.setObject(), but with 0-based index. */
+  public void setParameter(SlotContext context, int index, Object value) {
+    if (index < 0 || index >= parameterCount) {
+      throw ExceptionFactory.getInstance().illegalArgument(
+          "Parameter index " + index + " out of range 0.." + (parameterCount - 1));
+    }
+    checkContext(context).setSlot(index, value);
+  }
+
+  /** Binds all parameter values and evaluates the expression. */
+  public E evaluate(SlotContext context, Object... parameterValues) {
+    if (parameterValues.length != parameterCount) {
+      throw ExceptionFactory.getInstance().illegalArgument(
+          "Expected " + parameterCount + " parameter values, but got " + parameterValues.length);
+    }
+    checkContext(context);
+    for (int i = 0; i < parameterValues.length; i++) {
+      context.setSlot(i, parameterValues[i]);
+    }
+    return expression.evaluate(context);
+  }
+
+  @Override
+  public E evaluate(Context context) {
+    return expression.evaluate(context);
+  }
+
+  @Override
+  public boolean isConstant() {
+    return expression.isConstant();
+  }
+
+  @Override
+  public String toString() {
+    return expression.toString();
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private SlotContext checkContext(SlotContext context) {
+    if (context.getSlots() != slots) {
+      throw ExceptionFactory.getInstance().illegalArgument(
+          "Context was not created for this expression: " + context);
+    }
+    return context;
+  }
+
+}
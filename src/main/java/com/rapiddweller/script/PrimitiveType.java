@@ -23,20 +23,40 @@
 import java.sql.Timestamp;
 import java.time.ZonedDateTime;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
- * Describes a primitive benerator type.<br/><br/>
+ * Describes a primitive benerator type.
+ * The registry of instances is replaced on each registration and never modified,
+ * so lookups are lock-free and may be performed by concurrent threads.<br/><br/>
  * Created: 27.02.2008 16:28:22
  * @author Volker Bergmann
  * @since 0.5.0
  */
 public class PrimitiveType {
 
-  private static final Map<String, PrimitiveType> instancesByName = new HashMap<>();
-  private static final Map<Class<?>, PrimitiveType> instancesByJavaType = new HashMap<>();
+  private static volatile Map<String, PrimitiveType> instancesByName = Collections.emptyMap();
+  private static volatile Map<Class<?>, PrimitiveType> instancesByJavaType = Collections.emptyMap();
+  /** incremented on each registration in order to invalidate the results cached in {@link #TYPE_LOOKUP} */
+  private static volatile int version = 0;
+
+  private static final ClassValue<TypeLookup> TYPE_LOOKUP = new ClassValue<>() {
+    @Override
+    protected TypeLookup computeValue(Class<?> javaType) {
+      int currentVersion = version;
+      Map<Class<?>, PrimitiveType> instances = instancesByJavaType;
+      for (Class<?> tmp = javaType; tmp != null && tmp != Object.class; tmp = tmp.getSuperclass()) {
+        PrimitiveType type = instances.get(tmp);
+        if (type != null) {
+          return new TypeLookup(currentVersion, type);
+        }
+      }
+      return new TypeLookup(currentVersion, instances.get(javaType));
+    }
+  };
 
   public static final PrimitiveType BYTE_P = new PrimitiveType("byte", byte.class);
   public static final PrimitiveType BYTE = new PrimitiveType("byte", Byte.class);
@@ -75,8 +95,7 @@ public PrimitiveType(String name, Class<?> javaType) {
     }
     this.name = name;
     this.javaType = javaType;
-    instancesByName.put(name, this);
-    instancesByJavaType.put(javaType, this);
+    register(this);
   }
 
   public String getName() {
@@ -91,8 +110,18 @@ public static PrimitiveType getInstance(String name) {
     return instancesByName.get(name);
   }
 
+  /** Returns the type registered for the given class or for its nearest superclass other than Object. */
   public static PrimitiveType findByJavaType(Class<?> javaType) {
-    return instancesByJavaType.get(javaType);
+    if (javaType == null) {
+      return null;
+    }
+    TypeLookup lookup = TYPE_LOOKUP.get(javaType);
+    if (lookup.version != version) {
+      // a type has been registered after the lookup was cached
+      TYPE_LOOKUP.remove(javaType);
+      lookup = TYPE_LOOKUP.get(javaType);
+    }
+    return lookup.type;
   }
 
   public static Collection<PrimitiveType> getInstances() {
@@ -104,4 +133,27 @@ public String toString() {
     return name;
   }
 
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private static synchronized void register(PrimitiveType type) {
+    Map<String, PrimitiveType> newInstancesByName = new HashMap<>(instancesByName);
+    newInstancesByName.put(type.name, type);
+    instancesByName = Collections.unmodifiableMap(newInstancesByName);
+    Map<Class<?>, PrimitiveType> newInstancesByJavaType = new HashMap<>(instancesByJavaType);
+    newInstancesByJavaType.put(type.javaType, type);
+    instancesByJavaType = Collections.unmodifiableMap(newInstancesByJavaType);
+    version++;
+  }
+
+  private static final class TypeLookup {
+
+    final int version;
+    final PrimitiveType type;
+
+    TypeLookup(int version, PrimitiveType type) {
+      this.version = version;
+      this.type = type;
+    }
+  }
+
 }
\ No newline at end of file
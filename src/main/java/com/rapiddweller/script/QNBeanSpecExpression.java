@@ -25,6 +25,8 @@
 import com.rapiddweller.common.exception.ExceptionFactory;
 import com.rapiddweller.script.expression.DynamicExpression;
 
+import java.lang.ref.WeakReference;
+
 /**
  * {@link Expression} instance that evaluates the Benerator script notation for Java object specification
  * as one of the following:
@@ -34,6 +36,8 @@
  *   <li>constructor invocation: <code>new com.my.SpecialClass(3, 'test')</code></li>
  *   <li>JavaBean property syntax: <code>new com.my.SpecialClass[id=3, name='test']</code></li>
  * </ul>
+ * The class resolved for a context, or the fact that the name is no class, is cached
+ * and reused as long as the name does not become a context variable.<br/>
  * <br/>
  * Created at 08.10.2009 18:15:15
  * @author Volker Bergmann
@@ -42,9 +46,15 @@
 public class QNBeanSpecExpression extends DynamicExpression<Object> {
 
   final String[] qn;
+  private final String objectOrClassName;
+  private final QNExpression fallback;
+  private volatile ClassResolution resolution;
 
   public QNBeanSpecExpression(String[] qn) {
     this.qn = qn;
+    this.objectOrClassName = ArrayFormat.format(".", qn);
+    this.fallback = new QNExpression(qn);
+    this.resolution = null;
   }
 
   @Override
@@ -53,20 +63,52 @@ public Object evaluate(Context context) {
   }
 
   public BeanSpec resolve(Context context) {
-    String objectOrClassName = ArrayFormat.format(".", qn);
     try {
       if (context.contains(objectOrClassName)) {
         return BeanSpec.createReference(context.get(objectOrClassName));
       }
-      Class<?> type = DefaultClassProvider.resolveByObjectOrDefaultInstance(objectOrClassName, true, context);
-      return BeanSpec.createConstruction(BeanUtil.newInstance(type));
+      Class<?> type = resolveClass(context);
+      if (type != null) {
+        return BeanSpec.createConstruction(BeanUtil.newInstance(type));
+      }
     } catch (ConfigurationError e) {
-      if (ExceptionUtil.getRootCause(e) instanceof ClassNotFoundException) {
-        return new QNExpression(qn).resolve(context);
-      } else {
+      if (!(ExceptionUtil.getRootCause(e) instanceof ClassNotFoundException)) {
         throw ExceptionFactory.getInstance().configurationError("Cannot resolve " + objectOrClassName, e);
       }
     }
+    return fallback.resolve(context);
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  /** Returns the class which the name denotes in the context or null if it is no class name. */
+  private Class<?> resolveClass(Context context) {
+    ClassResolution result = this.resolution;
+    if (result == null || result.context.get() != ResolutionContexts.keyOf(context)) {
+      try {
+        result = new ClassResolution(context,
+            DefaultClassProvider.resolveByObjectOrDefaultInstance(objectOrClassName, true, context));
+      } catch (ConfigurationError e) {
+        if (!(ExceptionUtil.getRootCause(e) instanceof ClassNotFoundException)) {
+          throw e;
+        }
+        result = new ClassResolution(context, null);
+      }
+      this.resolution = result;
+    }
+    return result.type;
+  }
+
+  /** The class which the name denotes in a context or null if it is not a class name. */
+  private static final class ClassResolution {
+
+    final WeakReference<Context> context;
+    final Class<?> type;
+
+    ClassResolution(Context context, Class<?> type) {
+      this.context = new WeakReference<>(ResolutionContexts.keyOf(context));
+      this.type = type;
+    }
   }
 
 }
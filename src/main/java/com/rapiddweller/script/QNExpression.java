@@ -16,7 +16,6 @@
 package com.rapiddweller.script;
 
 import com.rapiddweller.common.ArrayFormat;
-import com.rapiddweller.common.ArrayUtil;
 import com.rapiddweller.common.ConfigurationError;
 import com.rapiddweller.common.Context;
 import com.rapiddweller.common.Expression;
@@ -24,13 +23,20 @@
 import com.rapiddweller.common.accessor.FeatureAccessor;
 import com.rapiddweller.common.bean.DefaultClassProvider;
 import com.rapiddweller.common.exception.ExceptionFactory;
+import com.rapiddweller.script.expression.CachedFeatureAccessor;
 import com.rapiddweller.script.expression.DynamicExpression;
 import org.slf4j.LoggerFactory;
 import org.slf4j.Logger;
 
+import java.lang.ref.WeakReference;
+
 /**
  * {@link Expression} implementation that evaluates a qualified name as attributes of an object reference or
- * static fields of a Java class.<br/><br/>
+ * static fields of a Java class. The way in which the name has been resolved in a context (context variable,
+ * class, static field or field chain on a variable) is cached as resolution plan and replayed in later
+ * evaluations with the same context, as long as no context variable takes precedence. Contexts which are created
+ * per thread over a shared parent use the plan of the parent, see {@link ResolutionContexts}. A simple name is read
+ * by index from a {@link SlotContext} in which it is bound to a slot.<br/><br/>
  * Created at 08.10.2009 07:18:53
  * @author Volker Bergmann
  * @since 0.6.0
@@ -40,15 +46,37 @@ public class QNExpression extends DynamicExpression<Object> {
   private static final Logger logger = LoggerFactory.getLogger(QNExpression.class);
 
   private final String[] qnParts;
+  /** the names formed by the first 1, 2, ... parts of the qualified name */
+  private final String[] prefixes;
+  private volatile ResolutionPlan plan;
+  /** the slot of a simple name in {@link SlotContext}s, null for qualified names */
+  private final SlotBinding slotBinding;
 
   public QNExpression(String[] qnParts) {
     this.qnParts = qnParts;
+    this.prefixes = new String[qnParts.length];
+    for (int i = 0; i < qnParts.length; i++) {
+      prefixes[i] = ArrayFormat.formatPart(".", 0, i + 1, qnParts);
+    }
+    this.plan = null;
+    this.slotBinding = (qnParts.length == 1 ? new SlotBinding(qnParts[0]) : null);
+  }
+
+  public String[] getQnParts() {
+    return qnParts;
   }
 
   @Override
   public Object evaluate(Context context) {
+    if (slotBinding != null && context instanceof SlotContext) {
+      SlotContext slotContext = (SlotContext) context;
+      int slot = slotBinding.indexIn(slotContext);
+      if (slot >= 0 && slotContext.isBound(slot)) {
+        return slotContext.getSlot(slot);
+      }
+    }
     try {
-      return resolveNamePart(qnParts, qnParts.length, context);
+      return planFor(context).execute(context, qnParts);
     } catch (ObjectNotFoundException e) {
       throw ExceptionFactory.getInstance().objectNotFound(
           "Unable to resolve '" + ArrayFormat.format(".", qnParts) + "'");
@@ -83,20 +111,9 @@ private static Object readField(String[] qnParts, int qnLength, String fieldName
   }
 
   public BeanSpec resolve(Context context) {
-    String qn = ArrayFormat.format(".", qnParts);
-    if (context.contains(qn)) {
-      return BeanSpec.createReference(context.get(qn));
-    } else {
-      try {
-        Class<?> bean = DefaultClassProvider.resolveByObjectOrDefaultInstance(qn, true, context);
-        return BeanSpec.createConstruction(bean);
-      } catch (ConfigurationError e) {
-        // ignore this
-      }
-      logger.debug("Class not found: {}", qn);
-      Object bean = readField(qnParts, qnParts.length - 1, ArrayUtil.lastElementOf(qnParts), context);
-      return BeanSpec.createReference(bean);
-    }
+    ResolutionPlan plan = planFor(context);
+    Object bean = plan.execute(context, qnParts);
+    return (plan.isClassLiteral() ? BeanSpec.createConstruction(bean) : BeanSpec.createReference(bean));
   }
 
   @Override
@@ -104,5 +121,95 @@ public String toString() {
     return ArrayFormat.format(".", qnParts);
   }
 
+  // resolution plan -------------------------------------------------------------------------------------------------
+
+  private ResolutionPlan planFor(Context context) {
+    ResolutionPlan result = this.plan;
+    if (result == null || !result.isValidFor(context)) {
+      result = createPlan(context);
+      this.plan = result;
+    }
+    return result;
+  }
+
+  /** Resolves the qualified name like {@link #resolveNamePart(String[], int, Context)}:
+   *  The longest prefix which is a context variable or a class becomes the head,
+   *  the remaining parts are read as fields. */
+  private ResolutionPlan createPlan(Context context) {
+    for (int length = qnParts.length; length > 0; length--) {
+      String name = prefixes[length - 1];
+      if (context.contains(name)) {
+        return new ResolutionPlan(context, prefixes, length, null);
+      }
+      Class<?> type = resolveClass(name, context);
+      if (type != null) {
+        return new ResolutionPlan(context, prefixes, length, type);
+      }
+      logger.debug("Class not found: {}", name);
+    }
+    String name = (qnParts.length > 0 ? qnParts[0] : "");
+    throw ExceptionFactory.getInstance().objectNotFound("'" + name + "' is not defined");
+  }
+
+  private static Class<?> resolveClass(String name, Context context) {
+    try {
+      return DefaultClassProvider.resolveByObjectOrDefaultInstance(name, false, context);
+    } catch (ConfigurationError e) {
+      // ignore errors signaling that a class was not found
+      return null;
+    }
+  }
+
+  /** Immutable description of how a qualified name was resolved in a context. It stays valid for this context
+   *  as long as none of the names which were not context variables at its creation has become one and,
+   *  if the head is a variable, this still exists. */
+  private static final class ResolutionPlan {
+
+    private final WeakReference<Context> context;
+    /** the names of the prefixes which were no context variables, longest first */
+    private final String[] missingVariables;
+    private final int headLength;
+    private final String headName;
+    /** the class which the head denotes or null if the head is a context variable */
+    private final Class<?> headClass;
+
+    ResolutionPlan(Context context, String[] prefixes, int headLength, Class<?> headClass) {
+      this.context = new WeakReference<>(ResolutionContexts.keyOf(context));
+      int missingCount = prefixes.length - headLength + (headClass != null ? 1 : 0);
+      this.missingVariables = new String[missingCount];
+      for (int i = 0; i < missingCount; i++) {
+        missingVariables[i] = prefixes[prefixes.length - 1 - i];
+      }
+      this.headLength = headLength;
+      this.headName = prefixes[headLength - 1];
+      this.headClass = headClass;
+    }
+
+    boolean isValidFor(Context context) {
+      if (this.context.get() != ResolutionContexts.keyOf(context)) {
+        return false;
+      }
+      for (String name : missingVariables) {
+        if (context.contains(name)) {
+          return false;
+        }
+      }
+      return (headClass != null || context.contains(headName));
+    }
+
+    /** Tells if the whole qualified name denotes a class. */
+    boolean isClassLiteral() {
+      return (headClass != null && missingVariables.length == 1);
+    }
+
+    Object execute(Context context, String[] qnParts) {
+      Object result = (headClass != null ? headClass : context.get(headName));
+      for (int i = headLength; i < qnParts.length; i++) {
+        result = CachedFeatureAccessor.getValue(result, qnParts[i]);
+      }
+      return result;
+    }
+  }
+
 }
 
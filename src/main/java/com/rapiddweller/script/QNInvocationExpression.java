@@ -16,70 +16,159 @@
 package com.rapiddweller.script;
 
 import com.rapiddweller.common.ArrayFormat;
-import com.rapiddweller.common.ArrayUtil;
-import com.rapiddweller.common.BeanUtil;
 import com.rapiddweller.common.ConfigurationError;
 import com.rapiddweller.common.Context;
 import com.rapiddweller.common.Expression;
 import com.rapiddweller.common.bean.DefaultClassProvider;
 import com.rapiddweller.script.expression.DynamicExpression;
 import com.rapiddweller.script.expression.ExpressionUtil;
+import com.rapiddweller.script.expression.MethodCallSite;
+import com.rapiddweller.script.expression.WrapperExpression;
 import org.slf4j.LoggerFactory;
 import org.slf4j.Logger;
 
+import java.lang.ref.WeakReference;
 import java.util.Arrays;
 
 /**
  * {@link Expression} implementation that evaluates an invocation syntax on a qualified name
- * as static method call or call on an object reference.<br/><br/>
+ * as static method call or call on an object reference. How the qualifier has been resolved in a context
+ * (context variable, class or field chain) is cached and reused in later evaluations with the same context
+ * as long as the qualifier does not become or cease to be a context variable. The called methods are cached
+ * in {@link MethodCallSite}s.<br/><br/>
  * Created at 07.10.2009 22:27:26
  * @author Volker Bergmann
  * @since 0.6.0
  */
-public class QNInvocationExpression extends DynamicExpression<Object> {
+public class QNInvocationExpression extends DynamicExpression<Object> implements WrapperExpression<Object> {
 
   private static final Logger logger = LoggerFactory.getLogger(QNInvocationExpression.class);
 
   private final String[] qn;
   private final Expression<?>[] argExpressions;
+  private final String ownerName;
+  /** evaluates the qualifier as field chain if it is neither a context variable nor a class */
+  private final QNExpression ownerExpression;
+  /** calls methods on context variables without converting the arguments */
+  private final MethodCallSite variableCallSite;
+  /** calls static methods and methods on field chain values, converting the arguments */
+  private final MethodCallSite convertingCallSite;
+  private volatile OwnerResolution ownerResolution;
 
   public QNInvocationExpression(String[] qn, Expression<?>[] argExpressions) {
     this.qn = qn;
     this.argExpressions = argExpressions;
+    int ownerLength = qn.length - 1;
+    this.ownerName = ArrayFormat.formatPart(".", 0, ownerLength, qn);
+    this.ownerExpression = new QNExpression(Arrays.copyOfRange(qn, 0, ownerLength));
+    String methodName = qn[ownerLength];
+    this.variableCallSite = new MethodCallSite(methodName, true);
+    this.convertingCallSite = new MethodCallSite(methodName, false);
+    this.ownerResolution = null;
+  }
+
+  public String[] getQn() {
+    return qn;
+  }
+
+  public String getMethodName() {
+    return qn[qn.length - 1];
+  }
+
+  /** Returns the class of which a static method is invoked in the context,
+   *  or null if the method is invoked on an object. */
+  public Class<?> staticOwnerType(Context context) {
+    OwnerResolution resolution = ownerResolutionFor(context);
+    return (resolution.variable ? null : resolution.type);
+  }
+
+  /** Returns the object on which the method is invoked in the context if it is not a static method. */
+  public Object ownerObject(Context context) {
+    return (ownerResolutionFor(context).variable ? context.get(ownerName) : ownerExpression.evaluate(context));
+  }
+
+  @Override
+  public Expression<?>[] getSourceExpressions() {
+    return argExpressions;
   }
 
   @Override
   public Object evaluate(Context context) {
     Object[] args = ExpressionUtil.evaluateAll(argExpressions, context);
-    String methodName = ArrayUtil.lastElementOf(qn);
-    return invoke(qn, qn.length - 1, methodName, args, context);
+    OwnerResolution resolution = ownerResolutionFor(context);
+    Object owner = (resolution.variable ? context.get(ownerName)
+        : (resolution.type != null ? resolution.type : ownerExpression.evaluate(context)));
+    return invoke(owner, args, context);
   }
 
-  private static Object invoke(String[] qn, int qnLength, String methodName, Object[] args, Context context) {
-    String objectOrClassName = ArrayFormat.formatPart(".", 0, qnLength, qn);
-    if (context.contains(objectOrClassName)) {
-      Object target = context.get(objectOrClassName);
-      return BeanUtil.invoke(target, methodName, args);
-    }
-    try {
-      Class<?> type = DefaultClassProvider.resolveByObjectOrDefaultInstance(objectOrClassName, false, context);
-      if (type != null)
-        return BeanUtil.invokeStatic(type, methodName, false, args);
-    } catch (ConfigurationError e) {
-      if (logger.isDebugEnabled()) {
-        logger.debug("Class not found: " + objectOrClassName);
+  /** Invokes the method with evaluated arguments on the owner which has been determined by
+   *  {@link #staticOwnerType(Context)} or {@link #ownerObject(Context)} in the same context. */
+  public Object invoke(Object owner, Object[] args, Context context) {
+    OwnerResolution resolution = ownerResolutionFor(context);
+    if (resolution.variable) {
+      return variableCallSite.invoke(owner, args);
+    } else if (resolution.type != null && owner == resolution.type) {
+      try {
+        return convertingCallSite.invokeStatic(resolution.type, args);
+      } catch (ConfigurationError e) {
+        logger.debug("Failed to call static method: {}", this);
       }
+      owner = ownerExpression.evaluate(context);
     }
-    QNExpression ownerEx = new QNExpression(Arrays.copyOfRange(qn, 0, qnLength));
-    Object owner = ownerEx.evaluate(context);
     if (owner != null) {
-      return BeanUtil.invoke(false, owner, methodName, args);
+      return convertingCallSite.invoke(owner, args);
     }
-    throw new UnsupportedOperationException("Cannot evaluate " + objectOrClassName);
+    throw new UnsupportedOperationException("Cannot evaluate " + ownerName);
   }
 
   @Override
   public String toString() {
     return ArrayFormat.format(".", qn) + '(' + ArrayFormat.format(argExpressions) + ')';
   }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private OwnerResolution ownerResolutionFor(Context context) {
+    OwnerResolution result = this.ownerResolution;
+    if (result == null || !result.isValidFor(context, ownerName)) {
+      result = resolveOwner(context);
+      this.ownerResolution = result;
+    }
+    return result;
+  }
+
+  private OwnerResolution resolveOwner(Context context) {
+    if (context.contains(ownerName)) {
+      return new OwnerResolution(context, true, null);
+    }
+    Class<?> type = null;
+    try {
+      type = DefaultClassProvider.resolveByObjectOrDefaultInstance(ownerName, false, context);
+    } catch (ConfigurationError e) {
+      if (logger.isDebugEnabled()) {
+        logger.debug("Class not found: " + ownerName);
+      }
+    }
+    return new OwnerResolution(context, false, type);
+  }
+
+  /** Tells how the qualifier has been resolved in a context: as context variable, as class
+   *  or, if both are false, as field chain. */
+  private static final class OwnerResolution {
+
+    private final WeakReference<Context> context;
+    private final boolean variable;
+    private final Class<?> type;
+
+    OwnerResolution(Context context, boolean variable, Class<?> type) {
+      this.context = new WeakReference<>(ResolutionContexts.keyOf(context));
+      this.variable = variable;
+      this.type = type;
+    }
+
+    boolean isValidFor(Context context, String ownerName) {
+      return (this.context.get() == ResolutionContexts.keyOf(context) && context.contains(ownerName) == variable);
+    }
+  }
+
 }
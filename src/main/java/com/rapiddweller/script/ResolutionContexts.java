@@ -0,0 +1,36 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script;
+
+import com.rapiddweller.common.Context;
+
+/**
+ * Determines the context by which expressions key the name resolutions they cache. {@link SlotContext}s and
+ * {@link LayeredScriptContext}s without imports resolve classes like their parent and are usually created
+ * per thread, task or batch over a shared parent, so their resolutions are keyed by that parent.
+ * This way, the threads share one cached resolution instead of replacing each other's.
+ * Variables are still checked in the actual context on each use.<br/><br/>
+ * Created: 19.10.2026 14:37:08
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+final class ResolutionContexts {
+
+  private ResolutionContexts() {
+    // private constructor to prevent instantiation of this utility class
+  }
+
+  /** Returns the outermost context which resolves classes like the given one. */
+  static Context keyOf(Context context) {
+    while (true) {
+      if (context instanceof SlotContext) {
+        context = ((SlotContext) context).getParent();
+      } else if (context instanceof LayeredScriptContext && !((LayeredScriptContext) context).hasImports()) {
+        context = ((LayeredScriptContext) context).getParent();
+      } else {
+        return context;
+      }
+    }
+  }
+
+}
@@ -0,0 +1,45 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script;
+
+/**
+ * Caches the slot of one variable name in the {@link VariableSlots} last seen by an expression node,
+ * so that a node which is evaluated repeatedly in {@link SlotContext}s of the same slots
+ * looks up the slot only once. Instances are thread-safe.<br/><br/>
+ * Created: 18.10.2026 16:10:18
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public final class SlotBinding {
+
+  private final String name;
+  private volatile Entry entry;
+
+  public SlotBinding(String name) {
+    this.name = name;
+    this.entry = null;
+  }
+
+  /** Returns the slot of the variable in the context or -1 if the variable has no slot there. */
+  public int indexIn(SlotContext context) {
+    VariableSlots slots = context.getSlots();
+    Entry result = this.entry;
+    if (result == null || result.slots != slots) {
+      result = new Entry(slots, slots.indexOf(name));
+      this.entry = result;
+    }
+    return result.index;
+  }
+
+  private static final class Entry {
+
+    final VariableSlots slots;
+    final int index;
+
+    Entry(VariableSlots slots, int index) {
+      this.slots = slots;
+      this.index = index;
+    }
+  }
+
+}
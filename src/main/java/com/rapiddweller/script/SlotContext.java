@@ -0,0 +1,156 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script;
+
+import com.rapiddweller.common.Context;
+import com.rapiddweller.common.bean.ClassProvider;
+import com.rapiddweller.common.bean.DefaultClassProvider;
+import com.rapiddweller.common.context.DefaultContext;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link Context} implementation which holds the values of the variables of a {@link VariableSlots} instance
+ * in an array. Expressions which have been analyzed for these slots read and write the variables by index.
+ * Variables without slot and slots which have not been bound are looked up in the parent context,
+ * so that a slot context can be used wherever its parent can. Classes are resolved by the parent context
+ * if it is a {@link ClassProvider}. Like its parent, a slot context should be reused for the evaluations
+ * of its expressions, since expressions cache their resolutions per context.
+ * Instances are not thread-safe.<br/><br/>
+ * Created: 18.10.2026 16:21:33
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public class SlotContext implements Context, ClassProvider {
+
+  private final VariableSlots slots;
+  private final Context parent;
+  private final Object[] values;
+  private final boolean[] bound;
+
+  public SlotContext(VariableSlots slots) {
+    this(slots, new DefaultContext());
+  }
+
+  public SlotContext(VariableSlots slots, Context parent) {
+    this.slots = slots;
+    this.parent = parent;
+    this.values = new Object[slots.size()];
+    this.bound = new boolean[slots.size()];
+  }
+
+  public VariableSlots getSlots() {
+    return slots;
+  }
+
+  public Context getParent() {
+    return parent;
+  }
+
+  // slot access -----------------------------------------------------------------------------------------------------
+
+  public boolean isBound(int slot) {
+    return bound[slot];
+  }
+
+  /** Returns the value of a slot or, if the slot is not bound, the value of its variable in the parent context. */
+  public Object getSlot(int slot) {
+    return (bound[slot] ? values[slot] : parent.get(slots.getName(slot)));
+  }
+
+  public void setSlot(int slot, Object value) {
+    values[slot] = value;
+    bound[slot] = true;
+  }
+
+  public void unbind(int slot) {
+    values[slot] = null;
+    bound[slot] = false;
+  }
+
+  /** Unbinds all slots, e.g. for binding a new set of values. */
+  public void unbindAll() {
+    for (int i = 0; i < values.length; i++) {
+      unbind(i);
+    }
+  }
+
+  // Context interface implementation --------------------------------------------------------------------------------
+
+  @Override
+  public Object get(String key) {
+    int slot = slots.indexOf(key);
+    return (slot >= 0 ? getSlot(slot) : parent.get(key));
+  }
+
+  @Override
+  public void set(String key, Object value) {
+    int slot = slots.indexOf(key);
+    if (slot >= 0) {
+      setSlot(slot, value);
+    } else {
+      parent.set(key, value);
+    }
+  }
+
+  @Override
+  public void remove(String key) {
+    int slot = slots.indexOf(key);
+    if (slot >= 0) {
+      unbind(slot);
+    }
+    parent.remove(key);
+  }
+
+  @Override
+  public boolean contains(String key) {
+    int slot = slots.indexOf(key);
+    return ((slot >= 0 && bound[slot]) || parent.contains(key));
+  }
+
+  @Override
+  public Set<String> keySet() {
+    Set<String> result = new LinkedHashSet<>(parent.keySet());
+    for (int i = 0; i < values.length; i++) {
+      if (bound[i]) {
+        result.add(slots.getName(i));
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public Set<Map.Entry<String, Object>> entrySet() {
+    Map<String, Object> result = new LinkedHashMap<>();
+    for (Map.Entry<String, Object> entry : parent.entrySet()) {
+      result.put(entry.getKey(), entry.getValue());
+    }
+    for (int i = 0; i < values.length; i++) {
+      if (bound[i]) {
+        result.put(slots.getName(i), values[i]);
+      }
+    }
+    return result.entrySet();
+  }
+
+  // ClassProvider interface implementation --------------------------------------------------------------------------
+
+  @Override
+  public Class<?> forName(String className) {
+    return forName(className, true);
+  }
+
+  @Override
+  public Class<?> forName(String className, boolean required) {
+    return DefaultClassProvider.resolveByObjectOrDefaultInstance(className, required, parent);
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + slots + " -> " + parent;
+  }
+
+}
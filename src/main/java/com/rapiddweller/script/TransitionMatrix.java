@@ -0,0 +1,233 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sparse weighted transition matrix in compressed sparse row (CSR) format.
+ * States are numbered in the order of their first appearance. The transitions of state <code>s</code>
+ * are stored at the edge indices from {@link #getFirstEdge(int) getFirstEdge(s)} (inclusive) to
+ * {@link #getEdgeLimit(int) getEdgeLimit(s)} (exclusive), ordered by target state index.
+ * Instances are immutable and are created with a {@link Builder}, which sums up the weights
+ * of duplicate transitions.<br/><br/>
+ * Created: 14.10.2026 13:05:48
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public class TransitionMatrix {
+
+  private final Object[] states;
+  private final Map<Object, Integer> stateIndexes;
+  private final int[] rowOffsets;
+  private final int[] columns;
+  private final double[] weights;
+
+  private TransitionMatrix(Object[] states, Map<Object, Integer> stateIndexes,
+                           int[] rowOffsets, int[] columns, double[] weights) {
+    this.states = states;
+    this.stateIndexes = stateIndexes;
+    this.rowOffsets = rowOffsets;
+    this.columns = columns;
+    this.weights = weights;
+  }
+
+  // states ----------------------------------------------------------------------------------------------------------
+
+  public int getStateCount() {
+    return states.length;
+  }
+
+  public Object getState(int index) {
+    return states[index];
+  }
+
+  /** Returns the index of the given state or -1 if it is unknown. */
+  public int indexOf(Object state) {
+    Integer index = stateIndexes.get(state);
+    return (index != null ? index : -1);
+  }
+
+  // transitions -----------------------------------------------------------------------------------------------------
+
+  /** Returns the number of distinct transitions. */
+  public int getTransitionCount() {
+    return columns.length;
+  }
+
+  public int getFirstEdge(int from) {
+    return rowOffsets[from];
+  }
+
+  public int getEdgeLimit(int from) {
+    return rowOffsets[from + 1];
+  }
+
+  public int getOutDegree(int from) {
+    return rowOffsets[from + 1] - rowOffsets[from];
+  }
+
+  /** Returns the index of the target state of an edge. */
+  public int getTarget(int edge) {
+    return columns[edge];
+  }
+
+  public double getEdgeWeight(int edge) {
+    return weights[edge];
+  }
+
+  /** Returns the weight of the transition between two state indices or 0 if there is none. */
+  public double getTransitionWeight(int from, int to) {
+    int edge = Arrays.binarySearch(columns, rowOffsets[from], rowOffsets[from + 1], to);
+    return (edge >= 0 ? weights[edge] : 0.);
+  }
+
+  /** Returns the weight of the transition between two states or 0 if there is none. */
+  public double getWeight(Object from, Object to) {
+    int fromIndex = indexOf(from);
+    int toIndex = indexOf(to);
+    return (fromIndex >= 0 && toIndex >= 0 ? getTransitionWeight(fromIndex, toIndex) : 0.);
+  }
+
+  /** Returns the sum of the weights of all transitions which start at the given state. */
+  public double getOutWeight(int from) {
+    double sum = 0;
+    for (int edge = rowOffsets[from]; edge < rowOffsets[from + 1]; edge++) {
+      sum += weights[edge];
+    }
+    return sum;
+  }
+
+  public void forEachTransition(int from, Visitor visitor) {
+    for (int edge = rowOffsets[from]; edge < rowOffsets[from + 1]; edge++) {
+      visitor.visit(from, columns[edge], weights[edge]);
+    }
+  }
+
+  public void forEachTransition(Visitor visitor) {
+    for (int from = 0; from < states.length; from++) {
+      forEachTransition(from, visitor);
+    }
+  }
+
+  /** Converts the matrix to an array of {@link WeightedTransition} objects. */
+  public WeightedTransition[] toWeightedTransitions() {
+    WeightedTransition[] result = new WeightedTransition[columns.length];
+    for (int from = 0; from < states.length; from++) {
+      for (int edge = rowOffsets[from]; edge < rowOffsets[from + 1]; edge++) {
+        result[edge] = new WeightedTransition(states[from], states[columns[edge]], weights[edge]);
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "[" + states.length + " states, " + columns.length + " transitions]";
+  }
+
+  // helper classes --------------------------------------------------------------------------------------------------
+
+  /** Callback interface for iterating transitions without creating objects. */
+  public interface Visitor {
+    void visit(int from, int to, double weight);
+  }
+
+  /** Collects transitions and creates a {@link TransitionMatrix} from them. */
+  public static class Builder {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Object[] states = new Object[INITIAL_CAPACITY];
+    private final Map<Object, Integer> stateIndexes = new HashMap<>();
+    private int stateCount = 0;
+    private int[] froms = new int[INITIAL_CAPACITY];
+    private int[] tos = new int[INITIAL_CAPACITY];
+    private double[] edgeWeights = new double[INITIAL_CAPACITY];
+    private int edgeCount = 0;
+
+    public Builder addTransition(Object from, Object to, double weight) {
+      int fromIndex = stateIndex(from);
+      int toIndex = stateIndex(to);
+      if (edgeCount == froms.length) {
+        froms = Arrays.copyOf(froms, edgeCount * 2);
+        tos = Arrays.copyOf(tos, edgeCount * 2);
+        edgeWeights = Arrays.copyOf(edgeWeights, edgeCount * 2);
+      }
+      froms[edgeCount] = fromIndex;
+      tos[edgeCount] = toIndex;
+      edgeWeights[edgeCount] = weight;
+      edgeCount++;
+      return this;
+    }
+
+    public TransitionMatrix build() {
+      // two stable counting sorts (by target, then by source) order the edges by (source, target)
+      int[] byTarget = countingSort(tos, identity(edgeCount));
+      int[] order = countingSort(froms, byTarget);
+      int[] rowOffsets = new int[stateCount + 1];
+      int[] columns = new int[edgeCount];
+      double[] weights = new double[edgeCount];
+      int size = 0;
+      int previousFrom = -1;
+      for (int i = 0; i < edgeCount; i++) {
+        int edge = order[i];
+        int from = froms[edge];
+        if (from == previousFrom && columns[size - 1] == tos[edge]) {
+          weights[size - 1] += edgeWeights[edge]; // duplicate transition
+        } else {
+          rowOffsets[from + 1]++;
+          columns[size] = tos[edge];
+          weights[size] = edgeWeights[edge];
+          size++;
+        }
+        previousFrom = from;
+      }
+      for (int row = 0; row < stateCount; row++) {
+        rowOffsets[row + 1] += rowOffsets[row];
+      }
+      return new TransitionMatrix(Arrays.copyOf(states, stateCount), new HashMap<>(stateIndexes),
+          rowOffsets, Arrays.copyOf(columns, size), Arrays.copyOf(weights, size));
+    }
+
+    private int stateIndex(Object state) {
+      Integer index = stateIndexes.get(state);
+      if (index == null) {
+        if (stateCount == states.length) {
+          states = Arrays.copyOf(states, stateCount * 2);
+        }
+        index = stateCount++;
+        states[index] = state;
+        stateIndexes.put(state, index);
+      }
+      return index;
+    }
+
+    /** Stably sorts the given edge indices by the key values of the edges. */
+    private int[] countingSort(int[] keys, int[] edges) {
+      int[] offsets = new int[stateCount + 1];
+      for (int i = 0; i < edgeCount; i++) {
+        offsets[keys[i] + 1]++;
+      }
+      for (int i = 0; i < stateCount; i++) {
+        offsets[i + 1] += offsets[i];
+      }
+      int[] result = new int[edgeCount];
+      for (int edge : edges) {
+        result[offsets[keys[edge]]++] = edge;
+      }
+      return result;
+    }
+
+    private static int[] identity(int length) {
+      int[] result = new int[length];
+      for (int i = 0; i < length; i++) {
+        result[i] = i;
+      }
+      return result;
+    }
+  }
+
+}
@@ -0,0 +1,107 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script;
+
+import com.rapiddweller.common.Expression;
+import com.rapiddweller.common.exception.ExceptionFactory;
+import com.rapiddweller.script.expression.AssignmentExpression;
+import com.rapiddweller.script.expression.FeatureAccessExpression;
+import com.rapiddweller.script.expression.WrapperExpression;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable assignment of variable names to slot indices. The slots of a set of expressions are created
+ * by {@link #of(Expression[])}, which assigns an index to each free variable of the expressions,
+ * i.e. each name which the expressions read or assign as context variable. Such names are the heads
+ * of qualified names and of method call qualifiers, the targets of simple assignments and the names
+ * of {@link FeatureAccessExpression}s. The expression trees are scanned by their {@link WrapperExpression}
+ * interface. A {@link SlotContext} holds the values of the variables in an array
+ * indexed by the slots.<br/><br/>
+ * Created: 18.10.2026 16:02:45
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public final class VariableSlots {
+
+  private final String[] names;
+  private final Map<String, Integer> indices;
+
+  public VariableSlots(String... names) {
+    this.names = names.clone();
+    this.indices = new HashMap<>(names.length * 2);
+    for (int i = 0; i < names.length; i++) {
+      if (indices.put(names[i], i) != null) {
+        throw ExceptionFactory.getInstance().illegalArgument("Duplicate variable name: " + names[i]);
+      }
+    }
+  }
+
+  /** Assigns a slot to each free variable of the expressions in the order of their first occurrence. */
+  public static VariableSlots of(Expression<?>... expressions) {
+    return of(new String[0], expressions);
+  }
+
+  /** Assigns the first slots to the given parameters in their order
+   *  and the following ones to the other free variables of the expressions. */
+  public static VariableSlots of(String[] parameterNames, Expression<?>... expressions) {
+    Set<String> names = new LinkedHashSet<>(Arrays.asList(parameterNames));
+    for (Expression<?> expression : expressions) {
+      collectVariables(expression, names);
+    }
+    return new VariableSlots(names.toArray(new String[0]));
+  }
+
+  public int size() {
+    return names.length;
+  }
+
+  public String getName(int index) {
+    return names[index];
+  }
+
+  public String[] getNames() {
+    return names.clone();
+  }
+
+  /** Returns the slot of a variable or -1 if the name has no slot. */
+  public int indexOf(String name) {
+    Integer index = indices.get(name);
+    return (index != null ? index : -1);
+  }
+
+  @Override
+  public String toString() {
+    return Arrays.toString(names);
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private static void collectVariables(Expression<?> expression, Set<String> names) {
+    if (expression instanceof QNExpression) {
+      names.add(((QNExpression) expression).getQnParts()[0]);
+    } else if (expression instanceof QNInvocationExpression) {
+      String[] qn = ((QNInvocationExpression) expression).getQn();
+      if (qn.length > 1) {
+        names.add(qn[0]);
+      }
+    } else if (expression instanceof AssignmentExpression) {
+      String[] lhs = ((AssignmentExpression) expression).getLhs();
+      names.add(lhs[0]);
+    } else if (expression instanceof FeatureAccessExpression) {
+      names.add(((FeatureAccessExpression<?>) expression).getFeatureName());
+    }
+    if (expression instanceof WrapperExpression) {
+      for (Expression<?> source : ((WrapperExpression<?>) expression).getSourceExpressions()) {
+        if (source != null) {
+          collectVariables(source, names);
+        }
+      }
+    }
+  }
+
+}
@@ -0,0 +1,120 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Columnar representation of a weighted literal list: Each distinct value is stored once
+ * in a value array and its weight in a parallel primitive double array. Adding a value
+ * which is already present increases the weight of the existing entry.
+ * This saves the per-entry objects of a {@link WeightedSample} array when handling huge lists.<br/><br/>
+ * Created: 14.10.2026 08:31:16
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public class WeightedLiteralTable {
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private Object[] values;
+  private double[] weights;
+  private int size;
+  private double totalWeight;
+  private final Map<Object, Integer> indexes;
+
+  public WeightedLiteralTable() {
+    this.values = new Object[INITIAL_CAPACITY];
+    this.weights = new double[INITIAL_CAPACITY];
+    this.size = 0;
+    this.totalWeight = 0;
+    this.indexes = new HashMap<>();
+  }
+
+  // interface -------------------------------------------------------------------------------------------------------
+
+  /** Adds a value with the given weight, merging it with an equal value if one has already been added.
+   *  @return the index of the value in the table */
+  public int add(Object value, double weight) {
+    Integer index = indexes.get(value);
+    if (index == null) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
+        weights = Arrays.copyOf(weights, size * 2);
+      }
+      index = size++;
+      values[index] = value;
+      indexes.put(value, index);
+    }
+    weights[index] += weight;
+    totalWeight += weight;
+    return index;
+  }
+
+  /** Returns the number of distinct values. */
+  public int size() {
+    return size;
+  }
+
+  public Object getValue(int index) {
+    checkIndex(index);
+    return values[index];
+  }
+
+  public double getWeight(int index) {
+    checkIndex(index);
+    return weights[index];
+  }
+
+  public double getTotalWeight() {
+    return totalWeight;
+  }
+
+  /** Returns the index of the given value or -1 if it is not contained in the table. */
+  public int indexOf(Object value) {
+    Integer index = indexes.get(value);
+    return (index != null ? index : -1);
+  }
+
+  /** Returns a copy of the value column. */
+  public Object[] getValues() {
+    return Arrays.copyOf(values, size);
+  }
+
+  /** Returns a copy of the weight column. */
+  public double[] getWeights() {
+    return Arrays.copyOf(weights, size);
+  }
+
+  /** Converts the table to an array of {@link WeightedSample}s. */
+  public WeightedSample<?>[] toSamples() {
+    WeightedSample<?>[] result = new WeightedSample<?>[size];
+    for (int i = 0; i < size; i++) {
+      result[i] = new WeightedSample<>(values[i], weights[i]);
+    }
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder("[");
+    for (int i = 0; i < size; i++) {
+      if (i > 0) {
+        builder.append(", ");
+      }
+      builder.append(values[i]).append('(').append(weights[i]).append(')');
+    }
+    return builder.append(']').toString();
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index " + index + " for table of size " + size);
+    }
+  }
+
+}
@@ -0,0 +1,371 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.batch;
+
+import com.rapiddweller.common.Context;
+import com.rapiddweller.common.Expression;
+import com.rapiddweller.script.DatabeneScriptParser;
+import com.rapiddweller.script.QNExpression;
+import com.rapiddweller.script.SlotContext;
+import com.rapiddweller.script.VariableSlots;
+import com.rapiddweller.script.expression.BinaryExpression;
+import com.rapiddweller.script.expression.ConditionalAndExpression;
+import com.rapiddweller.script.expression.ConditionalOrExpression;
+import com.rapiddweller.script.expression.DivisionExpression;
+import com.rapiddweller.script.expression.EqualsExpression;
+import com.rapiddweller.script.expression.ExpressionUtil;
+import com.rapiddweller.script.expression.GreaterExpression;
+import com.rapiddweller.script.expression.GreaterOrEqualsExpression;
+import com.rapiddweller.script.expression.LessExpression;
+import com.rapiddweller.script.expression.LessOrEqualsExpression;
+import com.rapiddweller.script.expression.LogicalComplementExpression;
+import com.rapiddweller.script.expression.ModuloExpression;
+import com.rapiddweller.script.expression.MultiplicationExpression;
+import com.rapiddweller.script.expression.NotEqualsExpression;
+import com.rapiddweller.script.expression.SubtractionExpression;
+import com.rapiddweller.script.expression.SumExpression;
+import com.rapiddweller.script.expression.UnaryMinusExpression;
+import com.rapiddweller.script.expression.WrapperExpression;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Evaluates an {@link Expression} for all rows of a {@link ColumnBatch} at once, with the batch columns
+ * as variables. Arithmetic, comparison and logical operators are evaluated column by column in loops
+ * over primitive arrays (see {@link BatchOperations}). Subexpressions which do not use a column and are
+ * side-effect-free are evaluated once per batch in the context, all other nodes row by row in a
+ * {@link SlotContext} which binds the columns of the row. Like in the interpreter, the terms
+ * of conditional AND and OR expressions are only evaluated for the rows which are not yet decided.
+ * The results equal the ones of the interpreter, except that integral numbers are widened to long.
+ * Instances are thread-safe.<br/><br/>
+ * Created: 18.10.2026 19:45:52
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public class BatchExpression {
+
+  private static final Map<Class<?>, Integer> ARITHMETIC_OPERATIONS = new HashMap<>();
+  private static final Map<Class<?>, Integer> COMPARISON_OPERATIONS = new HashMap<>();
+
+  static {
+    ARITHMETIC_OPERATIONS.put(SumExpression.class, BatchOperations.ADD);
+    ARITHMETIC_OPERATIONS.put(SubtractionExpression.class, BatchOperations.SUBTRACT);
+    ARITHMETIC_OPERATIONS.put(MultiplicationExpression.class, BatchOperations.MULTIPLY);
+    ARITHMETIC_OPERATIONS.put(DivisionExpression.class, BatchOperations.DIVIDE);
+    ARITHMETIC_OPERATIONS.put(ModuloExpression.class, BatchOperations.MOD);
+    COMPARISON_OPERATIONS.put(EqualsExpression.class, BatchOperations.EQUAL);
+    COMPARISON_OPERATIONS.put(NotEqualsExpression.class, BatchOperations.NOT_EQUAL);
+    COMPARISON_OPERATIONS.put(LessExpression.class, BatchOperations.LESS);
+    COMPARISON_OPERATIONS.put(LessOrEqualsExpression.class, BatchOperations.LESS_OR_EQUAL);
+    COMPARISON_OPERATIONS.put(GreaterExpression.class, BatchOperations.GREATER);
+    COMPARISON_OPERATIONS.put(GreaterOrEqualsExpression.class, BatchOperations.GREATER_OR_EQUAL);
+  }
+
+  /** the maximum number of column name lists for which plans are cached */
+  private static final int MAX_PLANS = 16;
+
+  private final Expression<?> expression;
+  /** the evaluation plans by the column names of the batches, shared by concurrent evaluations */
+  private final ConcurrentMap<List<String>, Node> plans;
+
+  public BatchExpression(Expression<?> expression) {
+    this.expression = expression;
+    this.plans = new ConcurrentHashMap<>();
+  }
+
+  public static BatchExpression parse(String text) {
+    return new BatchExpression(DatabeneScriptParser.parseExpression(text));
+  }
+
+  public Expression<?> getExpression() {
+    return expression;
+  }
+
+  /** Evaluates the expression for each row of the batch. Variables which are not a column
+   *  of the batch are read from the context. */
+  public Column evaluate(ColumnBatch batch, Context context) {
+    return planFor(batch).evaluate(new Evaluation(batch, context), null);
+  }
+
+  /** Evaluates the expression as condition for each row of the batch and returns the rows which match. */
+  public BitSet select(ColumnBatch batch, Context context) {
+    Column values = evaluate(batch, context);
+    BitSet result = new BitSet(batch.getRowCount());
+    for (int row = 0; row < batch.getRowCount(); row++) {
+      if (BatchOperations.toBoolean(values, row)) {
+        result.set(row);
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return expression.toString();
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private Node planFor(ColumnBatch batch) {
+    List<String> columnNames = List.of(batch.getColumnNames());
+    Node result = plans.get(columnNames);
+    if (result == null) {
+      result = createNode(expression, new HashSet<>(columnNames));
+      if (plans.size() >= MAX_PLANS) {
+        plans.clear();
+      }
+      plans.put(columnNames, result);
+    }
+    return result;
+  }
+
+  private static Node createNode(Expression<?> node, Set<String> columns) {
+    if (node instanceof QNExpression && ((QNExpression) node).getQnParts().length == 1
+        && columns.contains(((QNExpression) node).getQnParts()[0])) {
+      return new ColumnNode(((QNExpression) node).getQnParts()[0]);
+    } else if (!usesColumns(node, columns) && ExpressionUtil.isSideEffectFree(node)) {
+      return new InvariantNode(node);
+    }
+    Class<?> type = node.getClass();
+    Integer arithmetic = ARITHMETIC_OPERATIONS.get(type);
+    Integer comparison = COMPARISON_OPERATIONS.get(type);
+    if (arithmetic != null && ((WrapperExpression<?>) node).getSourceExpressions().length > 0) {
+      Node[] terms = createNodes(((WrapperExpression<?>) node).getSourceExpressions(), columns);
+      return new ArithmeticNode(arithmetic, terms);
+    } else if (comparison != null) {
+      Node[] terms = createNodes(((BinaryExpression<?>) node).getSourceExpressions(), columns);
+      return new ComparisonNode(comparison, terms[0], terms[1]);
+    } else if (type == UnaryMinusExpression.class) {
+      return new NegationNode(createNode(((WrapperExpression<?>) node).getSourceExpressions()[0], columns));
+    } else if (type == LogicalComplementExpression.class) {
+      return new NotNode(createNode(((WrapperExpression<?>) node).getSourceExpressions()[0], columns));
+    } else if (type == ConditionalAndExpression.class || type == ConditionalOrExpression.class) {
+      Node[] terms = createNodes(((WrapperExpression<?>) node).getSourceExpressions(), columns);
+      return new LogicalNode(type == ConditionalOrExpression.class, terms);
+    } else {
+      return new RowNode(node);
+    }
+  }
+
+  private static Node[] createNodes(Expression<?>[] expressions, Set<String> columns) {
+    Node[] result = new Node[expressions.length];
+    for (int i = 0; i < expressions.length; i++) {
+      result[i] = createNode(expressions[i], columns);
+    }
+    return result;
+  }
+
+  private static boolean usesColumns(Expression<?> expression, Set<String> columns) {
+    for (String variable : VariableSlots.of(expression).getNames()) {
+      if (columns.contains(variable)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Holds the state of one evaluation of the expression for a batch. */
+  private static final class Evaluation {
+
+    final ColumnBatch batch;
+    final Context context;
+    private Column[] columns;
+    private SlotContext rowContext;
+
+    Evaluation(ColumnBatch batch, Context context) {
+      this.batch = batch;
+      this.context = context;
+    }
+
+    int rowCount() {
+      return batch.getRowCount();
+    }
+
+    /** Returns a context which holds the column values of the row as variables. */
+    Context rowContext(int row) {
+      if (rowContext == null) {
+        String[] names = batch.getColumnNames();
+        rowContext = new SlotContext(new VariableSlots(names), context);
+        columns = new Column[names.length];
+        for (int i = 0; i < names.length; i++) {
+          columns[i] = batch.getColumn(names[i]);
+        }
+      }
+      for (int i = 0; i < columns.length; i++) {
+        rowContext.setSlot(i, columns[i].get(row));
+      }
+      return rowContext;
+    }
+  }
+
+  // evaluation plan nodes -------------------------------------------------------------------------------------------
+
+  /** Evaluates a subexpression for the active rows, which are all rows if the set is null. */
+  private abstract static class Node {
+    abstract Column evaluate(Evaluation evaluation, BitSet active);
+  }
+
+  private static final class ColumnNode extends Node {
+
+    private final String name;
+
+    ColumnNode(String name) {
+      this.name = name;
+    }
+
+    @Override
+    Column evaluate(Evaluation evaluation, BitSet active) {
+      return evaluation.batch.getColumn(name);
+    }
+  }
+
+  private static final class InvariantNode extends Node {
+
+    private final Expression<?> expression;
+
+    InvariantNode(Expression<?> expression) {
+      this.expression = expression;
+    }
+
+    @Override
+    Column evaluate(Evaluation evaluation, BitSet active) {
+      // like the interpreter, the expression is not evaluated if no row needs it
+      Object value = (active == null || !active.isEmpty() ? expression.evaluate(evaluation.context) : null);
+      return Column.constant(value, evaluation.rowCount());
+    }
+  }
+
+  private static final class RowNode extends Node {
+
+    private final Expression<?> expression;
+
+    RowNode(Expression<?> expression) {
+      this.expression = expression;
+    }
+
+    @Override
+    Column evaluate(Evaluation evaluation, BitSet active) {
+      int rowCount = evaluation.rowCount();
+      Object[] result = new Object[rowCount];
+      for (int row = BatchOperations.nextRow(active, 0, rowCount); row >= 0;
+           row = BatchOperations.nextRow(active, row + 1, rowCount)) {
+        result[row] = expression.evaluate(evaluation.rowContext(row));
+      }
+      return Column.ofObjects(result);
+    }
+  }
+
+  private static final class ArithmeticNode extends Node {
+
+    private final int operation;
+    private final Node[] terms;
+
+    ArithmeticNode(int operation, Node[] terms) {
+      this.operation = operation;
+      this.terms = terms;
+    }
+
+    @Override
+    Column evaluate(Evaluation evaluation, BitSet active) {
+      Column result = terms[0].evaluate(evaluation, active);
+      for (int i = 1; i < terms.length; i++) {
+        result = BatchOperations.arithmetic(operation, result, terms[i].evaluate(evaluation, active), active);
+      }
+      return result;
+    }
+  }
+
+  private static final class NegationNode extends Node {
+
+    private final Node term;
+
+    NegationNode(Node term) {
+      this.term = term;
+    }
+
+    @Override
+    Column evaluate(Evaluation evaluation, BitSet active) {
+      return BatchOperations.negate(term.evaluate(evaluation, active), active);
+    }
+  }
+
+  private static final class ComparisonNode extends Node {
+
+    private final int operation;
+    private final Node term1;
+    private final Node term2;
+
+    ComparisonNode(int operation, Node term1, Node term2) {
+      this.operation = operation;
+      this.term1 = term1;
+      this.term2 = term2;
+    }
+
+    @Override
+    Column evaluate(Evaluation evaluation, BitSet active) {
+      return BatchOperations.compare(operation,
+          term1.evaluate(evaluation, active), term2.evaluate(evaluation, active), active);
+    }
+  }
+
+  private static final class NotNode extends Node {
+
+    private final Node term;
+
+    NotNode(Node term) {
+      this.term = term;
+    }
+
+    @Override
+    Column evaluate(Evaluation evaluation, BitSet active) {
+      return BatchOperations.not(term.evaluate(evaluation, active), active);
+    }
+  }
+
+  /** Evaluates a conditional AND or OR, each term only for the rows which are not yet decided. */
+  private static final class LogicalNode extends Node {
+
+    /** the term result which decides the result: false for AND, true for OR */
+    private final boolean decisive;
+    private final Node[] terms;
+
+    LogicalNode(boolean decisive, Node[] terms) {
+      this.decisive = decisive;
+      this.terms = terms;
+    }
+
+    @Override
+    Column evaluate(Evaluation evaluation, BitSet active) {
+      int rowCount = evaluation.rowCount();
+      boolean[] result = new boolean[rowCount];
+      BitSet undecided;
+      if (active != null) {
+        undecided = (BitSet) active.clone();
+      } else {
+        undecided = new BitSet(rowCount);
+        undecided.set(0, rowCount);
+      }
+      for (int i = 0; i < terms.length && !undecided.isEmpty(); i++) {
+        Column values = terms[i].evaluate(evaluation, undecided);
+        for (int row = undecided.nextSetBit(0); row >= 0; row = undecided.nextSetBit(row + 1)) {
+          if (BatchOperations.toBoolean(values, row) == decisive) {
+            result[row] = decisive;
+            undecided.clear(row);
+          }
+        }
+      }
+      for (int row = undecided.nextSetBit(0); row >= 0; row = undecided.nextSetBit(row + 1)) {
+        result[row] = !decisive;
+      }
+      return Column.ofBooleans(result);
+    }
+  }
+
+}
@@ -0,0 +1,288 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.batch;
+
+import com.rapiddweller.common.converter.AnyConverter;
+import com.rapiddweller.script.math.ArithmeticEngine;
+
+import java.util.BitSet;
+
+import static com.rapiddweller.script.batch.Column.BOOLEAN;
+import static com.rapiddweller.script.batch.Column.DOUBLE;
+import static com.rapiddweller.script.batch.Column.LONG;
+
+/**
+ * Column operations of the {@link BatchExpression}. Columns of long and double values are processed
+ * in loops over all rows, which produce the same results as the {@link ArithmeticEngine} does for Long
+ * and Double values. All other columns are processed row by row by the engine. Rows which are not active
+ * are skipped by the engine, and their results are undefined. Since the primitive loops process these rows
+ * too, division and modulo only fail for a zero divisor in an active row.<br/><br/>
+ * Created: 18.10.2026 19:31:08
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+final class BatchOperations {
+
+  static final int ADD = 0;
+  static final int SUBTRACT = 1;
+  static final int MULTIPLY = 2;
+  static final int DIVIDE = 3;
+  static final int MOD = 4;
+
+  static final int EQUAL = 0;
+  static final int NOT_EQUAL = 1;
+  static final int LESS = 2;
+  static final int LESS_OR_EQUAL = 3;
+  static final int GREATER = 4;
+  static final int GREATER_OR_EQUAL = 5;
+
+  private static final ArithmeticEngine ENGINE = ArithmeticEngine.defaultInstance();
+
+  private BatchOperations() {
+    // private constructor to prevent instantiation of this utility class
+  }
+
+  // arithmetic ------------------------------------------------------------------------------------------------------
+
+  static Column arithmetic(int operation, Column a, Column b, BitSet active) {
+    int kind1 = a.getKind();
+    int kind2 = b.getKind();
+    if (kind1 == LONG && (kind2 == LONG || (operation == MOD && kind2 == DOUBLE))) {
+      return longArithmetic(operation, a.getLongs(), b, active);
+    } else if (isNumber(kind1) && isNumber(kind2) && operation != MOD) {
+      return Column.ofDoubles(doubleArithmetic(operation, toDoubles(a), toDoubles(b)));
+    }
+    Object[] result = new Object[a.size()];
+    for (int row = nextRow(active, 0, result.length); row >= 0; row = nextRow(active, row + 1, result.length)) {
+      Object value1 = a.get(row);
+      Object value2 = b.get(row);
+      switch (operation) {
+        case ADD: result[row] = ENGINE.add(value1, value2); break;
+        case SUBTRACT: result[row] = ENGINE.subtract(value1, value2); break;
+        case MULTIPLY: result[row] = ENGINE.multiply(value1, value2); break;
+        case DIVIDE: result[row] = ENGINE.divide(value1, value2); break;
+        default: result[row] = ENGINE.mod(value1, value2);
+      }
+    }
+    return Column.ofObjects(result);
+  }
+
+  static Column negate(Column a, BitSet active) {
+    if (a.getKind() == LONG) {
+      long[] values = a.getLongs();
+      long[] result = new long[values.length];
+      for (int i = 0; i < values.length; i++) {
+        result[i] = -values[i];
+      }
+      return Column.ofLongs(result);
+    } else if (a.getKind() == DOUBLE) {
+      double[] values = a.getDoubles();
+      double[] result = new double[values.length];
+      for (int i = 0; i < values.length; i++) {
+        result[i] = -values[i];
+      }
+      return Column.ofDoubles(result);
+    }
+    Object[] result = new Object[a.size()];
+    for (int row = nextRow(active, 0, result.length); row >= 0; row = nextRow(active, row + 1, result.length)) {
+      result[row] = ENGINE.negate(a.get(row));
+    }
+    return Column.ofObjects(result);
+  }
+
+  // comparison ------------------------------------------------------------------------------------------------------
+
+  static Column compare(int operation, Column a, Column b, BitSet active) {
+    int kind1 = a.getKind();
+    int kind2 = b.getKind();
+    if (kind1 == LONG && kind2 == LONG) {
+      return Column.ofBooleans(compareLongs(operation, a.getLongs(), b.getLongs()));
+    } else if (isNumber(kind1) && isNumber(kind2)) {
+      return Column.ofBooleans(compareDoubles(operation, toDoubles(a), toDoubles(b)));
+    }
+    boolean[] result = new boolean[a.size()];
+    for (int row = nextRow(active, 0, result.length); row >= 0; row = nextRow(active, row + 1, result.length)) {
+      Object value1 = a.get(row);
+      Object value2 = b.get(row);
+      switch (operation) {
+        case EQUAL: result[row] = ENGINE.equals(value1, value2); break;
+        case NOT_EQUAL: result[row] = !ENGINE.equals(value1, value2); break;
+        case LESS: result[row] = ENGINE.less(value1, value2); break;
+        case LESS_OR_EQUAL: result[row] = ENGINE.lessOrEquals(value1, value2); break;
+        case GREATER: result[row] = ENGINE.less(value2, value1); break;
+        default: result[row] = !ENGINE.less(value1, value2);
+      }
+    }
+    return Column.ofBooleans(result);
+  }
+
+  static Column not(Column a, BitSet active) {
+    boolean[] result = new boolean[a.size()];
+    if (a.getKind() == BOOLEAN) {
+      boolean[] values = a.getBooleans();
+      for (int i = 0; i < values.length; i++) {
+        result[i] = !values[i];
+      }
+    } else {
+      for (int row = nextRow(active, 0, result.length); row >= 0; row = nextRow(active, row + 1, result.length)) {
+        result[row] = !toBoolean(a, row);
+      }
+    }
+    return Column.ofBooleans(result);
+  }
+
+  // helpers ---------------------------------------------------------------------------------------------------------
+
+  /** Returns the first active row from the given one on, or -1 if there is none. A null set means all rows. */
+  static int nextRow(BitSet active, int from, int rowCount) {
+    if (active == null) {
+      return (from < rowCount ? from : -1);
+    }
+    return active.nextSetBit(from);
+  }
+
+  static boolean toBoolean(Column column, int row) {
+    if (column.getKind() == BOOLEAN) {
+      return column.getBooleans()[row];
+    }
+    Object value = column.get(row);
+    return (value instanceof Boolean ? (Boolean) value : AnyConverter.convert(value, Boolean.class));
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private static Column longArithmetic(int operation, long[] x, Column b, BitSet active) {
+    long[] result = new long[x.length];
+    if (operation == MOD) {
+      // like the engine, the modulo is calculated with the int value of the divisor
+      for (int i = 0; i < x.length; i++) {
+        int divisor = (b.getKind() == LONG ? (int) b.getLongs()[i] : (int) b.getDoubles()[i]);
+        result[i] = (divisor != 0 || isActive(active, i) ? x[i] % divisor : 0);
+      }
+      return Column.ofLongs(result);
+    }
+    long[] y = b.getLongs();
+    switch (operation) {
+      case ADD:
+        for (int i = 0; i < x.length; i++) {
+          result[i] = x[i] + y[i];
+        }
+        break;
+      case SUBTRACT:
+        for (int i = 0; i < x.length; i++) {
+          result[i] = x[i] - y[i];
+        }
+        break;
+      case MULTIPLY:
+        for (int i = 0; i < x.length; i++) {
+          result[i] = x[i] * y[i];
+        }
+        break;
+      default:
+        for (int i = 0; i < x.length; i++) {
+          result[i] = (y[i] != 0 || isActive(active, i) ? x[i] / y[i] : 0);
+        }
+    }
+    return Column.ofLongs(result);
+  }
+
+  private static double[] doubleArithmetic(int operation, double[] x, double[] y) {
+    double[] result = new double[x.length];
+    switch (operation) {
+      case ADD:
+        for (int i = 0; i < x.length; i++) {
+          result[i] = x[i] + y[i];
+        }
+        break;
+      case SUBTRACT:
+        for (int i = 0; i < x.length; i++) {
+          result[i] = x[i] - y[i];
+        }
+        break;
+      case MULTIPLY:
+        for (int i = 0; i < x.length; i++) {
+          result[i] = x[i] * y[i];
+        }
+        break;
+      default:
+        for (int i = 0; i < x.length; i++) {
+          result[i] = x[i] / y[i];
+        }
+    }
+    return result;
+  }
+
+  private static boolean[] compareLongs(int operation, long[] x, long[] y) {
+    boolean[] result = new boolean[x.length];
+    switch (operation) {
+      case EQUAL:
+        for (int i = 0; i < x.length; i++) {
+          result[i] = (x[i] == y[i]);
+        }
+        break;
+      case NOT_EQUAL:
+        for (int i = 0; i < x.length; i++) {
+          result[i] = (x[i] != y[i]);
+        }
+        break;
+      case LESS:
+        for (int i = 0; i < x.length; i++) {
+          result[i] = (x[i] < y[i]);
+        }
+        break;
+      case LESS_OR_EQUAL:
+        for (int i = 0; i < x.length; i++) {
+          result[i] = (x[i] <= y[i]);
+        }
+        break;
+      case GREATER:
+        for (int i = 0; i < x.length; i++) {
+          result[i] = (x[i] > y[i]);
+        }
+        break;
+      default:
+        for (int i = 0; i < x.length; i++) {
+          result[i] = (x[i] >= y[i]);
+        }
+    }
+    return result;
+  }
+
+  /** Compares like Double.compareTo(), as the engine does. */
+  private static boolean[] compareDoubles(int operation, double[] x, double[] y) {
+    boolean[] result = new boolean[x.length];
+    for (int i = 0; i < x.length; i++) {
+      int comparison = Double.compare(x[i], y[i]);
+      switch (operation) {
+        case EQUAL: result[i] = (comparison == 0); break;
+        case NOT_EQUAL: result[i] = (comparison != 0); break;
+        case LESS: result[i] = (comparison < 0); break;
+        case LESS_OR_EQUAL: result[i] = (comparison <= 0); break;
+        case GREATER: result[i] = (comparison > 0); break;
+        default: result[i] = (comparison >= 0);
+      }
+    }
+    return result;
+  }
+
+  private static double[] toDoubles(Column column) {
+    if (column.getKind() == DOUBLE) {
+      return column.getDoubles();
+    }
+    long[] values = column.getLongs();
+    double[] result = new double[values.length];
+    for (int i = 0; i < values.length; i++) {
+      result[i] = values[i];
+    }
+    return result;
+  }
+
+  private static boolean isNumber(int kind) {
+    return (kind == LONG || kind == DOUBLE);
+  }
+
+  private static boolean isActive(BitSet active, int row) {
+    return (active == null || active.get(row));
+  }
+
+}
@@ -0,0 +1,119 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.batch;
+
+import java.util.Arrays;
+
+/**
+ * Holds the values of one variable or expression for all rows of a {@link ColumnBatch}
+ * in a primitive or Object array. Integral numbers are represented as long, floating point numbers
+ * as double. The arrays are shared, not copied, so they must not be modified while in use.<br/><br/>
+ * Created: 18.10.2026 19:20:11
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public final class Column {
+
+  public static final int LONG = 0;
+  public static final int DOUBLE = 1;
+  public static final int BOOLEAN = 2;
+  public static final int OBJECT = 3;
+
+  private final int kind;
+  private final int size;
+  private final long[] longs;
+  private final double[] doubles;
+  private final boolean[] booleans;
+  private final Object[] objects;
+
+  private Column(int kind, int size, long[] longs, double[] doubles, boolean[] booleans, Object[] objects) {
+    this.kind = kind;
+    this.size = size;
+    this.longs = longs;
+    this.doubles = doubles;
+    this.booleans = booleans;
+    this.objects = objects;
+  }
+
+  public static Column ofLongs(long... values) {
+    return new Column(LONG, values.length, values, null, null, null);
+  }
+
+  public static Column ofDoubles(double... values) {
+    return new Column(DOUBLE, values.length, null, values, null, null);
+  }
+
+  public static Column ofBooleans(boolean... values) {
+    return new Column(BOOLEAN, values.length, null, null, values, null);
+  }
+
+  public static Column ofObjects(Object... values) {
+    return new Column(OBJECT, values.length, null, null, null, values);
+  }
+
+  /** Creates a column with the same value in each row, using a primitive array where possible. */
+  public static Column constant(Object value, int size) {
+    if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+      long[] values = new long[size];
+      Arrays.fill(values, ((Number) value).longValue());
+      return ofLongs(values);
+    } else if (value instanceof Double || value instanceof Float) {
+      double[] values = new double[size];
+      Arrays.fill(values, ((Number) value).doubleValue());
+      return ofDoubles(values);
+    } else if (value instanceof Boolean) {
+      boolean[] values = new boolean[size];
+      Arrays.fill(values, (Boolean) value);
+      return ofBooleans(values);
+    } else {
+      Object[] values = new Object[size];
+      Arrays.fill(values, value);
+      return ofObjects(values);
+    }
+  }
+
+  public int getKind() {
+    return kind;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public long[] getLongs() {
+    return longs;
+  }
+
+  public double[] getDoubles() {
+    return doubles;
+  }
+
+  public boolean[] getBooleans() {
+    return booleans;
+  }
+
+  public Object[] getObjects() {
+    return objects;
+  }
+
+  /** Returns the value of a row, boxing primitive values. */
+  public Object get(int row) {
+    switch (kind) {
+      case LONG: return longs[row];
+      case DOUBLE: return doubles[row];
+      case BOOLEAN: return booleans[row];
+      default: return objects[row];
+    }
+  }
+
+  @Override
+  public String toString() {
+    switch (kind) {
+      case LONG: return Arrays.toString(longs);
+      case DOUBLE: return Arrays.toString(doubles);
+      case BOOLEAN: return Arrays.toString(booleans);
+      default: return Arrays.toString(objects);
+    }
+  }
+
+}
@@ -0,0 +1,70 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.batch;
+
+import com.rapiddweller.common.exception.ExceptionFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Holds named {@link Column}s of the same number of rows,
+ * which are the variables of a {@link BatchExpression} evaluation.<br/><br/>
+ * Created: 18.10.2026 19:24:37
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public class ColumnBatch {
+
+  private final int rowCount;
+  private final Map<String, Column> columns;
+
+  public ColumnBatch(int rowCount) {
+    this.rowCount = rowCount;
+    this.columns = new LinkedHashMap<>();
+  }
+
+  public int getRowCount() {
+    return rowCount;
+  }
+
+  public ColumnBatch add(String name, Column column) {
+    if (column.size() != rowCount) {
+      throw ExceptionFactory.getInstance().illegalArgument(
+          "Column '" + name + "' has " + column.size() + " rows, expected " + rowCount);
+    }
+    columns.put(name, column);
+    return this;
+  }
+
+  public ColumnBatch addLongs(String name, long... values) {
+    return add(name, Column.ofLongs(values));
+  }
+
+  public ColumnBatch addDoubles(String name, double... values) {
+    return add(name, Column.ofDoubles(values));
+  }
+
+  public ColumnBatch addBooleans(String name, boolean... values) {
+    return add(name, Column.ofBooleans(values));
+  }
+
+  public ColumnBatch addObjects(String name, Object... values) {
+    return add(name, Column.ofObjects(values));
+  }
+
+  /** Returns the column of the given name or null if there is none. */
+  public Column getColumn(String name) {
+    return columns.get(name);
+  }
+
+  public String[] getColumnNames() {
+    return columns.keySet().toArray(new String[0]);
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "[" + rowCount + " rows, " + columns.keySet() + "]";
+  }
+
+}
@@ -0,0 +1,193 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.compiler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal writer for Java class files as needed by the {@link ExpressionCompiler}.
+ * It supports classes with methods, but no fields, attributes other than 'Code' or inner classes.
+ * Class files are written in version 49 (Java 5), so the JVM verifies them by type inference
+ * and no stack map frames need to be computed.<br/><br/>
+ * Created: 15.10.2026 08:47:21
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+class ClassFileWriter {
+
+  static final int ACC_PUBLIC = 0x0001;
+  static final int ACC_FINAL = 0x0010;
+  static final int ACC_SUPER = 0x0020;
+
+  private static final int MAGIC = 0xCAFEBABE;
+  private static final int MAJOR_VERSION = 49;
+
+  private static final int CONSTANT_UTF8 = 1;
+  private static final int CONSTANT_INTEGER = 3;
+  private static final int CONSTANT_CLASS = 7;
+  private static final int CONSTANT_STRING = 8;
+  private static final int CONSTANT_FIELDREF = 9;
+  private static final int CONSTANT_METHODREF = 10;
+  private static final int CONSTANT_INTERFACE_METHODREF = 11;
+  private static final int CONSTANT_NAME_AND_TYPE = 12;
+
+  private final String className;
+  private final String superClassName;
+  private final ByteArrayOutputStream constantPoolBytes;
+  private final DataOutputStream constantPool;
+  private final Map<String, Integer> constantIndexes;
+  private int constantCount;
+  private final List<byte[]> methods;
+
+  /** Creates a writer for a public final class. Class names are in internal form, e.g. 'java/lang/Object'. */
+  ClassFileWriter(String className, String superClassName) {
+    this.className = className;
+    this.superClassName = superClassName;
+    this.constantPoolBytes = new ByteArrayOutputStream();
+    this.constantPool = new DataOutputStream(constantPoolBytes);
+    this.constantIndexes = new HashMap<>();
+    this.constantCount = 1;
+    this.methods = new ArrayList<>();
+  }
+
+  // constant pool ---------------------------------------------------------------------------------------------------
+
+  int utf8(String value) {
+    return constant("U" + value, () -> {
+      constantPool.writeByte(CONSTANT_UTF8);
+      constantPool.writeUTF(value);
+    });
+  }
+
+  int integer(int value) {
+    return constant("I" + value, () -> {
+      constantPool.writeByte(CONSTANT_INTEGER);
+      constantPool.writeInt(value);
+    });
+  }
+
+  int classRef(String internalName) {
+    int nameIndex = utf8(internalName);
+    return constant("C" + internalName, () -> {
+      constantPool.writeByte(CONSTANT_CLASS);
+      constantPool.writeShort(nameIndex);
+    });
+  }
+
+  int string(String value) {
+    int valueIndex = utf8(value);
+    return constant("S" + value, () -> {
+      constantPool.writeByte(CONSTANT_STRING);
+      constantPool.writeShort(valueIndex);
+    });
+  }
+
+  int fieldRef(String owner, String name, String descriptor) {
+    return memberRef(CONSTANT_FIELDREF, owner, name, descriptor);
+  }
+
+  int methodRef(String owner, String name, String descriptor) {
+    return memberRef(CONSTANT_METHODREF, owner, name, descriptor);
+  }
+
+  int interfaceMethodRef(String owner, String name, String descriptor) {
+    return memberRef(CONSTANT_INTERFACE_METHODREF, owner, name, descriptor);
+  }
+
+  private int memberRef(int tag, String owner, String name, String descriptor) {
+    int classIndex = classRef(owner);
+    int nameAndTypeIndex = nameAndType(name, descriptor);
+    return constant(tag + owner + '.' + name + descriptor, () -> {
+      constantPool.writeByte(tag);
+      constantPool.writeShort(classIndex);
+      constantPool.writeShort(nameAndTypeIndex);
+    });
+  }
+
+  private int nameAndType(String name, String descriptor) {
+    int nameIndex = utf8(name);
+    int descriptorIndex = utf8(descriptor);
+    return constant("N" + name + descriptor, () -> {
+      constantPool.writeByte(CONSTANT_NAME_AND_TYPE);
+      constantPool.writeShort(nameIndex);
+      constantPool.writeShort(descriptorIndex);
+    });
+  }
+
+  private int constant(String key, PoolEntryWriter writer) {
+    Integer index = constantIndexes.get(key);
+    if (index == null) {
+      try {
+        writer.write();
+      } catch (IOException e) {
+        throw new IllegalStateException(e); // cannot happen with a ByteArrayOutputStream
+      }
+      index = constantCount++;
+      constantIndexes.put(key, index);
+    }
+    return index;
+  }
+
+  // methods ---------------------------------------------------------------------------------------------------------
+
+  /** Adds a public method with the code created by the given {@link CodeBuilder}. */
+  void addMethod(String name, String descriptor, CodeBuilder code) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      byte[] instructions = code.toByteArray();
+      out.writeShort(ACC_PUBLIC);
+      out.writeShort(utf8(name));
+      out.writeShort(utf8(descriptor));
+      out.writeShort(1); // attribute count
+      out.writeShort(utf8("Code"));
+      out.writeInt(12 + instructions.length);
+      out.writeShort(code.getMaxStack());
+      out.writeShort(code.getMaxLocals());
+      out.writeInt(instructions.length);
+      out.write(instructions);
+      out.writeShort(0); // exception table length
+      out.writeShort(0); // code attribute count
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+    methods.add(bytes.toByteArray());
+  }
+
+  byte[] toByteArray() {
+    int thisIndex = classRef(className);
+    int superIndex = classRef(superClassName);
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeInt(MAGIC);
+      out.writeShort(0);
+      out.writeShort(MAJOR_VERSION);
+      out.writeShort(constantCount);
+      constantPool.flush();
+      constantPoolBytes.writeTo(out);
+      out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+      out.writeShort(thisIndex);
+      out.writeShort(superIndex);
+      out.writeShort(0); // interface count
+      out.writeShort(0); // field count
+      out.writeShort(methods.size());
+      for (byte[] method : methods) {
+        out.write(method);
+      }
+      out.writeShort(0); // class attribute count
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  private interface PoolEntryWriter {
+    void write() throws IOException;
+  }
+
+}
@@ -0,0 +1,289 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.compiler;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Emits the byte code of a single method and keeps track of the operand stack depth
+ * and the number of local variables. Only the instructions needed by the
+ * {@link ExpressionCompiler} are supported.<br/><br/>
+ * Created: 15.10.2026 09:26:03
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+class CodeBuilder {
+
+  private static final int ACONST_NULL = 0x01;
+  private static final int ICONST_0 = 0x03;
+  private static final int BIPUSH = 0x10;
+  private static final int SIPUSH = 0x11;
+  private static final int LDC_W = 0x13;
+  private static final int ALOAD = 0x19;
+  private static final int AALOAD = 0x32;
+  private static final int ASTORE = 0x3a;
+  private static final int AASTORE = 0x53;
+  private static final int DUP = 0x59;
+  private static final int SWAP = 0x5f;
+  private static final int IXOR = 0x82;
+  private static final int IFEQ = 0x99;
+  private static final int IFNE = 0x9a;
+  private static final int GOTO = 0xa7;
+  private static final int ARETURN = 0xb0;
+  private static final int RETURN = 0xb1;
+  private static final int GETFIELD = 0xb4;
+  private static final int INVOKEVIRTUAL = 0xb6;
+  private static final int INVOKESPECIAL = 0xb7;
+  private static final int INVOKESTATIC = 0xb8;
+  private static final int INVOKEINTERFACE = 0xb9;
+  private static final int ANEWARRAY = 0xbd;
+  private static final int CHECKCAST = 0xc0;
+
+  /** Branch offsets are signed 16 bit values, so longer methods cannot be created. */
+  static final int MAX_CODE_LENGTH = Short.MAX_VALUE;
+
+  private final ClassFileWriter classFile;
+  private final ByteArrayOutputStream code;
+  private final List<Label> labels;
+  private int stackDepth;
+  private int maxStack;
+  private int maxLocals;
+
+  CodeBuilder(ClassFileWriter classFile, int parameterSlots) {
+    this.classFile = classFile;
+    this.code = new ByteArrayOutputStream();
+    this.labels = new ArrayList<>();
+    this.stackDepth = 0;
+    this.maxStack = 0;
+    this.maxLocals = parameterSlots;
+  }
+
+  // local variables -------------------------------------------------------------------------------------------------
+
+  int newLocal() {
+    return maxLocals++;
+  }
+
+  void aload(int index) {
+    op(ALOAD, 1);
+    u1(index);
+  }
+
+  void astore(int index) {
+    op(ASTORE, -1);
+    u1(index);
+  }
+
+  // constants -------------------------------------------------------------------------------------------------------
+
+  void iconst(int value) {
+    if (value >= -1 && value <= 5) {
+      op(ICONST_0 + value, 1);
+    } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+      op(BIPUSH, 1);
+      u1(value);
+    } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+      op(SIPUSH, 1);
+      u2(value);
+    } else {
+      op(LDC_W, 1);
+      u2(classFile.integer(value));
+    }
+  }
+
+  void aconstNull() {
+    op(ACONST_NULL, 1);
+  }
+
+  void ldcString(String value) {
+    op(LDC_W, 1);
+    u2(classFile.string(value));
+  }
+
+  // stack, arrays and fields ----------------------------------------------------------------------------------------
+
+  void dup() {
+    op(DUP, 1);
+  }
+
+  void swap() {
+    op(SWAP, 0);
+  }
+
+  void ixor() {
+    op(IXOR, -1);
+  }
+
+  void aaload() {
+    op(AALOAD, -1);
+  }
+
+  void aastore() {
+    op(AASTORE, -3);
+  }
+
+  void anewarray(String internalName) {
+    op(ANEWARRAY, 0);
+    u2(classFile.classRef(internalName));
+  }
+
+  void checkcast(String internalName) {
+    op(CHECKCAST, 0);
+    u2(classFile.classRef(internalName));
+  }
+
+  void getfield(String owner, String name, String descriptor) {
+    op(GETFIELD, 0);
+    u2(classFile.fieldRef(owner, name, descriptor));
+  }
+
+  // invocations -----------------------------------------------------------------------------------------------------
+
+  void invokestatic(String owner, String name, String descriptor) {
+    op(INVOKESTATIC, stackEffect(descriptor, false));
+    u2(classFile.methodRef(owner, name, descriptor));
+  }
+
+  void invokevirtual(String owner, String name, String descriptor) {
+    op(INVOKEVIRTUAL, stackEffect(descriptor, true));
+    u2(classFile.methodRef(owner, name, descriptor));
+  }
+
+  void invokespecial(String owner, String name, String descriptor) {
+    op(INVOKESPECIAL, stackEffect(descriptor, true));
+    u2(classFile.methodRef(owner, name, descriptor));
+  }
+
+  void invokeinterface(String owner, String name, String descriptor) {
+    int effect = stackEffect(descriptor, true);
+    op(INVOKEINTERFACE, effect);
+    u2(classFile.interfaceMethodRef(owner, name, descriptor));
+    u1(returnSlots(descriptor) - effect); // number of argument slots including the receiver
+    u1(0);
+  }
+
+  // control flow ----------------------------------------------------------------------------------------------------
+
+  void ifeq(Label target) {
+    branch(IFEQ, -1, target);
+  }
+
+  void ifne(Label target) {
+    branch(IFNE, -1, target);
+  }
+
+  void goTo(Label target) {
+    branch(GOTO, 0, target);
+  }
+
+  /** Binds a label to the current position. The stack depth at this position is set to the given value,
+   *  since it cannot be derived from the previous instruction after an unconditional jump. */
+  void mark(Label label, int stackDepthAtLabel) {
+    label.position = code.size();
+    this.stackDepth = stackDepthAtLabel;
+  }
+
+  void areturn() {
+    op(ARETURN, -1);
+  }
+
+  void vreturn() {
+    op(RETURN, 0);
+  }
+
+  int getStackDepth() {
+    return stackDepth;
+  }
+
+  // results ---------------------------------------------------------------------------------------------------------
+
+  int length() {
+    return code.size();
+  }
+
+  int getMaxStack() {
+    return maxStack;
+  }
+
+  int getMaxLocals() {
+    return maxLocals;
+  }
+
+  byte[] toByteArray() {
+    byte[] bytes = code.toByteArray();
+    for (Label label : labels) {
+      for (int i = 0; i < label.fixups.size(); i += 2) {
+        int instructionPosition = label.fixups.get(i);
+        int offsetPosition = label.fixups.get(i + 1);
+        int offset = label.position - instructionPosition;
+        bytes[offsetPosition] = (byte) (offset >> 8);
+        bytes[offsetPosition + 1] = (byte) offset;
+      }
+    }
+    return bytes;
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private void branch(int opcode, int stackEffect, Label target) {
+    int instructionPosition = code.size();
+    op(opcode, stackEffect);
+    if (!labels.contains(target)) {
+      labels.add(target);
+    }
+    target.fixups.add(instructionPosition);
+    target.fixups.add(code.size());
+    u2(0); // placeholder, resolved in toByteArray()
+  }
+
+  private void op(int opcode, int stackEffect) {
+    code.write(opcode);
+    stackDepth += stackEffect;
+    if (stackDepth > maxStack) {
+      maxStack = stackDepth;
+    }
+  }
+
+  private void u1(int value) {
+    code.write(value);
+  }
+
+  private void u2(int value) {
+    code.write(value >> 8);
+    code.write(value);
+  }
+
+  /** Calculates the change of the stack depth caused by a method call, for reference and int types only. */
+  private static int stackEffect(String descriptor, boolean hasReceiver) {
+    int argumentSlots = 0;
+    int i = 1;
+    while (descriptor.charAt(i) != ')') {
+      char c = descriptor.charAt(i);
+      while (c == '[') {
+        c = descriptor.charAt(++i);
+      }
+      if (c == 'L') {
+        i = descriptor.indexOf(';', i);
+      } else if (c == 'J' || c == 'D') {
+        argumentSlots++; // long and double occupy two slots
+      }
+      argumentSlots++;
+      i++;
+    }
+    return returnSlots(descriptor) - argumentSlots - (hasReceiver ? 1 : 0);
+  }
+
+  private static int returnSlots(String descriptor) {
+    char returnType = descriptor.charAt(descriptor.indexOf(')') + 1);
+    return (returnType == 'V' ? 0 : (returnType == 'J' || returnType == 'D' ? 2 : 1));
+  }
+
+  /** Marks a position in the code which is the target of branch instructions. */
+  static class Label {
+    int position = -1;
+    final List<Integer> fixups = new ArrayList<>();
+  }
+
+}
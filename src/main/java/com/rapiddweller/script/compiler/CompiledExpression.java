@@ -0,0 +1,48 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.compiler;
+
+import com.rapiddweller.common.Expression;
+import com.rapiddweller.script.expression.WrapperExpression;
+
+/**
+ * Parent class of compiled expressions, i.e. the classes generated by the {@link ExpressionCompiler}
+ * and the {@link MethodHandleExpression}s created by the {@link MethodHandleCompiler}.
+ * It keeps the source expression for {@link #isConstant()} and {@link #toString()}
+ * and the constants and interpreted subexpressions which are referenced by the generated code.<br/><br/>
+ * Created: 15.10.2026 10:12:39
+ * @param <E> the result type of the expression
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public abstract class CompiledExpression<E> implements WrapperExpression<E> {
+
+  protected final Expression<E> source;
+  protected final Object[] constants;
+
+  protected CompiledExpression(Expression<E> source, Object[] constants) {
+    this.source = source;
+    this.constants = constants;
+  }
+
+  /** Returns the interpreted expression from which this one was compiled. */
+  public Expression<E> getSource() {
+    return source;
+  }
+
+  @Override
+  public Expression<?>[] getSourceExpressions() {
+    return new Expression<?>[] { source };
+  }
+
+  @Override
+  public boolean isConstant() {
+    return source.isConstant();
+  }
+
+  @Override
+  public String toString() {
+    return source.toString();
+  }
+
+}
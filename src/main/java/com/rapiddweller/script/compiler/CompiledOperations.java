@@ -0,0 +1,203 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.compiler;
+
+import com.rapiddweller.common.Context;
+import com.rapiddweller.common.Expression;
+import com.rapiddweller.common.converter.AnyConverter;
+import com.rapiddweller.script.SlotContext;
+import com.rapiddweller.script.expression.MethodCallSite;
+import com.rapiddweller.script.math.ArithmeticEngine;
+
+/**
+ * Static operations called by the code which is generated by the {@link ExpressionCompiler}.
+ * Arithmetic and comparison operations provide fast paths for operands of the same type
+ * Integer, Long, Double or String which produce the same results as the {@link ArithmeticEngine}
+ * and delegate all other cases to it. The methods must be public, since generated classes
+ * live in their own class loader.<br/><br/>
+ * Created: 15.10.2026 10:31:55
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public final class CompiledOperations {
+
+  private static final ArithmeticEngine ENGINE = ArithmeticEngine.defaultInstance();
+
+  private CompiledOperations() {
+    // private constructor to prevent instantiation of this utility class
+  }
+
+  // arithmetic ------------------------------------------------------------------------------------------------------
+
+  public static Object add(Object a, Object b) {
+    if (a instanceof Integer && b instanceof Integer) {
+      return (Integer) a + (Integer) b;
+    } else if (a instanceof Long && b instanceof Long) {
+      return (Long) a + (Long) b;
+    } else if (a instanceof Double && b instanceof Double) {
+      return (Double) a + (Double) b;
+    } else if (a instanceof String && b instanceof String) {
+      return (String) a + b;
+    }
+    return ENGINE.add(a, b);
+  }
+
+  public static Object subtract(Object a, Object b) {
+    if (a instanceof Integer && b instanceof Integer) {
+      return (Integer) a - (Integer) b;
+    } else if (a instanceof Long && b instanceof Long) {
+      return (Long) a - (Long) b;
+    } else if (a instanceof Double && b instanceof Double) {
+      return (Double) a - (Double) b;
+    }
+    return ENGINE.subtract(a, b);
+  }
+
+  public static Object multiply(Object a, Object b) {
+    if (a instanceof Integer && b instanceof Integer) {
+      return (Integer) a * (Integer) b;
+    } else if (a instanceof Long && b instanceof Long) {
+      return (Long) a * (Long) b;
+    } else if (a instanceof Double && b instanceof Double) {
+      return (Double) a * (Double) b;
+    }
+    return ENGINE.multiply(a, b);
+  }
+
+  public static Object divide(Object a, Object b) {
+    if (a instanceof Integer && b instanceof Integer) {
+      return (Integer) a / (Integer) b;
+    } else if (a instanceof Long && b instanceof Long) {
+      return (Long) a / (Long) b;
+    } else if (a instanceof Double && b instanceof Double) {
+      return (Double) a / (Double) b;
+    }
+    return ENGINE.divide(a, b);
+  }
+
+  public static Object mod(Object a, Object b) {
+    // like the ArithmeticEngine, the operation is determined by the type of the first operand
+    if (a instanceof Integer && b instanceof Number) {
+      return (Integer) a % ((Number) b).intValue();
+    } else if (a instanceof Long && b instanceof Number) {
+      return (Long) a % ((Number) b).intValue();
+    }
+    return ENGINE.mod(a, b);
+  }
+
+  public static Object negate(Object a) {
+    if (a instanceof Integer) {
+      return -(Integer) a;
+    } else if (a instanceof Long) {
+      return -(Long) a;
+    } else if (a instanceof Double) {
+      return -(Double) a;
+    }
+    return ENGINE.negate(a);
+  }
+
+  public static Object bitwiseAnd(Object a, Object b) {
+    return ENGINE.bitwiseAnd(a, b);
+  }
+
+  public static Object bitwiseOr(Object a, Object b) {
+    return ENGINE.bitwiseOr(a, b);
+  }
+
+  public static Object bitwiseExclusiveOr(Object a, Object b) {
+    return ENGINE.bitwiseExclusiveOr(a, b);
+  }
+
+  public static Object bitwiseComplement(Object a) {
+    return ENGINE.bitwiseComplement(a);
+  }
+
+  public static Object shiftLeft(Object a, Object b) {
+    return ENGINE.shiftLeft(a, b);
+  }
+
+  public static Object shiftRight(Object a, Object b) {
+    return ENGINE.shiftRight(a, b);
+  }
+
+  public static Object shiftRightUnsigned(Object a, Object b) {
+    return ENGINE.shiftRightUnsigned(a, b);
+  }
+
+  // comparison ------------------------------------------------------------------------------------------------------
+
+  public static boolean equal(Object a, Object b) {
+    if (a instanceof Integer && b instanceof Integer) {
+      return ((Integer) a).intValue() == (Integer) b;
+    } else if (a instanceof Long && b instanceof Long) {
+      return ((Long) a).longValue() == (Long) b;
+    } else if (a instanceof Double && b instanceof Double) {
+      return Double.compare((Double) a, (Double) b) == 0; // same semantics as Double.compareTo()
+    } else if (a instanceof String && b instanceof String) {
+      return a.equals(b);
+    }
+    return ENGINE.equals(a, b);
+  }
+
+  public static boolean less(Object a, Object b) {
+    if (a instanceof Integer && b instanceof Integer) {
+      return (Integer) a < (Integer) b;
+    } else if (a instanceof Long && b instanceof Long) {
+      return (Long) a < (Long) b;
+    } else if (a instanceof Double && b instanceof Double) {
+      return Double.compare((Double) a, (Double) b) < 0;
+    } else if (a instanceof String && b instanceof String) {
+      return ((String) a).compareTo((String) b) < 0;
+    }
+    return ENGINE.less(a, b);
+  }
+
+  public static boolean lessOrEquals(Object a, Object b) {
+    if (a instanceof Integer && b instanceof Integer) {
+      return (Integer) a <= (Integer) b;
+    } else if (a instanceof Long && b instanceof Long) {
+      return (Long) a <= (Long) b;
+    } else if (a instanceof Double && b instanceof Double) {
+      return Double.compare((Double) a, (Double) b) <= 0;
+    } else if (a instanceof String && b instanceof String) {
+      return ((String) a).compareTo((String) b) <= 0;
+    }
+    return ENGINE.lessOrEquals(a, b);
+  }
+
+  // conversion ------------------------------------------------------------------------------------------------------
+
+  public static boolean toBoolean(Object value) {
+    if (value instanceof Boolean) {
+      return (Boolean) value;
+    }
+    return AnyConverter.convert(value, Boolean.class);
+  }
+
+  public static Object toObject(boolean value) {
+    return value;
+  }
+
+  public static boolean not(boolean value) {
+    return !value;
+  }
+
+  // variables and invocations ---------------------------------------------------------------------------------------
+
+  /** Reads a variable from the context or, if it is not defined there, evaluates the fallback expression
+   *  which resolves the name as class or static field. A {@link SlotContext} is left to the fallback expression,
+   *  which reads its variables by slot index. */
+  public static Object variable(Context context, String name, Expression<?> fallback) {
+    if (context instanceof SlotContext) {
+      return fallback.evaluate(context);
+    } else if (context.contains(name)) {
+      return context.get(name);
+    }
+    return fallback.evaluate(context);
+  }
+
+  public static Object invoke(Object[] args, Object target, MethodCallSite callSite) {
+    return callSite.invoke(target, args);
+  }
+
+}
@@ -0,0 +1,350 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.compiler;
+
+import com.rapiddweller.common.Expression;
+import com.rapiddweller.common.exception.ExceptionFactory;
+import com.rapiddweller.script.QNExpression;
+import com.rapiddweller.script.expression.BitwiseAndExpression;
+import com.rapiddweller.script.expression.BitwiseComplementExpression;
+import com.rapiddweller.script.expression.BitwiseExclusiveOrExpression;
+import com.rapiddweller.script.expression.BitwiseOrExpression;
+import com.rapiddweller.script.expression.ConditionalAndExpression;
+import com.rapiddweller.script.expression.ConditionalExpression;
+import com.rapiddweller.script.expression.ConditionalOrExpression;
+import com.rapiddweller.script.expression.ConstantExpression;
+import com.rapiddweller.script.expression.DivisionExpression;
+import com.rapiddweller.script.expression.EqualsExpression;
+import com.rapiddweller.script.expression.GreaterExpression;
+import com.rapiddweller.script.expression.GreaterOrEqualsExpression;
+import com.rapiddweller.script.expression.InvocationExpression;
+import com.rapiddweller.script.expression.LeftShiftExpression;
+import com.rapiddweller.script.expression.LessExpression;
+import com.rapiddweller.script.expression.LessOrEqualsExpression;
+import com.rapiddweller.script.expression.LogicalComplementExpression;
+import com.rapiddweller.script.expression.MethodCallSite;
+import com.rapiddweller.script.expression.ModuloExpression;
+import com.rapiddweller.script.expression.MultiplicationExpression;
+import com.rapiddweller.script.expression.NotEqualsExpression;
+import com.rapiddweller.script.expression.RightShiftExpression;
+import com.rapiddweller.script.expression.SubtractionExpression;
+import com.rapiddweller.script.expression.SumExpression;
+import com.rapiddweller.script.expression.UnaryMinusExpression;
+import com.rapiddweller.script.expression.UnsignedRightShiftExpression;
+import com.rapiddweller.script.expression.WrapperExpression;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compiles {@link Expression} trees to JVM classes, so that a whole tree is evaluated by a single method
+ * without virtual calls between its nodes. Arithmetic, comparison and logical operators, conditional
+ * expressions, constants, qualified names and method invocations are translated to byte code,
+ * all other node types are called as interpreted subexpressions.
+ * Boolean subexpressions in conditions are evaluated without boxing.<br/><br/>
+ * Each generated class is defined in a class loader of its own, so it can be unloaded
+ * as soon as the compiled expression is no longer referenced.<br/><br/>
+ * Created: 15.10.2026 11:04:18
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public class ExpressionCompiler {
+
+  private static final String GENERATED_CLASS_PREFIX = "com/rapiddweller/script/compiler/generated/CompiledExpression";
+  private static final String BASE_CLASS = internalName(CompiledExpression.class);
+  private static final String OPERATIONS = internalName(CompiledOperations.class);
+  private static final String EXPRESSION = "com/rapiddweller/common/Expression";
+  private static final String CALL_SITE = internalName(MethodCallSite.class);
+  private static final String OBJECT = "java/lang/Object";
+  private static final String EVALUATE_DESCRIPTOR = "(Lcom/rapiddweller/common/Context;)Ljava/lang/Object;";
+  private static final String BINARY_OP = "(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;";
+  private static final String UNARY_OP = "(Ljava/lang/Object;)Ljava/lang/Object;";
+  private static final String BINARY_PREDICATE = "(Ljava/lang/Object;Ljava/lang/Object;)Z";
+
+  /** Maps arithmetic and bitwise expression classes to the names of their {@link CompiledOperations} methods. */
+  private static final Map<Class<?>, String> OPERATION_NAMES = new HashMap<>();
+
+  static {
+    OPERATION_NAMES.put(SumExpression.class, "add");
+    OPERATION_NAMES.put(SubtractionExpression.class, "subtract");
+    OPERATION_NAMES.put(MultiplicationExpression.class, "multiply");
+    OPERATION_NAMES.put(DivisionExpression.class, "divide");
+    OPERATION_NAMES.put(ModuloExpression.class, "mod");
+    OPERATION_NAMES.put(BitwiseAndExpression.class, "bitwiseAnd");
+    OPERATION_NAMES.put(BitwiseOrExpression.class, "bitwiseOr");
+    OPERATION_NAMES.put(BitwiseExclusiveOrExpression.class, "bitwiseExclusiveOr");
+    OPERATION_NAMES.put(LeftShiftExpression.class, "shiftLeft");
+    OPERATION_NAMES.put(RightShiftExpression.class, "shiftRight");
+    OPERATION_NAMES.put(UnsignedRightShiftExpression.class, "shiftRightUnsigned");
+    OPERATION_NAMES.put(UnaryMinusExpression.class, "negate");
+    OPERATION_NAMES.put(BitwiseComplementExpression.class, "bitwiseComplement");
+  }
+
+  private static final AtomicLong classCounter = new AtomicLong();
+
+  private final Expression<?> root;
+  private final ClassFileWriter classFile;
+  private final CodeBuilder code;
+  private final List<Object> constants;
+
+  private ExpressionCompiler(Expression<?> root, String className) {
+    this.root = root;
+    this.classFile = new ClassFileWriter(className, BASE_CLASS);
+    this.code = new CodeBuilder(classFile, 2);
+    this.constants = new ArrayList<>();
+  }
+
+  // interface -------------------------------------------------------------------------------------------------------
+
+  /** Compiles the given expression. If its root node type is not supported or the generated code would be
+   *  too large, the expression is returned unchanged. */
+  @SuppressWarnings("unchecked")
+  public static <E> Expression<E> compile(Expression<E> expression) {
+    if (expression == null || expression instanceof CompiledExpression || isInterpreted(expression)) {
+      return expression;
+    }
+    String className = GENERATED_CLASS_PREFIX + classCounter.incrementAndGet();
+    ExpressionCompiler compiler = new ExpressionCompiler(expression, className);
+    byte[] bytes = compiler.generateClass();
+    if (bytes == null) {
+      return expression;
+    }
+    try {
+      Class<?> generatedClass = new GeneratedClassLoader(CompiledExpression.class.getClassLoader())
+          .define(className.replace('/', '.'), bytes);
+      return (Expression<E>) generatedClass.getConstructor(Expression.class, Object[].class)
+          .newInstance(expression, compiler.constants.toArray());
+    } catch (ReflectiveOperationException | LinkageError e) {
+      throw ExceptionFactory.getInstance().internalError("Failed to compile expression " + expression, e);
+    }
+  }
+
+  // class generation ------------------------------------------------------------------------------------------------
+
+  private byte[] generateClass() {
+    // constructor
+    CodeBuilder constructor = new CodeBuilder(classFile, 3);
+    constructor.aload(0);
+    constructor.aload(1);
+    constructor.aload(2);
+    constructor.invokespecial(BASE_CLASS, "<init>", "(L" + EXPRESSION + ";[L" + OBJECT + ";)V");
+    constructor.vreturn();
+    classFile.addMethod("<init>", "(L" + EXPRESSION + ";[L" + OBJECT + ";)V", constructor);
+    // evaluate() method: local 0 is 'this', 1 the context and 2 the constants array
+    int constantsLocal = code.newLocal();
+    code.aload(0);
+    code.getfield(BASE_CLASS, "constants", "[L" + OBJECT + ";");
+    code.astore(constantsLocal);
+    compileObject(root);
+    code.areturn();
+    if (code.length() > CodeBuilder.MAX_CODE_LENGTH) {
+      return null;
+    }
+    classFile.addMethod("evaluate", EVALUATE_DESCRIPTOR, code);
+    return classFile.toByteArray();
+  }
+
+  /** Emits code which leaves the result of the expression on the operand stack as object. */
+  private void compileObject(Expression<?> node) {
+    Class<?> type = node.getClass();
+    String operation = OPERATION_NAMES.get(type);
+    if (type == ConstantExpression.class) {
+      compileConstant(((ConstantExpression<?>) node).getValue());
+    } else if (type == QNExpression.class) {
+      code.aload(1);
+      code.ldcString(String.join(".", ((QNExpression) node).getQnParts()));
+      loadConstant(node);
+      code.checkcast(EXPRESSION);
+      code.invokestatic(OPERATIONS, "variable",
+          "(Lcom/rapiddweller/common/Context;Ljava/lang/String;L" + EXPRESSION + ";)L" + OBJECT + ";");
+    } else if (type == SumExpression.class || type == SubtractionExpression.class
+        || type == MultiplicationExpression.class || type == DivisionExpression.class) {
+      compileChain(operation, ((WrapperExpression<?>) node).getSourceExpressions(), node);
+    } else if (type == UnaryMinusExpression.class || type == BitwiseComplementExpression.class) {
+      compileObject(((WrapperExpression<?>) node).getSourceExpressions()[0]);
+      code.invokestatic(OPERATIONS, operation, UNARY_OP);
+    } else if (operation != null) {
+      Expression<?>[] terms = ((WrapperExpression<?>) node).getSourceExpressions();
+      compileObject(terms[0]);
+      compileObject(terms[1]);
+      code.invokestatic(OPERATIONS, operation, BINARY_OP);
+    } else if (isPredicate(type)) {
+      compileBoolean(node);
+      code.invokestatic(OPERATIONS, "toObject", "(Z)L" + OBJECT + ";");
+    } else if (type == ConditionalExpression.class) {
+      ConditionalExpression<?> conditional = (ConditionalExpression<?>) node;
+      CodeBuilder.Label alt2 = new CodeBuilder.Label();
+      CodeBuilder.Label end = new CodeBuilder.Label();
+      compileBoolean(conditional.getCondition());
+      int depth = code.getStackDepth() - 1;
+      code.ifeq(alt2);
+      compileObject(conditional.getAlt1());
+      code.goTo(end);
+      code.mark(alt2, depth);
+      compileObject(conditional.getAlt2());
+      code.mark(end, depth + 1);
+    } else if (type == InvocationExpression.class && ((InvocationExpression) node).getArgExpressions() != null) {
+      InvocationExpression invocation = (InvocationExpression) node;
+      Expression<?>[] args = invocation.getArgExpressions();
+      code.iconst(args.length);
+      code.anewarray(OBJECT);
+      for (int i = 0; i < args.length; i++) {
+        code.dup();
+        code.iconst(i);
+        compileObject(args[i]);
+        code.aastore();
+      }
+      compileObject(invocation.getTarget());
+      loadConstant(invocation.getCallSite());
+      code.checkcast(CALL_SITE);
+      code.invokestatic(OPERATIONS, "invoke",
+          "([L" + OBJECT + ";L" + OBJECT + ";L" + CALL_SITE + ";)L" + OBJECT + ";");
+    } else {
+      compileInterpreted(node);
+    }
+  }
+
+  /** Emits code which leaves the result of the expression on the operand stack as primitive boolean. */
+  private void compileBoolean(Expression<?> node) {
+    Class<?> type = node.getClass();
+    if (isAdaptive(node)) { // the adaptive term order is only available in the interpreter
+      compileInterpreted(node);
+      code.invokestatic(OPERATIONS, "toBoolean", "(L" + OBJECT + ";)Z");
+    } else if (type == ConstantExpression.class && ((ConstantExpression<?>) node).getValue() instanceof Boolean) {
+        code.iconst((Boolean) ((ConstantExpression<?>) node).getValue() ? 1 : 0);
+    } else if (type == EqualsExpression.class || type == NotEqualsExpression.class
+        || type == LessExpression.class || type == LessOrEqualsExpression.class
+        || type == GreaterExpression.class || type == GreaterOrEqualsExpression.class) {
+        Expression<?>[] terms = ((WrapperExpression<?>) node).getSourceExpressions();
+      compileObject(terms[0]);
+      compileObject(terms[1]);
+      if (type == EqualsExpression.class || type == NotEqualsExpression.class) {
+        code.invokestatic(OPERATIONS, "equal", BINARY_PREDICATE);
+      } else if (type == LessExpression.class || type == GreaterOrEqualsExpression.class) {
+        code.invokestatic(OPERATIONS, "less", BINARY_PREDICATE);
+      } else if (type == LessOrEqualsExpression.class) {
+        code.invokestatic(OPERATIONS, "lessOrEquals", BINARY_PREDICATE);
+      } else { // a > b is evaluated as b < a
+        code.swap();
+        code.invokestatic(OPERATIONS, "less", BINARY_PREDICATE);
+      }
+      if (type == NotEqualsExpression.class || type == GreaterOrEqualsExpression.class) {
+        negate();
+      }
+    } else if (type == LogicalComplementExpression.class) {
+        compileBoolean(((WrapperExpression<?>) node).getSourceExpressions()[0]);
+      negate();
+    } else if (type == ConditionalAndExpression.class || type == ConditionalOrExpression.class) {
+        boolean and = (type == ConditionalAndExpression.class);
+      CodeBuilder.Label shortCircuit = new CodeBuilder.Label();
+      CodeBuilder.Label end = new CodeBuilder.Label();
+      int depth = code.getStackDepth();
+      for (Expression<?> term : ((WrapperExpression<?>) node).getSourceExpressions()) {
+        compileBoolean(term);
+        if (and) {
+          code.ifeq(shortCircuit);
+        } else {
+          code.ifne(shortCircuit);
+        }
+      }
+      code.iconst(and ? 1 : 0);
+      code.goTo(end);
+      code.mark(shortCircuit, depth);
+      code.iconst(and ? 0 : 1);
+      code.mark(end, depth + 1);
+    } else {
+      compileObject(node);
+      code.invokestatic(OPERATIONS, "toBoolean", "(L" + OBJECT + ";)Z");
+    }
+  }
+
+  private void compileChain(String operation, Expression<?>[] terms, Expression<?> node) {
+    if (terms.length == 0) {
+      compileInterpreted(node);
+      return;
+    }
+    compileObject(terms[0]);
+    for (int i = 1; i < terms.length; i++) {
+      compileObject(terms[i]);
+      code.invokestatic(OPERATIONS, operation, BINARY_OP);
+    }
+  }
+
+  private void compileConstant(Object value) {
+    if (value == null) {
+      code.aconstNull();
+    } else {
+      loadConstant(value);
+    }
+  }
+
+  /** Emits a call of the interpreted evaluate() method of the node. */
+  private void compileInterpreted(Expression<?> node) {
+    loadConstant(node);
+    code.checkcast(EXPRESSION);
+    code.aload(1);
+    code.invokeinterface(EXPRESSION, "evaluate", EVALUATE_DESCRIPTOR);
+  }
+
+  private void loadConstant(Object value) {
+    int index = constants.size();
+    constants.add(value);
+    code.aload(2);
+    code.iconst(index);
+    code.aaload();
+  }
+
+  private void negate() {
+    code.iconst(1);
+    code.ixor();
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  /** Returns the name of the {@link CompiledOperations} method which implements an operator node type. */
+  static String operationName(Class<?> type) {
+    return OPERATION_NAMES.get(type);
+  }
+
+  static boolean isPredicate(Class<?> type) {
+    return type == EqualsExpression.class || type == NotEqualsExpression.class
+        || type == LessExpression.class || type == LessOrEqualsExpression.class
+        || type == GreaterExpression.class || type == GreaterOrEqualsExpression.class
+        || type == LogicalComplementExpression.class
+        || type == ConditionalAndExpression.class || type == ConditionalOrExpression.class;
+  }
+
+  /** Tells if the node would only be evaluated by the interpreter, so compiling it brings no benefit. */
+  static boolean isInterpreted(Expression<?> node) {
+    Class<?> type = node.getClass();
+    return !(OPERATION_NAMES.containsKey(type) || isPredicate(type) || type == ConditionalExpression.class
+        || type == InvocationExpression.class || type == QNExpression.class) || isAdaptive(node);
+  }
+
+  /** Tells if the node is a conditional AND or OR with adaptive term order. */
+  static boolean isAdaptive(Expression<?> node) {
+    return (node instanceof ConditionalAndExpression && ((ConditionalAndExpression) node).isAdaptive())
+        || (node instanceof ConditionalOrExpression && ((ConditionalOrExpression) node).isAdaptive());
+  }
+
+  private static String internalName(Class<?> type) {
+    return type.getName().replace('.', '/');
+  }
+
+  /** Defines a single generated class. Since the class loader is only referenced by its class,
+   *  both can be garbage collected when the compiled expression is no longer used. */
+  private static final class GeneratedClassLoader extends ClassLoader {
+
+    GeneratedClassLoader(ClassLoader parent) {
+      super(parent);
+    }
+
+    Class<?> define(String name, byte[] bytes) {
+      return defineClass(name, bytes, 0, bytes.length);
+    }
+  }
+
+}
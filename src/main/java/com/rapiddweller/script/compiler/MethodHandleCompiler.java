@@ -0,0 +1,242 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.compiler;
+
+import com.rapiddweller.common.Context;
+import com.rapiddweller.common.Expression;
+import com.rapiddweller.common.exception.ExceptionFactory;
+import com.rapiddweller.script.QNExpression;
+import com.rapiddweller.script.expression.BitwiseComplementExpression;
+import com.rapiddweller.script.expression.ConditionalAndExpression;
+import com.rapiddweller.script.expression.ConditionalExpression;
+import com.rapiddweller.script.expression.ConditionalOrExpression;
+import com.rapiddweller.script.expression.ConstantExpression;
+import com.rapiddweller.script.expression.DivisionExpression;
+import com.rapiddweller.script.expression.EqualsExpression;
+import com.rapiddweller.script.expression.GreaterExpression;
+import com.rapiddweller.script.expression.GreaterOrEqualsExpression;
+import com.rapiddweller.script.expression.InvocationExpression;
+import com.rapiddweller.script.expression.LessExpression;
+import com.rapiddweller.script.expression.LessOrEqualsExpression;
+import com.rapiddweller.script.expression.LogicalComplementExpression;
+import com.rapiddweller.script.expression.MethodCallSite;
+import com.rapiddweller.script.expression.MultiplicationExpression;
+import com.rapiddweller.script.expression.NotEqualsExpression;
+import com.rapiddweller.script.expression.SubtractionExpression;
+import com.rapiddweller.script.expression.SumExpression;
+import com.rapiddweller.script.expression.UnaryMinusExpression;
+import com.rapiddweller.script.expression.WrapperExpression;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Compiles {@link Expression} trees to a composition of {@link MethodHandle}s, which the JIT compiler
+ * can inline across node boundaries without any class being defined at runtime.
+ * Each node is translated to a handle of type (Context)Object or, if it is used as condition,
+ * (Context)boolean. Operands are attached to the operator methods of {@link CompiledOperations}
+ * with {@link MethodHandles#filterArguments(MethodHandle, int, MethodHandle...)},
+ * conditional expressions and logical operators are translated with
+ * {@link MethodHandles#guardWithTest(MethodHandle, MethodHandle, MethodHandle)} and node types which are not
+ * supported are called as interpreted subexpressions, as well as subtrees nested deeper than {@link #MAX_DEPTH}.
+ * The node types supported are the same as for the {@link ExpressionCompiler}.<br/><br/>
+ * Created: 16.10.2026 09:31:08
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public class MethodHandleCompiler {
+
+  /** Nesting depth from which on subtrees are interpreted. Each level of handles occupies
+   *  several stack frames when building and invoking them, so that deeper trees could overflow the stack. */
+  static final int MAX_DEPTH = 256;
+
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+  private static final MethodType OBJECT_TYPE = MethodType.methodType(Object.class, Context.class);
+  private static final MethodType BOOLEAN_TYPE = MethodType.methodType(boolean.class, Context.class);
+  private static final MethodType UNARY_OP = MethodType.methodType(Object.class, Object.class);
+  private static final MethodType BINARY_OP = MethodType.methodType(Object.class, Object.class, Object.class);
+  private static final MethodType BINARY_PREDICATE = MethodType.methodType(boolean.class, Object.class, Object.class);
+
+  private static final MethodHandle EVALUATE = virtual(Expression.class, "evaluate", OBJECT_TYPE);
+  private static final MethodHandle VARIABLE = operation("variable",
+      MethodType.methodType(Object.class, Context.class, String.class, Expression.class));
+  private static final MethodHandle INVOKE = operation("invoke",
+      MethodType.methodType(Object.class, Object[].class, Object.class, MethodCallSite.class));
+  private static final MethodHandle EQUAL = operation("equal", BINARY_PREDICATE);
+  private static final MethodHandle LESS = operation("less", BINARY_PREDICATE);
+  private static final MethodHandle LESS_OR_EQUALS = operation("lessOrEquals", BINARY_PREDICATE);
+  private static final MethodHandle TO_BOOLEAN = operation("toBoolean", MethodType.methodType(boolean.class, Object.class));
+  private static final MethodHandle TO_OBJECT = operation("toObject", MethodType.methodType(Object.class, boolean.class));
+  private static final MethodHandle NOT = operation("not", MethodType.methodType(boolean.class, boolean.class));
+  private static final MethodHandle TRUE = booleanConstant(true);
+  private static final MethodHandle FALSE = booleanConstant(false);
+
+  private MethodHandleCompiler() {
+    // private constructor to prevent instantiation of this utility class
+  }
+
+  // interface -------------------------------------------------------------------------------------------------------
+
+  /** Compiles the given expression. If its root node type is not supported, the expression is returned unchanged. */
+  public static <E> Expression<E> compile(Expression<E> expression) {
+    if (expression == null || expression instanceof CompiledExpression || ExpressionCompiler.isInterpreted(expression)) {
+      return expression;
+    }
+    return new MethodHandleExpression<>(expression, compileObject(expression));
+  }
+
+  // translation of nodes --------------------------------------------------------------------------------------------
+
+  /** Creates a handle of type (Context)Object which evaluates the node. */
+  static MethodHandle compileObject(Expression<?> node) {
+    return compileObject(node, 0);
+  }
+
+  /** Creates a handle of type (Context)boolean which evaluates the node. */
+  static MethodHandle compileBoolean(Expression<?> node) {
+    return compileBoolean(node, 0);
+  }
+
+  private static MethodHandle compileObject(Expression<?> node, int depth) {
+    if (depth > MAX_DEPTH) {
+      return interpreted(node);
+    }
+    Class<?> type = node.getClass();
+    String operation = ExpressionCompiler.operationName(type);
+    if (type == ConstantExpression.class) {
+      Object value = ((ConstantExpression<?>) node).getValue();
+      return MethodHandles.dropArguments(MethodHandles.constant(Object.class, value), 0, Context.class);
+    } else if (type == QNExpression.class) {
+      String name = String.join(".", ((QNExpression) node).getQnParts());
+      return MethodHandles.insertArguments(VARIABLE, 1, name, node);
+    } else if (type == SumExpression.class || type == SubtractionExpression.class
+        || type == MultiplicationExpression.class || type == DivisionExpression.class) {
+      Expression<?>[] terms = ((WrapperExpression<?>) node).getSourceExpressions();
+      if (terms.length == 0) {
+        return interpreted(node);
+      }
+      MethodHandle operator = operation(operation, BINARY_OP);
+      MethodHandle result = compileObject(terms[0], depth + 1);
+      for (int i = 1; i < terms.length; i++) {
+        result = apply(operator, result, compileObject(terms[i], depth + 1));
+      }
+      return result;
+    } else if (type == UnaryMinusExpression.class || type == BitwiseComplementExpression.class) {
+      Expression<?> term = ((WrapperExpression<?>) node).getSourceExpressions()[0];
+      return apply(operation(operation, UNARY_OP), compileObject(term, depth + 1));
+    } else if (operation != null) {
+      Expression<?>[] terms = ((WrapperExpression<?>) node).getSourceExpressions();
+      return apply(operation(operation, BINARY_OP),
+          compileObject(terms[0], depth + 1), compileObject(terms[1], depth + 1));
+    } else if (ExpressionCompiler.isPredicate(type)) {
+      return MethodHandles.filterReturnValue(compileBoolean(node, depth), TO_OBJECT);
+    } else if (type == ConditionalExpression.class) {
+      ConditionalExpression<?> conditional = (ConditionalExpression<?>) node;
+      return MethodHandles.guardWithTest(compileBoolean(conditional.getCondition(), depth + 1),
+          compileObject(conditional.getAlt1(), depth + 1), compileObject(conditional.getAlt2(), depth + 1));
+    } else if (type == InvocationExpression.class && ((InvocationExpression) node).getArgExpressions() != null) {
+      InvocationExpression invocation = (InvocationExpression) node;
+      Expression<?>[] args = invocation.getArgExpressions();
+      MethodHandle[] argHandles = new MethodHandle[args.length];
+      for (int i = 0; i < args.length; i++) {
+        argHandles[i] = compileObject(args[i], depth + 1);
+      }
+      MethodHandle argArray = apply(
+          MethodHandles.identity(Object[].class).asCollector(Object[].class, args.length), argHandles);
+      MethodHandle invoker = MethodHandles.insertArguments(INVOKE, 2, invocation.getCallSite());
+      return apply(invoker, argArray, compileObject(invocation.getTarget(), depth + 1));
+    } else {
+      return interpreted(node);
+    }
+  }
+
+  private static MethodHandle compileBoolean(Expression<?> node, int depth) {
+    if (depth > MAX_DEPTH || ExpressionCompiler.isAdaptive(node)) {
+      return MethodHandles.filterReturnValue(interpreted(node), TO_BOOLEAN);
+    }
+    Class<?> type = node.getClass();
+    if (type == ConstantExpression.class && ((ConstantExpression<?>) node).getValue() instanceof Boolean) {
+      return ((Boolean) ((ConstantExpression<?>) node).getValue() ? TRUE : FALSE);
+    } else if (type == EqualsExpression.class || type == NotEqualsExpression.class
+        || type == LessExpression.class || type == LessOrEqualsExpression.class
+        || type == GreaterExpression.class || type == GreaterOrEqualsExpression.class) {
+      Expression<?>[] terms = ((WrapperExpression<?>) node).getSourceExpressions();
+      MethodHandle predicate;
+      if (type == EqualsExpression.class || type == NotEqualsExpression.class) {
+        predicate = EQUAL;
+      } else if (type == LessExpression.class || type == GreaterOrEqualsExpression.class) {
+        predicate = LESS;
+      } else if (type == LessOrEqualsExpression.class) {
+        predicate = LESS_OR_EQUALS;
+      } else { // a > b is evaluated as b < a, keeping the evaluation order of the terms
+        predicate = MethodHandles.permuteArguments(LESS, BINARY_PREDICATE, 1, 0);
+      }
+      MethodHandle result = apply(predicate,
+          compileObject(terms[0], depth + 1), compileObject(terms[1], depth + 1));
+      if (type == NotEqualsExpression.class || type == GreaterOrEqualsExpression.class) {
+        result = MethodHandles.filterReturnValue(result, NOT);
+      }
+      return result;
+    } else if (type == LogicalComplementExpression.class) {
+      Expression<?> term = ((WrapperExpression<?>) node).getSourceExpressions()[0];
+      return MethodHandles.filterReturnValue(compileBoolean(term, depth + 1), NOT);
+    } else if (type == ConditionalAndExpression.class || type == ConditionalOrExpression.class) {
+      boolean and = (type == ConditionalAndExpression.class);
+      Expression<?>[] terms = ((WrapperExpression<?>) node).getSourceExpressions();
+      // the chain is built from the last term, so that each guard tests one term before evaluating the rest
+      MethodHandle result = (and ? TRUE : FALSE);
+      for (int i = terms.length - 1; i >= 0; i--) {
+        MethodHandle test = compileBoolean(terms[i], depth + 1);
+        result = (and ? MethodHandles.guardWithTest(test, result, FALSE)
+                      : MethodHandles.guardWithTest(test, TRUE, result));
+      }
+      return result;
+    } else if (type == ConditionalExpression.class) {
+      ConditionalExpression<?> conditional = (ConditionalExpression<?>) node;
+      return MethodHandles.guardWithTest(compileBoolean(conditional.getCondition(), depth + 1),
+          compileBoolean(conditional.getAlt1(), depth + 1), compileBoolean(conditional.getAlt2(), depth + 1));
+    } else {
+      return MethodHandles.filterReturnValue(compileObject(node, depth), TO_BOOLEAN);
+    }
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  /** Calls the operator with the results of the operand handles, which all take the context as argument,
+   *  and returns a handle which takes the context once. */
+  private static MethodHandle apply(MethodHandle operator, MethodHandle... operands) {
+    if (operands.length == 0) {
+      return MethodHandles.dropArguments(operator, 0, Context.class);
+    }
+    MethodHandle filtered = MethodHandles.filterArguments(operator, 0, operands);
+    MethodType type = MethodType.methodType(operator.type().returnType(), Context.class);
+    return MethodHandles.permuteArguments(filtered, type, new int[operands.length]);
+  }
+
+  private static MethodHandle interpreted(Expression<?> node) {
+    return EVALUATE.bindTo(node);
+  }
+
+  private static MethodHandle booleanConstant(boolean value) {
+    return MethodHandles.dropArguments(MethodHandles.constant(boolean.class, value), 0, Context.class);
+  }
+
+  private static MethodHandle operation(String name, MethodType type) {
+    try {
+      return LOOKUP.findStatic(CompiledOperations.class, name, type);
+    } catch (ReflectiveOperationException e) {
+      throw ExceptionFactory.getInstance().internalError("Operation not found: " + name + type, e);
+    }
+  }
+
+  private static MethodHandle virtual(Class<?> owner, String name, MethodType type) {
+    try {
+      return LOOKUP.findVirtual(owner, name, type);
+    } catch (ReflectiveOperationException e) {
+      throw ExceptionFactory.getInstance().internalError("Method not found: " + name + type, e);
+    }
+  }
+
+}
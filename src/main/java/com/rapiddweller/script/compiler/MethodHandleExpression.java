@@ -0,0 +1,46 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.compiler;
+
+import com.rapiddweller.common.Context;
+import com.rapiddweller.common.Expression;
+import com.rapiddweller.common.exception.ExceptionFactory;
+
+import java.lang.invoke.MethodHandle;
+
+/**
+ * {@link Expression} which evaluates a {@link MethodHandle} of type (Context)Object
+ * created by the {@link MethodHandleCompiler}.<br/><br/>
+ * Created: 16.10.2026 09:12:45
+ * @param <E> the result type of the expression
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public class MethodHandleExpression<E> extends CompiledExpression<E> {
+
+  private static final Object[] NO_CONSTANTS = new Object[0];
+
+  private final MethodHandle handle;
+
+  public MethodHandleExpression(Expression<E> source, MethodHandle handle) {
+    super(source, NO_CONSTANTS);
+    this.handle = handle;
+  }
+
+  public MethodHandle getHandle() {
+    return handle;
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public E evaluate(Context context) {
+    try {
+      return (E) (Object) handle.invokeExact(context);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw ExceptionFactory.getInstance().internalError("Error evaluating " + source, e);
+    }
+  }
+
+}
@@ -0,0 +1,208 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.expression;
+
+import com.rapiddweller.common.Context;
+import com.rapiddweller.common.Expression;
+import com.rapiddweller.common.converter.AnyConverter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Evaluates the terms of a conditional AND or OR in an order which is adapted to their observed cost
+ * and selectivity. Every {@link #SAMPLE_INTERVAL}th evaluation measures the time of each evaluated term
+ * and counts how often it decides the result, and every {@link #REORDER_INTERVAL} evaluations the terms are
+ * sorted by their expected cost per decision. Only side-effect-free terms are moved (see
+ * {@link ExpressionUtil#isSideEffectFree(Expression)}), and only within the runs of such terms between
+ * other terms, which keep their positions. Since a term may rely on a preceding one, e.g.
+ * <code>x != null &amp;&amp; x.y &gt; 0</code>, an evaluation in changed order which fails is continued
+ * in source order from the start of the run of the failing term, so that the result or error is the same
+ * as without reordering, and the terms are not reordered any more. The statistics are halved on each
+ * reordering, so that the order follows changes of the data. Instances may be used concurrently:
+ * the statistics are kept in atomic counters, and only the thread which resets the evaluation counter
+ * reorders the terms, synchronized with the switch back to source order after a failure.<br/><br/>
+ * Created: 18.10.2026 18:20:44
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+final class AdaptiveTermOrder {
+
+  static final int SAMPLE_INTERVAL = 16;
+  static final int REORDER_INTERVAL = 4096;
+
+  /** the flattened composites and their term arrays at creation time */
+  private final CompositeExpression<?, ?>[] composites;
+  private final Expression<?>[][] compositeTerms;
+  private final Expression<?>[] terms;
+  /** the result of a term which decides the result of the whole expression: false for AND, true for OR */
+  private final boolean decisive;
+  private final boolean[] movable;
+  private final int[] sourceOrder;
+  /** the position of the first term of the run of movable terms to which a position belongs */
+  private final int[] runStarts;
+  private volatile int[] order;
+  private volatile boolean reorderable;
+
+  private final AtomicLongArray nanos;
+  private final AtomicLongArray samples;
+  private final AtomicLongArray decisions;
+  private final AtomicInteger evaluations;
+
+  /** Creates a term order for a conditional AND or OR. Since the parsers create nested binary nodes,
+   *  terms of the same class as the node itself are flattened, e.g. (a &amp;&amp; b) &amp;&amp; c into a,b,c. */
+  AdaptiveTermOrder(CompositeExpression<?, ?> node, boolean decisive) {
+    List<CompositeExpression<?, ?>> flattened = new ArrayList<>();
+    List<Expression<?>> termList = new ArrayList<>();
+    flatten(node, flattened, termList);
+    this.composites = flattened.toArray(new CompositeExpression<?, ?>[0]);
+    this.compositeTerms = new Expression<?>[composites.length][];
+    for (int i = 0; i < composites.length; i++) {
+      compositeTerms[i] = composites[i].getTerms();
+    }
+    this.terms = termList.toArray(new Expression<?>[0]);
+    this.decisive = decisive;
+    this.movable = new boolean[terms.length];
+    this.sourceOrder = new int[terms.length];
+    for (int i = 0; i < terms.length; i++) {
+      movable[i] = ExpressionUtil.isSideEffectFree(terms[i]);
+      sourceOrder[i] = i;
+    }
+    this.runStarts = new int[terms.length];
+    for (int i = 0; i < terms.length; i++) {
+      runStarts[i] = (i > 0 && movable[i] && movable[i - 1] ? runStarts[i - 1] : i);
+    }
+    this.order = sourceOrder;
+    this.reorderable = true;
+    this.nanos = new AtomicLongArray(terms.length);
+    this.samples = new AtomicLongArray(terms.length);
+    this.decisions = new AtomicLongArray(terms.length);
+    this.evaluations = new AtomicInteger();
+  }
+
+  /** Tells if the terms of the node and its flattened children are still the ones of the creation time,
+   *  they may have been extended by {@link CompositeExpression#addTerm(Expression)}. */
+  boolean isCurrent() {
+    for (int i = 0; i < composites.length; i++) {
+      if (composites[i].getTerms() != compositeTerms[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  int[] getOrder() {
+    return order.clone();
+  }
+
+  boolean evaluate(Context context) {
+    int count = evaluations.incrementAndGet();
+    if (count >= REORDER_INTERVAL && reorderable && evaluations.compareAndSet(count, 0)) {
+      reorder();
+    }
+    return evaluate(this.order, count % SAMPLE_INTERVAL == 0, context);
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private static void flatten(
+      CompositeExpression<?, ?> node, List<CompositeExpression<?, ?>> composites, List<Expression<?>> terms) {
+    composites.add(node);
+    for (Expression<?> term : node.getTerms()) {
+      if (term.getClass() == node.getClass()) {
+        flatten((CompositeExpression<?, ?>) term, composites, terms);
+      } else {
+        terms.add(term);
+      }
+    }
+  }
+
+  private boolean evaluate(int[] order, boolean sampled, Context context) {
+    int position = 0;
+    try {
+      for (; position < order.length; position++) {
+        int index = order[position];
+        long start = (sampled ? System.nanoTime() : 0L);
+        boolean value = toBoolean(terms[index].evaluate(context));
+        if (sampled) {
+          nanos.addAndGet(index, System.nanoTime() - start);
+          samples.incrementAndGet(index);
+        }
+        if (value == decisive) {
+          if (sampled) {
+            decisions.incrementAndGet(index);
+          }
+          return decisive;
+        }
+      }
+      return !decisive;
+    } catch (RuntimeException e) {
+      if (order == sourceOrder || !movable[order[position]]) {
+        throw e; // the same terms have been evaluated as in source order
+      }
+      // a term seems to depend on a preceding one: the terms before the run of the failing one have been
+      // evaluated like in source order, so the evaluation is continued in source order from the run start
+      synchronized (this) {
+        this.reorderable = false;
+        this.order = sourceOrder;
+      }
+      for (position = runStarts[position]; position < terms.length; position++) {
+        if (toBoolean(terms[position].evaluate(context)) == decisive) {
+          return decisive;
+        }
+      }
+      return !decisive;
+    }
+  }
+
+  /** Sorts each run of movable terms by the expected cost per decision, i.e. the average time divided by
+   *  the probability that the term decides the result. The probability is estimated with add-one smoothing,
+   *  terms without samples are estimated as cheap, so that they are moved forward and get sampled. */
+  private synchronized void reorder() {
+    double[] ranks = new double[terms.length];
+    for (int i = 0; i < terms.length; i++) {
+      long termNanos = nanos.getAndUpdate(i, value -> value / 2);
+      long termSamples = samples.getAndUpdate(i, value -> value / 2);
+      long termDecisions = decisions.getAndUpdate(i, value -> value / 2);
+      double cost = (termSamples > 0 ? (double) termNanos / termSamples : 0.);
+      double decisionRate = (termDecisions + 1.) / (termSamples + 2.);
+      ranks[i] = cost / decisionRate;
+    }
+    Integer[] newOrder = new Integer[terms.length];
+    for (int i = 0; i < terms.length; i++) {
+      newOrder[i] = i;
+    }
+    int runStart = 0;
+    while (runStart < terms.length) {
+      if (!movable[runStart]) {
+        runStart++;
+        continue;
+      }
+      int runEnd = runStart;
+      while (runEnd < terms.length && movable[runEnd]) {
+        runEnd++;
+      }
+      Arrays.sort(newOrder, runStart, runEnd, Comparator.comparingDouble(index -> ranks[index]));
+      runStart = runEnd;
+    }
+    int[] result = new int[terms.length];
+    boolean changed = false;
+    for (int i = 0; i < terms.length; i++) {
+      result[i] = newOrder[i];
+      changed |= (result[i] != order[i]);
+    }
+    if (changed && reorderable) {
+      this.order = (Arrays.equals(result, sourceOrder) ? sourceOrder : result);
+    }
+  }
+
+  /** Converts a term result to boolean, skipping the converter for Boolean values. */
+  static boolean toBoolean(Object value) {
+    return (value instanceof Boolean ? (Boolean) value : AnyConverter.convert(value, Boolean.class));
+  }
+
+}
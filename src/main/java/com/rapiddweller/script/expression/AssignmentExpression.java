@@ -19,6 +19,8 @@
 import com.rapiddweller.common.mutator.AnyMutator;
 import com.rapiddweller.common.Expression;
 import com.rapiddweller.script.QNExpression;
+import com.rapiddweller.script.SlotBinding;
+import com.rapiddweller.script.SlotContext;
 
 /**
  * Evaluates an assignment expression like <code>x.y = f.d + 3</code>.<br/><br/>
@@ -26,14 +28,27 @@
  * @author Volker Bergmann
  * @since 0.6.0
  */
-public class AssignmentExpression extends DynamicExpression<Object> {
+public class AssignmentExpression extends DynamicExpression<Object> implements WrapperExpression<Object> {
 
   private final String[] lhs;
   private final Expression<?> rhs;
+  /** the slot of a simple variable name in {@link SlotContext}s, null for qualified names */
+  private final SlotBinding slotBinding;
 
   public AssignmentExpression(String[] lhs, Expression<?> rhs) {
     this.lhs = lhs;
     this.rhs = rhs;
+    this.slotBinding = (lhs.length == 1 ? new SlotBinding(lhs[0]) : null);
+  }
+
+  /** Returns the parts of the qualified name to which the value is assigned. */
+  public String[] getLhs() {
+    return lhs;
+  }
+
+  @Override
+  public Expression<?>[] getSourceExpressions() {
+    return new Expression<?>[] { rhs };
   }
 
   @Override
@@ -41,7 +56,12 @@ public Object evaluate(Context context) {
     Object value = rhs.evaluate(context);
     if (lhs.length == 1) {
       // if lhs is a simple variable name then put the result into context by this name
-      context.set(lhs[0], value);
+      int slot = (context instanceof SlotContext ? slotBinding.indexIn((SlotContext) context) : -1);
+      if (slot >= 0) {
+        ((SlotContext) context).setSlot(slot, value);
+      } else {
+        context.set(lhs[0], value);
+      }
     } else {
       // get last parent object of QN and set the feature denoted by the last QN part
       String fieldName = lhs[lhs.length - 1];
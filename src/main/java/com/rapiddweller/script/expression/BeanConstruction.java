@@ -15,25 +15,24 @@
 
 package com.rapiddweller.script.expression;
 
-import com.rapiddweller.common.BeanUtil;
 import com.rapiddweller.common.Context;
-import com.rapiddweller.common.context.ContextAware;
-import com.rapiddweller.common.mutator.AnyMutator;
 import com.rapiddweller.script.Assignment;
 import com.rapiddweller.common.Expression;
 
 /**
  * {@link Expression} implementation that instantiates a JavaBean by default constructor and
- * calls its property setters for initializing state.<br/><br/>
+ * calls its property setters for initializing state. Constructor, setters and value conversions
+ * are looked up once per bean class and kept in a {@link BeanFactory}.<br/><br/>
  * Created at 06.10.2009 11:48:59
  * @param <E> the type parameter
  * @author Volker Bergmann
  * @since 0.6.0
  */
-public class BeanConstruction<E> extends DynamicExpression<E> {
+public class BeanConstruction<E> extends DynamicExpression<E> implements WrapperExpression<E> {
 
   private final Expression<E> instantiation;
   private final Assignment[] assignments;
+  private volatile BeanFactory<E> factory;
 
   public BeanConstruction(String beanClassName, Assignment[] assignments) {
     this(new DefaultConstruction<>(beanClassName), assignments);
@@ -42,24 +41,51 @@ public BeanConstruction(String beanClassName, Assignment[] assignments) {
   public BeanConstruction(Expression<E> instantiation, Assignment[] assignments) {
     this.instantiation = instantiation;
     this.assignments = assignments;
+    this.factory = null;
+  }
+
+  public Assignment[] getAssignments() {
+    return assignments;
   }
 
   @Override
+  public Expression<?>[] getSourceExpressions() {
+    Expression<?>[] result = new Expression<?>[assignments.length + 1];
+    result[0] = instantiation;
+    for (int i = 0; i < assignments.length; i++) {
+      result[i + 1] = assignments[i].getExpression();
+    }
+    return result;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
   public E evaluate(Context context) {
-    E bean = instantiation.evaluate(context);
-    for (Assignment assignment : assignments) {
-      String name = assignment.getName();
-      Object value = assignment.getExpression().evaluate(context);
-      if (BeanUtil.hasProperty(bean.getClass(), name)) {
-        BeanUtil.setPropertyValue(bean, name, value, false);
-      } else {
-        AnyMutator.setValue(bean, name, value, true, true);
+    E bean;
+    BeanFactory<E> factory;
+    if (instantiation.getClass() == DefaultConstruction.class) {
+      // the factory replaces the instantiation by reflection
+      factory = factoryFor(((DefaultConstruction<E>) instantiation).getType(context));
+      bean = factory.newInstance();
+    } else {
+      bean = instantiation.evaluate(context);
+      if (bean == null && assignments.length == 0) {
+        return null;
       }
+      factory = factoryFor((Class<E>) bean.getClass());
     }
-    if (bean instanceof ContextAware) {
-      ((ContextAware) bean).setContext(context);
+    return factory.initialize(bean, context);
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private BeanFactory<E> factoryFor(Class<E> type) {
+    BeanFactory<E> result = this.factory;
+    if (result == null || result.getType() != type) {
+      result = new BeanFactory<>(type, assignments);
+      this.factory = result;
     }
-    return bean;
+    return result;
   }
 
 }
@@ -0,0 +1,157 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.expression;
+
+import com.rapiddweller.common.BeanUtil;
+import com.rapiddweller.common.Context;
+import com.rapiddweller.common.context.ContextAware;
+import com.rapiddweller.common.exception.ExceptionFactory;
+import com.rapiddweller.common.mutator.AnyMutator;
+import com.rapiddweller.script.Assignment;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Creates and initializes the beans of a {@link BeanConstruction} for one bean class. The default constructor,
+ * the property setters, the {@link ContextAware} check and the way in which a property value is converted
+ * are looked up once when the factory is created or when a value class is seen first. The beans are set up
+ * like by {@link BeanUtil#newInstance(Class)}, {@link BeanUtil#setPropertyValue(Object, String, Object, boolean)}
+ * and {@link AnyMutator#setValue(Object, String, Object, boolean, boolean)}, and whenever a method handle cannot
+ * be used, these methods are called. Instances are thread-safe.<br/><br/>
+ * Created: 18.10.2026 13:05:12
+ * @param <E> the type of the beans
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+final class BeanFactory<E> {
+
+  private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+  private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+  private final Class<E> type;
+  /** the default constructor or null if it cannot be called by a method handle */
+  private final MethodHandle constructor;
+  private final Assignment[] assignments;
+  private final PropertyWriter[] writers;
+  private final boolean contextAware;
+
+  BeanFactory(Class<E> type, Assignment[] assignments) {
+    this.type = type;
+    this.constructor = findConstructor(type);
+    this.assignments = assignments;
+    this.writers = new PropertyWriter[assignments.length];
+    for (int i = 0; i < assignments.length; i++) {
+      writers[i] = new PropertyWriter(type, assignments[i].getName());
+    }
+    this.contextAware = ContextAware.class.isAssignableFrom(type);
+  }
+
+  Class<E> getType() {
+    return type;
+  }
+
+  @SuppressWarnings("unchecked")
+  E newInstance() {
+    if (constructor == null) {
+      return BeanUtil.newInstance(type);
+    }
+    try {
+      return (E) (Object) constructor.invokeExact();
+    } catch (Throwable e) {
+      throw ExceptionFactory.getInstance().illegalArgument("Failed to instantiate " + type, e);
+    }
+  }
+
+  /** Evaluates the assignments in the context, sets the results as features of the bean
+   *  and provides a {@link ContextAware} bean with the context. */
+  E initialize(E bean, Context context) {
+    for (int i = 0; i < assignments.length; i++) {
+      writers[i].write(bean, assignments[i].getExpression().evaluate(context));
+    }
+    if (contextAware) {
+      ((ContextAware) bean).setContext(context);
+    }
+    return bean;
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private static MethodHandle findConstructor(Class<?> type) {
+    if (!Modifier.isPublic(type.getModifiers()) || type.isAnnotationPresent(Deprecated.class)) {
+      return null; // leave access checks and deprecation warnings to the BeanUtil
+    }
+    try {
+      return MethodHandles.publicLookup().findConstructor(type, MethodType.methodType(void.class))
+          .asType(CONSTRUCTOR_TYPE);
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      return null;
+    }
+  }
+
+  /** Sets one named feature of the beans. */
+  private static final class PropertyWriter {
+
+    private final String name;
+    /** tells if the name denotes a JavaBean property, otherwise the value is set by the {@link AnyMutator} */
+    private final boolean property;
+    private final Class<?> propertyType;
+    /** the setter or null if the property is read-only or the setter cannot be called by a method handle */
+    private final MethodHandle setter;
+    private volatile ValueConversion conversion;
+
+    PropertyWriter(Class<?> beanType, String name) {
+      this.name = name;
+      PropertyDescriptor descriptor = BeanUtil.getPropertyDescriptor(beanType, name);
+      this.property = (descriptor != null);
+      this.propertyType = (descriptor != null ? descriptor.getPropertyType() : null);
+      this.setter = (descriptor != null ? findSetter(beanType, descriptor.getWriteMethod()) : null);
+      this.conversion = null;
+    }
+
+    void write(Object bean, Object value) {
+      if (!property) {
+        AnyMutator.setValue(bean, name, value, true, true);
+        return;
+      }
+      Object arg = (setter != null && value != null ? conversionFor(value.getClass()).apply(value) : null);
+      if (setter == null || (arg == null && propertyType.isPrimitive())) {
+        BeanUtil.setPropertyValue(bean, name, value, false); // handles read-only properties and reports errors
+        return;
+      }
+      try {
+        setter.invokeExact(bean, arg);
+      } catch (Throwable e) {
+        throw ExceptionFactory.getInstance().illegalArgument("Failed to set value of property " + name, e);
+      }
+    }
+
+    private ValueConversion conversionFor(Class<?> valueType) {
+      ValueConversion result = this.conversion;
+      if (result == null || result.getSourceType() != valueType) {
+        result = new ValueConversion(valueType, propertyType);
+        this.conversion = result;
+      }
+      return result;
+    }
+
+    /** Returns a handle for the setter if it belongs to the bean type and is publicly accessible, otherwise null.
+     *  The check of the declaring class guards against the BeanUtil's descriptor cache, which is keyed
+     *  by class name and may return the descriptor of a homonymous class of a different class loader. */
+    private static MethodHandle findSetter(Class<?> beanType, Method writeMethod) {
+      if (writeMethod == null || !writeMethod.getDeclaringClass().isAssignableFrom(beanType)) {
+        return null;
+      }
+      try {
+        return MethodHandles.publicLookup().unreflect(writeMethod).asType(SETTER_TYPE);
+      } catch (IllegalAccessException e) {
+        return null;
+      }
+    }
+  }
+
+}
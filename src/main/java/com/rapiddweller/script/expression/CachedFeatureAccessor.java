@@ -0,0 +1,217 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.expression;
+
+import com.rapiddweller.common.BeanUtil;
+import com.rapiddweller.common.Composite;
+import com.rapiddweller.common.Context;
+import com.rapiddweller.common.accessor.FeatureAccessor;
+import com.rapiddweller.common.exception.ExceptionFactory;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Reads a named feature of objects like {@link FeatureAccessor#getValue(Object, String)}, but looks up
+ * the way of access (map entry, context variable, component, generic get method, property or field)
+ * only once per class and feature name and caches it in a map of a {@link ClassValue}, so that the expressions
+ * which read the same feature share its readers. For {@link Class} objects, static fields
+ * are resolved per class object. Additionally, the 'length' of arrays can be read. Property descriptors
+ * of homonymous classes from different class loaders are kept apart.
+ * Public property getters are called through a {@link Function} generated by the {@link LambdaMetafactory}
+ * if their types are visible to the class loader of this class, otherwise through a {@link MethodHandle},
+ * so that no class of this library references classes of a child class loader and keeps them from being
+ * unloaded: the readers are only referenced by the {@link ClassValue} entries of the classes they read.
+ * Public fields are read through {@link MethodHandle}s. Features which cannot be resolved are passed
+ * to the {@link FeatureAccessor} in order to report them the same way. The class is thread-safe.<br/><br/>
+ * Created: 18.10.2026 09:12:36
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public final class CachedFeatureAccessor {
+
+  private static final ClassValue<ConcurrentMap<String, Function<Object, Object>>> INSTANCE_READERS =
+      new ClassValue<>() {
+        @Override
+        protected ConcurrentMap<String, Function<Object, Object>> computeValue(Class<?> type) {
+          return new ConcurrentHashMap<>();
+        }
+      };
+
+  private static final ClassValue<ConcurrentMap<String, Function<Object, Object>>> STATIC_READERS =
+      new ClassValue<>() {
+        @Override
+        protected ConcurrentMap<String, Function<Object, Object>> computeValue(Class<?> type) {
+          return new ConcurrentHashMap<>();
+        }
+      };
+
+  private CachedFeatureAccessor() {
+    // private constructor to prevent instantiation of this utility class
+  }
+
+  /** Reads the feature of the target with the reader which is shared by all users of the target's class
+   *  and the feature name. */
+  public static Object getValue(Object target, String featureName) {
+    if (target == null) {
+      return null;
+    } else if (target instanceof Class) {
+      Class<?> type = (Class<?>) target;
+      return STATIC_READERS.get(type).computeIfAbsent(featureName, name -> createReader(name, Class.class, type))
+          .apply(target);
+    } else {
+      Class<?> type = target.getClass();
+      return INSTANCE_READERS.get(type).computeIfAbsent(featureName, name -> createReader(name, type, type))
+          .apply(target);
+    }
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  /** Creates a reader which resolves the feature in the same order as the {@link FeatureAccessor}.
+   *  @param type the class of the target objects
+   *  @param fieldOwner the class in which to look up a field, which differs from the type for static access */
+  private static Function<Object, Object> createReader(String featureName, Class<?> type, Class<?> fieldOwner) {
+    if (Map.class.isAssignableFrom(type)) {
+      return target -> ((Map<?, ?>) target).get(featureName);
+    } else if (Context.class.isAssignableFrom(type)) {
+      return target -> ((Context) target).get(featureName);
+    } else if (Composite.class.isAssignableFrom(type)) {
+      return target -> ((Composite) target).getComponent(featureName);
+    } else if (type.isArray() && "length".equals(featureName)) {
+      return Array::getLength;
+    }
+    Method genericGetter = BeanUtil.findMethod(type, "get", String.class);
+    if (genericGetter != null) {
+      return target -> BeanUtil.invoke(target, genericGetter, new Object[] { featureName });
+    }
+    Method readMethod = findReadMethod(type, featureName);
+    if (readMethod != null) {
+      return createPropertyReader(featureName, readMethod);
+    }
+    Field field = BeanUtil.getField(fieldOwner, featureName, false);
+    if (field != null) {
+      return createFieldReader(field);
+    }
+    return target -> FeatureAccessor.getValue(target, featureName);
+  }
+
+  /** Uses the property descriptors of the {@link BeanUtil}, which caches them by class name, but ignores them if they
+   *  belong to a homonymous class of a different class loader and asks the {@link Introspector} instead. */
+  private static Method findReadMethod(Class<?> type, String featureName) {
+    PropertyDescriptor descriptor = BeanUtil.getPropertyDescriptor(type, featureName);
+    Method readMethod = (descriptor != null ? descriptor.getReadMethod() : null);
+    if (readMethod == null || readMethod.getDeclaringClass().isAssignableFrom(type)) {
+      return readMethod;
+    }
+    try {
+      for (PropertyDescriptor candidate : Introspector.getBeanInfo(type).getPropertyDescriptors()) {
+        if (candidate.getName().equals(featureName)) {
+          return candidate.getReadMethod();
+        }
+      }
+      return null;
+    } catch (IntrospectionException e) {
+      throw ExceptionFactory.getInstance().configurationError("Failed to introspect " + type, e);
+    }
+  }
+
+  private static Function<Object, Object> createPropertyReader(String featureName, Method readMethod) {
+    try {
+      MethodHandles.Lookup lookup = MethodHandles.lookup();
+      MethodHandle handle = lookup.unreflect(readMethod);
+      Function<Object, Object> function = (isVisible(readMethod.getDeclaringClass())
+          && isVisible(readMethod.getReturnType()) ? createFunction(lookup, handle) : null);
+      if (function != null) {
+        return target -> {
+          try {
+            return function.apply(target);
+          } catch (RuntimeException e) {
+            throw propertyReadError(featureName, e);
+          }
+        };
+      }
+      MethodHandle getter = handle.asType(MethodType.genericMethodType(1));
+      return target -> {
+        try {
+          return (Object) getter.invokeExact(target);
+        } catch (Throwable e) {
+          throw propertyReadError(featureName, e);
+        }
+      };
+    } catch (IllegalAccessException e) {
+      // the method is not accessible by method handles, e.g. since its class is not public
+      return target -> {
+        try {
+          return readMethod.invoke(target);
+        } catch (Exception e1) {
+          throw propertyReadError(featureName, e1);
+        }
+      };
+    }
+  }
+
+  /** Generates a {@link Function} which calls the getter, or returns null if this is not possible. */
+  @SuppressWarnings("unchecked")
+  private static Function<Object, Object> createFunction(MethodHandles.Lookup lookup, MethodHandle handle) {
+    try {
+      return (Function<Object, Object>) LambdaMetafactory.metafactory(lookup, "apply",
+          MethodType.methodType(Function.class), MethodType.genericMethodType(1), handle, handle.type().wrap())
+          .getTarget().invokeExact();
+    } catch (Throwable e) {
+      return null;
+    }
+  }
+
+  private static Function<Object, Object> createFieldReader(Field field) {
+    try {
+      MethodHandle handle = MethodHandles.publicLookup().unreflectGetter(field);
+      if (Modifier.isStatic(field.getModifiers())) {
+        handle = MethodHandles.dropArguments(handle, 0, Object.class);
+      }
+      MethodHandle getter = handle.asType(MethodType.genericMethodType(1));
+      return target -> {
+        try {
+          return (Object) getter.invokeExact(target);
+        } catch (Throwable e) {
+          throw ExceptionFactory.getInstance().illegalArgument("Error getting field value", e);
+        }
+      };
+    } catch (IllegalAccessException e) {
+      return target -> BeanUtil.getFieldValue(field, target);
+    }
+  }
+
+  /** Tells if the class can be referenced by generated classes of this library's class loader. */
+  private static boolean isVisible(Class<?> type) {
+    while (type.isArray()) {
+      type = type.getComponentType();
+    }
+    if (type.isPrimitive()) {
+      return true;
+    }
+    try {
+      return (Class.forName(type.getName(), false, CachedFeatureAccessor.class.getClassLoader()) == type);
+    } catch (ClassNotFoundException e) {
+      return false;
+    }
+  }
+
+  private static RuntimeException propertyReadError(String featureName, Throwable cause) {
+    return ExceptionFactory.getInstance().configurationError("Unable to read property '" + featureName + "'", cause);
+  }
+
+}
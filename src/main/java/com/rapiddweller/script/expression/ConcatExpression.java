@@ -19,7 +19,8 @@
 import com.rapiddweller.common.Expression;
 
 /**
- * String {@link Expression} that concatenates the output of other String Expressions.<br/><br/>
+ * String {@link Expression} that concatenates the output of other String Expressions.
+ * The terms are evaluated first, so that the result is built in a StringBuilder of the exact length.<br/><br/>
  * Created: 07.06.2011 22:03:08
  * @author Volker Bergmann
  * @since 0.5.8
@@ -33,9 +34,15 @@ public ConcatExpression(String symbol, Expression... terms) {
 
   @Override
   public String evaluate(Context context) {
-    StringBuilder result = new StringBuilder(String.valueOf(terms[0].evaluate(context)));
-    for (int i = 1; i < terms.length; i++) {
-      result.append(terms[i].evaluate(context));
+    String[] parts = new String[terms.length];
+    int length = 0;
+    for (int i = 0; i < terms.length; i++) {
+      parts[i] = String.valueOf(terms[i].evaluate(context));
+      length += parts[i].length();
+    }
+    StringBuilder result = new StringBuilder(length);
+    for (String part : parts) {
+      result.append(part);
     }
     return result.toString();
   }
@@ -16,7 +16,6 @@
 package com.rapiddweller.script.expression;
 
 import com.rapiddweller.common.Context;
-import com.rapiddweller.common.converter.AnyConverter;
 import com.rapiddweller.common.Expression;
 
 /**
@@ -26,21 +25,66 @@
  * @author Volker Bergmann
  * @since 0.5.8
  */
-public class ConditionalAndExpression extends CompositeExpression<Object, Boolean> {
+public class ConditionalAndExpression extends CompositeExpression<Object, Boolean>
+    implements PrimitiveExpression<Boolean> {
+
+  private boolean adaptive;
+  private volatile AdaptiveTermOrder adaptiveOrder;
 
   @SafeVarargs
   public ConditionalAndExpression(String symbol, Expression<Object>... terms) {
     super(symbol, terms);
   }
 
+  /** Activates or deactivates the adaptive term order (default: deactivated). In adaptive mode,
+   *  side-effect-free terms are evaluated in the order of their observed cost and selectivity,
+   *  see {@link AdaptiveTermOrder}. */
+  public void setAdaptive(boolean adaptive) {
+    this.adaptive = adaptive;
+  }
+
+  public boolean isAdaptive() {
+    return adaptive;
+  }
+
   @Override
   public Boolean evaluate(Context context) {
+    if (adaptive) {
+      return adaptiveOrder().evaluate(context);
+    }
     for (Expression<Object> term : terms) {
-      if (!AnyConverter.convert(term.evaluate(context), Boolean.class)) {
+      if (!AdaptiveTermOrder.toBoolean(term.evaluate(context))) {
         return false;
       }
     }
     return true;
   }
 
-}
\ No newline at end of file
+  @Override
+  public void evaluatePrimitive(Context context, PrimitiveValue result) {
+    if (adaptive) {
+      result.setBoolean(adaptiveOrder().evaluate(context));
+      return;
+    }
+    for (Expression<Object> term : terms) {
+      PrimitiveExpression.evaluate(term, context, result);
+      if (!result.booleanValue()) {
+        result.setBoolean(false);
+        return;
+      }
+    }
+    result.setBoolean(true);
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  AdaptiveTermOrder adaptiveOrder() {
+    AdaptiveTermOrder result = this.adaptiveOrder;
+    if (result == null || !result.isCurrent()) {
+      result = new AdaptiveTermOrder(this, false);
+      this.adaptiveOrder = result;
+    }
+    return result;
+  }
+
+}
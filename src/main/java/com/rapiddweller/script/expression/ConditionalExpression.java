@@ -28,7 +28,8 @@
  * @author Volker Bergmann
  * @since 0.6.0
  */
-public class ConditionalExpression<E> extends DynamicExpression<E> {
+public class ConditionalExpression<E> extends DynamicExpression<E>
+    implements PrimitiveExpression<E>, WrapperExpression<E> {
 
   private final Expression<Boolean> condition;
   private final Expression<? extends E> alt1;
@@ -41,12 +42,35 @@ public ConditionalExpression(Expression<Boolean> condition,
     this.alt2 = alt2;
   }
 
+  public Expression<Boolean> getCondition() {
+    return condition;
+  }
+
+  public Expression<? extends E> getAlt1() {
+    return alt1;
+  }
+
+  public Expression<? extends E> getAlt2() {
+    return alt2;
+  }
+
+  @Override
+  public Expression<?>[] getSourceExpressions() {
+    return new Expression<?>[] { condition, alt1, alt2 };
+  }
+
   @Override
   public E evaluate(Context context) {
     boolean cond = AnyConverter.convert(condition.evaluate(context), Boolean.class);
     return (cond ? alt1 : alt2).evaluate(context);
   }
 
+  @Override
+  public void evaluatePrimitive(Context context, PrimitiveValue result) {
+    PrimitiveExpression.evaluate(condition, context, result);
+    PrimitiveExpression.evaluate(result.booleanValue() ? alt1 : alt2, context, result);
+  }
+
   @Override
   public String toString() {
     return "(" + condition + " ? " + alt1 + " : " + alt2 + ")";
@@ -17,7 +17,6 @@
 
 import com.rapiddweller.common.ArrayFormat;
 import com.rapiddweller.common.Context;
-import com.rapiddweller.common.converter.AnyConverter;
 import com.rapiddweller.common.Expression;
 
 /**
@@ -27,9 +26,12 @@
  * @author Volker Bergmann
  * @since 0.5.8
  */
-public class ConditionalOrExpression extends CompositeExpression<Object, Boolean> {
+public class ConditionalOrExpression extends CompositeExpression<Object, Boolean>
+    implements PrimitiveExpression<Boolean> {
 
   private final String symbol;
+  private boolean adaptive;
+  private volatile AdaptiveTermOrder adaptiveOrder;
 
   @SafeVarargs
   public ConditionalOrExpression(String symbol, Expression<Object>... terms) {
@@ -37,19 +39,60 @@ public ConditionalOrExpression(String symbol, Expression<Object>... terms) {
     this.symbol = symbol;
   }
 
+  /** Activates or deactivates the adaptive term order (default: deactivated). In adaptive mode,
+   *  side-effect-free terms are evaluated in the order of their observed cost and selectivity,
+   *  see {@link AdaptiveTermOrder}. */
+  public void setAdaptive(boolean adaptive) {
+    this.adaptive = adaptive;
+  }
+
+  public boolean isAdaptive() {
+    return adaptive;
+  }
+
   @Override
   public Boolean evaluate(Context context) {
+    if (adaptive) {
+      return adaptiveOrder().evaluate(context);
+    }
     for (Expression<Object> term : terms) {
-      if (AnyConverter.convert(term.evaluate(context), Boolean.class)) {
+      if (AdaptiveTermOrder.toBoolean(term.evaluate(context))) {
         return true;
       }
     }
     return false;
   }
 
+  @Override
+  public void evaluatePrimitive(Context context, PrimitiveValue result) {
+    if (adaptive) {
+      result.setBoolean(adaptiveOrder().evaluate(context));
+      return;
+    }
+    for (Expression<Object> term : terms) {
+      PrimitiveExpression.evaluate(term, context, result);
+      if (result.booleanValue()) {
+        result.setBoolean(true);
+        return;
+      }
+    }
+    result.setBoolean(false);
+  }
+
   @Override
   public String toString() {
     return "(" + ArrayFormat.format(" " + symbol + " ", terms) + ")";
   }
 
-}
\ No newline at end of file
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  AdaptiveTermOrder adaptiveOrder() {
+    AdaptiveTermOrder result = this.adaptiveOrder;
+    if (result == null || !result.isCurrent()) {
+      result = new AdaptiveTermOrder(this, true);
+      this.adaptiveOrder = result;
+    }
+    return result;
+  }
+
+}
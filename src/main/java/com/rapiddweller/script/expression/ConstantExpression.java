@@ -16,7 +16,7 @@
 package com.rapiddweller.script.expression;
 
 import com.rapiddweller.common.Context;
-import com.rapiddweller.common.Expression;
+import com.rapiddweller.common.converter.AnyConverter;
 
 import java.util.Objects;
 
@@ -26,7 +26,7 @@
  * @param <E> the type parameter
  * @author Volker Bergmann
  */
-public class ConstantExpression<E> implements Expression<E> {
+public class ConstantExpression<E> implements PrimitiveExpression<E> {
 
   private E value;
 
@@ -47,6 +47,26 @@ public E evaluate(Context context) {
     return value;
   }
 
+  @Override
+  public void evaluatePrimitive(Context context, PrimitiveValue result) {
+    result.set(value);
+  }
+
+  @Override
+  public long evaluateLong(Context context) {
+    return ((Number) value).longValue();
+  }
+
+  @Override
+  public double evaluateDouble(Context context) {
+    return ((Number) value).doubleValue();
+  }
+
+  @Override
+  public boolean evaluateBoolean(Context context) {
+    return (value instanceof Boolean ? (Boolean) value : AnyConverter.convert(value, Boolean.class));
+  }
+
   @Override
   public boolean isConstant() {
     return true;
@@ -16,8 +16,11 @@
 package com.rapiddweller.script.expression;
 
 import com.rapiddweller.common.Context;
+import com.rapiddweller.common.bean.ClassProvider;
 import com.rapiddweller.common.bean.DefaultClassProvider;
 
+import java.lang.ref.WeakReference;
+
 /**
  * Common parent class for Expressions that instantiate a Java object.<br/><br/>
  * Created: 25.10.2009 08:29:14
@@ -29,8 +32,12 @@
 
   protected final String className;
 
+  /** the last class resolution, reused as long as the class provider and the class loader are the same */
+  private volatile ClassResolution resolution;
+
   protected Construction(String className) {
     this.className = className;
+    this.resolution = null;
   }
 
   public String getClassName() {
@@ -39,7 +46,53 @@ public String getClassName() {
 
   @SuppressWarnings("unchecked")
   public Class<E> getType(Context context) {
-    return (Class<E>) DefaultClassProvider.resolveByObjectOrDefaultInstance(className, true, context);
+    Class<E> type = findType(context);
+    if (type == null) { // resolve once more for the error report of the class provider
+      type = (Class<E>) DefaultClassProvider.resolveByObjectOrDefaultInstance(className, true, context);
+    }
+    return type;
+  }
+
+  /** Resolves the class like {@link #getType(Context)}, but returns null instead of throwing an exception
+   *  if the class is not found. If the context is a {@link ClassProvider}, the class may depend on its imports,
+   *  so only the classes of fully qualified names are reused for the same provider. Otherwise the class
+   *  is provided by the {@link DefaultClassProvider} and each result is reused, even a missing class. */
+  @SuppressWarnings("unchecked")
+  public Class<E> findType(Context context) {
+    Object provider = (context instanceof ClassProvider ? context : null);
+    ClassLoader loader = Thread.currentThread().getContextClassLoader();
+    ClassResolution cached = this.resolution;
+    if (cached != null && cached.isValidFor(provider, loader)) {
+      return (Class<E>) cached.type;
+    }
+    Class<?> type = DefaultClassProvider.resolveByObjectOrDefaultInstance(className, false, context);
+    if (provider == null || (type != null && (className.equals(type.getName())
+        || className.equals(type.getCanonicalName())))) {
+      this.resolution = new ClassResolution(provider, loader, type);
+    }
+    return (Class<E>) type;
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private static final class ClassResolution {
+
+    /** the class provider or null for the {@link DefaultClassProvider} */
+    final WeakReference<Object> provider;
+    final WeakReference<ClassLoader> loader;
+    /** the class or null if it was not found */
+    final Class<?> type;
+
+    ClassResolution(Object provider, ClassLoader loader, Class<?> type) {
+      this.provider = (provider != null ? new WeakReference<>(provider) : null);
+      this.loader = (loader != null ? new WeakReference<>(loader) : null);
+      this.type = type;
+    }
+
+    boolean isValidFor(Object provider, ClassLoader loader) {
+      return (this.provider != null ? this.provider.get() == provider : provider == null)
+          && (this.loader != null ? this.loader.get() == loader : loader == null);
+    }
   }
 
 }
@@ -0,0 +1,193 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.expression;
+
+import com.rapiddweller.common.BeanUtil;
+import com.rapiddweller.common.converter.AnyConverter;
+import com.rapiddweller.common.exception.ExceptionFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+
+/**
+ * Polymorphic inline cache for the constructor calls of an expression node. Like
+ * {@link BeanUtil#newInstance(Class, boolean, Object[])} in strict mode, it chooses the constructor by the classes
+ * of the arguments and converts the arguments to the parameter types, but it looks up the constructor and the
+ * converters only once for each combination of class and argument classes and calls the constructor through
+ * a {@link MethodHandle}. Calls which cannot be handled this way, e.g. of non-public or varargs constructors,
+ * of deprecated classes or with ambiguous arguments, as well as all calls after more than {@link #MAX_ENTRIES}
+ * combinations have been seen (megamorphic state), are delegated to the {@link BeanUtil}.
+ * The cache may be used by concurrent threads: its entries are replaced, never modified.<br/><br/>
+ * Created: 18.10.2026 14:51:06
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public final class ConstructorCallSite {
+
+  public static final int MAX_ENTRIES = 4;
+
+  private static final Entry[] NO_ENTRIES = new Entry[0];
+
+  private volatile Entry[] entries;
+  private volatile boolean megamorphic;
+
+  public ConstructorCallSite() {
+    this.entries = NO_ENTRIES;
+    this.megamorphic = false;
+  }
+
+  // interface -------------------------------------------------------------------------------------------------------
+
+  /** Creates an instance of the type like {@link BeanUtil#newInstance(Class, boolean, Object[])}
+   *  with strict = true. */
+  public Object newInstance(Class<?> type, Object[] args) {
+    if (type == null || args == null || megamorphic) {
+      return BeanUtil.newInstance(type, true, args);
+    }
+    Entry entry = lookup(type, args);
+    return (entry != null ? entry.newInstance(args) : BeanUtil.newInstance(type, true, args));
+  }
+
+  /** Returns the number of class combinations for which a constructor is cached. */
+  public int size() {
+    return entries.length;
+  }
+
+  public boolean isMegamorphic() {
+    return megamorphic;
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private Entry lookup(Class<?> type, Object[] args) {
+    for (Entry entry : entries) {
+      if (entry.matches(type, args)) {
+        return entry;
+      }
+    }
+    Entry entry = createEntry(type, BeanUtil.getTypes(args));
+    synchronized (this) {
+      Entry[] oldEntries = entries;
+      if (megamorphic || oldEntries.length >= MAX_ENTRIES) {
+        megamorphic = true;
+        entries = NO_ENTRIES; // no more need to search the entries
+        return null;
+      }
+      Entry[] newEntries = new Entry[oldEntries.length + 1];
+      System.arraycopy(oldEntries, 0, newEntries, 0, oldEntries.length);
+      newEntries[oldEntries.length] = entry;
+      entries = newEntries;
+    }
+    return entry;
+  }
+
+  /** Finds the constructor which the BeanUtil would choose and creates the conversions of the arguments. */
+  private static Entry createEntry(Class<?> type, Class<?>[] argTypes) {
+    Constructor<?> constructor = (BeanUtil.deprecated(type) ? null : chooseConstructor(type, argTypes));
+    if (constructor == null || !Modifier.isPublic(type.getModifiers())) {
+      return new Entry(type, argTypes, null, null, null, null);
+    }
+    Class<?>[] paramTypes = constructor.getParameterTypes();
+    ValueConversion[] conversions = new ValueConversion[paramTypes.length];
+    Object[] nullValues = new Object[paramTypes.length];
+    for (int i = 0; i < paramTypes.length; i++) {
+      if (argTypes[i] != null) {
+        conversions[i] = new ValueConversion(argTypes[i], paramTypes[i]);
+      } else {
+        nullValues[i] = AnyConverter.convert(null, paramTypes[i]);
+        if (nullValues[i] == null && paramTypes[i].isPrimitive()) {
+          return new Entry(type, argTypes, null, null, null, null); // let the BeanUtil report the error
+        }
+      }
+    }
+    try {
+      MethodHandle handle = MethodHandles.publicLookup().unreflectConstructor(constructor).asFixedArity()
+          .asType(MethodType.genericMethodType(paramTypes.length)).asSpreader(Object[].class, paramTypes.length);
+      // the BeanUtil reports errors of default constructors differently from those of other constructors
+      String errorMessage = (paramTypes.length == 0 ?
+          "Failed to instantiate " + type : "Failed to execute " + constructor);
+      return new Entry(type, argTypes, handle, conversions, nullValues, errorMessage);
+    } catch (IllegalAccessException e) {
+      return new Entry(type, argTypes, null, null, null, null);
+    }
+  }
+
+  /** Chooses the public constructor like the BeanUtil: the only one with the number of arguments
+   *  or else the first one whose parameter types match the argument types. Returns null for ambiguous
+   *  calls and those with a number of arguments that differs from the number of parameters. */
+  private static Constructor<?> chooseConstructor(Class<?> type, Class<?>[] argTypes) {
+    Constructor<?>[] constructors = type.getConstructors();
+    Constructor<?> result = null;
+    int count = 0;
+    for (Constructor<?> candidate : constructors) {
+      if (candidate.getParameterCount() == argTypes.length) {
+        result = candidate;
+        count++;
+      }
+    }
+    if (count > 1) {
+      result = null;
+      for (Constructor<?> candidate : constructors) {
+        if (BeanUtil.paramTypesMatch(argTypes, candidate.getParameterTypes())) {
+          result = candidate;
+          break;
+        }
+      }
+    }
+    return (result != null && result.getParameterCount() == argTypes.length && !result.isVarArgs() ? result : null);
+  }
+
+  private static final class Entry {
+
+    final Class<?> type;
+    final Class<?>[] argTypes;
+    /** the constructor call or null if the constructor needs to be called by the BeanUtil */
+    final MethodHandle handle;
+    /** the conversions of the non-null arguments */
+    final ValueConversion[] conversions;
+    /** the values to which null arguments are converted */
+    final Object[] nullValues;
+    final String errorMessage;
+
+    Entry(Class<?> type, Class<?>[] argTypes, MethodHandle handle, ValueConversion[] conversions,
+          Object[] nullValues, String errorMessage) {
+      this.type = type;
+      this.argTypes = argTypes;
+      this.handle = handle;
+      this.conversions = conversions;
+      this.nullValues = nullValues;
+      this.errorMessage = errorMessage;
+    }
+
+    boolean matches(Class<?> type, Object[] args) {
+      if (this.type != type || args.length != argTypes.length) {
+        return false;
+      }
+      for (int i = 0; i < args.length; i++) {
+        if ((args[i] != null ? args[i].getClass() : null) != argTypes[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    Object newInstance(Object[] args) {
+      if (handle == null) {
+        return BeanUtil.newInstance(type, true, args);
+      }
+      Object[] params = new Object[args.length];
+      for (int i = 0; i < args.length; i++) {
+        params[i] = (args[i] != null ? conversions[i].apply(args[i]) : nullValues[i]);
+      }
+      try {
+        return (Object) handle.invokeExact(params);
+      } catch (Throwable e) {
+        throw ExceptionFactory.getInstance().illegalArgument(errorMessage, e);
+      }
+    }
+  }
+
+}
@@ -18,6 +18,7 @@
 import com.rapiddweller.common.Context;
 import com.rapiddweller.common.Expression;
 import com.rapiddweller.script.math.ArithmeticEngine;
+import com.rapiddweller.script.math.OperationCache;
 
 /**
  * {@link Expression} that performs a division.<br/><br/>
@@ -25,7 +26,11 @@
  * @author Volker Bergmann
  * @since 0.5.8
  */
-public class DivisionExpression extends CompositeExpression<Object, Object> {
+public class DivisionExpression extends CompositeExpression<Object, Object> implements PrimitiveExpression<Object> {
+
+  private static final ArithmeticEngine ENGINE = ArithmeticEngine.defaultInstance();
+
+  private final OperationCache division = new OperationCache(ENGINE::divideOperation, ENGINE::divide);
 
   public DivisionExpression() {
     this("/");
@@ -45,9 +50,21 @@ public DivisionExpression(String symbol, Expression... terms) {
   public Object evaluate(Context context) {
     Object result = terms[0].evaluate(context);
     for (int i = 1; i < terms.length; i++) {
-      result = ArithmeticEngine.defaultInstance().divide(result, terms[i].evaluate(context));
+      result = division.apply(result, terms[i].evaluate(context));
     }
     return result;
   }
 
+  @Override
+  public void evaluatePrimitive(Context context, PrimitiveValue result) {
+    PrimitiveExpression.evaluate(terms[0], context, result);
+    for (int i = 1; i < terms.length; i++) {
+      int kind = result.getKind();
+      long bits = result.getBits();
+      Object object = result.getObject();
+      PrimitiveExpression.evaluate(terms[i], context, result);
+      PrimitiveArithmetic.divide(kind, bits, object, result);
+    }
+  }
+
 }
\ No newline at end of file
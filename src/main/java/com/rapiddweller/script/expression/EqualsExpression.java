@@ -18,6 +18,7 @@
 import com.rapiddweller.common.Context;
 import com.rapiddweller.common.Expression;
 import com.rapiddweller.script.math.ArithmeticEngine;
+import com.rapiddweller.script.math.OperationCache;
 
 /**
  * Boolean {@link Expression} that compares two terms for equality of their results.<br/><br/>
@@ -25,7 +26,11 @@
  * @author Volker Bergmann
  * @since 0.5.8
  */
-public class EqualsExpression extends BinaryExpression<Boolean> {
+public class EqualsExpression extends BinaryExpression<Boolean> implements PrimitiveExpression<Boolean> {
+
+  private static final ArithmeticEngine ENGINE = ArithmeticEngine.defaultInstance();
+
+  private final OperationCache comparison = new OperationCache(ENGINE::equalsOperation, ENGINE::equals);
 
   public EqualsExpression(Expression<?> term1, Expression<?> term2) {
     this("=", term1, term2);
@@ -38,7 +43,17 @@ public EqualsExpression(String symbol, Expression<?> term1, Expression<?> term2)
 
   @Override
   public Boolean evaluate(Context context) {
-    return ArithmeticEngine.defaultInstance().equals(term1.evaluate(context), term2.evaluate(context));
+    return (Boolean) comparison.apply(term1.evaluate(context), term2.evaluate(context));
+  }
+
+  @Override
+  public void evaluatePrimitive(Context context, PrimitiveValue result) {
+    PrimitiveExpression.evaluate(term1, context, result);
+    int kind = result.getKind();
+    long bits = result.getBits();
+    Object object = result.getObject();
+    PrimitiveExpression.evaluate(term2, context, result);
+    result.setBoolean(PrimitiveArithmetic.equal(kind, bits, object, result));
   }
 
 }
\ No newline at end of file
@@ -26,7 +26,7 @@
  * @author Volker Bergmann
  * @since 0.5.4
  */
-public abstract class ExpressionAdapter<S, T> implements Expression<T> {
+public abstract class ExpressionAdapter<S, T> implements WrapperExpression<T> {
 
   protected final Expression<S> source;
 
@@ -34,6 +34,11 @@ public ExpressionAdapter(Expression<S> source) {
     this.source = source;
   }
 
+  @Override
+  public Expression<?>[] getSourceExpressions() {
+    return new Expression<?>[] { source };
+  }
+
   @Override
   public boolean isConstant() {
     return source.isConstant();
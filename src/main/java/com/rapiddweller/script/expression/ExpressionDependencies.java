@@ -0,0 +1,184 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.expression;
+
+import com.rapiddweller.common.Expression;
+import com.rapiddweller.script.QNExpression;
+import com.rapiddweller.script.QNInvocationExpression;
+import com.rapiddweller.script.compiler.CompiledExpression;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Tells which context variables an {@link Expression} reads and writes, which classes it uses,
+ * which methods it invokes and if it is pure, i.e. side-effect-free in the sense of
+ * {@link ExpressionUtil#isSideEffectFree(Expression)}. Since the first part of a qualified name is resolved
+ * at runtime as variable or else as class or package, it is reported as read variable in any case.
+ * Methods are reported as qualified names as they are written, static methods with their class name.
+ * Expressions of unknown classes are regarded as impure and make the analysis incomplete.
+ * {@link #of(Expression)} analyzes each expression once and caches the result as long as the expression
+ * is in use. The results are immutable.<br/><br/>
+ * Created: 18.10.2026 22:31:40
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public final class ExpressionDependencies {
+
+  private static final Map<Expression<?>, ExpressionDependencies> CACHE =
+      Collections.synchronizedMap(new WeakHashMap<>());
+
+  private final Set<String> readVariables;
+  private final Set<String> writtenVariables;
+  private final Set<String> classNames;
+  private final Set<String> invokedMethods;
+  private final boolean pure;
+  private final boolean complete;
+  /** tells if the expression has other side effects than variable assignments */
+  private final boolean otherEffects;
+
+  private ExpressionDependencies(Collector collector) {
+    this.readVariables = Collections.unmodifiableSet(collector.readVariables);
+    this.writtenVariables = Collections.unmodifiableSet(collector.writtenVariables);
+    this.classNames = Collections.unmodifiableSet(collector.classNames);
+    this.invokedMethods = Collections.unmodifiableSet(collector.invokedMethods);
+    this.pure = (collector.writtenVariables.isEmpty() && !collector.otherEffects);
+    this.complete = collector.complete;
+    this.otherEffects = collector.otherEffects;
+  }
+
+  /** Returns the cached analysis of the expression, analyzing it on first request. */
+  public static ExpressionDependencies of(Expression<?> expression) {
+    ExpressionDependencies result = CACHE.get(expression);
+    if (result == null) {
+      result = analyze(expression);
+      CACHE.put(expression, result);
+    }
+    return result;
+  }
+
+  /** Analyzes the expression without using the cache. */
+  public static ExpressionDependencies analyze(Expression<?> expression) {
+    Collector collector = new Collector();
+    collector.visit(expression);
+    return new ExpressionDependencies(collector);
+  }
+
+  public Set<String> getReadVariables() {
+    return readVariables;
+  }
+
+  public Set<String> getWrittenVariables() {
+    return writtenVariables;
+  }
+
+  public Set<String> getClassNames() {
+    return classNames;
+  }
+
+  public Set<String> getInvokedMethods() {
+    return invokedMethods;
+  }
+
+  public boolean isPure() {
+    return pure;
+  }
+
+  /** Tells if all nodes of the expression were known to the analysis. */
+  public boolean isComplete() {
+    return complete;
+  }
+
+  /** Tells if the expression may be evaluated independently of the other one in any order or in parallel,
+   *  i.e. if none of them writes a variable which the other one reads or writes. Impure expressions
+   *  other than plain variable assignments are regarded as dependent on any expression. */
+  public boolean isIndependentOf(ExpressionDependencies that) {
+    if (!this.complete || this.otherEffects || !that.complete || that.otherEffects) {
+      return false;
+    }
+    return Collections.disjoint(this.writtenVariables, that.readVariables)
+        && Collections.disjoint(this.writtenVariables, that.writtenVariables)
+        && Collections.disjoint(this.readVariables, that.writtenVariables);
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "[reads=" + readVariables + ", writes=" + writtenVariables
+        + ", classes=" + classNames + ", methods=" + invokedMethods + ", pure=" + pure
+        + (complete ? "" : ", incomplete") + "]";
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private static final class Collector {
+
+    final Set<String> readVariables = new LinkedHashSet<>();
+    final Set<String> writtenVariables = new LinkedHashSet<>();
+    final Set<String> classNames = new LinkedHashSet<>();
+    final Set<String> invokedMethods = new LinkedHashSet<>();
+    boolean otherEffects = false;
+    boolean complete = true;
+
+    void visit(Expression<?> node) {
+      if (node == null) {
+        return;
+      }
+      if (node instanceof QNExpression) {
+        readVariables.add(((QNExpression) node).getQnParts()[0]);
+      } else if (node instanceof QNInvocationExpression) {
+        String[] qn = ((QNInvocationExpression) node).getQn();
+        if (qn.length > 1) {
+          readVariables.add(qn[0]);
+        }
+        invokedMethods.add(String.join(".", qn));
+        if (!ExpressionUtil.isPureStaticCall(node)) {
+          otherEffects = true;
+        }
+      } else if (node instanceof InvocationExpression) {
+        InvocationExpression invocation = (InvocationExpression) node;
+        invokedMethods.add(invocation.getTarget() + "." + invocation.getMethodName());
+        otherEffects = true;
+      } else if (node instanceof StaticMethodCallExpression) {
+        StaticMethodCallExpression call = (StaticMethodCallExpression) node;
+        classNames.add(call.getTargetClass().getName());
+        invokedMethods.add(call.getTargetClass().getName() + "." + call.getMethodName());
+        if (!ExpressionUtil.isPureStaticCall(node)) {
+          otherEffects = true;
+        }
+      } else if (node instanceof AssignmentExpression) {
+        String[] lhs = ((AssignmentExpression) node).getLhs();
+        if (lhs.length == 1) {
+          writtenVariables.add(lhs[0]);
+        } else { // sets a property of the object referenced by the qualified name
+          readVariables.add(lhs[0]);
+          otherEffects = true;
+        }
+      } else if (node instanceof Construction) {
+        classNames.add(((Construction<?>) node).getClassName());
+        otherEffects = true;
+      } else if (node instanceof BeanConstruction) {
+        otherEffects = true;
+      } else if (node instanceof ForNameExpression) {
+        Expression<?> className = ((ForNameExpression) node).getSourceExpressions()[0];
+        if (className instanceof ConstantExpression) {
+          classNames.add(String.valueOf(((ConstantExpression<?>) className).getValue()));
+        }
+      } else if (node instanceof FeatureAccessExpression) {
+        readVariables.add(((FeatureAccessExpression<?>) node).getFeatureName());
+      } else if (node.getClass().getPackage() != ExpressionDependencies.class.getPackage()
+          && !(node instanceof CompiledExpression)) {
+        otherEffects = true;
+        complete = false;
+      }
+      if (node instanceof WrapperExpression) {
+        for (Expression<?> source : ((WrapperExpression<?>) node).getSourceExpressions()) {
+          visit(source);
+        }
+      }
+    }
+  }
+
+}
@@ -0,0 +1,270 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.expression;
+
+import com.rapiddweller.common.Expression;
+import com.rapiddweller.script.Assignment;
+import com.rapiddweller.script.QNInvocationExpression;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+/**
+ * Creates copies of expression nodes with other source expressions, so that passes like
+ * {@link ExpressionUtil#foldConstants(Expression, com.rapiddweller.common.Context)} can rewrite expression trees
+ * without modifying them. This matters since parsed trees may be shared, e.g. by the {@link
+ * com.rapiddweller.script.ParseCache}. A copy has the same class and settings as the original node and fresh
+ * inline caches. Nodes are identified by their exact class, so subclasses are not copied as their parent.
+ * The parser's node classes and the other {@link WrapperExpression}s of this package are supported, except for
+ * {@link ArrayJoinExpression} and the internal {@link SharedExpression} and {@link MemoizingExpression}.
+ * Of other packages, only {@link QNInvocationExpression} is supported.<br/><br/>
+ * Created: 19.10.2026 09:12:40
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+final class ExpressionRebuilder {
+
+  private static final Set<Class<?>> SUPPORTED = new HashSet<>(Arrays.asList(
+      SumExpression.class, SubtractionExpression.class, MultiplicationExpression.class, DivisionExpression.class,
+      ConcatExpression.class, ConditionalAndExpression.class, ConditionalOrExpression.class, FallbackExpression.class,
+      InRangeExpression.class, MaxExpression.class, MinExpression.class,
+      EqualsExpression.class, NotEqualsExpression.class, ModuloExpression.class,
+      ValueCollectionContainsExpression.class, GreaterExpression.class, GreaterOrEqualsExpression.class,
+      LessExpression.class, LessOrEqualsExpression.class, BitwiseAndExpression.class, BitwiseOrExpression.class,
+      BitwiseExclusiveOrExpression.class, ExclusiveOrExpression.class, LeftShiftExpression.class,
+      RightShiftExpression.class, UnsignedRightShiftExpression.class, IndexExpression.class,
+      UnaryMinusExpression.class, LogicalComplementExpression.class, BitwiseComplementExpression.class,
+      IsNullExpression.class, StringExpression.class, TypeConvertingExpression.class,
+      ConditionalExpression.class, InvocationExpression.class, StaticMethodCallExpression.class,
+      QNInvocationExpression.class, ParameterizedConstruction.class, BeanConstruction.class, FieldExpression.class,
+      AssignmentExpression.class, ForNameExpression.class, ConvertingExpression.class, ExpressionProxy.class,
+      UnescapeExpression.class));
+
+  private ExpressionRebuilder() {
+    // private constructor to prevent instantiation of this utility class
+  }
+
+  /** Applies the mapping to each source expression of the node and returns a copy of the node
+   *  with the results, or the node itself if no source has changed or the node cannot be copied. */
+  @SuppressWarnings("unchecked")
+  static <T> Expression<T> mapSources(Expression<T> node, UnaryOperator<Expression<?>> mapping) {
+    if (!isSupported(node)) {
+      return node;
+    }
+    Expression<?>[] sources = ((WrapperExpression<?>) node).getSourceExpressions();
+    Expression<?>[] mapped = null;
+    for (int i = 0; i < sources.length; i++) {
+      Expression<?> result = mapping.apply(sources[i]);
+      if (result != sources[i]) {
+        if (mapped == null) {
+          mapped = sources.clone();
+        }
+        mapped[i] = result;
+      }
+    }
+    return (mapped != null ? (Expression<T>) withSources(node, mapped) : node);
+  }
+
+  /** Tells if {@link #withSources(Expression, Expression[])} can copy the node. */
+  static boolean isSupported(Expression<?> node) {
+    return (node != null && SUPPORTED.contains(node.getClass()));
+  }
+
+  /** Returns a copy of the node with the given source expressions, which must match the node's arity
+   *  except for composite expressions. */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  static Expression<?> withSources(Expression<?> node, Expression[] s) {
+    Class<?> type = node.getClass();
+    if (node instanceof CompositeExpression) {
+      return copyComposite((CompositeExpression<?, ?>) node, s);
+    } else if (node instanceof BinaryExpression) {
+      return copyBinary(type, ((BinaryExpression<?>) node).symbol, s);
+    } else if (node instanceof UnaryExpression) {
+      return copyUnary((UnaryExpression<?>) node, s);
+    } else if (type == ConditionalExpression.class) {
+      return new ConditionalExpression(s[0], s[1], s[2]);
+    } else if (type == InvocationExpression.class) {
+      return new InvocationExpression(s[0], ((InvocationExpression) node).getMethodName(),
+          Arrays.copyOfRange(s, 1, s.length));
+    } else if (type == StaticMethodCallExpression.class) {
+      StaticMethodCallExpression call = (StaticMethodCallExpression) node;
+      return new StaticMethodCallExpression(call.getTargetClass(), call.getMethodName(), s);
+    } else if (type == QNInvocationExpression.class) {
+      return new QNInvocationExpression(((QNInvocationExpression) node).getQn(), s);
+    } else if (type == ParameterizedConstruction.class) {
+      return new ParameterizedConstruction(((ParameterizedConstruction<?>) node).getClassName(), s);
+    } else if (type == BeanConstruction.class) {
+      return copyBeanConstruction((BeanConstruction<?>) node, s);
+    } else if (type == FieldExpression.class) {
+      return new FieldExpression(s[0], ((FieldExpression) node).getFeatureName());
+    } else if (type == AssignmentExpression.class) {
+      return new AssignmentExpression(((AssignmentExpression) node).getLhs(), s[0]);
+    } else if (type == ForNameExpression.class) {
+      return new ForNameExpression(s[0]);
+    } else if (type == ConvertingExpression.class) {
+      return new ConvertingExpression(s[0], ((ConvertingExpression<?, ?>) node).converter);
+    } else if (type == ExpressionProxy.class) {
+      return new ExpressionProxy(s[0]);
+    } else if (type == UnescapeExpression.class) {
+      return new UnescapeExpression(s[0]);
+    } else {
+      throw new UnsupportedOperationException("Cannot copy " + type.getName());
+    }
+  }
+
+  /** Returns the settings which {@link #withSources(Expression, Expression[])} takes over from a supported node
+   *  besides its sources, e.g. operator symbols, method and feature names or target types.
+   *  Two nodes of the same class with equal settings and equal sources are equivalent. */
+  @SuppressWarnings("rawtypes")
+  static List<Object> settingsOf(Expression<?> node) {
+    Class<?> type = node.getClass();
+    if (type == MaxExpression.class) {
+      return Arrays.asList(((MaxExpression) node).symbol, ((MaxExpression) node).getComparator());
+    } else if (type == MinExpression.class) {
+      return Arrays.asList(((MinExpression) node).symbol, ((MinExpression) node).getComparator());
+    } else if (node instanceof CompositeExpression) {
+      return Collections.singletonList(((CompositeExpression<?, ?>) node).symbol);
+    } else if (node instanceof BinaryExpression) {
+      return Collections.singletonList(((BinaryExpression<?>) node).symbol);
+    } else if (type == TypeConvertingExpression.class) {
+      return Arrays.asList(((UnaryExpression<?>) node).symbol, ((TypeConvertingExpression) node).getResultType());
+    } else if (node instanceof UnaryExpression) {
+      return Collections.singletonList(((UnaryExpression<?>) node).symbol);
+    } else if (type == InvocationExpression.class) {
+      return Collections.singletonList(((InvocationExpression) node).getMethodName());
+    } else if (type == StaticMethodCallExpression.class) {
+      StaticMethodCallExpression call = (StaticMethodCallExpression) node;
+      return Arrays.asList(call.getTargetClass(), call.getMethodName());
+    } else if (type == QNInvocationExpression.class) {
+      return Arrays.asList((Object[]) ((QNInvocationExpression) node).getQn());
+    } else if (type == ParameterizedConstruction.class) {
+      return Collections.singletonList(((ParameterizedConstruction<?>) node).getClassName());
+    } else if (type == BeanConstruction.class) {
+      List<Object> names = new ArrayList<>();
+      for (Assignment assignment : ((BeanConstruction<?>) node).getAssignments()) {
+        names.add(assignment.getName());
+      }
+      return names;
+    } else if (type == FieldExpression.class) {
+      return Collections.singletonList(((FieldExpression) node).getFeatureName());
+    } else if (type == AssignmentExpression.class) {
+      return Arrays.asList((Object[]) ((AssignmentExpression) node).getLhs());
+    } else if (type == ConvertingExpression.class) {
+      return Collections.singletonList(((ConvertingExpression<?, ?>) node).converter);
+    } else {
+      return Collections.emptyList();
+    }
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  private static Expression<?> copyComposite(CompositeExpression<?, ?> node, Expression[] s) {
+    Class<?> type = node.getClass();
+    String symbol = node.symbol;
+    if (type == SumExpression.class) {
+      return new SumExpression(symbol, s);
+    } else if (type == SubtractionExpression.class) {
+      return new SubtractionExpression(symbol, s);
+    } else if (type == MultiplicationExpression.class) {
+      return new MultiplicationExpression(symbol, s);
+    } else if (type == DivisionExpression.class) {
+      return new DivisionExpression(symbol, s);
+    } else if (type == ConcatExpression.class) {
+      return new ConcatExpression(symbol, s);
+    } else if (type == ConditionalAndExpression.class) {
+      ConditionalAndExpression result = new ConditionalAndExpression(symbol, s);
+      result.setAdaptive(((ConditionalAndExpression) node).isAdaptive());
+      return result;
+    } else if (type == ConditionalOrExpression.class) {
+      ConditionalOrExpression result = new ConditionalOrExpression(symbol, s);
+      result.setAdaptive(((ConditionalOrExpression) node).isAdaptive());
+      return result;
+    } else if (type == FallbackExpression.class) {
+      return new FallbackExpression(s);
+    } else if (type == InRangeExpression.class) {
+      return new InRangeExpression(s[0], s[1], s[2]);
+    } else if (type == MaxExpression.class) {
+      return new MaxExpression(((MaxExpression) node).getComparator(), s);
+    } else if (type == MinExpression.class) {
+      return new MinExpression(((MinExpression) node).getComparator(), s);
+    } else {
+      throw new UnsupportedOperationException("Cannot copy " + type.getName());
+    }
+  }
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  private static Expression<?> copyUnary(UnaryExpression<?> node, Expression[] s) {
+    Class<?> type = node.getClass();
+    if (type == UnaryMinusExpression.class) {
+      return new UnaryMinusExpression<>(node.symbol, s[0]);
+    } else if (type == LogicalComplementExpression.class) {
+      return new LogicalComplementExpression(node.symbol, s[0]);
+    } else if (type == BitwiseComplementExpression.class) {
+      return new BitwiseComplementExpression(s[0]);
+    } else if (type == IsNullExpression.class) {
+      return new IsNullExpression(s[0]);
+    } else if (type == StringExpression.class) {
+      return new StringExpression(s[0]);
+    } else if (type == TypeConvertingExpression.class) {
+      return new TypeConvertingExpression(s[0], ((TypeConvertingExpression) node).getResultType());
+    } else {
+      throw new UnsupportedOperationException("Cannot copy " + type.getName());
+    }
+  }
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  private static Expression<?> copyBinary(Class<?> type, String symbol, Expression[] s) {
+    if (type == EqualsExpression.class) {
+      return new EqualsExpression(symbol, s[0], s[1]);
+    } else if (type == NotEqualsExpression.class) {
+      return new NotEqualsExpression(symbol, s[0], s[1]);
+    } else if (type == ModuloExpression.class) {
+      return new ModuloExpression(symbol, s[0], s[1]);
+    } else if (type == ValueCollectionContainsExpression.class) {
+      return new ValueCollectionContainsExpression(symbol, s[0], s[1]);
+    } else if (type == GreaterExpression.class) {
+      return new GreaterExpression(s[0], s[1]);
+    } else if (type == GreaterOrEqualsExpression.class) {
+      return new GreaterOrEqualsExpression(s[0], s[1]);
+    } else if (type == LessExpression.class) {
+      return new LessExpression(s[0], s[1]);
+    } else if (type == LessOrEqualsExpression.class) {
+      return new LessOrEqualsExpression(s[0], s[1]);
+    } else if (type == BitwiseAndExpression.class) {
+      return new BitwiseAndExpression(s[0], s[1]);
+    } else if (type == BitwiseOrExpression.class) {
+      return new BitwiseOrExpression(s[0], s[1]);
+    } else if (type == BitwiseExclusiveOrExpression.class) {
+      return new BitwiseExclusiveOrExpression(s[0], s[1]);
+    } else if (type == ExclusiveOrExpression.class) {
+      return new ExclusiveOrExpression(s[0], s[1]);
+    } else if (type == LeftShiftExpression.class) {
+      return new LeftShiftExpression(s[0], s[1]);
+    } else if (type == RightShiftExpression.class) {
+      return new RightShiftExpression(s[0], s[1]);
+    } else if (type == UnsignedRightShiftExpression.class) {
+      return new UnsignedRightShiftExpression(s[0], s[1]);
+    } else if (type == IndexExpression.class) {
+      return new IndexExpression(s[0], s[1]);
+    } else {
+      throw new UnsupportedOperationException("Cannot copy " + type.getName());
+    }
+  }
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  private static Expression<?> copyBeanConstruction(BeanConstruction<?> node, Expression<?>[] s) {
+    Assignment[] assignments = node.getAssignments();
+    Assignment[] copies = new Assignment[assignments.length];
+    for (int i = 0; i < assignments.length; i++) {
+      copies[i] = new Assignment(assignments[i].getName(), s[i + 1]);
+    }
+    return new BeanConstruction(s[0], copies);
+  }
+
+}
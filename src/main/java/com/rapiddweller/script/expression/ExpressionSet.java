@@ -0,0 +1,290 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.expression;
+
+import com.rapiddweller.common.Context;
+import com.rapiddweller.common.Expression;
+import com.rapiddweller.script.QNExpression;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Evaluates a set of related expressions, e.g. the attribute expressions and filter of a descriptor,
+ * computing their common subexpressions once per evaluation pass. On creation, structurally identical
+ * side-effect-free subtrees of the expressions are replaced by one {@link SharedExpression} each.
+ * Like {@link ExpressionUtil#foldConstants(Expression, Context)}, this copies the nodes above
+ * the replaced subtrees, so the given expression trees are not modified and may be shared, e.g. by the
+ * parse cache. Subtrees are identical if they have the same classes, settings and constant values.
+ * Only the terms of operator expressions and the roots are replaced, which covers the subexpressions
+ * of arithmetic, comparisons and conditions. This applies to expressions with side effects as well,
+ * whose operators are only copied if they contain shared terms.<br/>
+ * {@link #evaluate(Context)} evaluates the expressions in their order and each shared subexpression at most
+ * once. Since side effects may change variables, the results of the shared subexpressions are discarded
+ * after each expression with side effects and, within it, after each of its terms with side effects.
+ * Outside a pass, the modified expressions evaluate their shared subexpressions each time as before,
+ * so their results do not change.
+ * Instances are thread-safe.<br/><br/>
+ * Created: 18.10.2026 21:48:12
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public class ExpressionSet {
+
+  private static final ThreadLocal<Pass> CURRENT_PASS = new ThreadLocal<>();
+
+  private final Expression<?>[] expressions;
+  private final boolean[] sideEffectFree;
+  private final int sharedCount;
+
+  public ExpressionSet(Expression<?>... expressions) {
+    this.expressions = expressions.clone();
+    this.sideEffectFree = new boolean[expressions.length];
+    for (int i = 0; i < expressions.length; i++) {
+      sideEffectFree[i] = ExpressionUtil.isSideEffectFree(expressions[i]);
+    }
+    Analysis analysis = new Analysis();
+    for (Expression<?> expression : this.expressions) {
+      analysis.count(expression);
+    }
+    for (int i = 0; i < expressions.length; i++) {
+      this.expressions[i] = analysis.share(this.expressions[i]);
+    }
+    this.sharedCount = analysis.shared.size();
+  }
+
+  /** Returns the expressions, which use the shared subexpressions. */
+  public Expression<?>[] getExpressions() {
+    return expressions.clone();
+  }
+
+  public int size() {
+    return expressions.length;
+  }
+
+  /** Returns the number of distinct shared subexpressions. */
+  public int getSharedCount() {
+    return sharedCount;
+  }
+
+  /** Evaluates all expressions in their order and returns their results. */
+  public Object[] evaluate(Context context) {
+    Object[] result = new Object[expressions.length];
+    Pass previous = CURRENT_PASS.get();
+    Pass pass = new Pass(this, context, sharedCount);
+    CURRENT_PASS.set(pass);
+    try {
+      for (int i = 0; i < expressions.length; i++) {
+        result[i] = expressions[i].evaluate(context);
+        if (!sideEffectFree[i]) {
+          pass.clear();
+        }
+      }
+    } finally {
+      if (previous != null) {
+        CURRENT_PASS.set(previous);
+      } else {
+        CURRENT_PASS.remove();
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return Arrays.toString(expressions);
+  }
+
+  /** Returns the pass of this set in which the current thread evaluates the context, or null if there is none. */
+  Pass currentPass(Context context) {
+    Pass pass = CURRENT_PASS.get();
+    return (pass != null && pass.owner == this && pass.context == context ? pass : null);
+  }
+
+  /** Holds the results of the shared subexpressions in one evaluation pass. */
+  static final class Pass {
+
+    final ExpressionSet owner;
+    final Context context;
+    private final Object[] values;
+    private final boolean[] evaluated;
+
+    Pass(ExpressionSet owner, Context context, int size) {
+      this.owner = owner;
+      this.context = context;
+      this.values = new Object[size];
+      this.evaluated = new boolean[size];
+    }
+
+    boolean isEvaluated(int index) {
+      return evaluated[index];
+    }
+
+    Object getValue(int index) {
+      return values[index];
+    }
+
+    void setValue(int index, Object value) {
+      values[index] = value;
+      evaluated[index] = true;
+    }
+
+    void clear() {
+      Arrays.fill(values, null);
+      Arrays.fill(evaluated, false);
+    }
+  }
+
+  /** Evaluates a term with side effects and discards the results of the shared subexpressions afterwards. */
+  static final class SideEffectBarrier<E> implements WrapperExpression<E> {
+
+    private final ExpressionSet owner;
+    private final Expression<E> expression;
+
+    SideEffectBarrier(ExpressionSet owner, Expression<E> expression) {
+      this.owner = owner;
+      this.expression = expression;
+    }
+
+    @Override
+    public E evaluate(Context context) {
+      E result = expression.evaluate(context);
+      Pass pass = owner.currentPass(context);
+      if (pass != null) {
+        pass.clear();
+      }
+      return result;
+    }
+
+    @Override
+    public boolean isConstant() {
+      return false;
+    }
+
+    @Override
+    public Expression<?>[] getSourceExpressions() {
+      return new Expression<?>[] { expression };
+    }
+
+    @Override
+    public String toString() {
+      return expression.toString();
+    }
+  }
+
+  /** Finds the structurally identical subtrees and replaces them in copies of the trees. */
+  private final class Analysis {
+
+    private final Map<Expression<?>, List<Object>> keys = new IdentityHashMap<>();
+    private final Map<List<Object>, Integer> counts = new HashMap<>();
+    private final Map<List<Object>, SharedExpression<?>> shared = new HashMap<>();
+
+    /** Counts the subtree and the subtrees in the terms of its operators by their structural keys. */
+    void count(Expression<?> node) {
+      List<Object> key = key(node);
+      if (key != null && isWorthSharing(node)) {
+        counts.merge(key, 1, Integer::sum);
+      }
+      if (isOperator(node)) {
+        for (Expression<?> term : ((WrapperExpression<?>) node).getSourceExpressions()) {
+          count(term);
+        }
+      }
+    }
+
+    /** Returns the shared replacement of the node or the result of {@link #shareTerms(Expression)}. */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    Expression<?> share(Expression<?> node) {
+      List<Object> key = key(node);
+      if (isShared(key)) {
+        SharedExpression<?> result = shared.get(key);
+        if (result == null) {
+          result = new SharedExpression(ExpressionSet.this, shared.size(), shareTerms(node));
+          shared.put(key, result);
+        }
+        return result;
+      }
+      return shareTerms(node);
+    }
+
+    /** Returns the node or, if it is an operator, a copy of it which uses shared replacements in its terms.
+     *  An operator with side effects is only copied if it contains shared terms, and its terms with side
+     *  effects which are no operators are wrapped in {@link SideEffectBarrier}s. */
+    private Expression<?> shareTerms(Expression<?> node) {
+      if (!isOperator(node)) {
+        return node;
+      } else if (ExpressionUtil.isSideEffectFree(node)) {
+        return ExpressionRebuilder.mapSources(node, this::share);
+      } else if (!containsShared(node)) {
+        return node;
+      }
+      return ExpressionRebuilder.mapSources(node, term -> (isOperator(term) || ExpressionUtil.isSideEffectFree(term)
+          ? share(term) : new SideEffectBarrier<>(ExpressionSet.this, term)));
+    }
+
+    private boolean containsShared(Expression<?> node) {
+      for (Expression<?> term : ((WrapperExpression<?>) node).getSourceExpressions()) {
+        if (isShared(key(term)) || (isOperator(term) && containsShared(term))) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private boolean isShared(List<Object> key) {
+      return (key != null && counts.getOrDefault(key, 0) > 1);
+    }
+
+    /** Returns a structural key of the subtree or null if it may not be shared. The key consists of
+     *  the node's class, its settings and the keys of its sources and is compared by equals(). */
+    private List<Object> key(Expression<?> node) {
+      if (keys.containsKey(node)) {
+        return keys.get(node);
+      }
+      List<Object> result = null;
+      if (node instanceof ConstantExpression) {
+        Object value = ((ConstantExpression<?>) node).getValue();
+        if (value == null || !value.getClass().isArray()) {
+          result = Arrays.asList(ConstantExpression.class, (value != null ? value.getClass() : null), value);
+        }
+      } else if (node instanceof QNExpression) {
+        result = Arrays.asList(QNExpression.class, Arrays.asList(((QNExpression) node).getQnParts()));
+      } else if (ExpressionRebuilder.isSupported(node) && ExpressionUtil.isSideEffectFree(node)) {
+        result = new ArrayList<>();
+        result.add(node.getClass());
+        result.add(ExpressionRebuilder.settingsOf(node));
+        for (Expression<?> child : ((WrapperExpression<?>) node).getSourceExpressions()) {
+          List<Object> childKey = key(child);
+          if (childKey == null) {
+            result = null;
+            break;
+          }
+          result.add(childKey);
+        }
+      }
+      keys.put(node, result);
+      return result;
+    }
+
+    /** Tells if looking up a result is cheaper than evaluating the node, which is not the case
+     *  for constants and simple variables. */
+    private boolean isWorthSharing(Expression<?> node) {
+      if (node instanceof ConstantExpression) {
+        return false;
+      } else if (node instanceof QNExpression) {
+        return (((QNExpression) node).getQnParts().length > 1);
+      }
+      return true;
+    }
+
+    private boolean isOperator(Expression<?> node) {
+      return (node instanceof CompositeExpression || node instanceof BinaryExpression
+          || node instanceof UnaryExpression);
+    }
+  }
+
+}
@@ -17,8 +17,12 @@
 
 import com.rapiddweller.common.Context;
 import com.rapiddweller.common.Expression;
+import com.rapiddweller.script.QNExpression;
+import com.rapiddweller.script.QNInvocationExpression;
+import com.rapiddweller.script.compiler.CompiledExpression;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -76,4 +80,178 @@ public static <T> Expression<T> simplify(Expression<T> expression, Context conte
     }
   }
 
+  /** Tells if evaluating the expression has no side effects, so that it may be evaluated in a different order,
+   *  repeatedly or not at all. This holds for constants, variable and property reads, and the operators
+   *  of this package, if all their operands are side-effect-free. Calls of static methods which are registered
+   *  in {@link PureMethods} are side-effect-free if their arguments are. Assignments, other method calls,
+   *  constructions and expression classes of other packages are regarded as having side effects. */
+  public static boolean isSideEffectFree(Expression<?> expression) {
+    if (expression == null) {
+      return true;
+    }
+    Class<?> type = expression.getClass();
+    if (expression instanceof StaticMethodCallExpression || expression instanceof QNInvocationExpression) {
+      if (!isPureStaticCall(expression)) {
+        return false;
+      }
+    } else if (expression instanceof AssignmentExpression || expression instanceof InvocationExpression
+        || expression instanceof Construction || expression instanceof BeanConstruction) {
+      return false;
+    } else if (type == QNExpression.class) {
+      return true;
+    } else if (type.getPackage() != ExpressionUtil.class.getPackage() && !(expression instanceof CompiledExpression)) {
+      return false;
+    }
+    if (expression instanceof WrapperExpression) {
+      for (Expression<?> source : ((WrapperExpression<?>) expression).getSourceExpressions()) {
+        if (!isSideEffectFree(source)) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /** Tells if the expression calls a static method which is registered in {@link PureMethods},
+   *  regardless of its arguments. A qualified invocation counts if its owner names the registered class. */
+  static boolean isPureStaticCall(Expression<?> expression) {
+    if (expression instanceof StaticMethodCallExpression) {
+      StaticMethodCallExpression call = (StaticMethodCallExpression) expression;
+      return PureMethods.isPureStaticMethod(call.getTargetClass(), call.getMethodName());
+    } else if (expression instanceof QNInvocationExpression) {
+      String[] qn = ((QNInvocationExpression) expression).getQn();
+      return (qn.length > 1 && PureMethods.isPureStaticMethod(
+          String.join(".", Arrays.copyOf(qn, qn.length - 1)), qn[qn.length - 1]));
+    }
+    return false;
+  }
+
+  /** Activates the adaptive term ordering of all {@link ConditionalAndExpression}s
+   *  and {@link ConditionalOrExpression}s in the expression tree.
+   *  @see ConditionalAndExpression#setAdaptive(boolean) */
+  public static void enableAdaptiveOrdering(Expression<?> expression) {
+    if (expression instanceof ConditionalAndExpression) {
+      ((ConditionalAndExpression) expression).setAdaptive(true);
+    } else if (expression instanceof ConditionalOrExpression) {
+      ((ConditionalOrExpression) expression).setAdaptive(true);
+    }
+    if (expression instanceof WrapperExpression) {
+      for (Expression<?> source : ((WrapperExpression<?>) expression).getSourceExpressions()) {
+        enableAdaptiveOrdering(source);
+      }
+    }
+  }
+
+  /** Wraps the method invocations of an operator expression tree with side-effect-free arguments
+   *  in {@link MemoizingExpression}s which cache their results in the given cache, if the invoked method
+   *  is registered in {@link PureMethods}. The pass replaces the root and the terms of unary, binary
+   *  and composite operator expressions. Like {@link #foldConstants(Expression, Context)}, it copies the nodes
+   *  above the replaced invocations and does not modify the tree.
+   *  @return the root of the resulting tree, which is a new {@link MemoizingExpression} if it is an invocation */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  public static <T> Expression<T> memoizePureInvocations(Expression<T> expression, MemoCache cache) {
+    if (expression instanceof CompositeExpression || expression instanceof BinaryExpression
+        || expression instanceof UnaryExpression) {
+      return ExpressionRebuilder.mapSources(expression, term -> memoizePureInvocations(term, cache));
+    } else if (MemoizingExpression.isMemoizable(expression)) {
+      return new MemoizingExpression(expression, cache);
+    }
+    return expression;
+  }
+
+  /** Replaces each constant operator subtree of an expression tree with a {@link ConstantExpression}
+   *  and merges adjacent constants where this does not change the result. The pass descends into the sources
+   *  of all {@link WrapperExpression}s of the parser, e.g. into invocation arguments, the branches of
+   *  conditional expressions and type conversions, but only evaluates unary, binary and composite operators.
+   *  The tree is not modified: Each node above a folded subtree is replaced with a copy,
+   *  so the pass may be applied to shared trees.
+   *  A subtree whose evaluation fails is kept, so that the error occurs on evaluation.
+   *  @return the root of the folded tree, which is the expression itself if nothing could be folded */
+  @SuppressWarnings("unchecked")
+  public static <T> Expression<T> foldConstants(Expression<T> expression, Context context) {
+    Expression<T> result = ExpressionRebuilder.mapSources(expression, source -> foldConstants(source, context));
+    if (!(result instanceof CompositeExpression || result instanceof BinaryExpression
+        || result instanceof UnaryExpression)) {
+      return result;
+    }
+    boolean constantTerms = true;
+    for (Expression<?> term : ((WrapperExpression<?>) result).getSourceExpressions()) {
+      constantTerms &= (term instanceof ConstantExpression);
+    }
+    if (constantTerms && result.isConstant()) {
+      try {
+        T value = result.evaluate(context);
+        if (value == null || !value.getClass().isArray()) { // arrays are mutable, so each evaluation creates a new one
+          return new ConstantExpression<>(value);
+        }
+      } catch (RuntimeException e) {
+        return result;
+      }
+    }
+    if (result.getClass() == MultiplicationExpression.class) {
+      return (Expression<T>) mergeConstantFactors((MultiplicationExpression) result, context);
+    } else if (result.getClass() == SumExpression.class) {
+      return (Expression<T>) mergeStringSummands((SumExpression) result);
+    }
+    return result;
+  }
+
+  /** Merges a leading sequence of constant factors of a multiplication into one constant,
+   *  since the terms are combined from left to right. */
+  private static Expression<?> mergeConstantFactors(MultiplicationExpression product, Context context) {
+    Expression<?>[] terms = product.getTerms();
+    int prefixLength = 0;
+    while (prefixLength < terms.length && terms[prefixLength] instanceof ConstantExpression) {
+      prefixLength++;
+    }
+    if (prefixLength < 2 || prefixLength == terms.length) {
+      return product;
+    }
+    try {
+      Object value = new MultiplicationExpression("*", Arrays.copyOf(terms, prefixLength)).evaluate(context);
+      Expression<?>[] merged = new Expression<?>[terms.length - prefixLength + 1];
+      merged[0] = new ConstantExpression<>(value);
+      System.arraycopy(terms, prefixLength, merged, 1, terms.length - prefixLength);
+      return ExpressionRebuilder.withSources(product, merged);
+    } catch (RuntimeException e) {
+      return product; // keep the terms, so that the error occurs on evaluation
+    }
+  }
+
+  /** Rewrites (x + 'a') + 'b' to x + 'ab' and merges adjacent String constants of a sum like x + 'a' + 'b' + y.
+   *  This is safe for any x, since adding a String to any value yields a String and String concatenation
+   *  is associative. */
+  private static Expression<?> mergeStringSummands(SumExpression sum) {
+    Expression<?>[] terms = sum.getTerms();
+    if (terms.length == 2 && terms[0].getClass() == SumExpression.class && isStringConstant(terms[1])) {
+      Expression<?>[] innerTerms = ((SumExpression) terms[0]).getTerms();
+      if (innerTerms.length == 2 && isStringConstant(innerTerms[1])) {
+        String merged = (String) ((ConstantExpression<?>) innerTerms[1]).getValue()
+            + ((ConstantExpression<?>) terms[1]).getValue();
+        return ExpressionRebuilder.withSources(sum,
+            new Expression<?>[] {innerTerms[0], new ConstantExpression<>(merged)});
+      }
+    } else if (terms.length > 2) {
+      List<Expression<?>> merged = new ArrayList<>(terms.length);
+      for (Expression<?> term : terms) {
+        int last = merged.size() - 1;
+        if (last >= 0 && isStringConstant(term) && isStringConstant(merged.get(last))) {
+          String text = (String) ((ConstantExpression<?>) merged.get(last)).getValue()
+              + ((ConstantExpression<?>) term).getValue();
+          merged.set(last, new ConstantExpression<>(text));
+        } else {
+          merged.add(term);
+        }
+      }
+      if (merged.size() < terms.length) {
+        return ExpressionRebuilder.withSources(sum, merged.toArray(new Expression<?>[0]));
+      }
+    }
+    return sum;
+  }
+
+  private static boolean isStringConstant(Expression<?> expression) {
+    return (expression instanceof ConstantExpression && ((ConstantExpression<?>) expression).getValue() instanceof String);
+  }
+
 }
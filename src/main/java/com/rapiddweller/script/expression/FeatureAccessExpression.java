@@ -16,10 +16,10 @@
 package com.rapiddweller.script.expression;
 
 import com.rapiddweller.common.Context;
-import com.rapiddweller.common.accessor.FeatureAccessor;
 
 /**
- * Expression implementation that evaluates a feature value of an object.<br/><br/>
+ * Expression implementation that evaluates a feature value of an object.
+ * The way of access is looked up once per target class and feature name by the {@link CachedFeatureAccessor}.<br/><br/>
  * Created at 23.07.2009 14:59:41
  * @param <E> the type parameter
  * @author Volker Bergmann
@@ -33,10 +33,14 @@ public FeatureAccessExpression(String featureName) {
     this.featureName = featureName;
   }
 
+  public String getFeatureName() {
+    return featureName;
+  }
+
   @Override
   @SuppressWarnings("unchecked")
   public E evaluate(Context context) {
-    return (E) FeatureAccessor.getValue(context, featureName);
+    return (E) CachedFeatureAccessor.getValue(context, featureName);
   }
 
 }
@@ -16,16 +16,16 @@
 package com.rapiddweller.script.expression;
 
 import com.rapiddweller.common.Context;
-import com.rapiddweller.common.accessor.FeatureAccessor;
 import com.rapiddweller.common.Expression;
 
 /**
- * Evaluates an attribute of an object or class.<br/><br/>
+ * Evaluates an attribute of an object or class.
+ * The way of access is looked up once per target class and feature name by the {@link CachedFeatureAccessor}.<br/><br/>
  * Created at 08.10.2009 10:20:10
  * @author Volker Bergmann
  * @since 0.6.0
  */
-public class FieldExpression extends DynamicExpression<Object> {
+public class FieldExpression extends DynamicExpression<Object> implements WrapperExpression<Object> {
 
   private final Expression<?> targetEx;
   private final String featureName;
@@ -35,10 +35,19 @@ public FieldExpression(Expression<?> targetEx, String featureName) {
     this.featureName = featureName;
   }
 
+  public String getFeatureName() {
+    return featureName;
+  }
+
+  @Override
+  public Expression<?>[] getSourceExpressions() {
+    return new Expression<?>[] { targetEx };
+  }
+
   @Override
   public Object evaluate(Context context) {
     Object target = targetEx.evaluate(context);
-    return FeatureAccessor.getValue(target, featureName);
+    return CachedFeatureAccessor.getValue(target, featureName);
   }
 
   @Override
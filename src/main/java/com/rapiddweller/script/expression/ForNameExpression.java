@@ -25,7 +25,7 @@
  * @author Volker Bergmann
  * @since 0.5.4
  */
-public class ForNameExpression implements Expression<Class<?>> {
+public class ForNameExpression implements WrapperExpression<Class<?>> {
 
   protected final Expression<String> className;
 
@@ -33,6 +33,11 @@ public ForNameExpression(Expression<String> className) {
     this.className = className;
   }
 
+  @Override
+  public Expression<?>[] getSourceExpressions() {
+    return new Expression<?>[] { className };
+  }
+
   @Override
   public boolean isConstant() {
     return className.isConstant();
@@ -18,6 +18,7 @@
 import com.rapiddweller.common.Context;
 import com.rapiddweller.common.Expression;
 import com.rapiddweller.script.math.ArithmeticEngine;
+import com.rapiddweller.script.math.OperationCache;
 
 /**
  * Boolean {@link Expression} that evaluates if the first term is greater than the second.<br/><br/>
@@ -25,7 +26,11 @@
  * @author Volker Bergmann
  * @since 0.5.8
  */
-public class GreaterExpression extends BinaryExpression<Boolean> {
+public class GreaterExpression extends BinaryExpression<Boolean> implements PrimitiveExpression<Boolean> {
+
+  private static final ArithmeticEngine ENGINE = ArithmeticEngine.defaultInstance();
+
+  private final OperationCache comparison = new OperationCache(ENGINE::lessOperation, ENGINE::less);
 
   public GreaterExpression(Expression<?> term1, Expression<?> term2) {
     super(">", term1, term2);
@@ -33,7 +38,19 @@ public GreaterExpression(Expression<?> term1, Expression<?> term2) {
 
   @Override
   public Boolean evaluate(Context context) {
-    return ArithmeticEngine.defaultInstance().greater(term1.evaluate(context), term2.evaluate(context));
+    // a > b is evaluated as b < a
+    Object value1 = term1.evaluate(context);
+    return (Boolean) comparison.apply(term2.evaluate(context), value1);
+  }
+
+  @Override
+  public void evaluatePrimitive(Context context, PrimitiveValue result) {
+    PrimitiveExpression.evaluate(term1, context, result);
+    int kind = result.getKind();
+    long bits = result.getBits();
+    Object object = result.getObject();
+    PrimitiveExpression.evaluate(term2, context, result);
+    result.setBoolean(PrimitiveArithmetic.greater(kind, bits, object, result));
   }
 
 }
\ No newline at end of file
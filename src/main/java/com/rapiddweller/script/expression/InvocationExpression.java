@@ -15,32 +15,59 @@
 
 package com.rapiddweller.script.expression;
 
-import com.rapiddweller.common.BeanUtil;
 import com.rapiddweller.common.Context;
 import com.rapiddweller.common.Expression;
 
 /**
- * {@link Expression} implementation that evaluates a method on a class or object.<br/><br/>
+ * {@link Expression} implementation that evaluates a method on a class or object.
+ * The methods are looked up once per target and argument classes and cached in a {@link MethodCallSite}.<br/><br/>
  * Created at 07.10.2009 22:10:06
  * @author Volker Bergmann
  * @since 0.6.0
  */
-public class InvocationExpression extends DynamicExpression<Object> {
+public class InvocationExpression extends DynamicExpression<Object> implements WrapperExpression<Object> {
 
   private final Expression<?> target;
   private final String methodName;
   private final Expression<?>[] argExpressions;
+  private final MethodCallSite callSite;
 
   public InvocationExpression(Expression<?> target, String methodMame, Expression<?>[] argExpressions) {
     this.target = target;
     this.methodName = methodMame;
     this.argExpressions = argExpressions;
+    this.callSite = new MethodCallSite(methodMame, true);
+  }
+
+  public Expression<?> getTarget() {
+    return target;
+  }
+
+  public String getMethodName() {
+    return methodName;
+  }
+
+  public Expression<?>[] getArgExpressions() {
+    return argExpressions;
+  }
+
+  /** Returns the cache of the methods which have been called by this expression. */
+  public MethodCallSite getCallSite() {
+    return callSite;
+  }
+
+  @Override
+  public Expression<?>[] getSourceExpressions() {
+    Expression<?>[] result = new Expression<?>[argExpressions.length + 1];
+    result[0] = target;
+    System.arraycopy(argExpressions, 0, result, 1, argExpressions.length);
+    return result;
   }
 
   @Override
   public Object evaluate(Context context) {
     Object[] args = ExpressionUtil.evaluateAll(argExpressions, context);
-    return BeanUtil.invoke(target.evaluate(context), methodName, args);
+    return callSite.invoke(target.evaluate(context), args);
   }
 
 }
@@ -18,6 +18,7 @@
 import com.rapiddweller.common.Context;
 import com.rapiddweller.common.Expression;
 import com.rapiddweller.script.math.ArithmeticEngine;
+import com.rapiddweller.script.math.OperationCache;
 
 /**
  * Boolean {@link Expression} that checks if the result of one
@@ -26,7 +27,11 @@
  * @author Volker Bergmann
  * @since 0.5.8
  */
-public class LessExpression extends BinaryExpression<Boolean> {
+public class LessExpression extends BinaryExpression<Boolean> implements PrimitiveExpression<Boolean> {
+
+  private static final ArithmeticEngine ENGINE = ArithmeticEngine.defaultInstance();
+
+  private final OperationCache comparison = new OperationCache(ENGINE::lessOperation, ENGINE::less);
 
   public LessExpression(Expression<?> term1, Expression<?> term2) {
     super("<", term1, term2);
@@ -34,7 +39,17 @@ public LessExpression(Expression<?> term1, Expression<?> term2) {
 
   @Override
   public Boolean evaluate(Context context) {
-    return ArithmeticEngine.defaultInstance().less(term1.evaluate(context), term2.evaluate(context));
+    return (Boolean) comparison.apply(term1.evaluate(context), term2.evaluate(context));
+  }
+
+  @Override
+  public void evaluatePrimitive(Context context, PrimitiveValue result) {
+    PrimitiveExpression.evaluate(term1, context, result);
+    int kind = result.getKind();
+    long bits = result.getBits();
+    Object object = result.getObject();
+    PrimitiveExpression.evaluate(term2, context, result);
+    result.setBoolean(PrimitiveArithmetic.less(kind, bits, object, result));
   }
 
 }
\ No newline at end of file
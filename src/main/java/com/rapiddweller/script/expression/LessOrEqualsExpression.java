@@ -18,6 +18,7 @@
 import com.rapiddweller.common.Context;
 import com.rapiddweller.common.Expression;
 import com.rapiddweller.script.math.ArithmeticEngine;
+import com.rapiddweller.script.math.OperationCache;
 
 /**
  * Boolean {@link Expression} that checks if the results of two other expressions are less or equal.<br/><br/>
@@ -25,7 +26,11 @@
  * @author Volker Bergmann
  * @since 0.5.8
  */
-public class LessOrEqualsExpression extends BinaryExpression<Boolean> {
+public class LessOrEqualsExpression extends BinaryExpression<Boolean> implements PrimitiveExpression<Boolean> {
+
+  private static final ArithmeticEngine ENGINE = ArithmeticEngine.defaultInstance();
+
+  private final OperationCache comparison = new OperationCache(ENGINE::lessOrEqualsOperation, ENGINE::lessOrEquals);
 
   public LessOrEqualsExpression(Expression<?> term1, Expression<?> term2) {
     super("<=", term1, term2);
@@ -33,7 +38,17 @@ public LessOrEqualsExpression(Expression<?> term1, Expression<?> term2) {
 
   @Override
   public Boolean evaluate(Context context) {
-    return ArithmeticEngine.defaultInstance().lessOrEquals(term1.evaluate(context), term2.evaluate(context));
+    return (Boolean) comparison.apply(term1.evaluate(context), term2.evaluate(context));
+  }
+
+  @Override
+  public void evaluatePrimitive(Context context, PrimitiveValue result) {
+    PrimitiveExpression.evaluate(term1, context, result);
+    int kind = result.getKind();
+    long bits = result.getBits();
+    Object object = result.getObject();
+    PrimitiveExpression.evaluate(term2, context, result);
+    result.setBoolean(PrimitiveArithmetic.lessOrEquals(kind, bits, object, result));
   }
 
 }
\ No newline at end of file
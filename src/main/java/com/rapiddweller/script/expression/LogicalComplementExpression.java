@@ -25,7 +25,7 @@
  * @author Volker Bergmann
  * @since 0.5.8
  */
-public class LogicalComplementExpression extends UnaryExpression<Boolean> {
+public class LogicalComplementExpression extends UnaryExpression<Boolean> implements PrimitiveExpression<Boolean> {
 
   public LogicalComplementExpression(Expression<?> term) {
     this("!", term);
@@ -40,4 +40,10 @@ public Boolean evaluate(Context context) {
     return !AnyConverter.convert(term.evaluate(context), Boolean.class);
   }
 
+  @Override
+  public void evaluatePrimitive(Context context, PrimitiveValue result) {
+    PrimitiveExpression.evaluate(term, context, result);
+    result.setBoolean(!result.booleanValue());
+  }
+
 }
\ No newline at end of file
@@ -45,6 +45,10 @@ public MaxExpression(Comparator<E> comparator, Expression<E>... terms) {
     this.comparator = comparator;
   }
 
+  public Comparator<E> getComparator() {
+    return comparator;
+  }
+
   @Override
   public E evaluate(Context context) {
     E max = terms[0].evaluate(context);
@@ -0,0 +1,182 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.expression;
+
+import com.rapiddweller.common.exception.ExceptionFactory;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Size-bounded, thread-safe cache for the results of pure method invocations, which is used by
+ * {@link MemoizingExpression}s. Reads are lock-free. When the maximum size is reached, entries are evicted
+ * according to the {@link Eviction} policy: {@link Eviction#OLDEST} removes the entries in the order
+ * they were added, {@link Eviction#CLEAR} drops all entries at once, which is cheaper and suits caches
+ * whose working set changes in phases. Under concurrent puts, the size may exceed the maximum temporarily
+ * by the number of writing threads. Hit statistics can be switched off to avoid their small overhead
+ * on contended caches.<br/><br/>
+ * Created: 18.10.2026 23:18:44
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public class MemoCache {
+
+  public static final int DEFAULT_MAX_SIZE = 10000;
+
+  /** Stands for a cached null result. */
+  private static final Object NULL = new Object();
+  /** Tells that no result is cached. */
+  private static final Object ABSENT = new Object();
+
+  public enum Eviction {
+    OLDEST, CLEAR
+  }
+
+  private final int maxSize;
+  private final Eviction eviction;
+  private final boolean statisticsEnabled;
+  private final ConcurrentHashMap<Object, Object> entries;
+  /** the keys in the order of insertion, only used for {@link Eviction#OLDEST} */
+  private final Queue<Object> insertionOrder;
+  private final LongAdder hitCount;
+  private final LongAdder missCount;
+  private final LongAdder evictionCount;
+
+  public MemoCache() {
+    this(DEFAULT_MAX_SIZE);
+  }
+
+  public MemoCache(int maxSize) {
+    this(maxSize, Eviction.OLDEST, true);
+  }
+
+  public MemoCache(int maxSize, Eviction eviction, boolean statisticsEnabled) {
+    if (maxSize <= 0) {
+      throw ExceptionFactory.getInstance().illegalArgument("maxSize must be positive, but was " + maxSize);
+    }
+    if (eviction == null) {
+      throw ExceptionFactory.getInstance().illegalArgument("eviction must not be null");
+    }
+    this.maxSize = maxSize;
+    this.eviction = eviction;
+    this.statisticsEnabled = statisticsEnabled;
+    this.entries = new ConcurrentHashMap<>(Math.min(maxSize, 1024) * 2);
+    this.insertionOrder = (eviction == Eviction.OLDEST ? new ConcurrentLinkedQueue<>() : null);
+    this.hitCount = new LongAdder();
+    this.missCount = new LongAdder();
+    this.evictionCount = new LongAdder();
+  }
+
+  // interface -------------------------------------------------------------------------------------------------------
+
+  /** Tells if a result is cached for the key. */
+  public boolean containsKey(Object key) {
+    return entries.containsKey(key);
+  }
+
+  /** Returns the cached result for the key or {@link #absent()} if there is none.
+   *  A cached null result is returned as null. */
+  public Object get(Object key) {
+    Object value = entries.get(key);
+    if (statisticsEnabled) {
+      (value != null ? hitCount : missCount).increment();
+    }
+    if (value == null) {
+      return ABSENT;
+    }
+    return (value != NULL ? value : null);
+  }
+
+  /** Returns the marker object with which {@link #get(Object)} reports that no result is cached. */
+  public static Object absent() {
+    return ABSENT;
+  }
+
+  /** Stores a result, evicting entries if the cache is full. */
+  public void put(Object key, Object value) {
+    if (entries.size() >= maxSize) {
+      evict();
+    }
+    if (entries.put(key, (value != null ? value : NULL)) == null && insertionOrder != null) {
+      insertionOrder.add(key);
+    }
+  }
+
+  public void clear() {
+    entries.clear();
+    if (insertionOrder != null) {
+      insertionOrder.clear();
+    }
+  }
+
+  // statistics ------------------------------------------------------------------------------------------------------
+
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  public Eviction getEviction() {
+    return eviction;
+  }
+
+  public boolean isStatisticsEnabled() {
+    return statisticsEnabled;
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+
+  public long getMissCount() {
+    return missCount.sum();
+  }
+
+  public long getEvictionCount() {
+    return evictionCount.sum();
+  }
+
+  public double getHitRate() {
+    long hits = hitCount.sum();
+    long requests = hits + missCount.sum();
+    return (requests > 0 ? (double) hits / requests : 0.);
+  }
+
+  public void resetStatistics() {
+    hitCount.reset();
+    missCount.reset();
+    evictionCount.reset();
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "[size=" + entries.size() + "/" + maxSize + ", eviction=" + eviction +
+        ", hits=" + hitCount.sum() + ", misses=" + missCount.sum() + ", evictions=" + evictionCount.sum() + "]";
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private void evict() {
+    if (eviction == Eviction.CLEAR) {
+      int size = entries.size();
+      entries.clear();
+      evictionCount.add(size);
+    } else {
+      while (entries.size() >= maxSize) {
+        Object eldest = insertionOrder.poll();
+        if (eldest == null) {
+          break;
+        }
+        if (entries.remove(eldest) != null) {
+          evictionCount.increment();
+        }
+      }
+    }
+  }
+
+}
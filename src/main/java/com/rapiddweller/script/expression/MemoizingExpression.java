@@ -0,0 +1,218 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.expression;
+
+import com.rapiddweller.common.Context;
+import com.rapiddweller.common.Expression;
+import com.rapiddweller.common.exception.ExceptionFactory;
+import com.rapiddweller.script.QNInvocationExpression;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Wraps an {@link InvocationExpression}, {@link QNInvocationExpression} or {@link StaticMethodCallExpression}
+ * and caches its results in a {@link MemoCache}, keyed by the method, the invoked class or object and
+ * the argument values. Whether the invoked method is pure is checked in the {@link PureMethods} registry
+ * on each evaluation, since the owner of a method is only known at runtime. Invocations of impure or unknown
+ * methods and invocations with arguments which are not immutable values are invoked as before, reusing the
+ * evaluated owner and arguments. The arguments and the invocation target must be side-effect-free,
+ * since they may be evaluated in a different order than by the wrapped invocation.
+ * Use {@link ExpressionUtil#memoizePureInvocations(Expression, MemoCache)} for creating instances.<br/><br/>
+ * Created: 18.10.2026 23:31:05
+ * @param <E> the result type
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public final class MemoizingExpression<E> implements WrapperExpression<E> {
+
+  private final Expression<E> invocation;
+  private final String methodName;
+  private final Expression<?>[] argExpressions;
+  private final MemoCache cache;
+
+  MemoizingExpression(Expression<E> invocation, MemoCache cache) {
+    this.invocation = invocation;
+    this.cache = cache;
+    if (invocation instanceof InvocationExpression) {
+      this.methodName = ((InvocationExpression) invocation).getMethodName();
+      this.argExpressions = ((InvocationExpression) invocation).getArgExpressions();
+    } else if (invocation instanceof StaticMethodCallExpression) {
+      this.methodName = ((StaticMethodCallExpression) invocation).getMethodName();
+      this.argExpressions = ((StaticMethodCallExpression) invocation).getSourceExpressions();
+    } else if (invocation instanceof QNInvocationExpression) {
+      this.methodName = ((QNInvocationExpression) invocation).getMethodName();
+      this.argExpressions = ((QNInvocationExpression) invocation).getSourceExpressions();
+    } else {
+      throw ExceptionFactory.getInstance().illegalArgument("Not an invocation: " + invocation);
+    }
+  }
+
+  /** Tells if the expression is an invocation which can be memoized. Since the owner of an instance method
+   *  is only known at runtime, these are memoizable if a pure method of that name has been registered. */
+  static boolean isMemoizable(Expression<?> expression) {
+    Expression<?>[] args;
+    if (expression instanceof InvocationExpression) {
+      InvocationExpression invocation = (InvocationExpression) expression;
+      if (!PureMethods.isPureMethodName(invocation.getMethodName())
+          || !ExpressionUtil.isSideEffectFree(invocation.getTarget())) {
+        return false;
+      }
+      args = invocation.getArgExpressions();
+    } else if (expression instanceof StaticMethodCallExpression) {
+      StaticMethodCallExpression call = (StaticMethodCallExpression) expression;
+      if (!PureMethods.isPureStaticMethod(call.getTargetClass(), call.getMethodName())) {
+        return false;
+      }
+      args = call.getSourceExpressions();
+    } else if (expression instanceof QNInvocationExpression) {
+      QNInvocationExpression invocation = (QNInvocationExpression) expression;
+      if (!PureMethods.isPureMethodName(invocation.getMethodName())) {
+        return false;
+      }
+      args = invocation.getSourceExpressions();
+    } else {
+      return false;
+    }
+    for (Expression<?> arg : args) {
+      if (!ExpressionUtil.isSideEffectFree(arg)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public Expression<E> getInvocation() {
+    return invocation;
+  }
+
+  public MemoCache getCache() {
+    return cache;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public E evaluate(Context context) {
+    boolean isStatic;
+    Object owner;
+    if (invocation instanceof InvocationExpression) {
+      isStatic = false;
+      owner = ((InvocationExpression) invocation).getTarget().evaluate(context);
+    } else if (invocation instanceof StaticMethodCallExpression) {
+      isStatic = true;
+      owner = ((StaticMethodCallExpression) invocation).getTargetClass();
+    } else {
+      QNInvocationExpression qnInvocation = (QNInvocationExpression) invocation;
+      owner = qnInvocation.staticOwnerType(context);
+      isStatic = (owner != null);
+      if (!isStatic) {
+        owner = qnInvocation.ownerObject(context);
+      }
+    }
+    Object[] args = ExpressionUtil.evaluateAll(argExpressions, context);
+    if (owner == null || !(isStatic ? PureMethods.isPureStaticMethod((Class<?>) owner, methodName)
+        : PureMethods.isPureInstanceMethod(owner.getClass(), methodName))) {
+      return invoke(owner, args, context);
+    }
+    for (Object arg : args) {
+      if (!isValue(arg)) {
+        return invoke(owner, args, context);
+      }
+    }
+    Key key = new Key(methodName, owner, args);
+    Object result = cache.get(key);
+    if (result == MemoCache.absent()) {
+      result = invoke(owner, args, context);
+      cache.put(key, result);
+    }
+    return (E) result;
+  }
+
+  @Override
+  public boolean isConstant() {
+    return invocation.isConstant();
+  }
+
+  @Override
+  public Expression<?>[] getSourceExpressions() {
+    return new Expression<?>[] { invocation };
+  }
+
+  @Override
+  public String toString() {
+    return invocation.toString();
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  /** Invokes the method on the evaluated owner with the evaluated arguments. */
+  @SuppressWarnings("unchecked")
+  private E invoke(Object owner, Object[] args, Context context) {
+    if (invocation instanceof InvocationExpression) {
+      return (E) ((InvocationExpression) invocation).getCallSite().invoke(owner, args);
+    } else if (invocation instanceof StaticMethodCallExpression) {
+      return (E) ((StaticMethodCallExpression) invocation).getCallSite().invokeStatic((Class<?>) owner, args);
+    } else {
+      return (E) ((QNInvocationExpression) invocation).invoke(owner, args, context);
+    }
+  }
+
+  /** Tells if the object is an immutable value with value-based equals() and hashCode(). */
+  private static boolean isValue(Object object) {
+    return (object == null || object instanceof String || object instanceof Integer || object instanceof Long
+        || object instanceof Double || object instanceof Boolean || object instanceof Character
+        || object instanceof Short || object instanceof Byte || object instanceof Float
+        || object instanceof BigDecimal || object instanceof BigInteger || object instanceof Enum
+        || object instanceof Class);
+  }
+
+  private static final class Key {
+
+    private final String methodName;
+    private final Object owner;
+    private final Object[] args;
+    private final int hashCode;
+
+    Key(String methodName, Object owner, Object[] args) {
+      this.methodName = methodName;
+      this.owner = owner;
+      this.args = args;
+      this.hashCode = (methodName.hashCode() * 31 + owner.hashCode()) * 31 + Arrays.hashCode(args);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key that = (Key) o;
+      return this.hashCode == that.hashCode && this.methodName.equals(that.methodName)
+          && this.owner.equals(that.owner) && argsEqual(this.args, that.args);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+    /** Compares the arguments including their classes, since methods may be overloaded for 1 and 1L. */
+    private static boolean argsEqual(Object[] args1, Object[] args2) {
+      if (args1.length != args2.length) {
+        return false;
+      }
+      for (int i = 0; i < args1.length; i++) {
+        Object arg1 = args1[i];
+        Object arg2 = args2[i];
+        if (arg1 == null ? arg2 != null : arg2 == null || arg1.getClass() != arg2.getClass() || !arg1.equals(arg2)) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+}
@@ -0,0 +1,196 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.expression;
+
+import com.rapiddweller.common.BeanUtil;
+import com.rapiddweller.common.converter.ConverterManager;
+import com.rapiddweller.common.converter.NoOpConverter;
+import com.rapiddweller.common.exception.ExceptionFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Polymorphic inline cache for the method calls of an expression node. Like {@link BeanUtil#invoke(boolean,
+ * Object, String, Object...)} and {@link BeanUtil#invokeStatic(Class, String, boolean, Object...)} it looks up
+ * the method by the class of the target and the classes of the arguments, but it does so only once for each
+ * combination and remembers the result. If the arguments can be passed to the method without conversion,
+ * the method is called through a {@link MethodHandle}, otherwise the cached method is passed to
+ * {@link BeanUtil#invoke(Object, Method, boolean, Object[])}. After more than {@link #MAX_ENTRIES} combinations
+ * have been seen (megamorphic state), all calls are delegated to the {@link BeanUtil}.
+ * The cache may be used by concurrent threads: its entries are replaced, never modified.<br/><br/>
+ * Created: 18.10.2026 10:41:27
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public final class MethodCallSite {
+
+  public static final int MAX_ENTRIES = 4;
+
+  private static final Entry[] NO_ENTRIES = new Entry[0];
+
+  private final String methodName;
+  private final boolean strict;
+  private volatile Entry[] entries;
+  private volatile boolean megamorphic;
+
+  /** @param methodName the name of the method to call
+   *  @param strict if true, the arguments are passed unchanged, otherwise they are converted
+   *                to the parameter types of the method */
+  public MethodCallSite(String methodName, boolean strict) {
+    this.methodName = methodName;
+    this.strict = strict;
+    this.entries = NO_ENTRIES;
+    this.megamorphic = false;
+  }
+
+  // interface -------------------------------------------------------------------------------------------------------
+
+  public String getMethodName() {
+    return methodName;
+  }
+
+  /** Calls the method on the target object like {@link BeanUtil#invoke(boolean, Object, String, Object...)}.
+   *  If the target is a {@link Class}, the method is looked up in that class. */
+  public Object invoke(Object target, Object[] args) {
+    if (target == null || args == null || megamorphic) {
+      return BeanUtil.invoke(strict, target, methodName, args);
+    }
+    boolean onClass = (target instanceof Class);
+    Class<?> owner = (onClass ? (Class<?>) target : target.getClass());
+    Entry entry = lookup(owner, onClass, args);
+    return (entry != null ? entry.invoke(target, args, strict) : BeanUtil.invoke(strict, target, methodName, args));
+  }
+
+  /** Calls a static method of the given class like {@link BeanUtil#invokeStatic(Class, String, boolean, Object...)}. */
+  public Object invokeStatic(Class<?> type, Object[] args) {
+    if (type == null || args == null || megamorphic) {
+      return BeanUtil.invokeStatic(type, methodName, strict, args);
+    }
+    Entry entry = lookup(type, true, args);
+    return (entry != null ? entry.invoke(null, args, strict) : BeanUtil.invokeStatic(type, methodName, strict, args));
+  }
+
+  /** Returns the number of class combinations for which a method is cached. */
+  public int size() {
+    return entries.length;
+  }
+
+  public boolean isMegamorphic() {
+    return megamorphic;
+  }
+
+  @Override
+  public String toString() {
+    return methodName;
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  /** Returns the cached entry for the owner class and argument classes, creating it on a miss,
+   *  or null in the megamorphic state. */
+  private Entry lookup(Class<?> owner, boolean onClass, Object[] args) {
+    for (Entry entry : entries) {
+      if (entry.matches(owner, onClass, args)) {
+        return entry;
+      }
+    }
+    Class<?>[] argTypes = BeanUtil.getTypes(args);
+    Method method = BeanUtil.getMethod(owner, methodName, argTypes); // reports unknown methods like the BeanUtil
+    Entry entry = new Entry(owner, onClass, argTypes, method, createHandle(method, onClass, argTypes, strict));
+    synchronized (this) {
+      Entry[] oldEntries = entries;
+      if (megamorphic || oldEntries.length >= MAX_ENTRIES) {
+        megamorphic = true;
+        entries = NO_ENTRIES; // no more need to search the entries
+      } else {
+        Entry[] newEntries = new Entry[oldEntries.length + 1];
+        System.arraycopy(oldEntries, 0, newEntries, 0, oldEntries.length);
+        newEntries[oldEntries.length] = entry;
+        entries = newEntries;
+      }
+    }
+    return entry;
+  }
+
+  /** Creates a handle of type (Object, Object[])Object which calls the method directly, or returns null
+   *  if the BeanUtil would treat the call differently: if it would convert an argument, collect varargs
+   *  or fail, or if the method is not publicly accessible. */
+  private static MethodHandle createHandle(Method method, boolean onClass, Class<?>[] argTypes, boolean strict) {
+    boolean isStatic = Modifier.isStatic(method.getModifiers());
+    Class<?>[] paramTypes = method.getParameterTypes();
+    if (isStatic != onClass || paramTypes.length != argTypes.length) {
+      return null;
+    }
+    for (int i = 0; i < paramTypes.length; i++) {
+      if (!passesUnchanged(argTypes[i], paramTypes[i], strict)) {
+        return null;
+      }
+    }
+    try {
+      MethodHandle handle = MethodHandles.publicLookup().unreflect(method).asFixedArity();
+      if (isStatic) {
+        handle = MethodHandles.dropArguments(handle, 0, Object.class);
+      }
+      return handle.asType(MethodType.genericMethodType(paramTypes.length + 1))
+          .asSpreader(Object[].class, paramTypes.length);
+    } catch (IllegalAccessException e) {
+      return null;
+    }
+  }
+
+  private static boolean passesUnchanged(Class<?> argType, Class<?> paramType, boolean strict) {
+    if (argType == null) {
+      return !paramType.isPrimitive();
+    } else if (paramType.isPrimitive() ? BeanUtil.getWrapper(paramType.getName()) != argType
+        : !paramType.isAssignableFrom(argType)) {
+      return false;
+    }
+    return (strict || ConverterManager.getInstance().createConverter(argType, paramType) instanceof NoOpConverter);
+  }
+
+  private static final class Entry {
+
+    final Class<?> owner;
+    final boolean onClass;
+    final Class<?>[] argTypes;
+    final Method method;
+    /** the direct call of the method or null if it needs to be called by the BeanUtil */
+    final MethodHandle handle;
+
+    Entry(Class<?> owner, boolean onClass, Class<?>[] argTypes, Method method, MethodHandle handle) {
+      this.owner = owner;
+      this.onClass = onClass;
+      this.argTypes = argTypes;
+      this.method = method;
+      this.handle = handle;
+    }
+
+    boolean matches(Class<?> owner, boolean onClass, Object[] args) {
+      if (this.owner != owner || this.onClass != onClass || args.length != argTypes.length) {
+        return false;
+      }
+      for (int i = 0; i < args.length; i++) {
+        if ((args[i] != null ? args[i].getClass() : null) != argTypes[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    Object invoke(Object target, Object[] args, boolean strict) {
+      if (handle == null) {
+        return BeanUtil.invoke(target, method, strict, args);
+      }
+      try {
+        return (Object) handle.invokeExact(target, args);
+      } catch (Throwable e) {
+        throw ExceptionFactory.getInstance().operationFailed("Failed to invoke " + method, e);
+      }
+    }
+  }
+
+}
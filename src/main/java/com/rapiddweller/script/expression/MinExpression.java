@@ -44,6 +44,10 @@ public MinExpression(Comparator<E> comparator, Expression<E>... terms) {
     this.comparator = comparator;
   }
 
+  public Comparator<E> getComparator() {
+    return comparator;
+  }
+
   @Override
   public E evaluate(Context context) {
     E min = terms[0].evaluate(context);
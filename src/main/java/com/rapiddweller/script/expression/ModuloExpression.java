@@ -25,7 +25,7 @@
  * @author Volker Bergmann
  * @since 0.5.8
  */
-public class ModuloExpression extends BinaryExpression<Object> {
+public class ModuloExpression extends BinaryExpression<Object> implements PrimitiveExpression<Object> {
 
   public ModuloExpression(Expression<?> term1, Expression<?> term2) {
     this("%", term1, term2);
@@ -40,4 +40,14 @@ public Object evaluate(Context context) {
     return ArithmeticEngine.defaultInstance().mod(term1.evaluate(context), term2.evaluate(context));
   }
 
+  @Override
+  public void evaluatePrimitive(Context context, PrimitiveValue result) {
+    PrimitiveExpression.evaluate(term1, context, result);
+    int kind = result.getKind();
+    long bits = result.getBits();
+    Object object = result.getObject();
+    PrimitiveExpression.evaluate(term2, context, result);
+    PrimitiveArithmetic.mod(kind, bits, object, result);
+  }
+
 }
\ No newline at end of file
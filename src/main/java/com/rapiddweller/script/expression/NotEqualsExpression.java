@@ -18,6 +18,7 @@
 import com.rapiddweller.common.Context;
 import com.rapiddweller.common.Expression;
 import com.rapiddweller.script.math.ArithmeticEngine;
+import com.rapiddweller.script.math.OperationCache;
 
 /**
  * Boolean {@link Expression} that checks for inequality.<br/><br/>
@@ -25,7 +26,11 @@
  * @author Volker Bergmann
  * @since 0.5.8
  */
-public class NotEqualsExpression extends BinaryExpression<Boolean> {
+public class NotEqualsExpression extends BinaryExpression<Boolean> implements PrimitiveExpression<Boolean> {
+
+  private static final ArithmeticEngine ENGINE = ArithmeticEngine.defaultInstance();
+
+  private final OperationCache comparison = new OperationCache(ENGINE::equalsOperation, ENGINE::equals);
 
   public NotEqualsExpression(Expression<?> term1, Expression<?> term2) {
     this("!=", term1, term2);
@@ -37,7 +42,17 @@ public NotEqualsExpression(String symbol, Expression<?> term1, Expression<?> ter
 
   @Override
   public Boolean evaluate(Context context) {
-    return !ArithmeticEngine.defaultInstance().equals(term1.evaluate(context), term2.evaluate(context));
+    return !(Boolean) comparison.apply(term1.evaluate(context), term2.evaluate(context));
+  }
+
+  @Override
+  public void evaluatePrimitive(Context context, PrimitiveValue result) {
+    PrimitiveExpression.evaluate(term1, context, result);
+    int kind = result.getKind();
+    long bits = result.getBits();
+    Object object = result.getObject();
+    PrimitiveExpression.evaluate(term2, context, result);
+    result.setBoolean(!PrimitiveArithmetic.equal(kind, bits, object, result));
   }
 
 }
@@ -16,7 +16,6 @@
 package com.rapiddweller.script.expression;
 
 import com.rapiddweller.common.ArrayFormat;
-import com.rapiddweller.common.BeanUtil;
 import com.rapiddweller.common.Context;
 import com.rapiddweller.common.Expression;
 
@@ -27,13 +26,20 @@
  * @author Volker Bergmann
  * @since 0.6.0
  */
-public class ParameterizedConstruction<E> extends Construction<E> {
+public class ParameterizedConstruction<E> extends Construction<E> implements WrapperExpression<E> {
 
   private final Expression<?>[] argumentExpressions;
+  private final ConstructorCallSite callSite;
 
   public ParameterizedConstruction(String className, Expression<?>[] argumentExpressions) {
     super(className);
     this.argumentExpressions = argumentExpressions;
+    this.callSite = new ConstructorCallSite();
+  }
+
+  @Override
+  public Expression<?>[] getSourceExpressions() {
+    return argumentExpressions;
   }
 
   @Override
@@ -44,16 +50,11 @@ public E evaluate(Context context) {
     for (int i = 0; i < argumentExpressions.length; i++) {
       arguments[i] = argumentExpressions[i].evaluate(context);
     }
-    return (E) BeanUtil.newInstance(type, true, arguments);
+    return (E) callSite.newInstance(type, arguments);
   }
 
   public boolean classExists(Context context) {
-    try {
-      getType(context);
-      return true;
-    } catch (Exception e) {
-      return false;
-    }
+    return (findType(context) != null);
   }
 
   @Override
@@ -0,0 +1,163 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.expression;
+
+import com.rapiddweller.script.math.ArithmeticEngine;
+
+import static com.rapiddweller.script.expression.PrimitiveValue.DOUBLE;
+import static com.rapiddweller.script.expression.PrimitiveValue.INT;
+import static com.rapiddweller.script.expression.PrimitiveValue.LONG;
+
+/**
+ * Arithmetic and comparison operations on {@link PrimitiveValue}s which produce the same results
+ * as the {@link ArithmeticEngine}. The first operand is passed as kind, bits and object as saved
+ * before the second operand was evaluated into the holder, the result replaces the second operand.
+ * Operands which are not int, long or double are boxed and passed to the engine.<br/><br/>
+ * Created: 17.10.2026 09:47:33
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+final class PrimitiveArithmetic {
+
+  private static final ArithmeticEngine ENGINE = ArithmeticEngine.defaultInstance();
+
+  private PrimitiveArithmetic() {
+    // private constructor to prevent instantiation of this utility class
+  }
+
+  // arithmetic ------------------------------------------------------------------------------------------------------
+
+  static void add(int kind1, long bits1, Object object1, PrimitiveValue v) {
+    if (isNumber(kind1) && v.isNumber()) {
+      int kind = Math.max(kind1, v.getKind());
+      if (kind == DOUBLE) {
+        v.setDouble(toDouble(kind1, bits1) + v.doubleValue());
+      } else if (kind == LONG) {
+        v.setLong(bits1 + v.getBits());
+      } else {
+        v.setInt((int) bits1 + (int) v.getBits());
+      }
+    } else {
+      v.set(ENGINE.add(PrimitiveValue.toObject(kind1, bits1, object1), v.toObject()));
+    }
+  }
+
+  static void subtract(int kind1, long bits1, Object object1, PrimitiveValue v) {
+    if (isNumber(kind1) && v.isNumber()) {
+      int kind = Math.max(kind1, v.getKind());
+      if (kind == DOUBLE) {
+        v.setDouble(toDouble(kind1, bits1) - v.doubleValue());
+      } else if (kind == LONG) {
+        v.setLong(bits1 - v.getBits());
+      } else {
+        v.setInt((int) bits1 - (int) v.getBits());
+      }
+    } else {
+      v.set(ENGINE.subtract(PrimitiveValue.toObject(kind1, bits1, object1), v.toObject()));
+    }
+  }
+
+  static void multiply(int kind1, long bits1, Object object1, PrimitiveValue v) {
+    if (isNumber(kind1) && v.isNumber()) {
+      int kind = Math.max(kind1, v.getKind());
+      if (kind == DOUBLE) {
+        v.setDouble(toDouble(kind1, bits1) * v.doubleValue());
+      } else if (kind == LONG) {
+        v.setLong(bits1 * v.getBits());
+      } else {
+        v.setInt((int) bits1 * (int) v.getBits());
+      }
+    } else {
+      v.set(ENGINE.multiply(PrimitiveValue.toObject(kind1, bits1, object1), v.toObject()));
+    }
+  }
+
+  static void divide(int kind1, long bits1, Object object1, PrimitiveValue v) {
+    if (isNumber(kind1) && v.isNumber()) {
+      int kind = Math.max(kind1, v.getKind());
+      if (kind == DOUBLE) {
+        v.setDouble(toDouble(kind1, bits1) / v.doubleValue());
+      } else if (kind == LONG) {
+        v.setLong(bits1 / v.getBits());
+      } else {
+        v.setInt((int) bits1 / (int) v.getBits());
+      }
+    } else {
+      v.set(ENGINE.divide(PrimitiveValue.toObject(kind1, bits1, object1), v.toObject()));
+    }
+  }
+
+  /** Like the {@link ArithmeticEngine}, calculates the modulo in the type of the first operand
+   *  using the int value of the second one. */
+  static void mod(int kind1, long bits1, Object object1, PrimitiveValue v) {
+    if ((kind1 == INT || kind1 == LONG) && v.isNumber()) {
+      int divisor = (v.getKind() == DOUBLE ? (int) v.doubleValue() : (int) v.getBits());
+      if (kind1 == INT) {
+        v.setInt((int) bits1 % divisor);
+      } else {
+        v.setLong(bits1 % divisor);
+      }
+    } else {
+      v.set(ENGINE.mod(PrimitiveValue.toObject(kind1, bits1, object1), v.toObject()));
+    }
+  }
+
+  static void negate(PrimitiveValue v) {
+    switch (v.getKind()) {
+      case INT: v.setInt(-(int) v.getBits()); break;
+      case LONG: v.setLong(-v.getBits()); break;
+      case DOUBLE: v.setDouble(-v.doubleValue()); break;
+      default: v.set(ENGINE.negate(v.toObject()));
+    }
+  }
+
+  // comparison ------------------------------------------------------------------------------------------------------
+
+  static boolean equal(int kind1, long bits1, Object object1, PrimitiveValue v) {
+    if (isNumber(kind1) && v.isNumber()) {
+      return (compare(kind1, bits1, v) == 0);
+    }
+    return ENGINE.equals(PrimitiveValue.toObject(kind1, bits1, object1), v.toObject());
+  }
+
+  static boolean less(int kind1, long bits1, Object object1, PrimitiveValue v) {
+    if (isNumber(kind1) && v.isNumber()) {
+      return (compare(kind1, bits1, v) < 0);
+    }
+    return ENGINE.less(PrimitiveValue.toObject(kind1, bits1, object1), v.toObject());
+  }
+
+  static boolean lessOrEquals(int kind1, long bits1, Object object1, PrimitiveValue v) {
+    if (isNumber(kind1) && v.isNumber()) {
+      return (compare(kind1, bits1, v) <= 0);
+    }
+    return ENGINE.lessOrEquals(PrimitiveValue.toObject(kind1, bits1, object1), v.toObject());
+  }
+
+  /** Evaluates 'first operand > second operand' like the engine, as 'second operand < first operand'. */
+  static boolean greater(int kind1, long bits1, Object object1, PrimitiveValue v) {
+    if (isNumber(kind1) && v.isNumber()) {
+      return (compare(kind1, bits1, v) > 0);
+    }
+    return ENGINE.less(v.toObject(), PrimitiveValue.toObject(kind1, bits1, object1));
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  /** Compares two numbers like the compareTo() method of their combined wrapper type. */
+  private static int compare(int kind1, long bits1, PrimitiveValue v) {
+    if (kind1 == DOUBLE || v.getKind() == DOUBLE) {
+      return Double.compare(toDouble(kind1, bits1), v.doubleValue());
+    }
+    return Long.compare(bits1, v.getBits());
+  }
+
+  private static boolean isNumber(int kind) {
+    return (kind >= INT && kind <= DOUBLE);
+  }
+
+  private static double toDouble(int kind, long bits) {
+    return (kind == DOUBLE ? PrimitiveValue.doubleBits(bits) : bits);
+  }
+
+}
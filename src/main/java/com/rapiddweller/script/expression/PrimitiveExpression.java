@@ -0,0 +1,69 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.expression;
+
+import com.rapiddweller.common.Context;
+import com.rapiddweller.common.Expression;
+
+/**
+ * {@link Expression} which can provide its result without boxing. Implementations pass
+ * int, long, double and boolean values between nodes in a {@link PrimitiveValue}
+ * and produce the same results as {@link #evaluate(Context)}.
+ * Callers which evaluate an expression repeatedly can reuse one {@link PrimitiveValue}
+ * with {@link #evaluatePrimitive(Context, PrimitiveValue)}. The default implementations of
+ * {@link #evaluateLong(Context)}, {@link #evaluateDouble(Context)} and {@link #evaluateBoolean(Context)}
+ * evaluate into a thread-confined {@link PrimitiveValue}, so they do not allocate a holder per call.<br/><br/>
+ * Created: 17.10.2026 09:24:16
+ * @param <E> the result type of the expression
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public interface PrimitiveExpression<E> extends Expression<E> {
+
+  /** Evaluates the expression and stores the result in the given holder. */
+  void evaluatePrimitive(Context context, PrimitiveValue result);
+
+  /** Returns the same as <code>((Number) evaluate(context)).longValue()</code>. */
+  default long evaluateLong(Context context) {
+    PrimitiveValue result = PrimitiveValue.borrow();
+    try {
+      evaluatePrimitive(context, result);
+      return result.longValue();
+    } finally {
+      result.release();
+    }
+  }
+
+  /** Returns the same as <code>((Number) evaluate(context)).doubleValue()</code>. */
+  default double evaluateDouble(Context context) {
+    PrimitiveValue result = PrimitiveValue.borrow();
+    try {
+      evaluatePrimitive(context, result);
+      return result.doubleValue();
+    } finally {
+      result.release();
+    }
+  }
+
+  /** Returns the same as <code>AnyConverter.convert(evaluate(context), Boolean.class)</code>. */
+  default boolean evaluateBoolean(Context context) {
+    PrimitiveValue result = PrimitiveValue.borrow();
+    try {
+      evaluatePrimitive(context, result);
+      return result.booleanValue();
+    } finally {
+      result.release();
+    }
+  }
+
+  /** Evaluates an arbitrary expression into a {@link PrimitiveValue},
+   *  using the primitive path if the expression supports it. */
+  static void evaluate(Expression<?> expression, Context context, PrimitiveValue result) {
+    if (expression instanceof PrimitiveExpression) {
+      ((PrimitiveExpression<?>) expression).evaluatePrimitive(context, result);
+    } else {
+      result.set(expression.evaluate(context));
+    }
+  }
+
+}
@@ -0,0 +1,181 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.expression;
+
+import com.rapiddweller.common.converter.AnyConverter;
+
+/**
+ * Mutable holder for the result of a {@link PrimitiveExpression}. int, long, double and boolean values
+ * are stored without boxing, all other values (including null, Byte, Short and Float) as object.
+ * A single instance is passed through the evaluation of a whole expression tree.<br/><br/>
+ * Created: 17.10.2026 09:02:51
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public final class PrimitiveValue {
+
+  public static final int OBJECT = 0;
+  public static final int INT = 1;
+  public static final int LONG = 2;
+  public static final int DOUBLE = 3;
+  public static final int BOOLEAN = 4;
+
+  private static final ThreadLocal<PrimitiveValue> SCRATCH = ThreadLocal.withInitial(PrimitiveValue::new);
+
+  private int kind;
+  private long bits;
+  private Object object;
+  private boolean borrowed;
+
+  public PrimitiveValue() {
+    setObject(null);
+  }
+
+  // kinds and raw access --------------------------------------------------------------------------------------------
+
+  /** Returns {@link #OBJECT}, {@link #INT}, {@link #LONG}, {@link #DOUBLE} or {@link #BOOLEAN}. */
+  public int getKind() {
+    return kind;
+  }
+
+  /** Tells if the value is an int, long or double. Since the kind constants are ordered by precedence,
+   *  the result type of an arithmetic operation on two numbers is the maximum of their kinds. */
+  public boolean isNumber() {
+    return (kind >= INT && kind <= DOUBLE);
+  }
+
+  /** Returns the int, long or boolean value as long or the raw bits of a double value. */
+  public long getBits() {
+    return bits;
+  }
+
+  /** Returns the value of kind {@link #OBJECT}. */
+  public Object getObject() {
+    return object;
+  }
+
+  // setters ---------------------------------------------------------------------------------------------------------
+
+  public void setInt(int value) {
+    this.kind = INT;
+    this.bits = value;
+    this.object = null;
+  }
+
+  public void setLong(long value) {
+    this.kind = LONG;
+    this.bits = value;
+    this.object = null;
+  }
+
+  public void setDouble(double value) {
+    this.kind = DOUBLE;
+    this.bits = Double.doubleToRawLongBits(value);
+    this.object = null;
+  }
+
+  public void setBoolean(boolean value) {
+    this.kind = BOOLEAN;
+    this.bits = (value ? 1 : 0);
+    this.object = null;
+  }
+
+  public void setObject(Object value) {
+    this.kind = OBJECT;
+    this.bits = 0;
+    this.object = value;
+  }
+
+  /** Sets an arbitrary value, unboxing Integer, Long, Double and Boolean objects. */
+  public void set(Object value) {
+    if (value instanceof Integer) {
+      setInt((Integer) value);
+    } else if (value instanceof Long) {
+      setLong((Long) value);
+    } else if (value instanceof Double) {
+      setDouble((Double) value);
+    } else if (value instanceof Boolean) {
+      setBoolean((Boolean) value);
+    } else {
+      setObject(value);
+    }
+  }
+
+  // conversions -----------------------------------------------------------------------------------------------------
+
+  /** Returns the same as <code>((Number) toObject()).longValue()</code>. */
+  public long longValue() {
+    if (kind == INT || kind == LONG) {
+      return bits;
+    } else if (kind == DOUBLE) {
+      return (long) doubleBits(bits);
+    } else {
+      return ((Number) toObject()).longValue();
+    }
+  }
+
+  /** Returns the same as <code>((Number) toObject()).doubleValue()</code>. */
+  public double doubleValue() {
+    if (kind == INT || kind == LONG) {
+      return bits;
+    } else if (kind == DOUBLE) {
+      return doubleBits(bits);
+    } else {
+      return ((Number) toObject()).doubleValue();
+    }
+  }
+
+  /** Returns the same as <code>AnyConverter.convert(toObject(), Boolean.class)</code>. */
+  public boolean booleanValue() {
+    if (kind == BOOLEAN) {
+      return (bits != 0);
+    }
+    return AnyConverter.convert(toObject(), Boolean.class);
+  }
+
+  /** Returns the value as object, boxing it if necessary. */
+  public Object toObject() {
+    return toObject(kind, bits, object);
+  }
+
+  /** Creates the object representation of a value which has been saved
+   *  as kind, bits and object before reusing the holder. */
+  public static Object toObject(int kind, long bits, Object object) {
+    switch (kind) {
+      case INT: return (int) bits;
+      case LONG: return bits;
+      case DOUBLE: return doubleBits(bits);
+      case BOOLEAN: return (bits != 0);
+      default: return object;
+    }
+  }
+
+  // thread-confined instances -------------------------------------------------------------------------------------
+
+  /** Returns the calling thread's scratch instance, or a new instance if the scratch instance is in use
+   *  by an enclosing evaluation. Each call must be followed by a call to {@link #release()}. */
+  static PrimitiveValue borrow() {
+    PrimitiveValue result = SCRATCH.get();
+    if (result.borrowed) {
+      return new PrimitiveValue();
+    }
+    result.borrowed = true;
+    return result;
+  }
+
+  /** Returns a borrowed instance to its thread and drops its object reference. */
+  void release() {
+    this.borrowed = false;
+    setObject(null);
+  }
+
+  static double doubleBits(long bits) {
+    return Double.longBitsToDouble(bits);
+  }
+
+  @Override
+  public String toString() {
+    return String.valueOf(toObject());
+  }
+
+}
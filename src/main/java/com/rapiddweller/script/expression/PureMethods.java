@@ -0,0 +1,116 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.expression;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the methods which are pure, i.e. whose result only depends on the values of their arguments
+ * and, for instance methods, of the object, and which have no side effects, so that their results
+ * may be memoized. Methods are registered by class and name, which covers all overloads of the name.
+ * Only methods of immutable classes with value-based equals() may be registered, and no methods which
+ * return arrays or other mutable objects. Methods which have not been registered are regarded as impure.
+ * By default, the static methods of Math and StrictMath except random(), and selected methods of String and
+ * the number wrapper classes are registered. The registry is global and thread-safe.<br/><br/>
+ * Created: 18.10.2026 23:10:27
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public final class PureMethods {
+
+  private static final Map<Class<?>, Set<String>> STATIC_METHODS = new ConcurrentHashMap<>();
+  private static final Map<Class<?>, Set<String>> INSTANCE_METHODS = new ConcurrentHashMap<>();
+
+  static {
+    registerStaticMethodsExcept(Math.class, "random");
+    registerStaticMethodsExcept(StrictMath.class, "random");
+    // toUpperCase(), toLowerCase() and format() depend on the default locale, so none of their overloads are pure
+    registerInstanceMethods(String.class, "length", "isEmpty", "charAt", "substring", "trim", "strip",
+        "indexOf", "lastIndexOf", "startsWith", "endsWith", "contains", "replace", "concat", "equals",
+        "equalsIgnoreCase", "compareTo", "compareToIgnoreCase", "hashCode", "matches", "replaceAll", "replaceFirst",
+        "repeat", "isBlank");
+    registerStaticMethods(String.class, "valueOf");
+    for (Class<?> type : new Class<?>[] { Integer.class, Long.class, Double.class }) {
+      registerStaticMethods(type, "valueOf", "toString", "compare", "max", "min", "sum");
+      registerInstanceMethods(type, "intValue", "longValue", "doubleValue", "compareTo", "equals", "hashCode",
+          "toString");
+    }
+    registerStaticMethods(Integer.class, "parseInt", "toHexString", "toBinaryString", "signum", "bitCount");
+    registerStaticMethods(Long.class, "parseLong", "toHexString", "toBinaryString", "signum", "bitCount");
+    registerStaticMethods(Double.class, "parseDouble", "isNaN", "isInfinite", "isFinite");
+  }
+
+  private PureMethods() {
+    // private constructor to prevent instantiation of this utility class
+  }
+
+  public static void registerStaticMethods(Class<?> type, String... methodNames) {
+    register(STATIC_METHODS, type, methodNames);
+  }
+
+  public static void registerInstanceMethods(Class<?> type, String... methodNames) {
+    register(INSTANCE_METHODS, type, methodNames);
+  }
+
+  /** Registers all public static methods of the class except the given ones. */
+  public static void registerStaticMethodsExcept(Class<?> type, String... excludedMethodNames) {
+    Set<String> excluded = Set.of(excludedMethodNames);
+    for (Method method : type.getMethods()) {
+      if (Modifier.isStatic(method.getModifiers()) && !excluded.contains(method.getName())) {
+        registerStaticMethods(type, method.getName());
+      }
+    }
+  }
+
+  /** Tells if a static or instance method of this name has been registered for any class. */
+  public static boolean isPureMethodName(String methodName) {
+    return containsName(STATIC_METHODS, methodName) || containsName(INSTANCE_METHODS, methodName);
+  }
+
+  public static boolean isPureStaticMethod(Class<?> type, String methodName) {
+    return STATIC_METHODS.getOrDefault(type, Collections.emptySet()).contains(methodName);
+  }
+
+  /** Tells if a static method of this name has been registered for the class of the given name, which may be
+   *  fully qualified or, for classes of java.lang, the simple name as written in scripts. Like the script
+   *  resolution, this presumes that the name is not hidden by a variable or an imported class. */
+  public static boolean isPureStaticMethod(String className, String methodName) {
+    for (Map.Entry<Class<?>, Set<String>> entry : STATIC_METHODS.entrySet()) {
+      Class<?> type = entry.getKey();
+      if ((type.getName().equals(className)
+          || ("java.lang".equals(type.getPackageName()) && type.getSimpleName().equals(className)))
+          && entry.getValue().contains(methodName)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Tells if the method is pure when called on an object of the given class. Since registered methods
+   *  may be overridden, only the registrations of the class itself count. */
+  public static boolean isPureInstanceMethod(Class<?> type, String methodName) {
+    return INSTANCE_METHODS.getOrDefault(type, Collections.emptySet()).contains(methodName);
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private static boolean containsName(Map<Class<?>, Set<String>> registry, String methodName) {
+    for (Set<String> names : registry.values()) {
+      if (names.contains(methodName)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static void register(Map<Class<?>, Set<String>> registry, Class<?> type, String... methodNames) {
+    Set<String> names = registry.computeIfAbsent(type, key -> ConcurrentHashMap.newKeySet());
+    Collections.addAll(names, methodNames);
+  }
+
+}
@@ -0,0 +1,63 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.expression;
+
+import com.rapiddweller.common.Context;
+import com.rapiddweller.common.Expression;
+
+/**
+ * Stands for a side-effect-free subexpression which occurs several times in the expressions
+ * of an {@link ExpressionSet}. Within an evaluation pass of the set, the subexpression is evaluated
+ * on first use and its result is reused, otherwise it is evaluated each time.<br/><br/>
+ * Created: 18.10.2026 21:41:50
+ * @param <E> the result type
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+final class SharedExpression<E> implements WrapperExpression<E> {
+
+  private final ExpressionSet owner;
+  private final int index;
+  private final Expression<E> expression;
+
+  SharedExpression(ExpressionSet owner, int index, Expression<E> expression) {
+    this.owner = owner;
+    this.index = index;
+    this.expression = expression;
+  }
+
+  Expression<E> getExpression() {
+    return expression;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public E evaluate(Context context) {
+    ExpressionSet.Pass pass = owner.currentPass(context);
+    if (pass == null) {
+      return expression.evaluate(context);
+    }
+    if (pass.isEvaluated(index)) {
+      return (E) pass.getValue(index);
+    }
+    E result = expression.evaluate(context);
+    pass.setValue(index, result);
+    return result;
+  }
+
+  @Override
+  public boolean isConstant() {
+    return expression.isConstant();
+  }
+
+  @Override
+  public Expression<?>[] getSourceExpressions() {
+    return new Expression<?>[] { expression };
+  }
+
+  @Override
+  public String toString() {
+    return expression.toString();
+  }
+
+}
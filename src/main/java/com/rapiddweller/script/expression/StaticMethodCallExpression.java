@@ -15,32 +15,52 @@
 
 package com.rapiddweller.script.expression;
 
-import com.rapiddweller.common.BeanUtil;
 import com.rapiddweller.common.Context;
 import com.rapiddweller.common.Expression;
 
 /**
- * {@link Expression} implementation that performs a static method call.<br/><br/>
+ * {@link Expression} implementation that performs a static method call.
+ * The method is looked up once per argument classes and cached in a {@link MethodCallSite}.<br/><br/>
  * Created at 27.07.2009 08:58:30
  * @author Volker Bergmann
  * @since 0.5.0
  */
-public class StaticMethodCallExpression extends DynamicExpression<Object> {
+public class StaticMethodCallExpression extends DynamicExpression<Object> implements WrapperExpression<Object> {
 
   private final Class<?> targetClass;
   private final String methodName;
   private final Expression<?>[] argExpressions;
+  private final MethodCallSite callSite;
 
   public StaticMethodCallExpression(Class<?> targetClass, String methodName, Expression<?>... argExpressions) {
     this.targetClass = targetClass;
     this.methodName = methodName;
     this.argExpressions = argExpressions;
+    this.callSite = new MethodCallSite(methodName, true);
+  }
+
+  public Class<?> getTargetClass() {
+    return targetClass;
+  }
+
+  public String getMethodName() {
+    return methodName;
+  }
+
+  /** Returns the cache of the methods which have been called by this expression. */
+  public MethodCallSite getCallSite() {
+    return callSite;
+  }
+
+  @Override
+  public Expression<?>[] getSourceExpressions() {
+    return argExpressions;
   }
 
   @Override
   public Object evaluate(Context context) {
     Object[] args = ExpressionUtil.evaluateAll(argExpressions, context);
-    return BeanUtil.invokeStatic(targetClass, methodName, args);
+    return callSite.invokeStatic(targetClass, args);
   }
 
 }
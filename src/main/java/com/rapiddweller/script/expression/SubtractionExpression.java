@@ -18,6 +18,7 @@
 import com.rapiddweller.common.Context;
 import com.rapiddweller.common.Expression;
 import com.rapiddweller.script.math.ArithmeticEngine;
+import com.rapiddweller.script.math.OperationCache;
 
 /**
  * Numerical {@link Expression} that performs a subtraction.<br/><br/>
@@ -25,7 +26,11 @@
  * @author Volker Bergmann
  * @since 0.5.8
  */
-public class SubtractionExpression extends CompositeExpression<Object, Object> {
+public class SubtractionExpression extends CompositeExpression<Object, Object> implements PrimitiveExpression<Object> {
+
+  private static final ArithmeticEngine ENGINE = ArithmeticEngine.defaultInstance();
+
+  private final OperationCache subtraction = new OperationCache(ENGINE::subtractOperation, ENGINE::subtract);
 
   public SubtractionExpression() {
     super("-");
@@ -40,9 +45,21 @@ public SubtractionExpression(String symbol, Expression... terms) {
   public Object evaluate(Context context) {
     Object result = terms[0].evaluate(context);
     for (int i = 1; i < terms.length; i++) {
-      result = ArithmeticEngine.defaultInstance().subtract(result, terms[i].evaluate(context));
+      result = subtraction.apply(result, terms[i].evaluate(context));
     }
     return result;
   }
 
+  @Override
+  public void evaluatePrimitive(Context context, PrimitiveValue result) {
+    PrimitiveExpression.evaluate(terms[0], context, result);
+    for (int i = 1; i < terms.length; i++) {
+      int kind = result.getKind();
+      long bits = result.getBits();
+      Object object = result.getObject();
+      PrimitiveExpression.evaluate(terms[i], context, result);
+      PrimitiveArithmetic.subtract(kind, bits, object, result);
+    }
+  }
+
 }
@@ -15,18 +15,27 @@
 
 package com.rapiddweller.script.expression;
 
-import com.rapiddweller.common.Assert;
 import com.rapiddweller.common.Context;
 import com.rapiddweller.common.Expression;
+import com.rapiddweller.common.converter.AnyConverter;
 import com.rapiddweller.script.math.ArithmeticEngine;
+import com.rapiddweller.script.math.OperationCache;
 
 /**
- * Calculates the sum of two or more expressions.<br/><br/>
+ * Calculates the sum of two or more expressions. The terms are added from left to right like by
+ * {@link ArithmeticEngine#add(Object, Object)}, but a sum of Integers, Longs or Doubles is accumulated
+ * in a primitive and, as soon as the sum has become a String, the following terms are appended
+ * to a single {@link StringBuilder}. A nested sum as first term, as the parsers create it
+ * for chains like <code>prefix + id + '-' + seq</code>, adds its terms to the same accumulator.<br/><br/>
  * Created: 07.10.2010 11:24:34
  * @author Volker Bergmann
  * @since 0.5.8
  */
-public class SumExpression extends CompositeExpression<Object, Object> {
+public class SumExpression extends CompositeExpression<Object, Object> implements PrimitiveExpression<Object> {
+
+  private static final ArithmeticEngine ENGINE = ArithmeticEngine.defaultInstance();
+
+  private final OperationCache addition = new OperationCache(ENGINE::addOperation, ENGINE::add);
 
   public SumExpression() {
     this("+");
@@ -44,14 +53,143 @@ public SumExpression(String symbol, Expression... terms) {
 
   @Override
   public Object evaluate(Context context) {
-    Expression<?>[] summands = {terms[0], terms[1]};
-    Assert.isTrue(true, "At least two summands needed");
-    Object result = summands[0].evaluate(context);
-    for (int i = 1; i < summands.length; i++) {
-      result = ArithmeticEngine.defaultInstance().add(result, summands[i].evaluate(context));
+    Accumulator sum = new Accumulator(chainLength());
+    accumulate(context, sum);
+    return sum.result();
+  }
+
+  @Override
+  public void evaluatePrimitive(Context context, PrimitiveValue result) {
+    PrimitiveExpression.evaluate(terms[0], context, result);
+    for (int i = 1; i < terms.length; i++) {
+      int kind = result.getKind();
+      long bits = result.getBits();
+      Object object = result.getObject();
+      PrimitiveExpression.evaluate(terms[i], context, result);
+      PrimitiveArithmetic.add(kind, bits, object, result);
     }
-    return result;
   }
 
-}
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private void accumulate(Context context, Accumulator sum) {
+    Expression<?> first = terms[0];
+    if (first.getClass() == SumExpression.class) {
+      ((SumExpression) first).accumulate(context, sum);
+    } else {
+      sum.start(first.evaluate(context));
+    }
+    for (int i = 1; i < terms.length; i++) {
+      sum.add(terms[i].evaluate(context), addition);
+    }
+  }
+
+  /** Returns the number of terms of this sum and the nested sums of the chain it ends. */
+  private int chainLength() {
+    int result = 0;
+    Expression<?> node = this;
+    while (node.getClass() == SumExpression.class) {
+      Expression<?>[] nodeTerms = ((SumExpression) node).terms;
+      result += nodeTerms.length - 1;
+      node = nodeTerms[0];
+    }
+    return result + 1;
+  }
+
+  /** Holds the intermediate sum of a chain. Integer, Long and Double sums are held as primitives,
+   *  which are added like by the {@link ArithmeticEngine}, with int overflow for Integers,
+   *  and a String sum in a StringBuilder. */
+  private static final class Accumulator {
+
+    private static final int OBJECT = 0;
+    private static final int INT = 1;
+    private static final int LONG = 2;
+    private static final int DOUBLE = 3;
+    private static final int TEXT = 4;
 
+    /** the estimated average length of the String representation of a term */
+    private static final int TERM_LENGTH = 16;
+
+    private int termsLeft;
+    private int kind;
+    private Object value;
+    private long longSum;
+    private double doubleSum;
+    private StringBuilder text;
+
+    Accumulator(int termCount) {
+      this.termsLeft = termCount;
+    }
+
+    void start(Object value) {
+      termsLeft--;
+      set(value);
+    }
+
+    void add(Object summand, OperationCache addition) {
+      termsLeft--;
+      switch (kind) {
+        case TEXT:
+          if (summand instanceof String) {
+            text.append((String) summand);
+          } else if (summand != null) { // the ArithmeticEngine ignores null summands
+            text.append(AnyConverter.convert(summand, String.class));
+          }
+          return;
+        case INT:
+          if (summand instanceof Integer) {
+            longSum = (int) longSum + (Integer) summand;
+            return;
+          }
+          break;
+        case LONG:
+          if (summand instanceof Long) {
+            longSum += (Long) summand;
+            return;
+          }
+          break;
+        case DOUBLE:
+          if (summand instanceof Double) {
+            doubleSum += (Double) summand;
+            return;
+          }
+          break;
+        default:
+          break;
+      }
+      set(addition.apply(result(), summand));
+    }
+
+    Object result() {
+      switch (kind) {
+        case INT: return (int) longSum;
+        case LONG: return longSum;
+        case DOUBLE: return doubleSum;
+        case TEXT: return text.toString();
+        default: return value;
+      }
+    }
+
+    private void set(Object value) {
+      this.value = null;
+      if (value instanceof String) {
+        String string = (String) value;
+        text = new StringBuilder(string.length() + termsLeft * TERM_LENGTH).append(string);
+        kind = TEXT;
+      } else if (value instanceof Integer) {
+        longSum = (Integer) value;
+        kind = INT;
+      } else if (value instanceof Long) {
+        longSum = (Long) value;
+        kind = LONG;
+      } else if (value instanceof Double) {
+        doubleSum = (Double) value;
+        kind = DOUBLE;
+      } else {
+        this.value = value;
+        kind = OBJECT;
+      }
+    }
+  }
+
+}
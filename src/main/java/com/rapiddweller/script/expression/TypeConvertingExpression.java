@@ -36,6 +36,10 @@ public TypeConvertingExpression(Expression source, Class<E> resultType) {
     this.converter = new AnyConverter<>(resultType);
   }
 
+  public Class<E> getResultType() {
+    return converter.getTargetType();
+  }
+
   @Override
   public E evaluate(Context context) {
     return converter.convert(term.evaluate(context));
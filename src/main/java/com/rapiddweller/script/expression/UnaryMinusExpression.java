@@ -26,7 +26,7 @@
  * @author Volker Bergmann
  * @since 0.5.8
  */
-public class UnaryMinusExpression<E> extends UnaryExpression<E> {
+public class UnaryMinusExpression<E> extends UnaryExpression<E> implements PrimitiveExpression<E> {
 
   public UnaryMinusExpression(Expression<?> term) {
     this("-", term);
@@ -42,4 +42,10 @@ public E evaluate(Context context) {
     return (E) ArithmeticEngine.defaultInstance().negate(term.evaluate(context));
   }
 
+  @Override
+  public void evaluatePrimitive(Context context, PrimitiveValue result) {
+    PrimitiveExpression.evaluate(term, context, result);
+    PrimitiveArithmetic.negate(result);
+  }
+
 }
@@ -0,0 +1,55 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.expression;
+
+import com.rapiddweller.common.Converter;
+import com.rapiddweller.common.converter.AnyConverter;
+import com.rapiddweller.common.converter.ConverterManager;
+import com.rapiddweller.common.converter.NoOpConverter;
+
+/**
+ * Converts non-null values of one class to a target type like {@link AnyConverter#convert(Object, Class)},
+ * but looks up the converter only once. Converters which are not thread-safe are not reused.<br/><br/>
+ * Created: 18.10.2026 14:32:40
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+final class ValueConversion {
+
+  private final Class<?> sourceType;
+  private final Class<?> targetType;
+  /** the converter to use or null if the values need no conversion */
+  private final Converter<Object, Object> converter;
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  ValueConversion(Class<?> sourceType, Class<?> targetType) {
+    this.sourceType = sourceType;
+    this.targetType = targetType;
+    if (targetType.equals(sourceType)) {
+      this.converter = null;
+    } else {
+      Converter candidate = ConverterManager.getInstance().createConverter(sourceType, targetType);
+      this.converter = (candidate instanceof NoOpConverter ? null : candidate);
+    }
+  }
+
+  Class<?> getSourceType() {
+    return sourceType;
+  }
+
+  /** Tells if the values are used unchanged. */
+  boolean isIdentity() {
+    return (converter == null);
+  }
+
+  Object apply(Object value) {
+    if (converter == null) {
+      return value;
+    } else if (converter.isThreadSafe()) {
+      return converter.convert(value);
+    } else {
+      return AnyConverter.convert(value, targetType);
+    }
+  }
+
+}
@@ -23,6 +23,7 @@
 import java.math.BigInteger;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.BinaryOperator;
 
 /**
  * Provides arithmetic operations.<br/><br/>
@@ -44,6 +45,14 @@ public class ArithmeticEngine {
   public static final String NOT_A_NUMBER = "Not a number: ";
   public static final String CANNOT_SHIFT = "Cannot shift ";
 
+  private static final OperationTable ADDITION;
+  private static final OperationTable SUBTRACTION;
+  private static final OperationTable MULTIPLICATION;
+  private static final OperationTable DIVISION;
+  private static final OperationTable EQUALITY;
+  private static final OperationTable LESS;
+  private static final OperationTable LESS_OR_EQUALS;
+
   static {
     typeArithmetics = new HashMap<>();
     addTypeArithmetics(
@@ -51,6 +60,14 @@ public class ArithmeticEngine {
         new TimeArithmetic(),
         new TimestampArithmetic(),
         new ZonedDateTimeArithmetic());
+    ADDITION = new OperationTable(ArithmeticEngine::createAddition, ArithmeticEngine::unsupportedAddition);
+    SUBTRACTION = new OperationTable(ArithmeticEngine::createSubtraction, ArithmeticEngine::unsupportedSubtraction);
+    MULTIPLICATION = new OperationTable(
+        ArithmeticEngine::createMultiplication, ArithmeticEngine::unsupportedMultiplication);
+    DIVISION = new OperationTable(ArithmeticEngine::createDivision, ArithmeticEngine::unsupportedDivision);
+    EQUALITY = new OperationTable(ArithmeticEngine::createEquality, (a, b) -> compareGeneric(a, b) == 0);
+    LESS = new OperationTable(ArithmeticEngine::createLess, (a, b) -> compareGeneric(a, b) < 0);
+    LESS_OR_EQUALS = new OperationTable(ArithmeticEngine::createLessOrEquals, (a, b) -> compareGeneric(a, b) <= 0);
   }
 
   // singleton stuff -------------------------------------------------------------------------------------------------
@@ -74,40 +91,7 @@ public Object add(Object summand1, Object summand2) {
     } else if (summand2 == null) {
       return summand1;
     }
-    // arbitrary conversion
-    Class<?> resultType = TypeManager.combinedType(summand1.getClass(), summand2.getClass());
-    TypeArithmetic<?> typeArithmetic = typeArithmetics.get(resultType);
-    if (typeArithmetic != null) {
-      return typeArithmetic.add(summand1, summand2);
-    }
-    Object s1 = AnyConverter.convert(summand1, resultType);
-    Object s2 = AnyConverter.convert(summand2, resultType);
-    if (resultType == String.class) {
-      return (String) s1 + s2;
-    } else if (resultType == Boolean.class) {
-      return (Boolean) s1 || (Boolean) s2;
-    } else if (resultType == Character.class) {
-      return (Character) s1 + (Character) s2;
-    } else if (resultType == Byte.class) {
-      return (Byte) s1 + (Byte) s2;
-    } else if (resultType == Short.class) {
-      return (Short) s1 + (Short) s2;
-    } else if (resultType == Integer.class) {
-      return (Integer) s1 + (Integer) s2;
-    } else if (resultType == Long.class) {
-      return (Long) s1 + (Long) s2;
-    } else if (resultType == Float.class) {
-      return (Float) s1 + (Float) s2;
-    } else if (resultType == Double.class) {
-      return (Double) s1 + (Double) s2;
-    } else if (resultType == BigInteger.class) {
-      return ((BigInteger) s1).add((BigInteger) s2);
-    } else if (resultType == BigDecimal.class) {
-      return ((BigDecimal) s1).add((BigDecimal) s2);
-    } else {
-      throw ExceptionFactory.getInstance().programmerUnsupported("Addition of types " + BeanUtil.simpleClassName(summand1) +
-          " and " + BeanUtil.simpleClassName(summand2) + IS_NOT_SUPPORTED);
-    }
+    return ADDITION.apply(summand1, summand2);
   }
 
   public Object subtract(Object minuend, Object subtrahend) {
@@ -117,37 +101,7 @@ public Object subtract(Object minuend, Object subtrahend) {
     } else if (minuend == null) {
       return negate(subtrahend);
     }
-    // arbitrary conversion
-    Class<?> resultType = TypeManager.combinedType(minuend.getClass(), subtrahend.getClass());
-    TypeArithmetic<?> typeArithmetic = typeArithmetics.get(resultType);
-    if (typeArithmetic != null) {
-      return typeArithmetic.subtract(minuend, subtrahend);
-    }
-    Object s1 = AnyConverter.convert(minuend, resultType);
-    Object s2 = AnyConverter.convert(subtrahend, resultType);
-    if (resultType == Character.class) {
-      return (Character) s1 - (Character) s2;
-    } else if (resultType == Byte.class) {
-      return (Byte) s1 - (Byte) s2;
-    } else if (resultType == Short.class) {
-      return (Short) s1 - (Short) s2;
-    } else if (resultType == Integer.class) {
-      return (Integer) s1 - (Integer) s2;
-    } else if (resultType == Long.class) {
-      return (Long) s1 - (Long) s2;
-    } else if (resultType == Float.class) {
-      return (Float) s1 - (Float) s2;
-    } else if (resultType == Double.class) {
-      return (Double) s1 - (Double) s2;
-    } else if (resultType == BigInteger.class) {
-      return ((BigInteger) s1).subtract((BigInteger) s2);
-    } else if (resultType == BigDecimal.class) {
-      return ((BigDecimal) s1).subtract((BigDecimal) s2);
-    } else {
-      throw ExceptionFactory.getInstance().programmerUnsupported(
-          "Subtraction of type " + BeanUtil.simpleClassName(subtrahend) +
-          " from " + BeanUtil.simpleClassName(minuend) + IS_NOT_SUPPORTED);
-    }
+    return SUBTRACTION.apply(minuend, subtrahend);
   }
 
   public Object negate(Object value) {
@@ -184,142 +138,364 @@ public Object multiply(Object factor1, Object factor2) {
     if (factor1 == null || factor2 == null) {
       return null;
     }
-    // arbitrary conversion
-    Class<?> resultType = TypeManager.combinedType(factor1.getClass(), factor2.getClass());
+    return MULTIPLICATION.apply(factor1, factor2);
+  }
+
+  public Object divide(Object dividend, Object divisor) {
+    // null handling
+    if (divisor == null) {
+      throw ExceptionFactory.getInstance().illegalArgument("Division by null");
+    }
+    if (dividend == null) {
+      return null;
+    }
+    return DIVISION.apply(dividend, divisor);
+  }
+
+  public boolean less(Object part1, Object part2) {
+    // null handling
+    if (part2 == null || part1 == null) {
+      throw ExceptionFactory.getInstance().illegalArgument("Cannot compare null");
+    }
+    return (Boolean) LESS.apply(part1, part2);
+  }
+
+  public boolean lessOrEquals(Object part1, Object part2) {
+    // null handling
+    if (part2 == null || part1 == null) {
+      throw ExceptionFactory.getInstance().illegalArgument("Cannot compare null");
+    }
+    return (Boolean) LESS_OR_EQUALS.apply(part1, part2);
+  }
+
+  public boolean equals(Object part1, Object part2) {
+    // null handling
+    if (part2 == null && part1 == null) {
+      return true;
+    }
+    if (part2 == null || part1 == null) {
+      return false;
+    }
+    return (Boolean) EQUALITY.apply(part1, part2);
+  }
+
+  public Boolean greater(Object o1, Object o2) {
+    return less(o2, o1);
+  }
+
+  public Boolean greaterOrEquals(Object o1, Object o2) {
+    return !less(o1, o2);
+  }
+
+  // specialized operations ------------------------------------------------------------------------------------------
+
+  /** Returns the addition for operands of the given classes from the dispatch table, which produces
+   *  the same results as {@link #add(Object, Object)} for non-null operands. Used by {@link OperationCache}s. */
+  public BinaryOperator<Object> addOperation(Class<?> type1, Class<?> type2) {
+    return ADDITION.get(type1, type2);
+  }
+
+  /** Returns the subtraction for operands of the given classes,
+   *  see {@link #addOperation(Class, Class)}. */
+  public BinaryOperator<Object> subtractOperation(Class<?> type1, Class<?> type2) {
+    return SUBTRACTION.get(type1, type2);
+  }
+
+  /** Returns the multiplication for operands of the given classes,
+   *  see {@link #addOperation(Class, Class)}. */
+  public BinaryOperator<Object> multiplyOperation(Class<?> type1, Class<?> type2) {
+    return MULTIPLICATION.get(type1, type2);
+  }
+
+  /** Returns the division for operands of the given classes,
+   *  see {@link #addOperation(Class, Class)}. */
+  public BinaryOperator<Object> divideOperation(Class<?> type1, Class<?> type2) {
+    return DIVISION.get(type1, type2);
+  }
+
+  /** Returns the equality check for operands of the given classes, which returns a Boolean,
+   *  see {@link #addOperation(Class, Class)}. */
+  public BinaryOperator<Object> equalsOperation(Class<?> type1, Class<?> type2) {
+    return EQUALITY.get(type1, type2);
+  }
+
+  /** Returns the 'less than' check for operands of the given classes, which returns a Boolean,
+   *  see {@link #addOperation(Class, Class)}. */
+  public BinaryOperator<Object> lessOperation(Class<?> type1, Class<?> type2) {
+    return LESS.get(type1, type2);
+  }
+
+  /** Returns the 'less or equals' check for operands of the given classes, which returns a Boolean,
+   *  see {@link #addOperation(Class, Class)}. */
+  public BinaryOperator<Object> lessOrEqualsOperation(Class<?> type1, Class<?> type2) {
+    return LESS_OR_EQUALS.get(type1, type2);
+  }
+
+  // dispatch table construction -------------------------------------------------------------------------------------
+
+  private static BinaryOperator<Object> createAddition(Class<?> type1, Class<?> type2) {
+    Class<?> resultType = TypeManager.combinedType(type1, type2);
     TypeArithmetic<?> typeArithmetic = typeArithmetics.get(resultType);
     if (typeArithmetic != null) {
-      return typeArithmetic.multiply(factor1, factor2);
+      return typeArithmetic::add;
     }
-    Object s1 = AnyConverter.convert(factor1, resultType);
-    Object s2 = AnyConverter.convert(factor2, resultType);
-    if (resultType == Byte.class) {
-      return (Byte) s1 * (Byte) s2;
+    BinaryOperator<Object> operation;
+    if (resultType == String.class) {
+      operation = (a, b) -> (String) a + b;
+    } else if (resultType == Boolean.class) {
+      operation = (a, b) -> (Boolean) a || (Boolean) b;
+    } else if (resultType == Character.class) {
+      operation = (a, b) -> (Character) a + (Character) b;
+    } else if (resultType == Byte.class) {
+      operation = (a, b) -> ((Number) a).byteValue() + ((Number) b).byteValue();
     } else if (resultType == Short.class) {
-      return (Short) s1 * (Short) s2;
+      operation = (a, b) -> ((Number) a).shortValue() + ((Number) b).shortValue();
     } else if (resultType == Integer.class) {
-      return (Integer) s1 * (Integer) s2;
+      operation = (a, b) -> ((Number) a).intValue() + ((Number) b).intValue();
     } else if (resultType == Long.class) {
-      return (Long) s1 * (Long) s2;
+      operation = (a, b) -> ((Number) a).longValue() + ((Number) b).longValue();
     } else if (resultType == Float.class) {
-      return (Float) s1 * (Float) s2;
+      operation = (a, b) -> ((Number) a).floatValue() + ((Number) b).floatValue();
     } else if (resultType == Double.class) {
-      return (Double) s1 * (Double) s2;
+      operation = (a, b) -> ((Number) a).doubleValue() + ((Number) b).doubleValue();
     } else if (resultType == BigInteger.class) {
-      return ((BigInteger) s1).multiply((BigInteger) s2);
+      operation = (a, b) -> ((BigInteger) a).add((BigInteger) b);
     } else if (resultType == BigDecimal.class) {
-      return ((BigDecimal) s1).multiply((BigDecimal) s2);
+      operation = (a, b) -> ((BigDecimal) a).add((BigDecimal) b);
     } else {
-      throw ExceptionFactory.getInstance().illegalArgument(
-          "Multiplication of type " + BeanUtil.simpleClassName(factor1) +
-          WITH + BeanUtil.simpleClassName(factor2) + IS_NOT_SUPPORTED);
+      return null;
     }
+    return converting(operation, type1, type2, resultType);
   }
 
-  public Object divide(Object dividend, Object divisor) {
-    // null handling
-    if (divisor == null) {
-      throw ExceptionFactory.getInstance().illegalArgument("Division by null");
+  private static BinaryOperator<Object> createSubtraction(Class<?> type1, Class<?> type2) {
+    Class<?> resultType = TypeManager.combinedType(type1, type2);
+    TypeArithmetic<?> typeArithmetic = typeArithmetics.get(resultType);
+    if (typeArithmetic != null) {
+      return typeArithmetic::subtract;
     }
-    if (dividend == null) {
+    BinaryOperator<Object> operation;
+    if (resultType == Character.class) {
+      operation = (a, b) -> (Character) a - (Character) b;
+    } else if (resultType == Byte.class) {
+      operation = (a, b) -> ((Number) a).byteValue() - ((Number) b).byteValue();
+    } else if (resultType == Short.class) {
+      operation = (a, b) -> ((Number) a).shortValue() - ((Number) b).shortValue();
+    } else if (resultType == Integer.class) {
+      operation = (a, b) -> ((Number) a).intValue() - ((Number) b).intValue();
+    } else if (resultType == Long.class) {
+      operation = (a, b) -> ((Number) a).longValue() - ((Number) b).longValue();
+    } else if (resultType == Float.class) {
+      operation = (a, b) -> ((Number) a).floatValue() - ((Number) b).floatValue();
+    } else if (resultType == Double.class) {
+      operation = (a, b) -> ((Number) a).doubleValue() - ((Number) b).doubleValue();
+    } else if (resultType == BigInteger.class) {
+      operation = (a, b) -> ((BigInteger) a).subtract((BigInteger) b);
+    } else if (resultType == BigDecimal.class) {
+      operation = (a, b) -> ((BigDecimal) a).subtract((BigDecimal) b);
+    } else {
       return null;
     }
-    // arbitrary conversion
-    Class<?> resultType = TypeManager.combinedType(dividend.getClass(), divisor.getClass());
+    return converting(operation, type1, type2, resultType);
+  }
+
+  private static BinaryOperator<Object> createMultiplication(Class<?> type1, Class<?> type2) {
+    Class<?> resultType = TypeManager.combinedType(type1, type2);
     TypeArithmetic<?> typeArithmetic = typeArithmetics.get(resultType);
     if (typeArithmetic != null) {
-      return typeArithmetic.multiply(dividend, divisor);
+      return typeArithmetic::multiply;
     }
-    Object s1 = AnyConverter.convert(dividend, resultType);
-    Object s2 = AnyConverter.convert(divisor, resultType);
+    BinaryOperator<Object> operation;
     if (resultType == Byte.class) {
-      return (Byte) s1 / (Byte) s2;
+      operation = (a, b) -> ((Number) a).byteValue() * ((Number) b).byteValue();
     } else if (resultType == Short.class) {
-      return (Short) s1 / (Short) s2;
+      operation = (a, b) -> ((Number) a).shortValue() * ((Number) b).shortValue();
     } else if (resultType == Integer.class) {
-      return (Integer) s1 / (Integer) s2;
+      operation = (a, b) -> ((Number) a).intValue() * ((Number) b).intValue();
     } else if (resultType == Long.class) {
-      return (Long) s1 / (Long) s2;
+      operation = (a, b) -> ((Number) a).longValue() * ((Number) b).longValue();
     } else if (resultType == Float.class) {
-      return (Float) s1 / (Float) s2;
+      operation = (a, b) -> ((Number) a).floatValue() * ((Number) b).floatValue();
     } else if (resultType == Double.class) {
-      return (Double) s1 / (Double) s2;
+      operation = (a, b) -> ((Number) a).doubleValue() * ((Number) b).doubleValue();
     } else if (resultType == BigInteger.class) {
-      return ((BigInteger) s1).divide((BigInteger) s2);
+      operation = (a, b) -> ((BigInteger) a).multiply((BigInteger) b);
     } else if (resultType == BigDecimal.class) {
-      return ((BigDecimal) s1).divide((BigDecimal) s2);
+      operation = (a, b) -> ((BigDecimal) a).multiply((BigDecimal) b);
     } else {
-      throw ExceptionFactory.getInstance().programmerUnsupported(
-          "Multiplication of type " +
-              BeanUtil.simpleClassName(dividend) + " (" + dividend + ") with " +
-              BeanUtil.simpleClassName(divisor) + " (" + divisor + ") is not supported");
+      return null;
     }
+    return converting(operation, type1, type2, resultType);
   }
 
-  @SuppressWarnings({"unchecked", "rawtypes"})
-  public boolean less(Object part1, Object part2) {
-    // null handling
-    if (part2 == null || part1 == null) {
-      throw ExceptionFactory.getInstance().illegalArgument("Cannot compare null");
+  private static BinaryOperator<Object> createDivision(Class<?> type1, Class<?> type2) {
+    Class<?> resultType = TypeManager.combinedType(type1, type2);
+    TypeArithmetic<?> typeArithmetic = typeArithmetics.get(resultType);
+    if (typeArithmetic != null) {
+      return typeArithmetic::divide;
     }
-    Class<?> resultType = TypeManager.combinedType(part1.getClass(), part2.getClass());
-    // convert the terms to the same type and compare them
-    Object s1 = AnyConverter.convert(part1, resultType);
-    Object s2 = AnyConverter.convert(part2, resultType);
-    if (Comparable.class.isAssignableFrom(resultType)) {
-      return (((Comparable) s1).compareTo(s2) < 0);
+    BinaryOperator<Object> operation;
+    if (resultType == Byte.class) {
+      operation = (a, b) -> ((Number) a).byteValue() / ((Number) b).byteValue();
+    } else if (resultType == Short.class) {
+      operation = (a, b) -> ((Number) a).shortValue() / ((Number) b).shortValue();
+    } else if (resultType == Integer.class) {
+      operation = (a, b) -> ((Number) a).intValue() / ((Number) b).intValue();
+    } else if (resultType == Long.class) {
+      operation = (a, b) -> ((Number) a).longValue() / ((Number) b).longValue();
+    } else if (resultType == Float.class) {
+      operation = (a, b) -> ((Number) a).floatValue() / ((Number) b).floatValue();
+    } else if (resultType == Double.class) {
+      operation = (a, b) -> ((Number) a).doubleValue() / ((Number) b).doubleValue();
+    } else if (resultType == BigInteger.class) {
+      operation = (a, b) -> ((BigInteger) a).divide((BigInteger) b);
+    } else if (resultType == BigDecimal.class) {
+      operation = (a, b) -> ((BigDecimal) a).divide((BigDecimal) b);
     } else {
-      throw ExceptionFactory.getInstance().illegalOperation(CANNOT_COMPARE_TYPE +
-          BeanUtil.simpleClassName(part1) + WITH + BeanUtil.simpleClassName(part2));
+      return null;
     }
+    return converting(operation, type1, type2, resultType);
   }
 
   @SuppressWarnings({"unchecked", "rawtypes"})
-  public boolean lessOrEquals(Object part1, Object part2) {
-    // null handling
-    if (part2 == null || part1 == null) {
-      throw ExceptionFactory.getInstance().illegalArgument("Cannot compare null");
+  private static BinaryOperator<Object> createEquality(Class<?> type1, Class<?> type2) {
+    Class<?> resultType = TypeManager.combinedType(type1, type2);
+    BinaryOperator<Object> operation;
+    if (isIntegral(resultType)) {
+      operation = (a, b) -> ((Number) a).longValue() == ((Number) b).longValue();
+    } else if (resultType == Float.class) {
+      operation = (a, b) -> Float.compare(((Number) a).floatValue(), ((Number) b).floatValue()) == 0;
+    } else if (resultType == Double.class) {
+      operation = (a, b) -> Double.compare(((Number) a).doubleValue(), ((Number) b).doubleValue()) == 0;
+    } else if (Comparable.class.isAssignableFrom(resultType)) {
+      operation = (a, b) -> ((Comparable) a).compareTo(b) == 0;
+    } else {
+      return null;
     }
-    Class<?> resultType = TypeManager.combinedType(part1.getClass(), part2.getClass());
-    // convert the terms to the same type and compare them
-    Object s1 = AnyConverter.convert(part1, resultType);
-    Object s2 = AnyConverter.convert(part2, resultType);
-    if (Comparable.class.isAssignableFrom(resultType)) {
-      return (((Comparable) s1).compareTo(s2) <= 0);
+    return converting(operation, type1, type2, resultType);
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static BinaryOperator<Object> createLess(Class<?> type1, Class<?> type2) {
+    Class<?> resultType = TypeManager.combinedType(type1, type2);
+    BinaryOperator<Object> operation;
+    if (isIntegral(resultType)) {
+      operation = (a, b) -> ((Number) a).longValue() < ((Number) b).longValue();
+    } else if (resultType == Float.class) {
+      operation = (a, b) -> Float.compare(((Number) a).floatValue(), ((Number) b).floatValue()) < 0;
+    } else if (resultType == Double.class) {
+      operation = (a, b) -> Double.compare(((Number) a).doubleValue(), ((Number) b).doubleValue()) < 0;
+    } else if (Comparable.class.isAssignableFrom(resultType)) {
+      operation = (a, b) -> ((Comparable) a).compareTo(b) < 0;
     } else {
-      throw ExceptionFactory.getInstance().illegalOperation(CANNOT_COMPARE_TYPE +
-          BeanUtil.simpleClassName(part1) + WITH + BeanUtil.simpleClassName(part2));
+      return null;
     }
+    return converting(operation, type1, type2, resultType);
   }
 
   @SuppressWarnings({"unchecked", "rawtypes"})
-  public boolean equals(Object part1, Object part2) {
-    // null handling
-    if (part2 == null && part1 == null) {
-      return true;
+  private static BinaryOperator<Object> createLessOrEquals(Class<?> type1, Class<?> type2) {
+    Class<?> resultType = TypeManager.combinedType(type1, type2);
+    BinaryOperator<Object> operation;
+    if (isIntegral(resultType)) {
+      operation = (a, b) -> ((Number) a).longValue() <= ((Number) b).longValue();
+    } else if (resultType == Float.class) {
+      operation = (a, b) -> Float.compare(((Number) a).floatValue(), ((Number) b).floatValue()) <= 0;
+    } else if (resultType == Double.class) {
+      operation = (a, b) -> Double.compare(((Number) a).doubleValue(), ((Number) b).doubleValue()) <= 0;
+    } else if (Comparable.class.isAssignableFrom(resultType)) {
+      operation = (a, b) -> ((Comparable) a).compareTo(b) <= 0;
+    } else {
+      return null;
     }
-    if (part2 == null || part1 == null) {
-      return false;
+    return converting(operation, type1, type2, resultType);
+  }
+
+  /** Puts the conversion of the operands to the result type in front of an operation. Numeric widening
+   *  is omitted, since the operations for primitive wrapper types call the related {@link Number} method. */
+  private static BinaryOperator<Object> converting(
+      BinaryOperator<Object> operation, Class<?> type1, Class<?> type2, Class<?> resultType) {
+    boolean convert1 = !isWidening(type1, resultType);
+    boolean convert2 = !isWidening(type2, resultType);
+    if (convert1 && convert2) {
+      return (a, b) -> operation.apply(AnyConverter.convert(a, resultType), AnyConverter.convert(b, resultType));
+    } else if (convert1) {
+      return (a, b) -> operation.apply(AnyConverter.convert(a, resultType), b);
+    } else if (convert2) {
+      return (a, b) -> operation.apply(a, AnyConverter.convert(b, resultType));
+    } else {
+      return operation;
     }
-    // comparing non-null values
+  }
+
+  private static boolean isWidening(Class<?> type, Class<?> resultType) {
+    return (type == resultType || (isPrimitiveNumber(type) && isPrimitiveNumber(resultType)));
+  }
+
+  private static boolean isPrimitiveNumber(Class<?> type) {
+    return (isIntegral(type) || type == Float.class || type == Double.class);
+  }
+
+  private static boolean isIntegral(Class<?> type) {
+    return (type == Byte.class || type == Short.class || type == Integer.class || type == Long.class);
+  }
+
+  // fallback operations ---------------------------------------------------------------------------------------------
+
+  private static Object unsupportedAddition(Object summand1, Object summand2) {
+    convertToCombinedType(summand1, summand2);
+    throw ExceptionFactory.getInstance().programmerUnsupported(
+        "Addition of types " + BeanUtil.simpleClassName(summand1) +
+        " and " + BeanUtil.simpleClassName(summand2) + IS_NOT_SUPPORTED);
+  }
+
+  private static Object unsupportedSubtraction(Object minuend, Object subtrahend) {
+    convertToCombinedType(minuend, subtrahend);
+    throw ExceptionFactory.getInstance().programmerUnsupported(
+        "Subtraction of type " + BeanUtil.simpleClassName(subtrahend) +
+        " from " + BeanUtil.simpleClassName(minuend) + IS_NOT_SUPPORTED);
+  }
+
+  private static Object unsupportedMultiplication(Object factor1, Object factor2) {
+    convertToCombinedType(factor1, factor2);
+    throw ExceptionFactory.getInstance().illegalArgument(
+        "Multiplication of type " + BeanUtil.simpleClassName(factor1) +
+        WITH + BeanUtil.simpleClassName(factor2) + IS_NOT_SUPPORTED);
+  }
+
+  private static Object unsupportedDivision(Object dividend, Object divisor) {
+    convertToCombinedType(dividend, divisor);
+    throw ExceptionFactory.getInstance().programmerUnsupported(
+        "Division of type " +
+            BeanUtil.simpleClassName(dividend) + " (" + dividend + ") by " +
+            BeanUtil.simpleClassName(divisor) + " (" + divisor + ") is not supported");
+  }
+
+  /** Converts both operands to their combined type, in order to report unknown types and conversion errors
+   *  before the lack of support for an operation. */
+  private static void convertToCombinedType(Object o1, Object o2) {
+    Class<?> resultType = TypeManager.combinedType(o1.getClass(), o2.getClass());
+    AnyConverter.convert(o1, resultType);
+    AnyConverter.convert(o2, resultType);
+  }
+
+  /** Compares objects of classes which are not in the dispatch tables, which is possible
+   *  if both have the same {@link Comparable} class. */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static int compareGeneric(Object part1, Object part2) {
     Class<?> resultType = TypeManager.combinedType(part1.getClass(), part2.getClass());
     // convert the terms to the same type and compare them
     Object s1 = AnyConverter.convert(part1, resultType);
     Object s2 = AnyConverter.convert(part2, resultType);
     if (Comparable.class.isAssignableFrom(resultType)) {
-      return (((Comparable) s1).compareTo(s2) == 0);
+      return ((Comparable) s1).compareTo(s2);
     } else {
       throw ExceptionFactory.getInstance().illegalOperation(CANNOT_COMPARE_TYPE +
           BeanUtil.simpleClassName(part1) + WITH + BeanUtil.simpleClassName(part2));
     }
   }
 
-  public Boolean greater(Object o1, Object o2) {
-    return less(o2, o1);
-  }
-
-  public Boolean greaterOrEquals(Object o1, Object o2) {
-    return !less(o1, o2);
-  }
+  // bitwise operations ----------------------------------------------------------------------------------------------
 
   public Object bitwiseAnd(Object o1, Object o2) {
     Class<?> resultType = TypeManager.combinedType(o1.getClass(), o2.getClass());
@@ -0,0 +1,108 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.math;
+
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+
+/**
+ * Polymorphic inline cache for a binary operation of an expression node. It remembers the operations
+ * which the {@link ArithmeticEngine} has specialized for the operand class pairs seen so far and calls
+ * them directly. Null operands are passed to the generic operation, as well as all operands
+ * after more than {@link #MAX_ENTRIES} class pairs have been seen (megamorphic state).
+ * The cache may be used by concurrent threads: its entries are replaced, never modified.<br/><br/>
+ * Created: 17.10.2026 13:20:05
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public final class OperationCache {
+
+  public static final int MAX_ENTRIES = 4;
+
+  private static final Entry[] NO_ENTRIES = new Entry[0];
+
+  private final BiFunction<Class<?>, Class<?>, BinaryOperator<Object>> specializer;
+  private final BinaryOperator<Object> generic;
+  private volatile Entry[] entries;
+  private volatile boolean megamorphic;
+
+  /** @param specializer creates the operation for a pair of operand classes
+   *  @param generic the operation to use for null operands and in the megamorphic state */
+  public OperationCache(BiFunction<Class<?>, Class<?>, BinaryOperator<Object>> specializer,
+                        BinaryOperator<Object> generic) {
+    this.specializer = specializer;
+    this.generic = generic;
+    this.entries = NO_ENTRIES;
+    this.megamorphic = false;
+  }
+
+  // interface -------------------------------------------------------------------------------------------------------
+
+  public Object apply(Object operand1, Object operand2) {
+    if (operand1 == null || operand2 == null) {
+      return generic.apply(operand1, operand2);
+    }
+    Class<?> type1 = operand1.getClass();
+    Class<?> type2 = operand2.getClass();
+    for (Entry entry : entries) {
+      if (entry.type1 == type1 && entry.type2 == type2) {
+        return entry.operation.apply(operand1, operand2);
+      }
+    }
+    return miss(operand1, operand2, type1, type2);
+  }
+
+  /** Returns the number of class pairs for which an operation is cached. */
+  public int size() {
+    return entries.length;
+  }
+
+  public boolean isMegamorphic() {
+    return megamorphic;
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private Object miss(Object operand1, Object operand2, Class<?> type1, Class<?> type2) {
+    if (megamorphic) {
+      return generic.apply(operand1, operand2);
+    }
+    BinaryOperator<Object> operation = specializer.apply(type1, type2);
+    synchronized (this) {
+      Entry[] oldEntries = entries;
+      if (oldEntries.length >= MAX_ENTRIES) {
+        megamorphic = true;
+        entries = NO_ENTRIES; // no more need to search the entries
+      } else if (!contains(oldEntries, type1, type2)) {
+        Entry[] newEntries = new Entry[oldEntries.length + 1];
+        System.arraycopy(oldEntries, 0, newEntries, 0, oldEntries.length);
+        newEntries[oldEntries.length] = new Entry(type1, type2, operation);
+        entries = newEntries;
+      }
+    }
+    return operation.apply(operand1, operand2);
+  }
+
+  private static boolean contains(Entry[] entries, Class<?> type1, Class<?> type2) {
+    for (Entry entry : entries) {
+      if (entry.type1 == type1 && entry.type2 == type2) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static final class Entry {
+
+    final Class<?> type1;
+    final Class<?> type2;
+    final BinaryOperator<Object> operation;
+
+    Entry(Class<?> type1, Class<?> type2, BinaryOperator<Object> operation) {
+      this.type1 = type1;
+      this.type2 = type2;
+      this.operation = operation;
+    }
+  }
+
+}
@@ -0,0 +1,52 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.math;
+
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+
+/**
+ * Dispatch table of a binary operation of the {@link ArithmeticEngine}. It is built once and holds
+ * a specialized operation for each pair of {@link TypeManager#OBJECT_TYPES}, so that an operation
+ * on two objects only requires a lookup of their class indexes. Class pairs for which the specializer
+ * does not provide an operation as well as classes outside the type ordering are handled by a fallback
+ * operation. The table is immutable and thus thread-safe.<br/><br/>
+ * Created: 17.10.2026 15:12:40
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+final class OperationTable {
+
+  private final int size;
+  private final BinaryOperator<Object>[] operations;
+  private final BinaryOperator<Object> fallback;
+
+  /** @param specializer creates the operation for a pair of operand classes or returns null if it does not support it
+   *  @param fallback the operation for unsupported class pairs */
+  @SuppressWarnings("unchecked")
+  OperationTable(BiFunction<Class<?>, Class<?>, BinaryOperator<Object>> specializer, BinaryOperator<Object> fallback) {
+    Class<?>[] types = TypeManager.OBJECT_TYPES;
+    this.size = types.length;
+    this.operations = (BinaryOperator<Object>[]) new BinaryOperator<?>[size * size];
+    this.fallback = fallback;
+    for (int i = 0; i < size; i++) {
+      for (int j = 0; j < size; j++) {
+        BinaryOperator<Object> operation = specializer.apply(types[i], types[j]);
+        operations[i * size + j] = (operation != null ? operation : fallback);
+      }
+    }
+  }
+
+  /** Returns the operation for operands of the given classes. */
+  BinaryOperator<Object> get(Class<?> type1, Class<?> type2) {
+    int index1 = TypeManager.objectTypeIndex(type1);
+    int index2 = TypeManager.objectTypeIndex(type2);
+    return (index1 >= 0 && index2 >= 0 ? operations[index1 * size + index2] : fallback);
+  }
+
+  /** Applies the operation for the classes of the operands, which must not be null. */
+  Object apply(Object operand1, Object operand2) {
+    return get(operand1.getClass(), operand2.getClass()).apply(operand1, operand2);
+  }
+
+}
@@ -15,7 +15,7 @@
 
 package com.rapiddweller.script.math;
 
-import com.rapiddweller.common.comparator.TypeComparator;
+import com.rapiddweller.common.exception.ExceptionFactory;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
@@ -25,14 +25,19 @@
 import java.util.Date;
 
 /**
- * Provides information how types can be combined in arithmetic operations.<br/><br/>
+ * Provides information how types can be combined in arithmetic operations.
+ * Each supported type has a rank, the type with the higher rank is the combined type of two types.
+ * Subclasses of a supported type, e.g. custom {@link Date} descendants, have the rank of their nearest
+ * supported superclass. The ranks are computed once per class and cached in {@link ClassValue}s,
+ * so lookups are lock-free and may be performed by concurrent threads.<br/><br/>
  * Created at 06.10.2009 09:49:53
  * @author Volker Bergmann
  * @since 0.6.0
  */
 public class TypeManager {
 
-  private static final TypeComparator comparator = new TypeComparator(
+  /** The supported types, ordered by rank */
+  private static final Class<?>[] RANKED_TYPES = {
       boolean.class, Boolean.class,
       char.class, Character.class,
       byte.class, Byte.class,
@@ -48,10 +53,61 @@ public class TypeManager {
       Timestamp.class,
       ZonedDateTime.class,
       String.class
-  );
+  };
+
+  /** The types of the ordering which can be classes of operand objects, i.e. all except the primitives */
+  static final Class<?>[] OBJECT_TYPES = {
+      Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class, BigInteger.class,
+      Float.class, Double.class, BigDecimal.class, Time.class, Date.class, Timestamp.class, ZonedDateTime.class,
+      String.class
+  };
+
+  private static final ClassValue<Integer> RANKS = new ClassValue<>() {
+    @Override
+    protected Integer computeValue(Class<?> type) {
+      return indexOfNearest(type, RANKED_TYPES);
+    }
+  };
+
+  private static final ClassValue<Integer> OBJECT_TYPE_INDEXES = new ClassValue<>() {
+    @Override
+    protected Integer computeValue(Class<?> type) {
+      return indexOfNearest(type, OBJECT_TYPES);
+    }
+  };
 
   public static Class<?> combinedType(Class<?> type1, Class<?> type2) {
-    return (comparator.compare(type1, type2) > 0 ? type1 : type2);
+    if (type1 == type2) {
+      return type2;
+    }
+    return (rank(type1) > rank(type2) ? type1 : type2);
+  }
+
+  /** Returns the rank of a type or of its nearest supported superclass.
+   *  @throws IllegalArgumentException if the type is not supported */
+  static int rank(Class<?> type) {
+    int rank = RANKS.get(type);
+    if (rank < 0) {
+      throw ExceptionFactory.getInstance().illegalArgument("Not a supported type: " + type);
+    }
+    return rank;
+  }
+
+  /** Returns the position of a class or of its nearest superclass in {@link #OBJECT_TYPES}
+   *  or -1 if neither is contained. */
+  static int objectTypeIndex(Class<?> type) {
+    return OBJECT_TYPE_INDEXES.get(type);
+  }
+
+  private static int indexOfNearest(Class<?> type, Class<?>[] types) {
+    for (Class<?> tmp = type; tmp != null; tmp = tmp.getSuperclass()) {
+      for (int i = 0; i < types.length; i++) {
+        if (types[i] == tmp) {
+          return i;
+        }
+      }
+    }
+    return -1;
   }
 
   /** private constructor to prevent instantiation of this class */
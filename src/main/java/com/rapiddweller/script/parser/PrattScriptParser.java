@@ -0,0 +1,508 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.parser;
+
+import com.rapiddweller.common.Context;
+import com.rapiddweller.common.Expression;
+import com.rapiddweller.common.StringUtil;
+import com.rapiddweller.common.exception.ExceptionFactory;
+import com.rapiddweller.common.exception.SyntaxError;
+import com.rapiddweller.script.Assignment;
+import com.rapiddweller.script.BeanSpec;
+import com.rapiddweller.script.PrimitiveType;
+import com.rapiddweller.script.QNBeanSpecExpression;
+import com.rapiddweller.script.QNExpression;
+import com.rapiddweller.script.QNInvocationExpression;
+import com.rapiddweller.script.WeightedSample;
+import com.rapiddweller.script.WeightedTransition;
+import com.rapiddweller.script.expression.AssignmentExpression;
+import com.rapiddweller.script.expression.BeanConstruction;
+import com.rapiddweller.script.expression.BitwiseAndExpression;
+import com.rapiddweller.script.expression.BitwiseComplementExpression;
+import com.rapiddweller.script.expression.BitwiseExclusiveOrExpression;
+import com.rapiddweller.script.expression.BitwiseOrExpression;
+import com.rapiddweller.script.expression.CompositeExpression;
+import com.rapiddweller.script.expression.ConditionalAndExpression;
+import com.rapiddweller.script.expression.ConditionalExpression;
+import com.rapiddweller.script.expression.ConditionalOrExpression;
+import com.rapiddweller.script.expression.ConstantExpression;
+import com.rapiddweller.script.expression.DivisionExpression;
+import com.rapiddweller.script.expression.EqualsExpression;
+import com.rapiddweller.script.expression.FieldExpression;
+import com.rapiddweller.script.expression.ForNameExpression;
+import com.rapiddweller.script.expression.GreaterExpression;
+import com.rapiddweller.script.expression.GreaterOrEqualsExpression;
+import com.rapiddweller.script.expression.IndexExpression;
+import com.rapiddweller.script.expression.InvocationExpression;
+import com.rapiddweller.script.expression.LeftShiftExpression;
+import com.rapiddweller.script.expression.LessExpression;
+import com.rapiddweller.script.expression.LessOrEqualsExpression;
+import com.rapiddweller.script.expression.LogicalComplementExpression;
+import com.rapiddweller.script.expression.ModuloExpression;
+import com.rapiddweller.script.expression.MultiplicationExpression;
+import com.rapiddweller.script.expression.NotEqualsExpression;
+import com.rapiddweller.script.expression.ParameterizedConstruction;
+import com.rapiddweller.script.expression.RightShiftExpression;
+import com.rapiddweller.script.expression.SubtractionExpression;
+import com.rapiddweller.script.expression.SumExpression;
+import com.rapiddweller.script.expression.TypeConvertingExpression;
+import com.rapiddweller.script.expression.UnaryMinusExpression;
+import com.rapiddweller.script.expression.UnsignedRightShiftExpression;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hand-written recursive descent parser for DatabeneScript which uses precedence climbing
+ * (Pratt parsing) for binary operators. It accepts the same language as the ANTLR grammar
+ * <code>DatabeneScript.g</code> and creates the same {@link Expression} trees, but does so
+ * in a single pass without backtracking, memoization or intermediate syntax trees.<br/><br/>
+ * Instances are not thread-safe and are intended for parsing one text only.<br/><br/>
+ * Created: 13.10.2026 09:31:05
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public class PrattScriptParser {
+
+  private static final Expression<?>[] NO_EXPRESSIONS = {};
+
+  // binding powers of binary operators, higher values bind tighter
+  private static final int BP_CONDITIONAL_OR = 1;
+  private static final int BP_CONDITIONAL_AND = 2;
+  private static final int BP_BITWISE_OR = 3;
+  private static final int BP_BITWISE_XOR = 4;
+  private static final int BP_BITWISE_AND = 5;
+  private static final int BP_EQUALITY = 6;
+  private static final int BP_RELATIONAL = 7;
+  private static final int BP_SHIFT = 8;
+  private static final int BP_ADDITIVE = 9;
+  private static final int BP_MULTIPLICATIVE = 10;
+
+  private final String text;
+  private final ScriptLexer lexer;
+  private ScriptTokenType[] types;
+  private int[] starts;
+  private int[] ends;
+  private int[] lines;
+  private int[] columns;
+  private int tokenCount;
+  private int pos;
+
+  public PrattScriptParser(String text) {
+    this.text = text;
+    this.lexer = new ScriptLexer(text);
+    tokenize();
+  }
+
+  // interface -------------------------------------------------------------------------------------------------------
+
+  /** Returns the number of tokens in the parsed text, which serves as a measure of the result's size. */
+  public int getTokenCount() {
+    return tokenCount;
+  }
+
+  public Expression<?> parseExpression() throws SyntaxError {
+    Expression<?> result = expression();
+    checkEnd("expression");
+    return result;
+  }
+
+  public Expression<?> parseBeanSpec() throws SyntaxError {
+    Expression<?> result = beanSpec();
+    checkEnd("beanSpec");
+    return result;
+  }
+
+  public Expression<?>[] parseBeanSpecList() throws SyntaxError {
+    List<Expression<?>> specs = new ArrayList<>();
+    do {
+      specs.add(beanSpec());
+    } while (accept(ScriptTokenType.COMMA));
+    checkEnd("beanSpecList");
+    return specs.toArray(new Expression<?>[0]);
+  }
+
+  public BeanSpec resolveBeanSpec(Context context) throws SyntaxError {
+    Expression<?> expression = expression();
+    checkEnd("beanSpec");
+    return resolveBeanSpec(expression, context);
+  }
+
+  public BeanSpec[] resolveBeanSpecList(Context context) throws SyntaxError {
+    List<Expression<?>> expressions = new ArrayList<>();
+    do {
+      expressions.add(expression());
+    } while (accept(ScriptTokenType.COMMA));
+    checkEnd("beanSpecList");
+    BeanSpec[] specs = new BeanSpec[expressions.size()];
+    for (int i = 0; i < specs.length; i++) {
+      specs[i] = resolveBeanSpec(expressions.get(i), context);
+    }
+    return specs;
+  }
+
+  public WeightedSample<?>[] parseWeightedLiteralList() throws SyntaxError {
+    List<WeightedSample<?>> samples = new ArrayList<>();
+    do {
+      Object value = literal().evaluate(null);
+      double weight = (accept(ScriptTokenType.CARET) ? weight(expression()) : 1.);
+      samples.add(new WeightedSample<>(value, weight));
+    } while (accept(ScriptTokenType.COMMA));
+    checkEnd("weightedLiteralList");
+    return samples.toArray(new WeightedSample<?>[0]);
+  }
+
+  public WeightedTransition[] parseTransitionList() throws SyntaxError {
+    List<WeightedTransition> transitions = new ArrayList<>();
+    do {
+      Object from = literal().evaluate(null);
+      expect(ScriptTokenType.ARROW);
+      Object to = literal().evaluate(null);
+      double weight = (accept(ScriptTokenType.CARET) ? weight(expression()) : 1.);
+      transitions.add(new WeightedTransition(from, to, weight));
+    } while (accept(ScriptTokenType.COMMA));
+    checkEnd("transitionList");
+    return transitions.toArray(new WeightedTransition[0]);
+  }
+
+  // grammar rules ---------------------------------------------------------------------------------------------------
+
+  private Expression<?> beanSpec() {
+    Expression<?> expression = expression();
+    if (expression.getClass() == QNExpression.class) {
+      return new QNBeanSpecExpression(((QNExpression) expression).getQnParts());
+    } else {
+      return expression;
+    }
+  }
+
+  private static BeanSpec resolveBeanSpec(Expression<?> expression, Context context) {
+    if (expression.getClass() == QNExpression.class) {
+      return new QNBeanSpecExpression(((QNExpression) expression).getQnParts()).resolve(context);
+    } else if (expression instanceof BeanConstruction || expression instanceof ParameterizedConstruction) {
+      return BeanSpec.createConstruction(expression.evaluate(context));
+    } else {
+      return BeanSpec.createReference(expression.evaluate(context));
+    }
+  }
+
+  private Expression<?> expression() {
+    if (isAssignmentAhead()) {
+      String[] lhs = qualifiedName();
+      expect(ScriptTokenType.EQ);
+      return new AssignmentExpression(lhs, expression());
+    } else {
+      return conditionalExpression();
+    }
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private Expression<?> conditionalExpression() {
+    Expression<?> condition = binaryExpression(BP_CONDITIONAL_OR);
+    if (accept(ScriptTokenType.QUES)) {
+      Expression<?> alt1 = expression();
+      expect(ScriptTokenType.COLON);
+      Expression<?> alt2 = conditionalExpression();
+      return new ConditionalExpression(condition, alt1, alt2);
+    }
+    return condition;
+  }
+
+  /** Parses a chain of left-associative binary operators which bind at least as tight as minBindingPower. */
+  private Expression<?> binaryExpression(int minBindingPower) {
+    Expression<?> left = unaryExpression();
+    while (true) {
+      ScriptTokenType operator = types[pos];
+      int bindingPower = bindingPower(operator);
+      if (bindingPower < minBindingPower) {
+        return left;
+      }
+      pos++;
+      Expression<?> right = binaryExpression(bindingPower + 1);
+      left = createBinaryExpression(operator, left, right);
+    }
+  }
+
+  private Expression<?> unaryExpression() {
+    if (accept(ScriptTokenType.SUB)) {
+      return new UnaryMinusExpression<>(castExpression());
+    } else if (accept(ScriptTokenType.TILDE)) {
+      return new BitwiseComplementExpression(castExpression());
+    } else if (accept(ScriptTokenType.BANG)) {
+      return new LogicalComplementExpression(castExpression());
+    } else {
+      return castExpression();
+    }
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private Expression<?> castExpression() {
+    if (!isCastAhead()) {
+      return postfixExpression();
+    }
+    expect(ScriptTokenType.LPAREN);
+    String className = String.join(".", qualifiedName());
+    expect(ScriptTokenType.RPAREN);
+    Class<?> targetType;
+    PrimitiveType primitiveType = PrimitiveType.getInstance(className);
+    if (primitiveType != null) {
+      targetType = primitiveType.getJavaType();
+    } else {
+      targetType = new ForNameExpression(new ConstantExpression<>(className)).evaluate(null);
+    }
+    return new TypeConvertingExpression(postfixExpression(), targetType);
+  }
+
+  private Expression<?> postfixExpression() {
+    Expression<?> result = primary();
+    while (true) {
+      if (accept(ScriptTokenType.LBRACKET)) {
+        Expression<?> index = expression();
+        expect(ScriptTokenType.RBRACKET);
+        result = new IndexExpression(result, index);
+      } else if (types[pos] == ScriptTokenType.DOT && types[pos + 1] == ScriptTokenType.IDENTIFIER) {
+        pos++;
+        String name = tokenText(pos++);
+        if (types[pos] == ScriptTokenType.LPAREN) {
+          result = new InvocationExpression(result, name, arguments());
+        } else {
+          result = new FieldExpression(result, name);
+        }
+      } else {
+        return result;
+      }
+    }
+  }
+
+  private Expression<?> primary() {
+    switch (types[pos]) {
+      case LPAREN:
+        pos++;
+        Expression<?> result = expression();
+        expect(ScriptTokenType.RPAREN);
+        return result;
+      case NEW:
+        return creator();
+      case IDENTIFIER:
+        String[] qn = qualifiedName();
+        if (types[pos] == ScriptTokenType.LPAREN) {
+          return new QNInvocationExpression(qn, arguments());
+        } else {
+          return new QNExpression(qn);
+        }
+      default:
+        return literal();
+    }
+  }
+
+  private Expression<?> creator() {
+    expect(ScriptTokenType.NEW);
+    String className = String.join(".", qualifiedName());
+    if (types[pos] == ScriptTokenType.LPAREN) {
+      return new ParameterizedConstruction<>(className, arguments());
+    }
+    expect(ScriptTokenType.LBRACE);
+    List<Assignment> assignments = new ArrayList<>();
+    do {
+      String name = qualifiedName()[0];
+      expect(ScriptTokenType.EQ);
+      assignments.add(new Assignment(name, expression()));
+    } while (accept(ScriptTokenType.COMMA));
+    expect(ScriptTokenType.RBRACE);
+    return new BeanConstruction<>(className, assignments.toArray(new Assignment[0]));
+  }
+
+  private Expression<?>[] arguments() {
+    expect(ScriptTokenType.LPAREN);
+    if (accept(ScriptTokenType.RPAREN)) {
+      return NO_EXPRESSIONS;
+    }
+    List<Expression<?>> args = new ArrayList<>();
+    do {
+      args.add(expression());
+    } while (accept(ScriptTokenType.COMMA));
+    expect(ScriptTokenType.RPAREN);
+    return args.toArray(new Expression<?>[0]);
+  }
+
+  private String[] qualifiedName() {
+    List<String> parts = new ArrayList<>();
+    parts.add(tokenText(expect(ScriptTokenType.IDENTIFIER)));
+    while (types[pos] == ScriptTokenType.DOT && types[pos + 1] == ScriptTokenType.IDENTIFIER) {
+      pos++;
+      parts.add(tokenText(pos++));
+    }
+    return parts.toArray(new String[0]);
+  }
+
+  private Expression<?> literal() {
+    if (!ScriptLiterals.isLiteral(types[pos])) {
+      throw syntaxError("Unexpected token: " + (types[pos] == ScriptTokenType.EOF ? "end of text" : tokenText(pos)));
+    }
+    Object value = ScriptLiterals.convert(types[pos], tokenText(pos));
+    pos++;
+    return new ConstantExpression<>(value);
+  }
+
+  // operator tables -------------------------------------------------------------------------------------------------
+
+  private static int bindingPower(ScriptTokenType operator) {
+    switch (operator) {
+      case BARBAR: return BP_CONDITIONAL_OR;
+      case AMPAMP: return BP_CONDITIONAL_AND;
+      case BAR: return BP_BITWISE_OR;
+      case CARET: return BP_BITWISE_XOR;
+      case AMP: return BP_BITWISE_AND;
+      case EQEQ: case BANGEQ: return BP_EQUALITY;
+      case LT: case LE: case GT: case GE: return BP_RELATIONAL;
+      case SHIFT_LEFT: case SHIFT_RIGHT: case SHIFT_RIGHT2: return BP_SHIFT;
+      case PLUS: case SUB: return BP_ADDITIVE;
+      case STAR: case SLASH: case PERCENT: return BP_MULTIPLICATIVE;
+      default: return 0;
+    }
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static Expression<?> createBinaryExpression(ScriptTokenType operator, Expression left, Expression right) {
+    switch (operator) {
+      case BARBAR: return new ConditionalOrExpression("||", left, right);
+      case AMPAMP: return new ConditionalAndExpression("&&", left, right);
+      case BAR: return new BitwiseOrExpression(left, right);
+      case CARET: return new BitwiseExclusiveOrExpression(left, right);
+      case AMP: return new BitwiseAndExpression(left, right);
+      case EQEQ: return new EqualsExpression(left, right);
+      case BANGEQ: return new NotEqualsExpression(left, right);
+      case LT: return new LessExpression(left, right);
+      case LE: return new LessOrEqualsExpression(left, right);
+      case GT: return new GreaterExpression(left, right);
+      case GE: return new GreaterOrEqualsExpression(left, right);
+      case SHIFT_LEFT: return new LeftShiftExpression(left, right);
+      case SHIFT_RIGHT: return new RightShiftExpression(left, right);
+      case SHIFT_RIGHT2: return new UnsignedRightShiftExpression(left, right);
+      case PLUS: return addTerms(new SumExpression(), left, right);
+      case SUB: return addTerms(new SubtractionExpression(), left, right);
+      case STAR: return addTerms(new MultiplicationExpression(), left, right);
+      case SLASH: return addTerms(new DivisionExpression(), left, right);
+      case PERCENT: return new ModuloExpression(left, right);
+      default: throw new UnsupportedOperationException("Not a binary operator: " + operator);
+    }
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static Expression<?> addTerms(
+      CompositeExpression result, Expression left, Expression right) {
+    result.addTerm(left);
+    result.addTerm(right);
+    return result;
+  }
+
+  // token handling --------------------------------------------------------------------------------------------------
+
+  private void tokenize() {
+    int capacity = Math.max(8, text.length() / 2);
+    types = new ScriptTokenType[capacity];
+    starts = new int[capacity];
+    ends = new int[capacity];
+    lines = new int[capacity];
+    columns = new int[capacity];
+    ScriptTokenType type;
+    do {
+      type = lexer.next();
+      if (tokenCount + 1 >= types.length) {
+        grow();
+      }
+      types[tokenCount] = type;
+      starts[tokenCount] = lexer.start();
+      ends[tokenCount] = lexer.end();
+      lines[tokenCount] = lexer.line();
+      columns[tokenCount] = lexer.column();
+      tokenCount++;
+    } while (type != ScriptTokenType.EOF);
+    // a second EOF allows for a lookahead of two tokens without bounds checks
+    types[tokenCount] = ScriptTokenType.EOF;
+    tokenCount--;
+  }
+
+  private void grow() {
+    int capacity = types.length * 2;
+    types = Arrays.copyOf(types, capacity);
+    starts = Arrays.copyOf(starts, capacity);
+    ends = Arrays.copyOf(ends, capacity);
+    lines = Arrays.copyOf(lines, capacity);
+    columns = Arrays.copyOf(columns, capacity);
+  }
+
+  /** Checks if the following tokens have the form <code>IDENTIFIER ('.' IDENTIFIER)* '='</code>. */
+  private boolean isAssignmentAhead() {
+    int i = skipQualifiedName(pos);
+    return i > pos && types[i] == ScriptTokenType.EQ;
+  }
+
+  /** Checks if the following tokens have the form <code>'(' IDENTIFIER ('.' IDENTIFIER)* ')' primary</code>. */
+  private boolean isCastAhead() {
+    if (types[pos] != ScriptTokenType.LPAREN) {
+      return false;
+    }
+    int i = skipQualifiedName(pos + 1);
+    if (i == pos + 1 || types[i] != ScriptTokenType.RPAREN) {
+      return false;
+    }
+    switch (types[i + 1]) {
+      case LPAREN: case NEW: case IDENTIFIER:
+      case NULL: case BOOLEANLITERAL: case INTLITERAL: case DECIMALLITERAL: case STRINGLITERAL:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  private int skipQualifiedName(int i) {
+    if (types[i] != ScriptTokenType.IDENTIFIER) {
+      return i;
+    }
+    i++;
+    while (types[i] == ScriptTokenType.DOT && types[i + 1] == ScriptTokenType.IDENTIFIER) {
+      i += 2;
+    }
+    return i;
+  }
+
+  private boolean accept(ScriptTokenType type) {
+    if (types[pos] == type) {
+      pos++;
+      return true;
+    }
+    return false;
+  }
+
+  private int expect(ScriptTokenType type) {
+    if (types[pos] != type) {
+      throw syntaxError("Expected " + type + ", but found " +
+          (types[pos] == ScriptTokenType.EOF ? "end of text" : "'" + tokenText(pos) + "'"));
+    }
+    return pos++;
+  }
+
+  /** Requires the whole text to be consumed. Like the ANTLR based parser, this rejects trailing comments. */
+  private void checkEnd(String rule) {
+    if (types[pos] != ScriptTokenType.EOF || (pos > 0 && ends[pos - 1] < StringUtil.trimRight(text).length())) {
+      throw syntaxError("Illegal " + rule);
+    }
+  }
+
+  private String tokenText(int index) {
+    return text.substring(starts[index], ends[index]);
+  }
+
+  private double weight(Expression<?> expression) {
+    return new TypeConvertingExpression<>(expression, Double.class).evaluate(null);
+  }
+
+  private SyntaxError syntaxError(String message) {
+    int index = Math.min(pos, tokenCount);
+    return ExceptionFactory.getInstance().syntaxErrorForText(
+        message, text, lines[index], columns[index]);
+  }
+
+}
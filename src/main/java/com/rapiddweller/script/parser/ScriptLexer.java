@@ -0,0 +1,398 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.parser;
+
+import com.rapiddweller.common.exception.ExceptionFactory;
+import com.rapiddweller.common.exception.SyntaxError;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Hand-written lexer for DatabeneScript which recognizes the same tokens as the ANTLR lexer
+ * generated from <code>DatabeneScript.g</code>. It works as a cursor: {@link #next()} advances
+ * to the next token whose properties can then be queried without creating token objects.
+ * Input may be provided as {@link CharSequence} or as {@link Reader}, in the latter case
+ * it is consumed incrementally, so arbitrarily large inputs can be scanned in constant memory.<br/><br/>
+ * Created: 13.10.2026 08:52:40
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public class ScriptLexer {
+
+  private static final int EOF_CHAR = -1;
+  private static final int READ_CHUNK_SIZE = 8192;
+
+  private final Reader reader;
+  private final String textForErrors;
+  private char[] buffer;
+  private int limit;
+  private int pos;
+  private int offset; // absolute position of buffer[0] in the input
+  private int line;
+  private int column;
+
+  private ScriptTokenType type;
+  private int tokenStart;
+  private int tokenLine;
+  private int tokenColumn;
+
+  public ScriptLexer(CharSequence text) {
+    this.reader = null;
+    this.textForErrors = text.toString();
+    this.buffer = textForErrors.toCharArray();
+    this.limit = buffer.length;
+    init();
+  }
+
+  public ScriptLexer(Reader reader) {
+    this.reader = reader;
+    this.textForErrors = null;
+    this.buffer = new char[READ_CHUNK_SIZE];
+    this.limit = 0;
+    init();
+  }
+
+  private void init() {
+    this.pos = 0;
+    this.offset = 0;
+    this.line = 1;
+    this.column = 0;
+    this.type = null;
+  }
+
+  // token cursor interface ------------------------------------------------------------------------------------------
+
+  /** Advances to the next token and returns its type, {@link ScriptTokenType#EOF} at the end of input. */
+  public ScriptTokenType next() {
+    skipWhiteSpaceAndLineComments();
+    tokenStart = pos;
+    tokenLine = line;
+    tokenColumn = column;
+    int c = peek(0);
+    if (c == EOF_CHAR) {
+      type = ScriptTokenType.EOF;
+    } else if (isIdentifierStart(c)) {
+      type = scanIdentifierOrKeyword();
+    } else if (isDigit(c)) {
+      type = scanNumber();
+    } else if (c == '\'') {
+      type = scanString();
+    } else {
+      type = scanOperator(c);
+    }
+    return type;
+  }
+
+  /** Returns the type of the current token. */
+  public ScriptTokenType type() {
+    return type;
+  }
+
+  /** Returns the text of the current token. */
+  public String text() {
+    return new String(buffer, tokenStart, pos - tokenStart);
+  }
+
+  /** Returns the absolute position of the first character of the current token. */
+  public int start() {
+    return offset + tokenStart;
+  }
+
+  /** Returns the absolute position after the last character of the current token. */
+  public int end() {
+    return offset + pos;
+  }
+
+  /** Returns the (1-based) line number of the current token. */
+  public int line() {
+    return tokenLine;
+  }
+
+  /** Returns the (0-based) position of the current token in its line. */
+  public int column() {
+    return tokenColumn;
+  }
+
+  /** Creates a {@link SyntaxError} which refers to the current token. */
+  public SyntaxError syntaxError(String message) {
+    return ExceptionFactory.getInstance().syntaxErrorForText(message,
+        (textForErrors != null ? textForErrors : text()), tokenLine, tokenColumn);
+  }
+
+  // scanners --------------------------------------------------------------------------------------------------------
+
+  private void skipWhiteSpaceAndLineComments() {
+    while (true) {
+      int c = peek(0);
+      if (c == ' ' || c == '\r' || c == '\t' || c == '\f' || c == '\n') {
+        consume();
+      } else if (c == '/' && peek(1) == '/') {
+        while ((c = peek(0)) != EOF_CHAR && c != '\n' && c != '\r') {
+          consume();
+        }
+      } else {
+        return;
+      }
+      tokenStart = pos; // whitespace need not be kept in the buffer
+    }
+  }
+
+  private ScriptTokenType scanIdentifierOrKeyword() {
+    consume();
+    while (isIdentifierPart(peek(0))) {
+      consume();
+    }
+    int length = pos - tokenStart;
+    if (length == 3 && matches("new")) {
+      return ScriptTokenType.NEW;
+    } else if (length == 4 && matches("null")) {
+      return ScriptTokenType.NULL;
+    } else if ((length == 4 && matches("true")) || (length == 5 && matches("false"))) {
+      return ScriptTokenType.BOOLEANLITERAL;
+    } else {
+      return ScriptTokenType.IDENTIFIER;
+    }
+  }
+
+  private ScriptTokenType scanNumber() {
+    int first = consume();
+    if (first == '0' && (peek(0) == 'x') && isHexDigit(peek(1))) {
+      consume();
+      while (isHexDigit(peek(0))) {
+        consume();
+      }
+      return ScriptTokenType.INTLITERAL;
+    }
+    int digitsEnd = pos;
+    while (isDigit(peek(0))) {
+      consume();
+    }
+    if (peek(0) == '.') {
+      consume();
+      while (isDigit(peek(0))) {
+        consume();
+      }
+      scanExponent();
+      return ScriptTokenType.DECIMALLITERAL;
+    } else if (scanExponent()) {
+      return ScriptTokenType.DECIMALLITERAL;
+    }
+    if (first == '0' && pos > digitsEnd) {
+      // octal literal: only consume the octal digits like the ANTLR lexer does
+      int end = digitsEnd;
+      while (end < pos && buffer[end] >= '0' && buffer[end] <= '7') {
+        end++;
+      }
+      resetTo(end);
+    }
+    return ScriptTokenType.INTLITERAL;
+  }
+
+  private boolean scanExponent() {
+    int c = peek(0);
+    if (c != 'e' && c != 'E') {
+      return false;
+    }
+    int sign = peek(1);
+    int digitIndex = (sign == '+' || sign == '-' ? 2 : 1);
+    if (!isDigit(peek(digitIndex))) {
+      return false;
+    }
+    for (int i = 0; i < digitIndex; i++) {
+      consume();
+    }
+    while (isDigit(peek(0))) {
+      consume();
+    }
+    return true;
+  }
+
+  private ScriptTokenType scanString() {
+    consume(); // opening quote
+    while (true) {
+      int c = peek(0);
+      if (c == '\'') {
+        consume();
+        return ScriptTokenType.STRINGLITERAL;
+      } else if (c == '\\') {
+        consume();
+        scanEscapeSequence();
+      } else if (c == EOF_CHAR || c == '\r' || c == '\n') {
+        throw syntaxError("Unterminated string literal");
+      } else {
+        consume();
+      }
+    }
+  }
+
+  private void scanEscapeSequence() {
+    int c = peek(0);
+    if ("btnfr\"'\\".indexOf(c) >= 0 && c != EOF_CHAR) {
+      consume();
+    } else if (isOctalDigit(c)) {
+      int maxDigits = (c <= '3' ? 3 : 2);
+      for (int i = 0; i < maxDigits && isOctalDigit(peek(0)); i++) {
+        consume();
+      }
+    } else {
+      throw syntaxError("Illegal escape sequence in string literal");
+    }
+  }
+
+  private ScriptTokenType scanOperator(int c) {
+    consume();
+    int c1 = peek(0);
+    switch (c) {
+      case '(': return ScriptTokenType.LPAREN;
+      case ')': return ScriptTokenType.RPAREN;
+      case '{': return ScriptTokenType.LBRACE;
+      case '}': return ScriptTokenType.RBRACE;
+      case '[': return ScriptTokenType.LBRACKET;
+      case ']': return ScriptTokenType.RBRACKET;
+      case ';': return ScriptTokenType.SEMI;
+      case ',': return ScriptTokenType.COMMA;
+      case '.': return ScriptTokenType.DOT;
+      case '@': return ScriptTokenType.MONKEYS_AT;
+      case '~': return ScriptTokenType.TILDE;
+      case '?': return ScriptTokenType.QUES;
+      case ':': return ScriptTokenType.COLON;
+      case '+': return ScriptTokenType.PLUS;
+      case '*': return ScriptTokenType.STAR;
+      case '%': return ScriptTokenType.PERCENT;
+      case '^': return ScriptTokenType.CARET;
+      case '=': return (c1 == '=' ? consumeAnd(ScriptTokenType.EQEQ) : ScriptTokenType.EQ);
+      case '!': return (c1 == '=' ? consumeAnd(ScriptTokenType.BANGEQ) : ScriptTokenType.BANG);
+      case '&': return (c1 == '&' ? consumeAnd(ScriptTokenType.AMPAMP) : ScriptTokenType.AMP);
+      case '|': return (c1 == '|' ? consumeAnd(ScriptTokenType.BARBAR) : ScriptTokenType.BAR);
+      case '-': return (c1 == '>' ? consumeAnd(ScriptTokenType.ARROW) : ScriptTokenType.SUB);
+      case '<':
+        if (c1 == '<') {
+          return consumeAnd(ScriptTokenType.SHIFT_LEFT);
+        }
+        return (c1 == '=' ? consumeAnd(ScriptTokenType.LE) : ScriptTokenType.LT);
+      case '>':
+        if (c1 == '>') {
+          consume();
+          return (peek(0) == '>' ? consumeAnd(ScriptTokenType.SHIFT_RIGHT2) : ScriptTokenType.SHIFT_RIGHT);
+        }
+        return (c1 == '=' ? consumeAnd(ScriptTokenType.GE) : ScriptTokenType.GT);
+      case '/':
+        if (c1 == '*') {
+          return scanBlockComment();
+        }
+        return ScriptTokenType.SLASH;
+      default:
+        throw syntaxError("Illegal character: '" + (char) c + "'");
+    }
+  }
+
+  private ScriptTokenType scanBlockComment() {
+    consume();
+    while (true) {
+      int c = peek(0);
+      if (c == EOF_CHAR) {
+        throw syntaxError("Unterminated comment");
+      }
+      consume();
+      if (c == '*' && peek(0) == '/') {
+        consume();
+        return ScriptTokenType.COMMENT;
+      }
+    }
+  }
+
+  // character handling ----------------------------------------------------------------------------------------------
+
+  private int peek(int i) {
+    if (pos + i >= limit && !fill(pos + i + 1)) {
+      return EOF_CHAR;
+    }
+    return buffer[pos + i];
+  }
+
+  private int consume() {
+    char c = buffer[pos++];
+    if (c == '\n') {
+      line++;
+      column = 0;
+    } else {
+      column++;
+    }
+    return c;
+  }
+
+  private ScriptTokenType consumeAnd(ScriptTokenType result) {
+    consume();
+    return result;
+  }
+
+  /** Steps back to an earlier buffer position of the current token (which never spans line breaks). */
+  private void resetTo(int bufferIndex) {
+    column -= (pos - bufferIndex);
+    pos = bufferIndex;
+  }
+
+  private boolean matches(String keyword) {
+    for (int i = 0; i < keyword.length(); i++) {
+      if (buffer[tokenStart + i] != keyword.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Reads input until the buffer holds at least 'required' characters, returns false at end of input. */
+  private boolean fill(int required) {
+    if (reader == null) {
+      return false;
+    }
+    try {
+      while (limit < required) {
+        if (tokenStart > 0) {
+          // drop characters of previous tokens
+          System.arraycopy(buffer, tokenStart, buffer, 0, limit - tokenStart);
+          offset += tokenStart;
+          limit -= tokenStart;
+          pos -= tokenStart;
+          required -= tokenStart;
+          tokenStart = 0;
+        }
+        if (limit + READ_CHUNK_SIZE / 2 > buffer.length) {
+          char[] newBuffer = new char[buffer.length * 2];
+          System.arraycopy(buffer, 0, newBuffer, 0, limit);
+          buffer = newBuffer;
+        }
+        int count = reader.read(buffer, limit, buffer.length - limit);
+        if (count < 0) {
+          return false;
+        }
+        limit += count;
+      }
+      return true;
+    } catch (IOException e) {
+      throw ExceptionFactory.getInstance().internalError("Error reading script input", e);
+    }
+  }
+
+  private static boolean isIdentifierStart(int c) {
+    return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || c == '_';
+  }
+
+  private static boolean isIdentifierPart(int c) {
+    return isIdentifierStart(c) || isDigit(c);
+  }
+
+  private static boolean isDigit(int c) {
+    return c >= '0' && c <= '9';
+  }
+
+  private static boolean isOctalDigit(int c) {
+    return c >= '0' && c <= '7';
+  }
+
+  private static boolean isHexDigit(int c) {
+    return isDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+  }
+
+}
@@ -0,0 +1,59 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.parser;
+
+import com.rapiddweller.common.ParseUtil;
+import com.rapiddweller.common.StringUtil;
+
+/**
+ * Converts the text of literal tokens to Java values the same way as the ANTLR based
+ * {@link com.rapiddweller.script.DatabeneScriptParser}.<br/><br/>
+ * Created: 14.10.2026 08:12:50
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+class ScriptLiterals {
+
+  private ScriptLiterals() {
+    // private constructor to prevent instantiation of this utility class
+  }
+
+  static boolean isLiteral(ScriptTokenType type) {
+    switch (type) {
+      case NULL: case BOOLEANLITERAL: case INTLITERAL: case DECIMALLITERAL: case STRINGLITERAL:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /** Converts a literal token of the given type, the caller must ensure {@link #isLiteral(ScriptTokenType)}. */
+  static Object convert(ScriptTokenType type, String text) {
+    switch (type) {
+      case NULL:
+        return null;
+      case BOOLEANLITERAL:
+        return ParseUtil.parseBoolean(text);
+      case INTLITERAL:
+        return convertIntLiteral(text);
+      case DECIMALLITERAL:
+        return Double.parseDouble(text);
+      case STRINGLITERAL:
+        return StringUtil.unescape(text.substring(1, text.length() - 1));
+      default:
+        throw new IllegalArgumentException("Not a literal: " + type);
+    }
+  }
+
+  static Number convertIntLiteral(String text) {
+    if (text.length() > 10) {
+      return Long.parseLong(text);
+    } else if (text.length() == 10) {
+      long l = Long.parseLong(text);
+      return (l <= Integer.MAX_VALUE ? (Number) (int) l : (Number) l);
+    } else {
+      return Integer.parseInt(text);
+    }
+  }
+
+}
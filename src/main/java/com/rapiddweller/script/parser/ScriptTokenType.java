@@ -0,0 +1,29 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.parser;
+
+/**
+ * Lists the token types recognized by the {@link ScriptLexer}.
+ * They correspond to the lexer rules of the DatabeneScript grammar.<br/><br/>
+ * Created: 13.10.2026 08:40:12
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public enum ScriptTokenType {
+
+  // literals and names
+  NULL, BOOLEANLITERAL, INTLITERAL, DECIMALLITERAL, STRINGLITERAL, IDENTIFIER, NEW,
+
+  // separators
+  LPAREN, RPAREN, LBRACE, RBRACE, LBRACKET, RBRACKET, SEMI, COMMA, DOT, MONKEYS_AT,
+
+  // operators
+  EQ, BANG, TILDE, QUES, COLON, EQEQ, AMPAMP, BARBAR, PLUS, SUB, STAR, SLASH, AMP, BAR, CARET, PERCENT,
+  BANGEQ, GT, SHIFT_RIGHT, SHIFT_RIGHT2, SHIFT_LEFT, GE, LT, LE, ARROW,
+
+  // block comments are not skipped by the grammar, so they are reported as tokens
+  COMMENT,
+
+  EOF
+
+}
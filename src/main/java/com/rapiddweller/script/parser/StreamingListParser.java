@@ -0,0 +1,116 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.parser;
+
+import com.rapiddweller.common.exception.SyntaxError;
+import com.rapiddweller.script.TransitionMatrix;
+import com.rapiddweller.script.WeightedLiteralTable;
+
+/**
+ * Parses huge literal lists token by token directly from a {@link ScriptLexer} into columnar
+ * data structures without creating syntax trees or expression objects.
+ * In contrast to the general parser, weights are restricted to (optionally negative)
+ * numeric literals.<br/><br/>
+ * Created: 14.10.2026 09:02:37
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public class StreamingListParser {
+
+  private final ScriptLexer lexer;
+
+  public StreamingListParser(ScriptLexer lexer) {
+    this.lexer = lexer;
+  }
+
+  // interface -------------------------------------------------------------------------------------------------------
+
+  /** Parses a list of the form <code>literal ('^' weight)? (',' literal ('^' weight)?)*</code>. */
+  public WeightedLiteralTable parseWeightedLiteralTable() throws SyntaxError {
+    WeightedLiteralTable table = new WeightedLiteralTable();
+    if (lexer.next() == ScriptTokenType.EOF) {
+      return table;
+    }
+    while (true) {
+      Object value = literal();
+      double weight = 1.;
+      if (lexer.next() == ScriptTokenType.CARET) {
+        lexer.next();
+        weight = weight();
+        lexer.next();
+      }
+      table.add(value, weight);
+      if (lexer.type() == ScriptTokenType.EOF) {
+        return table;
+      }
+      expect(ScriptTokenType.COMMA);
+      lexer.next();
+    }
+  }
+
+  /** Parses a list of the form <code>literal '->' literal ('^' weight)? (',' ...)*</code>. */
+  public TransitionMatrix parseTransitionMatrix() throws SyntaxError {
+    TransitionMatrix.Builder builder = new TransitionMatrix.Builder();
+    if (lexer.next() == ScriptTokenType.EOF) {
+      return builder.build();
+    }
+    while (true) {
+      Object from = literal();
+      lexer.next();
+      expect(ScriptTokenType.ARROW);
+      lexer.next();
+      Object to = literal();
+      double weight = 1.;
+      if (lexer.next() == ScriptTokenType.CARET) {
+        lexer.next();
+        weight = weight();
+        lexer.next();
+      }
+      builder.addTransition(from, to, weight);
+      if (lexer.type() == ScriptTokenType.EOF) {
+        return builder.build();
+      }
+      expect(ScriptTokenType.COMMA);
+      lexer.next();
+    }
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  /** Converts the current token to a literal value. */
+  private Object literal() {
+    if (!ScriptLiterals.isLiteral(lexer.type())) {
+      throw lexer.syntaxError("Literal expected, but found: " + describeCurrentToken());
+    }
+    return ScriptLiterals.convert(lexer.type(), lexer.text());
+  }
+
+  /** Converts the current token(s) to a weight value. */
+  private double weight() {
+    boolean negative = false;
+    if (lexer.type() == ScriptTokenType.SUB) {
+      negative = true;
+      lexer.next();
+    }
+    double weight;
+    if (lexer.type() == ScriptTokenType.INTLITERAL) {
+      weight = ScriptLiterals.convertIntLiteral(lexer.text()).doubleValue();
+    } else if (lexer.type() == ScriptTokenType.DECIMALLITERAL) {
+      weight = Double.parseDouble(lexer.text());
+    } else {
+      throw lexer.syntaxError("Numeric weight expected, but found: " + describeCurrentToken());
+    }
+    return (negative ? -weight : weight);
+  }
+
+  private void expect(ScriptTokenType type) {
+    if (lexer.type() != type) {
+      throw lexer.syntaxError("Expected " + type + ", but found: " + describeCurrentToken());
+    }
+  }
+
+  private String describeCurrentToken() {
+    return (lexer.type() == ScriptTokenType.EOF ? "end of text" : "'" + lexer.text() + "'");
+  }
+
+}
@@ -20,6 +20,12 @@
 import com.rapiddweller.common.context.DefaultContext;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -46,4 +52,67 @@ public void test() {
     assertFalse(filter.accept(4));
   }
 
+  @Test
+  public void testPrimitiveExpression() {
+    Context context = new DefaultContext();
+    Expression<Boolean> expression = (Expression<Boolean>) DatabeneScriptParser.parseExpression("_candidate * 3 + 1 > 10");
+    ExpressionBasedFilter<Object> filter = new ExpressionBasedFilter<>(expression, context);
+    assertFalse(filter.accept(3));
+    assertTrue(filter.accept(4));
+    assertTrue(filter.accept(3.5));
+    assertFalse(filter.accept(3L));
+  }
+
+  @Test
+  public void testBulkFilter() {
+    Context context = new DefaultContext();
+    context.set("divisor", 3);
+    Expression<Boolean> expression =
+        (Expression<Boolean>) DatabeneScriptParser.parseExpression("_candidate % divisor == 0");
+    ExpressionBasedFilter<Integer> filter = new ExpressionBasedFilter<>(expression, context);
+    List<Integer> candidates = new ArrayList<>();
+    List<Integer> expected = new ArrayList<>();
+    for (int i = 0; i < 10000; i++) {
+      candidates.add(i);
+      if (filter.accept(i)) {
+        expected.add(i);
+      }
+    }
+    assertEquals(expected, filter.filter(candidates));
+    assertEquals(expected, filter.filter(candidates, new ForkJoinPool(3)));
+    assertEquals(expected, filter.filter(candidates.stream()).collect(Collectors.toList()));
+    long checked = 0;
+    long accepted = 0;
+    for (FilterThroughput throughput : filter.getThroughput()) {
+      checked += throughput.getCandidates();
+      accepted += throughput.getAccepted();
+    }
+    assertEquals(3 * candidates.size(), checked);
+    assertEquals(3 * expected.size(), accepted);
+    // the bulk operations do not bind the candidate in the filter's context
+    assertEquals(9999, context.get("_candidate"));
+  }
+
+  @Test
+  public void testAssignmentInBulkFilter() {
+    Context context = new DefaultContext();
+    context.set("limit", 3);
+    Expression<Boolean> expression =
+        (Expression<Boolean>) DatabeneScriptParser.parseExpression("(x = _candidate % 10) > limit && x < 8");
+    ExpressionBasedFilter<Integer> filter = new ExpressionBasedFilter<>(expression, context);
+    List<Integer> candidates = new ArrayList<>();
+    List<Integer> expected = new ArrayList<>();
+    for (int i = 0; i < 10000; i++) {
+      candidates.add(i);
+      if (i % 10 > 3 && i % 10 < 8) {
+        expected.add(i);
+      }
+    }
+    assertEquals(expected, filter.filter(candidates));
+    assertEquals(expected, filter.filter(candidates.stream()).collect(Collectors.toList()));
+    // the assigned variable is kept per thread, the filter's context is only read
+    assertFalse(context.contains("x"));
+    assertFalse(context.contains("_candidate"));
+  }
+
 }
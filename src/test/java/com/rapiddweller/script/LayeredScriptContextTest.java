@@ -0,0 +1,87 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script;
+
+import com.rapiddweller.common.Expression;
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link LayeredScriptContext}.<br/><br/>
+ * Created: 18.10.2026 21:20:03
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public class LayeredScriptContextTest {
+
+  @Test
+  public void testOverlay() {
+    DefaultScriptContext parent = new DefaultScriptContext();
+    parent.set("a", 1);
+    parent.set("b", 2);
+    LayeredScriptContext context = new LayeredScriptContext(parent);
+    assertEquals(1, context.get("a"));
+    context.set("a", 10);
+    context.remove("b");
+    context.set("c", 3);
+    assertEquals(10, context.get("a"));
+    assertNull(context.get("b"));
+    assertFalse(context.contains("b"));
+    assertTrue(context.isLocal("b"));
+    assertEquals("[a, c]", context.keySet().toString());
+    // the parent is unchanged
+    assertEquals(1, parent.get("a"));
+    assertEquals(2, parent.get("b"));
+    assertFalse(parent.contains("c"));
+    context.reset();
+    assertEquals(1, context.get("a"));
+    assertEquals(2, context.get("b"));
+    assertFalse(context.contains("c"));
+  }
+
+  @Test
+  public void testAssignment() {
+    DefaultScriptContext parent = new DefaultScriptContext();
+    parent.set("x", 5);
+    LayeredScriptContext context = new LayeredScriptContext(parent);
+    for (int i = 0; i < 10; i++) { // the overlay grows beyond its initial capacity
+      context.set("v" + i, i);
+    }
+    assertEquals(6, DatabeneScriptParser.parseExpression("y = x + 1").evaluate(context));
+    assertEquals(6, context.get("y"));
+    assertEquals(9, context.get("v9"));
+    assertFalse(parent.contains("y"));
+  }
+
+  @Test
+  public void testImports() {
+    DefaultScriptContext parent = new DefaultScriptContext();
+    LayeredScriptContext context = new LayeredScriptContext(parent);
+    context.importPackage("java.util");
+    assertEquals(java.util.Date.class, context.forName("Date"));
+    assertNull(parent.forName("Date", false));
+    assertEquals(String.class, context.forName("java.lang.String"));
+  }
+
+  @Test
+  public void testConcurrentEvaluation() {
+    DefaultScriptContext parent = new DefaultScriptContext();
+    parent.set("factor", 3);
+    Expression<?> expression = DatabeneScriptParser.parseExpression("(y = row * factor) + 1");
+    long sum = new ForkJoinPool(4).submit(() -> IntStream.range(0, 10000).parallel().mapToLong(row -> {
+      LayeredScriptContext context = new LayeredScriptContext(parent);
+      context.set("row", row);
+      return ((Number) expression.evaluate(context)).longValue();
+    }).sum()).join();
+    assertEquals(3L * 9999 * 10000 / 2 + 10000, sum);
+    assertFalse(parent.contains("y"));
+  }
+
+}
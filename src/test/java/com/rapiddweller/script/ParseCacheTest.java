@@ -0,0 +1,163 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script;
+
+import com.rapiddweller.common.Expression;
+import com.rapiddweller.common.context.DefaultContext;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link ParseCache} and its use by the {@link DatabeneScriptParser}.<br/><br/>
+ * Created: 12.10.2026 10:02:17
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public class ParseCacheTest {
+
+  @After
+  public void disableCache() {
+    DatabeneScriptParser.setParseCache(null);
+  }
+
+  @Test
+  public void testHitAndMiss() {
+    ParseCache cache = new ParseCache();
+    assertNull(cache.get("expression", "1 + 2"));
+    cache.put("expression", "1 + 2", "X", 3);
+    assertEquals("X", cache.get("expression", "1 + 2"));
+    assertNull(cache.get("beanSpec", "1 + 2"));
+    assertEquals(1, cache.getHitCount());
+    assertEquals(2, cache.getMissCount());
+    assertEquals(3, cache.getWeight());
+  }
+
+  @Test
+  public void testLruEviction() {
+    ParseCache cache = new ParseCache(10);
+    cache.put("expression", "a", "A", 4);
+    cache.put("expression", "b", "B", 4);
+    cache.get("expression", "a"); // makes 'b' the least recently used entry
+    cache.put("expression", "c", "C", 4);
+    assertEquals(1, cache.getEvictionCount());
+    assertNull(cache.get("expression", "b"));
+    assertEquals("A", cache.get("expression", "a"));
+    assertEquals("C", cache.get("expression", "c"));
+    assertEquals(8, cache.getWeight());
+  }
+
+  @Test
+  public void testOversizedEntryIsNotCached() {
+    ParseCache cache = new ParseCache(5);
+    cache.put("expression", "a", "A", 6);
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testParseExpression() {
+    ParseCache cache = new ParseCache();
+    DatabeneScriptParser.setParseCache(cache);
+    Expression<?> ex1 = DatabeneScriptParser.parseExpression("3 * (2 + 1)");
+    Expression<?> ex2 = DatabeneScriptParser.parseExpression("3 * (2 + 1)");
+    assertSame(ex1, ex2);
+    assertEquals(9, ex2.evaluate(new DefaultContext()));
+    assertEquals(1, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+    assertEquals(5, cache.getWeight()); // *, 3, +, 2, 1
+  }
+
+  @Test
+  public void testRulesAreDistinguished() {
+    DatabeneScriptParser.setParseCache(new ParseCache());
+    Expression<?> expression = DatabeneScriptParser.parseExpression("java.lang.String");
+    Expression<?> beanSpec = DatabeneScriptParser.parseBeanSpec("java.lang.String");
+    assertNotSame(expression, beanSpec);
+    assertEquals(QNExpression.class, expression.getClass());
+    assertEquals(QNBeanSpecExpression.class, beanSpec.getClass());
+  }
+
+  @Test
+  public void testSettingsAreDistinguished() {
+    ParseCache cache = new ParseCache();
+    DatabeneScriptParser.setParseCache(cache);
+    try {
+      Expression<?> plain = DatabeneScriptParser.parseExpression("x + (2 * 3)");
+      DatabeneScriptParser.setConstantFolding(true);
+      assertEquals(0, cache.size());
+      Expression<?> folded = DatabeneScriptParser.parseExpression("x + (2 * 3)");
+      assertNotSame(plain, folded);
+      assertSame(folded, DatabeneScriptParser.parseExpression("x + (2 * 3)"));
+      DatabeneScriptParser.setBackend(ParserBackend.PRATT);
+      assertEquals(0, cache.size());
+      assertNotSame(folded, DatabeneScriptParser.parseExpression("x + (2 * 3)"));
+    } finally {
+      DatabeneScriptParser.setConstantFolding(false);
+      DatabeneScriptParser.setBackend(ParserBackend.ANTLR);
+    }
+  }
+
+  @Test
+  public void testWeightedLiteralListIsCopied() {
+    DatabeneScriptParser.setParseCache(new ParseCache());
+    WeightedSample<?>[] samples1 = DatabeneScriptParser.parseWeightedLiteralList("'A'^2,'B'");
+    samples1[0].setWeight(5);
+    WeightedSample<?>[] samples2 = DatabeneScriptParser.parseWeightedLiteralList("'A'^2,'B'");
+    assertNotSame(samples1, samples2);
+    assertEquals(2., samples2[0].getWeight(), 0.);
+    assertEquals("B", samples2[1].getValue());
+  }
+
+  @Test
+  public void testTransitionList() {
+    ParseCache cache = new ParseCache();
+    DatabeneScriptParser.setParseCache(cache);
+    WeightedTransition[] transitions1 = DatabeneScriptParser.parseTransitionList("1->2^0.5,2->1");
+    WeightedTransition[] transitions2 = DatabeneScriptParser.parseTransitionList("1->2^0.5,2->1");
+    assertNotSame(transitions1, transitions2);
+    assertSame(transitions1[1], transitions2[1]);
+    assertEquals(1, cache.getHitCount());
+  }
+
+  @Test
+  public void testConcurrentAccess() throws Exception {
+    ParseCache cache = new ParseCache(200);
+    DatabeneScriptParser.setParseCache(cache);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Callable<Boolean>> tasks = new ArrayList<>();
+      for (int t = 0; t < 4; t++) {
+        tasks.add(() -> {
+          for (int i = 0; i < 500; i++) {
+            int n = i % 50;
+            Expression<?> expression = DatabeneScriptParser.parseExpression(n + " + 1");
+            if (!Integer.valueOf(n + 1).equals(expression.evaluate(null))) {
+              return false;
+            }
+          }
+          return true;
+        });
+      }
+      for (Future<Boolean> future : executor.invokeAll(tasks)) {
+        assertTrue(future.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertEquals(2000, cache.getHitCount() + cache.getMissCount());
+    assertTrue(cache.getWeight() <= 200);
+  }
+
+}
@@ -0,0 +1,109 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script;
+
+import com.rapiddweller.common.Context;
+import com.rapiddweller.common.Expression;
+import com.rapiddweller.common.exception.IllegalArgumentError;
+import com.rapiddweller.script.compiler.ExpressionCompiler;
+import com.rapiddweller.script.compiler.MethodHandleCompiler;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link PreparedExpression}, the {@link VariableSlots} and the {@link SlotContext}.<br/><br/>
+ * Created: 18.10.2026 17:05:14
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public class PreparedExpressionTest {
+
+  @Test
+  public void testFreeVariables() {
+    Expression<?> expression = DatabeneScriptParser.parseExpression(
+        "x + y.length() + (z = x * 2) + Math.max(x, w) + (c ? java.lang.Integer.MAX_VALUE : 0)");
+    assertArrayEquals(new String[] { "x", "y", "z", "Math", "w", "c", "java" },
+        VariableSlots.of(expression).getNames());
+    VariableSlots slots = VariableSlots.of(new String[] { "w", "x" }, expression);
+    assertEquals(0, slots.indexOf("w"));
+    assertEquals(1, slots.indexOf("x"));
+    assertEquals(-1, slots.indexOf("v"));
+  }
+
+  @Test
+  public void testParameters() {
+    PreparedExpression<Object> expression = PreparedExpression.prepare("a * b + offset", "a", "b");
+    Context parent = new DefaultScriptContext();
+    parent.set("offset", 10);
+    SlotContext context = expression.createContext(parent);
+    assertEquals(16, expression.evaluate(context, 2, 3));
+    assertEquals(30, expression.evaluate(context, 4, 5));
+    expression.setParameter(context, 1, 6);
+    assertEquals(34, expression.evaluate(context));
+    // other contexts are used as usual
+    parent.set("a", 1);
+    parent.set("b", 2);
+    assertEquals(12, expression.evaluate(parent));
+  }
+
+  @Test
+  public void testFallback() {
+    PreparedExpression<Object> expression = PreparedExpression.prepare("a + b", "a");
+    Context parent = new DefaultScriptContext();
+    parent.set("b", 5);
+    SlotContext context = expression.createContext(parent);
+    assertEquals(6, expression.evaluate(context, 1));
+    // a slot which is not bound is read from the parent
+    context.unbindAll();
+    parent.set("a", 2);
+    assertEquals(7, expression.evaluate(context));
+    context.set("b", 3);
+    assertTrue(context.isBound(context.getSlots().indexOf("b")));
+    assertEquals(5, parent.get("b"));
+    assertEquals(5, expression.evaluate(context));
+  }
+
+  @Test
+  public void testAssignment() {
+    Expression<?> expression = DatabeneScriptParser.parseExpression("y = x + 1");
+    VariableSlots slots = VariableSlots.of(expression);
+    Context parent = new DefaultScriptContext();
+    SlotContext context = new SlotContext(slots, parent);
+    context.setSlot(slots.indexOf("x"), 1);
+    assertEquals(2, expression.evaluate(context));
+    assertEquals(2, context.getSlot(slots.indexOf("y")));
+    assertFalse(parent.contains("y"));
+    assertEquals(2, context.get("y"));
+    assertTrue(context.keySet().contains("y"));
+  }
+
+  @Test
+  public void testClassesAndCompilers() {
+    PreparedExpression<Object> expression = PreparedExpression.prepare("Math.max(x, 3) * Integer.SIZE", "x");
+    DefaultScriptContext parent = new DefaultScriptContext();
+    parent.importPackage("java.lang");
+    SlotContext context = expression.createContext(parent);
+    assertEquals(128, expression.evaluate(context, 4));
+    Expression<?> compiled = ExpressionCompiler.compile(expression.getExpression());
+    assertEquals(128, compiled.evaluate(context));
+    Expression<?> handles = MethodHandleCompiler.compile(expression.getExpression());
+    assertEquals(128, handles.evaluate(context));
+  }
+
+  @Test(expected = IllegalArgumentError.class)
+  public void testForeignContext() {
+    PreparedExpression<Object> expression = PreparedExpression.prepare("a", "a");
+    expression.evaluate(new SlotContext(new VariableSlots("a")), 1);
+  }
+
+  @Test(expected = IllegalArgumentError.class)
+  public void testWrongParameterCount() {
+    PreparedExpression<Object> expression = PreparedExpression.prepare("a", "a");
+    expression.evaluate(expression.createContext(new DefaultScriptContext()), 1, 2);
+  }
+
+}
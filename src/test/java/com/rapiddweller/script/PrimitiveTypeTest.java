@@ -0,0 +1,61 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script;
+
+import org.junit.Test;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests the {@link PrimitiveType}.<br/><br/>
+ * Created: 18.10.2026 08:41:17
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public class PrimitiveTypeTest {
+
+  @Test
+  public void testGetInstance() {
+    assertSame(PrimitiveType.INT, PrimitiveType.getInstance("int"));
+    assertSame(PrimitiveType.BIG_DECIMAL, PrimitiveType.getInstance("big_decimal"));
+    assertNull(PrimitiveType.getInstance("none"));
+  }
+
+  @Test
+  public void testFindByJavaType() {
+    assertSame(PrimitiveType.INT_P, PrimitiveType.findByJavaType(int.class));
+    assertSame(PrimitiveType.INT, PrimitiveType.findByJavaType(Integer.class));
+    assertSame(PrimitiveType.TIMESTAMP, PrimitiveType.findByJavaType(Timestamp.class));
+    assertSame(PrimitiveType.OBJECT, PrimitiveType.findByJavaType(Object.class));
+    assertSame(PrimitiveType.BINARY, PrimitiveType.findByJavaType(byte[].class));
+    assertNull(PrimitiveType.findByJavaType(null));
+  }
+
+  @Test
+  public void testSubclasses() {
+    assertSame(PrimitiveType.DATE, PrimitiveType.findByJavaType(java.sql.Date.class));
+    assertSame(PrimitiveType.DATE, PrimitiveType.findByJavaType(CustomDate.class));
+    assertNull(PrimitiveType.findByJavaType(ArrayList.class));
+  }
+
+  @Test
+  public void testRegistration() {
+    assertNull(PrimitiveType.findByJavaType(AtomicLong.class));
+    PrimitiveType type = new PrimitiveType("atomic_long", AtomicLong.class);
+    assertSame(type, PrimitiveType.findByJavaType(AtomicLong.class));
+    assertSame(type, PrimitiveType.getInstance("atomic_long"));
+    assertEquals("atomic_long", type.toString());
+  }
+
+  @SuppressWarnings("serial")
+  public static class CustomDate extends Date {
+  }
+
+}
@@ -0,0 +1,94 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script;
+
+import com.rapiddweller.common.exception.SyntaxError;
+import org.junit.Test;
+
+import java.io.StringReader;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the {@link TransitionMatrix} and its streaming creation by the {@link DatabeneScriptParser}.<br/><br/>
+ * Created: 14.10.2026 14:11:27
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public class TransitionMatrixTest {
+
+  @Test
+  public void testParse() {
+    TransitionMatrix matrix = DatabeneScriptParser.parseTransitionMatrix("'A'->'B', 'B'->'A'^0.5, 'B'->'C'^2, 'A'->'A'");
+    assertEquals(3, matrix.getStateCount());
+    assertEquals(4, matrix.getTransitionCount());
+    assertEquals("A", matrix.getState(0));
+    assertEquals(2, matrix.indexOf("C"));
+    assertEquals(1., matrix.getWeight("A", "B"), 0.);
+    assertEquals(0.5, matrix.getWeight("B", "A"), 0.);
+    assertEquals(2., matrix.getWeight("B", "C"), 0.);
+    assertEquals(0., matrix.getWeight("C", "A"), 0.);
+    assertEquals(0., matrix.getWeight("X", "A"), 0.);
+    assertEquals(2, matrix.getOutDegree(0));
+    assertEquals(0, matrix.getOutDegree(2));
+    assertEquals(2.5, matrix.getOutWeight(1), 0.);
+  }
+
+  @Test
+  public void testRowsAreOrderedByTarget() {
+    TransitionMatrix matrix = DatabeneScriptParser.parseTransitionMatrix("1->3, 2->1, 1->2, 1->1");
+    int from = matrix.indexOf(1);
+    int[] expectedTargets = {matrix.indexOf(1), matrix.indexOf(3), matrix.indexOf(2)};
+    java.util.Arrays.sort(expectedTargets);
+    for (int i = 0; i < 3; i++) {
+      assertEquals(expectedTargets[i], matrix.getTarget(matrix.getFirstEdge(from) + i));
+    }
+  }
+
+  @Test
+  public void testDuplicatesAreSummed() {
+    TransitionMatrix matrix = DatabeneScriptParser.parseTransitionMatrix("1->2^0.25, 2->1, 1->2^0.5");
+    assertEquals(2, matrix.getTransitionCount());
+    assertEquals(0.75, matrix.getWeight(1, 2), 0.);
+  }
+
+  @Test
+  public void testVisitor() {
+    TransitionMatrix matrix = DatabeneScriptParser.parseTransitionMatrix(new StringReader("1->2^3, 2->3^4, 3->1^5"));
+    double[] sum = new double[1];
+    matrix.forEachTransition((from, to, weight) -> sum[0] += weight);
+    assertEquals(12., sum[0], 0.);
+  }
+
+  @Test
+  public void testConsistencyWithTransitionList() {
+    String text = "'A'->'B', 1->2^0.5";
+    WeightedTransition[] expected = DatabeneScriptParser.parseTransitionList(text);
+    WeightedTransition[] actual = DatabeneScriptParser.parseTransitionMatrix(text).toWeightedTransitions();
+    assertEquals(expected.length, actual.length);
+    for (int i = 0; i < expected.length; i++) {
+      assertEquals(expected[i].getFrom(), actual[i].getFrom());
+      assertEquals(expected[i].getTo(), actual[i].getTo());
+      assertEquals(expected[i].getWeight(), actual[i].getWeight(), 0.);
+    }
+  }
+
+  @Test
+  public void testLargeStateMachine() {
+    TransitionMatrix.Builder builder = new TransitionMatrix.Builder();
+    for (int i = 0; i < 5000; i++) {
+      builder.addTransition(i, (i + 1) % 5000, 1.);
+      builder.addTransition(i, (i * 7) % 5000, 2.);
+    }
+    TransitionMatrix matrix = builder.build();
+    assertEquals(5000, matrix.getStateCount());
+    assertEquals(3., matrix.getOutWeight(matrix.indexOf(42)), 0.);
+    assertEquals(2., matrix.getWeight(42, 294), 0.);
+  }
+
+  @Test(expected = SyntaxError.class)
+  public void testMissingArrow() {
+    DatabeneScriptParser.parseTransitionMatrix("1 2");
+  }
+
+}
@@ -0,0 +1,107 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script;
+
+import com.rapiddweller.common.exception.SyntaxError;
+import org.junit.Test;
+
+import java.io.Reader;
+import java.io.StringReader;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the {@link WeightedLiteralTable} and its streaming creation by the {@link DatabeneScriptParser}.<br/><br/>
+ * Created: 14.10.2026 09:40:03
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public class WeightedLiteralTableTest {
+
+  @Test
+  public void testParse() {
+    WeightedLiteralTable table = DatabeneScriptParser.parseWeightedLiteralTable("'A', 1^0.5, 2.5^3, true, null^2");
+    assertEquals(5, table.size());
+    assertEquals("A", table.getValue(0));
+    assertEquals(1., table.getWeight(0), 0.);
+    assertEquals(1, table.getValue(1));
+    assertEquals(0.5, table.getWeight(1), 0.);
+    assertEquals(2.5, table.getValue(2));
+    assertEquals(3., table.getWeight(2), 0.);
+    assertEquals(true, table.getValue(3));
+    assertEquals(null, table.getValue(4));
+    assertEquals(7.5, table.getTotalWeight(), 0.);
+  }
+
+  @Test
+  public void testEmpty() {
+    assertEquals(0, DatabeneScriptParser.parseWeightedLiteralTable("  ").size());
+  }
+
+  @Test
+  public void testDuplicatesAreMerged() {
+    WeightedLiteralTable table = DatabeneScriptParser.parseWeightedLiteralTable("'A'^2, 'B', 'A'^3");
+    assertEquals(2, table.size());
+    assertEquals(0, table.indexOf("A"));
+    assertEquals(5., table.getWeight(0), 0.);
+    assertEquals(-1, table.indexOf("C"));
+  }
+
+  @Test
+  public void testConsistencyWithWeightedLiteralList() {
+    String text = "'A'^2, 'B', 3^0.5";
+    WeightedSample<?>[] expected = DatabeneScriptParser.parseWeightedLiteralList(text);
+    WeightedSample<?>[] actual = DatabeneScriptParser.parseWeightedLiteralTable(text).toSamples();
+    assertEquals(expected.length, actual.length);
+    for (int i = 0; i < expected.length; i++) {
+      assertEquals(expected[i].getValue(), actual[i].getValue());
+      assertEquals(expected[i].getWeight(), actual[i].getWeight(), 0.);
+    }
+  }
+
+  @Test
+  public void testHugeListFromReader() {
+    Reader in = new Reader() {
+      private static final int COUNT = 200000;
+      private int index = 0;
+      private String pending = "";
+      @Override
+      public int read(char[] buffer, int offset, int length) {
+        if (pending.isEmpty()) {
+          if (index == COUNT) {
+            return -1;
+          }
+          pending = (index > 0 ? "," : "") + "'v" + (index % 1000) + "'^" + (index % 3);
+          index++;
+        }
+        int count = Math.min(length, pending.length());
+        pending.getChars(0, count, buffer, offset);
+        pending = pending.substring(count);
+        return count;
+      }
+      @Override
+      public void close() {
+        // nothing to do
+      }
+    };
+    WeightedLiteralTable table = DatabeneScriptParser.parseWeightedLiteralTable(in);
+    assertEquals(1000, table.size());
+    assertEquals(199999., table.getTotalWeight(), 0.); // sum of (i % 3)
+  }
+
+  @Test(expected = SyntaxError.class)
+  public void testNonLiteralValue() {
+    DatabeneScriptParser.parseWeightedLiteralTable(new StringReader("'A', x"));
+  }
+
+  @Test(expected = SyntaxError.class)
+  public void testNonLiteralWeight() {
+    DatabeneScriptParser.parseWeightedLiteralTable("'A'^(1 + 2)");
+  }
+
+  @Test(expected = SyntaxError.class)
+  public void testMissingSeparator() {
+    DatabeneScriptParser.parseWeightedLiteralTable("'A' 'B'");
+  }
+
+}
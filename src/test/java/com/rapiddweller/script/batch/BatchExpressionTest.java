@@ -0,0 +1,105 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.batch;
+
+import com.rapiddweller.common.Context;
+import com.rapiddweller.common.Expression;
+import com.rapiddweller.common.exception.IllegalArgumentError;
+import com.rapiddweller.script.DatabeneScriptParser;
+import com.rapiddweller.script.DefaultScriptContext;
+import org.junit.Test;
+
+import java.util.BitSet;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the {@link BatchExpression}.<br/><br/>
+ * Created: 18.10.2026 20:12:40
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public class BatchExpressionTest {
+
+  private static final long[] A = { 1, 2, 3, 4, 5, -6, 0, Long.MAX_VALUE };
+  private static final long[] B = { 2, 0, 3, 1, 0, 4, 7, 1 };
+  private static final double[] D = { 0.5, -1.5, 3.0, 4.0, Double.NaN, -0.0, 2.25, 1e10 };
+  private static final Object[] S = { "x", "y", null, "x", "z", "", "x", "w" };
+
+  @Test
+  public void testLikeInterpreter() {
+    String[] expressions = {
+        "a + b * 2 - 1", "-a + d", "a * d / 2", "a % 3", "a / (b + 1)",
+        "a > d || s == 'x'", "!(a < 3) && b <= 3", "a == b", "d >= a", "d != d",
+        "s + a", "a + offset", "b != 0 && a / b > 1", "b == 0 || a % b == 0", "s != null && s.length() > 0",
+        "b > 0 ? a : d"
+    };
+    for (String text : expressions) {
+      assertLikeInterpreter(text);
+    }
+  }
+
+  @Test
+  public void testSelect() {
+    BitSet rows = BatchExpression.parse("a > 1 && s == 'x'").select(batch(), context());
+    BitSet expected = new BitSet();
+    expected.set(3);
+    assertEquals(expected, rows);
+  }
+
+  @Test
+  public void testKinds() {
+    BatchExpression expression = BatchExpression.parse("a + 1");
+    Column result = expression.evaluate(batch(), context());
+    assertEquals(Column.LONG, result.getKind());
+    assertEquals(Column.DOUBLE, BatchExpression.parse("a + d").evaluate(batch(), context()).getKind());
+    assertEquals(Column.BOOLEAN, BatchExpression.parse("a < d").evaluate(batch(), context()).getKind());
+    assertEquals(Column.OBJECT, BatchExpression.parse("s + a").evaluate(batch(), context()).getKind());
+    // another batch layout gets its own plan
+    ColumnBatch other = new ColumnBatch(2).addDoubles("a", 1.5, 2.5);
+    assertArrayEquals(new double[] { 2.5, 3.5 }, expression.evaluate(other, context()).getDoubles(), 0.);
+  }
+
+  @Test(expected = ArithmeticException.class)
+  public void testDivisionByZero() {
+    BatchExpression.parse("a / b").evaluate(batch(), context());
+  }
+
+  @Test(expected = IllegalArgumentError.class)
+  public void testIllegalColumnSize() {
+    new ColumnBatch(2).addLongs("a", 1, 2, 3);
+  }
+
+  // helpers ---------------------------------------------------------------------------------------------------------
+
+  private static void assertLikeInterpreter(String text) {
+    ColumnBatch batch = batch();
+    Column column = BatchExpression.parse(text).evaluate(batch, context());
+    Expression<?> expression = DatabeneScriptParser.parseExpression(text);
+    for (int row = 0; row < batch.getRowCount(); row++) {
+      Context context = context();
+      context.set("a", A[row]);
+      context.set("b", B[row]);
+      context.set("d", D[row]);
+      context.set("s", S[row]);
+      Object expected = expression.evaluate(context);
+      Object actual = column.get(row);
+      if (expected instanceof Integer) {
+        expected = ((Integer) expected).longValue();
+      }
+      assertEquals(text + " in row " + row, expected, actual);
+    }
+  }
+
+  private static ColumnBatch batch() {
+    return new ColumnBatch(A.length).addLongs("a", A).addLongs("b", B).addDoubles("d", D).addObjects("s", S);
+  }
+
+  private static Context context() {
+    DefaultScriptContext context = new DefaultScriptContext();
+    context.set("offset", 100);
+    return context;
+  }
+
+}
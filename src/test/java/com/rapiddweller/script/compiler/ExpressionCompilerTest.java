@@ -0,0 +1,180 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.compiler;
+
+import com.rapiddweller.common.Expression;
+import com.rapiddweller.script.DatabeneScriptParser;
+import com.rapiddweller.script.DefaultScriptContext;
+import com.rapiddweller.script.ScriptContext;
+import com.rapiddweller.script.ScriptTestPerson;
+import com.rapiddweller.script.expression.ConstantExpression;
+import com.rapiddweller.script.expression.ExpressionUtil;
+import com.rapiddweller.script.expression.SubtractionExpression;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link ExpressionCompiler} by comparing the results of compiled expressions
+ * with the ones of the interpreted expressions.<br/><br/>
+ * Created: 15.10.2026 14:21:36
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public class ExpressionCompilerTest {
+
+  private ScriptContext context;
+
+  @Before
+  public void setUp() {
+    context = new DefaultScriptContext();
+    context.set("i", 7);
+    context.set("l", 10L);
+    context.set("d", 2.5);
+    context.set("s", "abc");
+    context.set("b", true);
+    context.set("n", null);
+    context.set("p", new ScriptTestPerson("Alice", null, 23, true, 'A'));
+  }
+
+  @Test
+  public void testArithmetic() {
+    check("1 + 2");
+    check("i + 3");
+    check("i + l");
+    check("i * 3 - 4");
+    check("i / 2");
+    check("d / 2");
+    check("l * d");
+    check("i % 3");
+    check("l % 4");
+    check("-i");
+    check("-d");
+    check("2 - 3 - 4");
+    check("2 * 3 * 4");
+  }
+
+  @Test
+  public void testBitwise() {
+    check("i & 3");
+    check("i | 8");
+    check("i ^ 5");
+    check("~i");
+    check("i << 2");
+    check("-i >> 1");
+    check("-i >>> 28");
+  }
+
+  @Test
+  public void testStrings() {
+    check("s + 'def'");
+    check("s + i");
+    check("s == 'abc'");
+    check("s < 'abd'");
+  }
+
+  @Test
+  public void testComparisons() {
+    for (String operator : new String[] {"==", "!=", "<", "<=", ">", ">="}) {
+      check("i " + operator + " 7");
+      check("i " + operator + " 8");
+      check("l " + operator + " 7");
+      check("d " + operator + " 2.5");
+      check("d " + operator + " i");
+    }
+  }
+
+  @Test
+  public void testLogic() {
+    check("b && i > 3");
+    check("b && i > 8");
+    check("!b || i > 8");
+    check("!b || s == 'x' || d < 3");
+    check("!(i == 7)");
+    check("b && 'true'");
+  }
+
+  @Test
+  public void testConditional() {
+    check("(i > 3 ? 'big' : 'small')");
+    check("(i > 8 ? 'big' : 'small')");
+    check("(b ? i + 1 : d)");
+    check("(b ? (i > 5 ? 1 : 2) : 3)");
+  }
+
+  @Test
+  public void testVariablesAndClassNames() {
+    check("n");
+    check("java.lang.Integer.MAX_VALUE + 0");
+    check("p.name == 'Alice'");
+  }
+
+  @Test
+  public void testInvocation() {
+    check("s.length() + 1");
+    check("'[' + s.substring(1, i - 5)");
+    check("'x'.concat(s).toUpperCase() == 'XABC'");
+  }
+
+  @Test
+  public void testInterpretedSubexpressions() {
+    check("new java.lang.StringBuilder(s).reverse().toString() + '!'");
+    check("(i > 3 ? new java.lang.Integer(5) : 0) + 1");
+  }
+
+  @Test
+  public void testNotCompiled() {
+    ConstantExpression<Integer> constant = new ConstantExpression<>(3);
+    assertSame(constant, compile(constant));
+    Expression<?> compiled = compile(DatabeneScriptParser.parseExpression("i + 1"));
+    assertSame(compiled, compile(compiled));
+  }
+
+  @Test
+  public void testSource() {
+    SubtractionExpression source = new SubtractionExpression(
+        "-", ExpressionUtil.constant(5), ExpressionUtil.constant(2));
+    Expression<Object> compiled = compile(source);
+    assertTrue(compiled instanceof CompiledExpression);
+    assertSame(source, ((CompiledExpression<Object>) compiled).getSource());
+    assertTrue(compiled.isConstant());
+    assertEquals(source.toString(), compiled.toString());
+    assertEquals(3, compiled.evaluate(context));
+  }
+
+  @Test
+  public void testClassLoaders() {
+    Expression<?> compiled1 = compile(DatabeneScriptParser.parseExpression("i + 1"));
+    Expression<?> compiled2 = compile(DatabeneScriptParser.parseExpression("i + 1"));
+    assertNotSame(compiled1.getClass(), compiled2.getClass());
+    assertNotSame(compiled1.getClass().getClassLoader(), compiled2.getClass().getClassLoader());
+  }
+
+  @Test
+  public void testLargeExpression() {
+    StringBuilder text = new StringBuilder("(i");
+    for (int i = 0; i < 2000; i++) {
+      text.append(" - ").append(i);
+    }
+    text.append(')');
+    check(text.toString());
+  }
+
+  // helpers ---------------------------------------------------------------------------------------------------------
+
+  protected <E> Expression<E> compile(Expression<E> expression) {
+    return ExpressionCompiler.compile(expression);
+  }
+
+  private void check(String text) {
+    Expression<?> interpreted = DatabeneScriptParser.parseExpression(text);
+    Expression<?> compiled = compile(interpreted);
+    assertTrue("Not compiled: " + text, compiled instanceof CompiledExpression);
+    assertEquals(text, interpreted.evaluate(context), compiled.evaluate(context));
+  }
+
+}
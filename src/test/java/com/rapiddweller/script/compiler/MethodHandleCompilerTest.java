@@ -0,0 +1,42 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.compiler;
+
+import com.rapiddweller.common.Expression;
+import com.rapiddweller.script.DatabeneScriptParser;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests the {@link MethodHandleCompiler} with the same expressions as the {@link ExpressionCompiler}.<br/><br/>
+ * Created: 16.10.2026 10:47:52
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public class MethodHandleCompilerTest extends ExpressionCompilerTest {
+
+  @Override
+  protected <E> Expression<E> compile(Expression<E> expression) {
+    return MethodHandleCompiler.compile(expression);
+  }
+
+  @Test
+  @Override
+  public void testClassLoaders() {
+    // no classes are generated
+    Expression<?> compiled = compile(DatabeneScriptParser.parseExpression("i + 1"));
+    assertSame(MethodHandleExpression.class, compiled.getClass());
+    assertSame(getClass().getClassLoader(), compiled.getClass().getClassLoader());
+  }
+
+  @Test
+  public void testHandleType() {
+    MethodHandleExpression<?> compiled = (MethodHandleExpression<?>) compile(
+        DatabeneScriptParser.parseExpression("(i > 3 && b ? 'x' : 'y')"));
+    assertEquals(Object.class, compiled.getHandle().type().returnType());
+    assertEquals(1, compiled.getHandle().type().parameterCount());
+  }
+
+}
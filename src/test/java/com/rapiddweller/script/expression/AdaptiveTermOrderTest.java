@@ -0,0 +1,165 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.expression;
+
+import com.rapiddweller.common.Context;
+import com.rapiddweller.common.Expression;
+import com.rapiddweller.common.context.DefaultContext;
+import com.rapiddweller.script.DatabeneScriptParser;
+import com.rapiddweller.script.compiler.ExpressionCompiler;
+import com.rapiddweller.script.compiler.MethodHandleCompiler;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the adaptive term order of the {@link ConditionalAndExpression}
+ * and the {@link ConditionalOrExpression}.<br/><br/>
+ * Created: 18.10.2026 18:52:30
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public class AdaptiveTermOrderTest {
+
+  @Test
+  public void testCheapSelectiveTermMovesForward() {
+    Context context = new SlowContext();
+    context.set("slow", true);
+    context.set("cheap", false);
+    ConditionalAndExpression and = adaptiveAnd("slow && cheap");
+    for (int i = 0; i < AdaptiveTermOrder.REORDER_INTERVAL + 1; i++) {
+      assertFalse(and.evaluate(context));
+    }
+    assertArrayEquals(new int[] { 1, 0 }, order(and));
+    PrimitiveValue result = new PrimitiveValue();
+    and.evaluatePrimitive(context, result);
+    assertFalse(result.booleanValue());
+  }
+
+  @Test
+  public void testImpureTermsKeepTheirPosition() {
+    Context context = new SlowContext();
+    context.set("slow", true);
+    context.set("cheap", false);
+    ConditionalAndExpression and = adaptiveAnd("(n = true) && slow && cheap");
+    ConditionalAndExpression separated = adaptiveAnd("slow && (m = true) && cheap");
+    for (int i = 0; i < AdaptiveTermOrder.REORDER_INTERVAL + 1; i++) {
+      assertFalse(and.evaluate(context));
+      assertFalse(separated.evaluate(context));
+    }
+    assertArrayEquals(new int[] { 0, 2, 1 }, order(and));
+    assertArrayEquals(new int[] { 0, 1, 2 }, order(separated));
+  }
+
+  @Test
+  public void testGuardDependency() {
+    Context context = new DefaultContext();
+    context.set("d", 1);
+    ConditionalOrExpression or =
+        (ConditionalOrExpression) DatabeneScriptParser.parseExpression("d == 0 || 10 / d > 1");
+    or.setAdaptive(true);
+    for (int i = 0; i < AdaptiveTermOrder.REORDER_INTERVAL + 1; i++) {
+      assertTrue(or.evaluate(context));
+    }
+    assertArrayEquals(new int[] { 1, 0 }, order(or));
+    // the guard is now evaluated after the division, which fails, so the source order is restored
+    context.set("d", 0);
+    assertTrue(or.evaluate(context));
+    assertArrayEquals(new int[] { 0, 1 }, order(or));
+  }
+
+  @Test
+  public void testConcurrentEvaluation() throws Exception {
+    Context context = new SlowContext();
+    context.set("slow", true);
+    context.set("cheap", false);
+    ConditionalAndExpression and = adaptiveAnd("slow && cheap");
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Boolean>> results = new ArrayList<>();
+      for (int thread = 0; thread < 4; thread++) {
+        results.add(executor.submit(() -> {
+          boolean any = false;
+          for (int i = 0; i < AdaptiveTermOrder.REORDER_INTERVAL; i++) {
+            any |= and.evaluate(context);
+          }
+          return any;
+        }));
+      }
+      for (Future<Boolean> result : results) {
+        assertFalse(result.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertArrayEquals(new int[] { 1, 0 }, order(and));
+  }
+
+  @Test
+  public void testCompiled() {
+    Context context = new DefaultContext();
+    context.set("a", 1);
+    context.set("b", "x");
+    Expression<?> expression = DatabeneScriptParser.parseExpression("a > 0 && (b == 'y' || a < 2)");
+    ExpressionUtil.enableAdaptiveOrdering(expression);
+    assertTrue(((ConditionalAndExpression) expression).isAdaptive());
+    assertEquals(true, expression.evaluate(context));
+    assertEquals(true, ExpressionCompiler.compile(expression).evaluate(context));
+    assertEquals(true, MethodHandleCompiler.compile(expression).evaluate(context));
+    context.set("a", 2);
+    assertEquals(false, expression.evaluate(context));
+    assertEquals(false, ExpressionCompiler.compile(expression).evaluate(context));
+    assertEquals(false, MethodHandleCompiler.compile(expression).evaluate(context));
+  }
+
+  @Test
+  public void testSideEffectFree() {
+    assertTrue(ExpressionUtil.isSideEffectFree(DatabeneScriptParser.parseExpression("a + 1 > b.c && !d")));
+    assertFalse(ExpressionUtil.isSideEffectFree(DatabeneScriptParser.parseExpression("a > (b = 1)")));
+    assertFalse(ExpressionUtil.isSideEffectFree(DatabeneScriptParser.parseExpression("a.size() > 0")));
+    assertTrue(ExpressionUtil.isSideEffectFree(DatabeneScriptParser.parseExpression("Math.abs(a) > 0")));
+    assertFalse(ExpressionUtil.isSideEffectFree(DatabeneScriptParser.parseExpression("Math.random() > 0.5")));
+    assertFalse(ExpressionUtil.isSideEffectFree(DatabeneScriptParser.parseExpression("Math.abs(b = 1) > 0")));
+    assertFalse(ExpressionUtil.isSideEffectFree(DatabeneScriptParser.parseExpression("new java.util.Date()")));
+  }
+
+  // helpers ---------------------------------------------------------------------------------------------------------
+
+  private static ConditionalAndExpression adaptiveAnd(String text) {
+    ConditionalAndExpression result = (ConditionalAndExpression) DatabeneScriptParser.parseExpression(text);
+    result.setAdaptive(true);
+    return result;
+  }
+
+  private static int[] order(ConditionalAndExpression and) {
+    return and.adaptiveOrder().getOrder();
+  }
+
+  private static int[] order(ConditionalOrExpression or) {
+    return or.adaptiveOrder().getOrder();
+  }
+
+  /** Makes reading the variable 'slow' take a few microseconds. */
+  private static final class SlowContext extends DefaultContext {
+    @Override
+    public Object get(String key) {
+      if ("slow".equals(key)) {
+        long end = System.nanoTime() + 5000;
+        while (System.nanoTime() < end) {
+          Thread.onSpinWait();
+        }
+      }
+      return super.get(key);
+    }
+  }
+
+}
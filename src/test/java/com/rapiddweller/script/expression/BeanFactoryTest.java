@@ -0,0 +1,134 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.expression;
+
+import com.rapiddweller.common.Context;
+import com.rapiddweller.common.context.ContextAware;
+import com.rapiddweller.common.exception.IllegalArgumentError;
+import com.rapiddweller.script.Assignment;
+import com.rapiddweller.script.DefaultScriptContext;
+import com.rapiddweller.script.ScriptTestPerson;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the {@link BeanFactory} and its use by the {@link BeanConstruction}.<br/><br/>
+ * Created: 18.10.2026 13:48:21
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public class BeanFactoryTest {
+
+  private final Context context = new DefaultScriptContext();
+
+  @Test
+  public void testConversion() {
+    BeanConstruction<ScriptTestPerson> construction = new BeanConstruction<>(ScriptTestPerson.class.getName(),
+        assignments("name", "Alice", "score", "12", "rank", "A", "registered", "true"));
+    for (int i = 0; i < 2; i++) {
+      ScriptTestPerson person = construction.evaluate(context);
+      assertEquals("Alice", person.getName());
+      assertEquals(12, person.getScore());
+      assertEquals('A', person.getRank());
+      assertEquals(true, person.isRegistered());
+    }
+    // a different value class for the same property
+    ScriptTestPerson person = new BeanConstruction<ScriptTestPerson>(ScriptTestPerson.class.getName(),
+        assignments("score", 12L)).evaluate(context);
+    assertEquals(12, person.getScore());
+  }
+
+  @Test
+  public void testNonProperty() {
+    BeanFactory<HashMap> factory = new BeanFactory<>(HashMap.class, assignments("x", 1));
+    Map<?, ?> map = factory.initialize(factory.newInstance(), context);
+    assertEquals(1, map.get("x"));
+  }
+
+  @Test
+  public void testReadOnlyProperty() {
+    BeanFactory<Bean> factory = new BeanFactory<>(Bean.class, assignments("readOnly", "x"));
+    assertEquals("initial", factory.initialize(factory.newInstance(), context).getReadOnly());
+  }
+
+  @Test
+  public void testContextAware() {
+    BeanFactory<Bean> factory = new BeanFactory<>(Bean.class, new Assignment[0]);
+    assertSame(context, factory.initialize(factory.newInstance(), context).context);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullForPrimitive() {
+    BeanFactory<ScriptTestPerson> factory = new BeanFactory<>(ScriptTestPerson.class, assignments("score", null));
+    factory.initialize(factory.newInstance(), context);
+  }
+
+  @Test
+  public void testFailingSetter() {
+    BeanFactory<Bean> factory = new BeanFactory<>(Bean.class, assignments("failing", "x"));
+    try {
+      factory.initialize(factory.newInstance(), context);
+      fail("IllegalArgumentError expected");
+    } catch (IllegalArgumentError e) {
+      assertEquals("x", e.getCause().getMessage());
+    }
+  }
+
+  @Test
+  public void testChangingClass() {
+    context.set("bean", new Bean());
+    BeanConstruction<Object> construction = new BeanConstruction<>(
+        new FeatureAccessExpression<>("bean"), assignments("name", "Bob"));
+    Bean bean = (Bean) construction.evaluate(context);
+    assertEquals("Bob", bean.getName());
+    context.set("bean", new ScriptTestPerson());
+    ScriptTestPerson person = (ScriptTestPerson) construction.evaluate(context);
+    assertEquals("Bob", person.getName());
+    assertNotSame(bean, person);
+  }
+
+  // helpers ---------------------------------------------------------------------------------------------------------
+
+  private static Assignment[] assignments(Object... namesAndValues) {
+    Assignment[] result = new Assignment[namesAndValues.length / 2];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = new Assignment((String) namesAndValues[2 * i], ExpressionUtil.constant(namesAndValues[2 * i + 1]));
+    }
+    return result;
+  }
+
+  public static class Bean implements ContextAware {
+
+    private String name;
+    Context context;
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public String getReadOnly() {
+      return "initial";
+    }
+
+    public void setFailing(String message) {
+      throw new IllegalStateException(message);
+    }
+
+    @Override
+    public void setContext(Context context) {
+      this.context = context;
+    }
+  }
+
+}
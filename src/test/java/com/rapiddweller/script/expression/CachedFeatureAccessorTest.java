@@ -0,0 +1,108 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.expression;
+
+import com.rapiddweller.common.ConfigurationError;
+import com.rapiddweller.common.context.DefaultContext;
+import com.rapiddweller.common.exception.IllegalArgumentError;
+import com.rapiddweller.script.ScriptTestUtil;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the {@link CachedFeatureAccessor}.<br/><br/>
+ * Created: 18.10.2026 09:58:04
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public class CachedFeatureAccessorTest {
+
+  @Test
+  public void testMapAndContext() {
+    assertEquals(1, CachedFeatureAccessor.getValue(Collections.singletonMap("x", 1), "x"));
+    DefaultContext context = new DefaultContext();
+    context.set("x", 2);
+    assertEquals(2, CachedFeatureAccessor.getValue(context, "x"));
+    assertNull(CachedFeatureAccessor.getValue(null, "x"));
+  }
+
+  @Test
+  public void testPropertyAndField() {
+    Bean bean = new Bean();
+    assertEquals("prop", CachedFeatureAccessor.getValue(bean, "property"));
+    assertEquals(42, CachedFeatureAccessor.getValue(bean, "field"));
+  }
+
+  @Test
+  public void testStaticField() {
+    assertEquals("pubVarContent", CachedFeatureAccessor.getValue(ScriptTestUtil.class, "pubvar"));
+    // Class properties take precedence over static fields, like in the FeatureAccessor
+    assertEquals(Bean.class.getSimpleName(), CachedFeatureAccessor.getValue(Bean.class, "simpleName"));
+  }
+
+  @Test
+  public void testArrayLength() {
+    assertEquals(3, CachedFeatureAccessor.getValue(new int[3], "length"));
+    assertEquals(2, CachedFeatureAccessor.getValue(new String[2], "length"));
+  }
+
+  @Test
+  public void testFailingGetter() {
+    try {
+      CachedFeatureAccessor.getValue(new Bean(), "failing");
+      fail("ConfigurationError expected");
+    } catch (ConfigurationError e) {
+      assertEquals("failed", e.getCause().getMessage());
+    }
+  }
+
+  @Test
+  public void testChildClassLoader() throws Exception {
+    // a class which is not visible to the class loader of the accessor is read through method handles
+    Class<?> beanClass = new IsolatingClassLoader().loadIsolated(Bean.class);
+    assertNotSame(Bean.class, beanClass);
+    Object bean = beanClass.getConstructor().newInstance();
+    assertEquals("prop", CachedFeatureAccessor.getValue(bean, "property"));
+    assertEquals(42, CachedFeatureAccessor.getValue(bean, "field"));
+  }
+
+  @Test(expected = IllegalArgumentError.class)
+  public void testMissingFeature() {
+    CachedFeatureAccessor.getValue(new Bean(), "missing");
+  }
+
+  public static class Bean {
+    public int field = 42;
+    public String getProperty() {
+      return "prop";
+    }
+    public String getFailing() {
+      throw new IllegalStateException("failed");
+    }
+  }
+
+  /** Defines a second instance of a class. */
+  static class IsolatingClassLoader extends ClassLoader {
+
+    IsolatingClassLoader() {
+      super(IsolatingClassLoader.class.getClassLoader());
+    }
+
+    Class<?> loadIsolated(Class<?> type) throws IOException {
+      String resourceName = type.getName().replace('.', '/') + ".class";
+      try (InputStream in = getParent().getResourceAsStream(resourceName)) {
+        byte[] bytes = in.readAllBytes();
+        return defineClass(type.getName(), bytes, 0, bytes.length);
+      }
+    }
+  }
+
+}
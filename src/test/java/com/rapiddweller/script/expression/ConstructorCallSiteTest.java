@@ -0,0 +1,144 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.expression;
+
+import com.rapiddweller.common.ConfigurationError;
+import com.rapiddweller.common.Context;
+import com.rapiddweller.common.Expression;
+import com.rapiddweller.common.context.DefaultContext;
+import com.rapiddweller.common.exception.IllegalArgumentError;
+import com.rapiddweller.script.DefaultScriptContext;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the {@link ConstructorCallSite} and the class resolution of the {@link Construction}.<br/><br/>
+ * Created: 18.10.2026 15:20:37
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public class ConstructorCallSiteTest {
+
+  @Test
+  public void testConstructor() {
+    ConstructorCallSite site = new ConstructorCallSite();
+    assertEquals(new Date(1000L), site.newInstance(Date.class, new Object[] { 1000L }));
+    assertEquals(new Date(2000L), site.newInstance(Date.class, new Object[] { 2000L }));
+    assertEquals(new ArrayList<>(), site.newInstance(ArrayList.class, new Object[0]));
+    assertEquals(2, site.size());
+  }
+
+  @Test
+  public void testConversion() {
+    // Date has only one public constructor with one parameter, so the Integer is converted to long
+    assertEquals(new Date(1000L), new ConstructorCallSite().newInstance(Date.class, new Object[] { 1000 }));
+    // BigDecimal has several constructors with one parameter, of which BigDecimal(String) matches
+    Object decimal = new ConstructorCallSite().newInstance(BigDecimal.class, new Object[] { "1.5" });
+    assertEquals(new BigDecimal("1.5"), decimal);
+  }
+
+  @Test
+  public void testNull() {
+    ConstructorCallSite site = new ConstructorCallSite();
+    assertNull(((Bean) site.newInstance(Bean.class, new Object[] { null })).name);
+    assertEquals("x", ((Bean) site.newInstance(Bean.class, new Object[] { "x" })).name);
+  }
+
+  @Test
+  public void testMegamorphic() {
+    ConstructorCallSite site = new ConstructorCallSite();
+    Object[] args = { 1, 2L, '3', "4", (short) 5, (byte) 6 };
+    for (Object arg : args) {
+      assertEquals(arg.toString(), ((Bean) site.newInstance(Bean.class, new Object[] { arg })).name);
+    }
+    assertTrue(site.isMegamorphic());
+    assertEquals(0, site.size());
+    assertEquals("7", ((Bean) site.newInstance(Bean.class, new Object[] { 7 })).name);
+  }
+
+  @Test(expected = IllegalArgumentError.class)
+  public void testWrongArgumentCount() {
+    new ConstructorCallSite().newInstance(Bean.class, new Object[] { "a", "b" });
+  }
+
+  @Test
+  public void testException() {
+    ConstructorCallSite site = new ConstructorCallSite();
+    try {
+      site.newInstance(Failing.class, new Object[] { "boom" });
+      fail("IllegalArgumentError expected");
+    } catch (IllegalArgumentError e) {
+      assertEquals("boom", e.getCause().getMessage());
+    }
+    assertFalse(site.isMegamorphic());
+  }
+
+  @Test
+  public void testConstruction() {
+    Context context = new DefaultContext();
+    ParameterizedConstruction<Date> construction = new ParameterizedConstruction<>(
+        "java.util.Date", new Expression<?>[] { ExpressionUtil.constant(1000L) });
+    assertTrue(construction.classExists(context));
+    assertSame(Date.class, construction.findType(context));
+    assertEquals(new Date(1000L), construction.evaluate(context));
+    assertEquals(new Date(1000L), construction.evaluate(context));
+  }
+
+  @Test
+  public void testMissingClass() {
+    ParameterizedConstruction<Object> construction = new ParameterizedConstruction<>(
+        "com.example.Missing", new Expression<?>[0]);
+    Context context = new DefaultContext();
+    assertFalse(construction.classExists(context));
+    assertFalse(construction.classExists(context));
+    try {
+      construction.getType(context);
+      fail("ConfigurationError expected");
+    } catch (ConfigurationError e) {
+      // expected
+    }
+    assertFalse(construction.classExists(new DefaultScriptContext()));
+  }
+
+  @Test
+  public void testImports() {
+    ParameterizedConstruction<Object> construction = new ParameterizedConstruction<>("Date", new Expression<?>[0]);
+    DefaultScriptContext context = new DefaultScriptContext();
+    assertFalse(construction.classExists(context));
+    context.importPackage("java.util");
+    assertTrue(construction.classExists(context));
+    assertSame(Date.class, construction.findType(context));
+    DefaultScriptContext other = new DefaultScriptContext();
+    other.importClass("java.sql.Date");
+    assertSame(java.sql.Date.class, construction.findType(other));
+  }
+
+  // helpers ---------------------------------------------------------------------------------------------------------
+
+  public static class Bean {
+
+    final String name;
+
+    public Bean(String name) {
+      this.name = name;
+    }
+  }
+
+  public static class Failing {
+
+    public Failing(String message) {
+      throw new IllegalStateException(message);
+    }
+  }
+
+}
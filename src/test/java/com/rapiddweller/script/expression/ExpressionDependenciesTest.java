@@ -0,0 +1,69 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.expression;
+
+import com.rapiddweller.common.CollectionUtil;
+import com.rapiddweller.common.Expression;
+import com.rapiddweller.script.DatabeneScriptParser;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link ExpressionDependencies}.<br/><br/>
+ * Created: 18.10.2026 22:52:18
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public class ExpressionDependenciesTest {
+
+  @Test
+  public void testPure() {
+    ExpressionDependencies dependencies = analyze("a + b.c > 3 && !(d == 'x')");
+    assertEquals(CollectionUtil.toSet("a", "b", "d"), dependencies.getReadVariables());
+    assertTrue(dependencies.getWrittenVariables().isEmpty());
+    assertTrue(dependencies.getInvokedMethods().isEmpty());
+    assertTrue(dependencies.isPure());
+    assertTrue(dependencies.isComplete());
+  }
+
+  @Test
+  public void testAssignmentsAndInvocations() {
+    ExpressionDependencies dependencies = analyze("x = Math.max(y, s.length()) + new java.lang.Integer(z)");
+    assertEquals(CollectionUtil.toSet("x"), dependencies.getWrittenVariables());
+    assertEquals(CollectionUtil.toSet("Math", "y", "s", "z"), dependencies.getReadVariables());
+    assertEquals(CollectionUtil.toSet("Math.max", "s.length"), dependencies.getInvokedMethods());
+    assertEquals(CollectionUtil.toSet("java.lang.Integer"), dependencies.getClassNames());
+    assertFalse(dependencies.isPure());
+  }
+
+  @Test
+  public void testIndependence() {
+    ExpressionDependencies sum = analyze("a + b");
+    ExpressionDependencies assignment = analyze("c = a * 2");
+    ExpressionDependencies reader = analyze("c + 1");
+    ExpressionDependencies invocation = analyze("s.trim()");
+    assertTrue(sum.isIndependentOf(assignment));
+    assertFalse(assignment.isIndependentOf(reader));
+    assertFalse(reader.isIndependentOf(assignment));
+    assertFalse(sum.isIndependentOf(invocation));
+  }
+
+  @Test
+  public void testCache() {
+    Expression<?> expression = DatabeneScriptParser.parseExpression("a * 2");
+    ExpressionDependencies dependencies = ExpressionDependencies.of(expression);
+    assertSame(dependencies, ExpressionDependencies.of(expression));
+    assertEquals(ExpressionUtil.isSideEffectFree(expression), dependencies.isPure());
+  }
+
+  // helpers ---------------------------------------------------------------------------------------------------------
+
+  private static ExpressionDependencies analyze(String text) {
+    return ExpressionDependencies.analyze(DatabeneScriptParser.parseExpression(text));
+  }
+
+}
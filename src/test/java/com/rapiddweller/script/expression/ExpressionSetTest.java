@@ -0,0 +1,147 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.expression;
+
+import com.rapiddweller.common.Context;
+import com.rapiddweller.common.Expression;
+import com.rapiddweller.common.context.DefaultContext;
+import com.rapiddweller.script.DatabeneScriptParser;
+import com.rapiddweller.script.DefaultScriptContext;
+import com.rapiddweller.script.QNExpression;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Date;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link ExpressionSet}.<br/><br/>
+ * Created: 18.10.2026 22:06:31
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public class ExpressionSetTest {
+
+  @Test
+  public void testSharedSubexpressions() {
+    ExpressionSet set = new ExpressionSet(parse("x / 7 + 1 > 2"), parse("(x / 7) * 3"), parse("x + 1"),
+        parse("(x / 7) * 3 - x"));
+    assertEquals(2, set.getSharedCount()); // x / 7 and (x / 7) * 3
+    CountingContext context = new CountingContext();
+    context.set("x", 21);
+    assertArrayEquals(new Object[] { true, 9, 22, -12 }, set.evaluate(context));
+    assertEquals(3, context.reads); // once for x / 7, once for x + 1, once for the final - x
+    // outside a pass, each expression is evaluated completely
+    context.reads = 0;
+    assertEquals(-12, set.getExpressions()[3].evaluate(context));
+    assertEquals(2, context.reads);
+  }
+
+  @Test
+  public void testSideEffects() {
+    ExpressionSet set = new ExpressionSet(parse("y * 2 + 1"), parse("y = y + 1"), parse("y * 2 + 1"));
+    assertEquals(2, set.getSharedCount()); // y * 2 + 1 and its term y * 2
+    Context context = new DefaultContext();
+    context.set("y", 1);
+    assertArrayEquals(new Object[] { 3, 2, 5 }, set.evaluate(context));
+    assertArrayEquals(new Object[] { 5, 3, 7 }, set.evaluate(context));
+  }
+
+  @Test
+  public void testPureMethodCalls() {
+    ExpressionSet set = new ExpressionSet(parse("Math.floor(x / 7) + 1"), parse("Math.floor(x / 7) * 2"));
+    assertEquals(1, set.getSharedCount()); // Math.floor(x / 7)
+    CountingContext context = new CountingContext();
+    context.set("x", 22);
+    assertArrayEquals(new Object[] { 4., 6. }, set.evaluate(context));
+    assertEquals(1, context.reads);
+  }
+
+  @Test
+  public void testSideEffectsInOtherTerms() {
+    ExpressionSet set = new ExpressionSet(parse("customer.address.country + 'x'"),
+        parse("customer.address.country + name.length()"));
+    assertEquals(1, set.getSharedCount()); // customer.address.country
+    Expression<?>[] expressions = set.getExpressions();
+    assertTrue(((CompositeExpression<?, ?>) expressions[1]).getSourceExpressions()[0] instanceof SharedExpression);
+    Context context = new DefaultScriptContext();
+    context.set("customer", Collections.singletonMap("address", Collections.singletonMap("country", "DE")));
+    context.set("name", "ab");
+    assertArrayEquals(new Object[] { "DEx", "DE2" }, set.evaluate(context));
+  }
+
+  @Test
+  public void testSideEffectBetweenSharedTerms() {
+    ExpressionSet set = new ExpressionSet(parse("x / 7 * 2"), parse("x / 7 + (x = 28) + x / 7"));
+    assertEquals(1, set.getSharedCount()); // x / 7
+    Context context = new DefaultContext();
+    context.set("x", 21);
+    // the assignment discards the shared result, so the last term reads the new value of x
+    assertArrayEquals(new Object[] { 6, 35 }, set.evaluate(context));
+  }
+
+  @Test
+  public void testDifferentConstantTypes() {
+    ExpressionSet set = new ExpressionSet(parse("z + 1"), parse("z + 1.0"), parse("z + '1'"));
+    assertEquals(0, set.getSharedCount());
+    Context context = new DefaultContext();
+    context.set("z", 1);
+    assertArrayEquals(new Object[] { 2, 2.0, "11" }, set.evaluate(context));
+  }
+
+  @Test
+  public void testTreesAreNotModified() {
+    Expression<?> first = parse("x / 7 + 1 > 2");
+    Expression<?> second = parse("(x / 7) * 3");
+    String firstText = first.toString();
+    Expression<?> firstTerm = ((BinaryExpression<?>) first).term1;
+    ExpressionSet set = new ExpressionSet(first, second);
+    assertEquals(1, set.getSharedCount());
+    assertSame(firstTerm, ((BinaryExpression<?>) first).term1);
+    assertEquals(firstText, first.toString());
+    assertNotSame(first, set.getExpressions()[0]);
+    assertFalse(((BinaryExpression<?>) set.getExpressions()[0]).term1 instanceof SharedExpression);
+    Context context = new DefaultContext();
+    context.set("x", 21);
+    assertArrayEquals(new Object[] { true, 9 }, set.evaluate(context));
+  }
+
+  @Test
+  public void testConstantsWithEqualText() {
+    // the dates differ only in milliseconds, which their toString() omits
+    Expression<?> early = new SumExpression("+", new QNExpression(new String[] { "d" }),
+        new ConstantExpression<>(new Date(1000)), new ConstantExpression<>(new Date(1000)));
+    Expression<?> late = new SumExpression("+", new QNExpression(new String[] { "d" }),
+        new ConstantExpression<>(new Date(1000)), new ConstantExpression<>(new Date(1001)));
+    assertEquals(early.toString(), late.toString());
+    assertEquals(0, new ExpressionSet(early, late).getSharedCount());
+    assertEquals(1, new ExpressionSet(early, early).getSharedCount());
+  }
+
+  // helpers ---------------------------------------------------------------------------------------------------------
+
+  private static Expression<?> parse(String text) {
+    return DatabeneScriptParser.parseExpression(text);
+  }
+
+  /** Counts the reads of the variable 'x'. */
+  private static final class CountingContext extends DefaultScriptContext {
+
+    int reads;
+
+    @Override
+    public Object get(String key) {
+      if ("x".equals(key)) {
+        reads++;
+      }
+      return super.get(key);
+    }
+  }
+
+}
@@ -0,0 +1,165 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.expression;
+
+import com.rapiddweller.common.Context;
+import com.rapiddweller.common.Expression;
+import com.rapiddweller.common.context.DefaultContext;
+import com.rapiddweller.script.DatabeneScriptParser;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the constant folding of the {@link ExpressionUtil}.<br/><br/>
+ * Created: 16.10.2026 15:08:24
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public class ExpressionUtilTest {
+
+  private Context context;
+
+  @Before
+  public void setUp() {
+    context = new DefaultContext();
+    context.set("x", 2);
+  }
+
+  @After
+  public void disableFolding() {
+    DatabeneScriptParser.setConstantFolding(false);
+  }
+
+  @Test
+  public void testConstantTree() {
+    Expression<?> folded = fold("1 + 2 * 3");
+    assertTrue(folded instanceof ConstantExpression);
+    assertEquals(7, folded.evaluate(context));
+  }
+
+  @Test
+  public void testConstantSubtrees() {
+    SumExpression folded = (SumExpression) fold("x * (60 * 60 * 24) + 'prefix' + 'suffix'");
+    assertEquals("prefixsuffix", constantValue(folded.getTerms()[1]));
+    MultiplicationExpression product = (MultiplicationExpression) folded.getTerms()[0];
+    assertEquals(86400, constantValue(product.getTerms()[1]));
+    assertEquals("172800prefixsuffix", folded.evaluate(context));
+    context.set("x", null);
+    assertEquals(parse("x * (60 * 60 * 24) + 'prefix' + 'suffix'").evaluate(context), folded.evaluate(context));
+  }
+
+  @Test
+  public void testOperatorArguments() {
+    LessExpression folded = (LessExpression) fold("-x < -(3 + 4)");
+    assertEquals(-7, constantValue(folded.getSourceExpressions()[1]));
+    assertTrue(folded.getSourceExpressions()[0] instanceof UnaryMinusExpression);
+    assertFalse(folded.evaluate(context));
+  }
+
+  @Test
+  public void testLeadingFactors() {
+    MultiplicationExpression product = new MultiplicationExpression("*",
+        ExpressionUtil.constant(2), ExpressionUtil.constant(3), new DynamicValue("x"), ExpressionUtil.constant(4));
+    MultiplicationExpression folded = (MultiplicationExpression) ExpressionUtil.foldConstants(product, context);
+    assertEquals(3, folded.getTerms().length);
+    assertEquals(6, constantValue(folded.getTerms()[0]));
+    assertEquals(48, folded.evaluate(context));
+    assertEquals(4, product.getTerms().length);
+  }
+
+  @Test
+  public void testNumericSummandsAreNotMerged() {
+    // (x + 1) + 2 may not be rewritten to x + 3, since x may be a String
+    SumExpression folded = (SumExpression) fold("x + 1 + 2");
+    assertTrue(folded.getTerms()[0] instanceof SumExpression);
+    context.set("x", "a");
+    assertEquals("a12", folded.evaluate(context));
+  }
+
+  @Test
+  public void testAdjacentStringSummands() {
+    SumExpression sum = new SumExpression(new DynamicValue("x"), ExpressionUtil.constant("a"),
+        ExpressionUtil.constant("b"), new DynamicValue("x"), ExpressionUtil.constant("c"));
+    SumExpression folded = (SumExpression) ExpressionUtil.foldConstants(sum, context);
+    assertEquals(4, folded.getTerms().length);
+    assertEquals("ab", constantValue(folded.getTerms()[1]));
+    assertEquals("2ab2c", folded.evaluate(context));
+  }
+
+  @Test
+  public void testNonOperatorNodes() {
+    ConditionalExpression<?> folded =
+        (ConditionalExpression<?>) fold("x > 1 ? java.lang.Math.max(2 * 3, x) : (int) (1 + 1)");
+    Expression<?> invocation = folded.getAlt1();
+    assertEquals(6, constantValue(((WrapperExpression<?>) invocation).getSourceExpressions()[0]));
+    assertEquals(2, constantValue(folded.getAlt2()));
+    assertEquals(6, folded.evaluate(context));
+  }
+
+  @Test
+  public void testTreeIsNotModified() {
+    Expression<?> expression = parse("x + (2 * 3)");
+    Expression<?> folded = ExpressionUtil.foldConstants(expression, context);
+    assertNotSame(expression, folded);
+    assertTrue(((SumExpression) expression).getTerms()[1] instanceof MultiplicationExpression);
+    assertEquals(6, constantValue(((SumExpression) folded).getTerms()[1]));
+  }
+
+  @Test
+  public void testErrorIsDeferred() {
+    Expression<?> folded = fold("x > 0 || 1 / 0 > 0");
+    assertTrue(folded instanceof ConditionalOrExpression);
+    assertEquals(true, folded.evaluate(context));
+  }
+
+  @Test
+  public void testParserOptIn() {
+    DatabeneScriptParser.setConstantFolding(true);
+    assertTrue(DatabeneScriptParser.parseExpression("'a' + 'b'") instanceof ConstantExpression);
+    DatabeneScriptParser.setConstantFolding(false);
+    assertTrue(DatabeneScriptParser.parseExpression("'a' + 'b'") instanceof SumExpression);
+  }
+
+  @Test
+  public void testNonOperatorRoot() {
+    Expression<?> expression = parse("x");
+    assertSame(expression, ExpressionUtil.foldConstants(expression, context));
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private static Expression<?> parse(String text) {
+    return DatabeneScriptParser.parseExpression(text);
+  }
+
+  private Expression<?> fold(String text) {
+    return ExpressionUtil.foldConstants(parse(text), context);
+  }
+
+  private static Object constantValue(Expression<?> expression) {
+    assertTrue(expression + " is not a constant", expression instanceof ConstantExpression);
+    return ((ConstantExpression<?>) expression).getValue();
+  }
+
+  private static class DynamicValue extends DynamicExpression<Object> {
+
+    private final String name;
+
+    DynamicValue(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public Object evaluate(Context context) {
+      return context.get(name);
+    }
+  }
+
+}
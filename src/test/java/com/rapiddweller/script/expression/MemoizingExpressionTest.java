@@ -0,0 +1,139 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.expression;
+
+import com.rapiddweller.common.Context;
+import com.rapiddweller.common.Expression;
+import com.rapiddweller.script.DatabeneScriptParser;
+import com.rapiddweller.script.DefaultScriptContext;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link MemoizingExpression}, {@link MemoCache} and {@link PureMethods}.<br/><br/>
+ * Created: 18.10.2026 23:44:12
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public class MemoizingExpressionTest {
+
+  @Test
+  public void testRepeatedArguments() {
+    String text = "Math.max(x, 3) + s.concat('!') + x.toString().length()";
+    MemoCache cache = new MemoCache();
+    Expression<?> plain = DatabeneScriptParser.parseExpression(text);
+    Expression<?> memoized = ExpressionUtil.memoizePureInvocations(DatabeneScriptParser.parseExpression(text), cache);
+    Context context = new DefaultScriptContext();
+    for (int i = 0; i < 20; i++) {
+      context.set("x", i % 5);
+      context.set("s", (i % 2 == 0 ? "a" : "b"));
+      assertEquals(plain.evaluate(context), memoized.evaluate(context));
+    }
+    // 5 values of Math.max, 2 of concat; the nested toString() is not memoized, so neither is length()
+    assertEquals(7, cache.size());
+    assertEquals(40 - 7, cache.getHitCount());
+    assertEquals(7, cache.getMissCount());
+    assertEquals(33. / 40, cache.getHitRate(), 1e-9);
+    cache.resetStatistics();
+    assertEquals(0., cache.getHitRate(), 0.);
+  }
+
+  @Test
+  public void testImpureMethods() {
+    MemoCache cache = new MemoCache();
+    Expression<?> random = ExpressionUtil.memoizePureInvocations(
+        DatabeneScriptParser.parseExpression("Math.random() + 1"), cache);
+    Context context = new DefaultScriptContext();
+    assertTrue(!random.evaluate(context).equals(random.evaluate(context)));
+    assertEquals(0, cache.size());
+    // unregistered static methods are not wrapped at all
+    StaticMethodCallExpression counter = new StaticMethodCallExpression(Counter.class, "next");
+    assertSame(counter, ExpressionUtil.memoizePureInvocations(counter, cache));
+    assertEquals(1, counter.evaluate(context));
+    assertEquals(2, counter.evaluate(context));
+  }
+
+  @Test
+  public void testLocaleDependentMethods() {
+    MemoCache cache = new MemoCache();
+    Expression<?> expression = ExpressionUtil.memoizePureInvocations(
+        DatabeneScriptParser.parseExpression("s.toUpperCase()"), cache);
+    assertFalse(expression instanceof MemoizingExpression);
+    assertFalse(PureMethods.isPureInstanceMethod(String.class, "toLowerCase"));
+    assertFalse(PureMethods.isPureStaticMethod(String.class, "format"));
+  }
+
+  @Test
+  public void testImpureOwnerClass() {
+    // the name is registered for String, but the owner is a StringBuilder, which is evaluated only once
+    MemoCache cache = new MemoCache();
+    Expression<?> expression = ExpressionUtil.memoizePureInvocations(
+        DatabeneScriptParser.parseExpression("b.length()"), cache);
+    assertTrue(expression instanceof MemoizingExpression);
+    CountingContext context = new CountingContext();
+    context.set("b", new StringBuilder("abc"));
+    assertEquals(3, expression.evaluate(context));
+    assertEquals(1, context.reads);
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testTreeIsNotModified() {
+    Expression<?> sum = DatabeneScriptParser.parseExpression("Math.abs(x) + 1");
+    Expression<?> term = ((CompositeExpression<?, ?>) sum).getTerms()[0];
+    Expression<?> memoized = ExpressionUtil.memoizePureInvocations(sum, new MemoCache());
+    assertNotSame(sum, memoized);
+    assertSame(term, ((CompositeExpression<?, ?>) sum).getTerms()[0]);
+    assertTrue(((CompositeExpression<?, ?>) memoized).getTerms()[0] instanceof MemoizingExpression);
+  }
+
+  @Test
+  public void testEviction() {
+    checkEviction(MemoCache.Eviction.OLDEST, 2);
+    checkEviction(MemoCache.Eviction.CLEAR, 1);
+  }
+
+  // helpers ---------------------------------------------------------------------------------------------------------
+
+  private static void checkEviction(MemoCache.Eviction eviction, int expectedSize) {
+    MemoCache cache = new MemoCache(2, eviction, true);
+    Expression<?> expression = ExpressionUtil.memoizePureInvocations(
+        DatabeneScriptParser.parseExpression("Math.abs(x)"), cache);
+    Context context = new DefaultScriptContext();
+    for (int x = 1; x <= 3; x++) {
+      context.set("x", -x);
+      assertEquals(x, expression.evaluate(context));
+    }
+    assertEquals(expectedSize, cache.size());
+    assertEquals(3 - expectedSize, cache.getEvictionCount());
+  }
+
+  /** Counts the reads of the variable 'b'. */
+  private static final class CountingContext extends DefaultScriptContext {
+
+    int reads;
+
+    @Override
+    public Object get(String key) {
+      if ("b".equals(key)) {
+        reads++;
+      }
+      return super.get(key);
+    }
+  }
+
+  public static final class Counter {
+
+    private static int count;
+
+    public static int next() {
+      return ++count;
+    }
+  }
+
+}
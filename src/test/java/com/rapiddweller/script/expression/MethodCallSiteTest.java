@@ -0,0 +1,162 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.expression;
+
+import com.rapiddweller.common.OperationFailed;
+import com.rapiddweller.common.exception.IllegalArgumentError;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the {@link MethodCallSite}.<br/><br/>
+ * Created: 18.10.2026 11:26:50
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public class MethodCallSiteTest {
+
+  @Test
+  public void testInstanceMethod() {
+    MethodCallSite site = new MethodCallSite("substring", true);
+    assertEquals("ice", site.invoke("Alice", new Object[] { 2 }));
+    assertEquals("ob", site.invoke("Bob", new Object[] { 1 }));
+    assertEquals(1, site.size());
+  }
+
+  @Test
+  public void testStaticMethod() {
+    MethodCallSite site = new MethodCallSite("max", false);
+    assertEquals(3, site.invokeStatic(Math.class, new Object[] { 2, 3 }));
+    // like in the BeanUtil, the first method which accepts the arguments after conversion is chosen
+    assertEquals(5, site.invokeStatic(Math.class, new Object[] { 5L, 4L }));
+    assertEquals(2, site.size());
+    // static methods can also be called on Class objects
+    assertEquals(7, new MethodCallSite("max", true).invoke(Math.class, new Object[] { 7, 6 }));
+  }
+
+  @Test
+  public void testConversion() {
+    // Math.max(int, int) is found for Integer and Long arguments and requires conversion of the Long
+    assertEquals(3, new MethodCallSite("max", false).invokeStatic(Math.class, new Object[] { 1, 3L }));
+    // assignable values which a converter would change are converted like by the BeanUtil
+    Timestamp timestamp = new Timestamp(1000);
+    Object result = new MethodCallSite("identity", false).invokeStatic(getClass(), new Object[] { timestamp });
+    assertEquals(Date.class, result.getClass());
+    assertEquals(1000, ((Date) result).getTime());
+  }
+
+  @Test
+  public void testNullAndVoid() {
+    List<Object> list = new ArrayList<>();
+    MethodCallSite site = new MethodCallSite("add", true);
+    assertEquals(true, site.invoke(list, new Object[] { null }));
+    assertEquals(true, site.invoke(list, new Object[] { "x" }));
+    assertNull(new MethodCallSite("clear", true).invoke(list, new Object[0]));
+    assertTrue(list.isEmpty());
+  }
+
+  @Test
+  public void testVarargs() {
+    MethodCallSite site = new MethodCallSite("format", false);
+    assertEquals("1-2", site.invokeStatic(String.class, new Object[] { "%s-%s", 1, 2 }));
+  }
+
+  @Test
+  public void testMegamorphic() {
+    MethodCallSite site = new MethodCallSite("toString", true);
+    Object[] targets = { 1, 2L, 3., "4", 'c', true };
+    for (Object target : targets) {
+      assertEquals(String.valueOf(target), site.invoke(target, new Object[0]));
+    }
+    assertTrue(site.isMegamorphic());
+    assertEquals(0, site.size());
+    assertEquals("7", site.invoke(7, new Object[0]));
+  }
+
+  @Test(expected = IllegalArgumentError.class)
+  public void testUnknownMethod() {
+    new MethodCallSite("undefined", true).invoke("x", new Object[0]);
+  }
+
+  @Test
+  public void testException() {
+    MethodCallSite site = new MethodCallSite("failWith", true);
+    try {
+      site.invokeStatic(getClass(), new Object[] { "boom" });
+      fail("OperationFailed expected");
+    } catch (OperationFailed e) {
+      assertEquals("boom", e.getCause().getMessage());
+    }
+    assertFalse(site.isMegamorphic());
+  }
+
+  @Test
+  public void testCheckedException() {
+    try {
+      new MethodCallSite("failChecked", true).invokeStatic(getClass(), new Object[] { "boom" });
+      fail("OperationFailed expected");
+    } catch (OperationFailed e) {
+      assertEquals(IOException.class, e.getCause().getClass());
+      assertEquals("boom", e.getCause().getMessage());
+    }
+  }
+
+  @Test
+  public void testSameExceptionOnAllPaths() {
+    // direct call through a method handle
+    assertEquals(OperationFailed.class, exceptionOf(new MethodCallSite("failWithValue", false), "x"));
+    // call with argument conversion by the BeanUtil
+    assertEquals(OperationFailed.class, exceptionOf(new MethodCallSite("failWithCode", false), 7L));
+    // megamorphic call by the BeanUtil
+    MethodCallSite site = new MethodCallSite("failWithValue", false);
+    Object[] values = { 1, 2L, 3., "4", 'c', true };
+    for (Object value : values) {
+      assertEquals(OperationFailed.class, exceptionOf(site, value));
+    }
+    assertTrue(site.isMegamorphic());
+  }
+
+  // helpers ---------------------------------------------------------------------------------------------------------
+
+  public static Date identity(Date date) {
+    return date;
+  }
+
+  public static void failWith(String message) {
+    throw new IllegalStateException(message);
+  }
+
+  public static void failWithValue(Object value) {
+    throw new IllegalStateException(String.valueOf(value));
+  }
+
+  public static void failWithCode(int code) {
+    throw new IllegalStateException(String.valueOf(code));
+  }
+
+  private Class<?> exceptionOf(MethodCallSite site, Object arg) {
+    try {
+      site.invokeStatic(getClass(), new Object[] { arg });
+      fail("Exception expected");
+      return null;
+    } catch (RuntimeException e) {
+      return e.getClass();
+    }
+  }
+
+  public static void failChecked(String message) throws IOException {
+    throw new IOException(message);
+  }
+
+}
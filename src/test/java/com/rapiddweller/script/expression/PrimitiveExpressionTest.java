@@ -0,0 +1,153 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.expression;
+
+import com.rapiddweller.common.Context;
+import com.rapiddweller.common.Expression;
+import com.rapiddweller.common.context.DefaultContext;
+import com.rapiddweller.common.converter.AnyConverter;
+import com.rapiddweller.script.DatabeneScriptParser;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the unboxed evaluation of {@link PrimitiveExpression}s by comparing it with {@link Expression#evaluate(Context)}
+ * for operands of different types.<br/><br/>
+ * Created: 17.10.2026 11:12:40
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public class PrimitiveExpressionTest {
+
+  private static final Object[] VALUES = {
+      7, -3, 0, Integer.MAX_VALUE, 10L, Long.MIN_VALUE, 2.5, -0.0, Double.NaN, (short) 4, "12", null
+  };
+
+  private static final String[] NUMERIC_EXPRESSIONS = {
+      "a + b", "a - b", "a * b", "a / b", "a % b", "-a", "a * 3 + b", "(a > b ? a : b)", "2 * 3 - 4 / 2", "1.5 * a"
+  };
+
+  private static final String[] BOOLEAN_EXPRESSIONS = {
+      "a == b", "a != b", "a < b", "a <= b", "a > b", "a >= b",
+      "a * 3 + b > 100", "a > 0 && b > 0", "a > 0 || b > 0", "!(a == b)", "(a < b ? a == 0 : b == 0)"
+  };
+
+  @Test
+  public void testNumericPaths() {
+    for (String text : NUMERIC_EXPRESSIONS) {
+      PrimitiveExpression<?> expression = parse(text);
+      for (Object a : VALUES) {
+        for (Object b : VALUES) {
+          Context context = context(a, b);
+          String message = text + " with a=" + a + ", b=" + b;
+          Object expected = evaluateOrException(expression, context);
+          assertPrimitiveResult(message, expected, expression, context);
+          if (expected instanceof Number) {
+            assertEquals(message, ((Number) expected).longValue(), expression.evaluateLong(context));
+            assertEquals(message, ((Number) expected).doubleValue(), expression.evaluateDouble(context), 0.);
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testBooleanPaths() {
+    for (String text : BOOLEAN_EXPRESSIONS) {
+      PrimitiveExpression<?> expression = parse(text);
+      for (Object a : VALUES) {
+        for (Object b : VALUES) {
+          Context context = context(a, b);
+          String message = text + " with a=" + a + ", b=" + b;
+          Object expected = evaluateOrException(expression, context);
+          assertPrimitiveResult(message, expected, expression, context);
+          if (expected instanceof Boolean) {
+            assertEquals(message, expected, expression.evaluateBoolean(context));
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testConversion() {
+    PrimitiveExpression<?> expression = parse("(true ? a : b)");
+    Context context = context("true", null);
+    assertEquals(AnyConverter.convert("true", Boolean.class), expression.evaluateBoolean(context));
+  }
+
+  @Test
+  public void testHolderReuse() {
+    PrimitiveExpression<?> expression = parse("a * 3 + b > 100");
+    PrimitiveValue result = new PrimitiveValue();
+    Context context = context(30, 11);
+    expression.evaluatePrimitive(context, result);
+    assertEquals(PrimitiveValue.BOOLEAN, result.getKind());
+    assertTrue(result.booleanValue());
+    context.set("b", 10);
+    expression.evaluatePrimitive(context, result);
+    assertEquals(false, result.booleanValue());
+  }
+
+  @Test
+  public void testThreadConfinedHolder() {
+    PrimitiveValue scratch = PrimitiveValue.borrow();
+    PrimitiveValue nested = PrimitiveValue.borrow();
+    assertNotSame(scratch, nested);
+    nested.release();
+    scratch.release();
+    PrimitiveValue next = PrimitiveValue.borrow();
+    assertSame(scratch, next);
+    next.release();
+    assertEquals(7L, new ConstantExpression<>(7).evaluateLong(null));
+    assertEquals(2.5, new ConstantExpression<>(2.5).evaluateDouble(null), 0.);
+    assertTrue(new ConstantExpression<>("true").evaluateBoolean(null));
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private static PrimitiveExpression<?> parse(String text) {
+    Expression<?> expression = DatabeneScriptParser.parseExpression(text);
+    assertTrue(text + " is not a PrimitiveExpression", expression instanceof PrimitiveExpression);
+    return (PrimitiveExpression<?>) expression;
+  }
+
+  private static Context context(Object a, Object b) {
+    Context context = new DefaultContext();
+    context.set("a", a);
+    context.set("b", b);
+    return context;
+  }
+
+  private static Object evaluateOrException(Expression<?> expression, Context context) {
+    try {
+      return expression.evaluate(context);
+    } catch (RuntimeException e) {
+      return e;
+    }
+  }
+
+  private static void assertPrimitiveResult(String message, Object expected,
+                                            PrimitiveExpression<?> expression, Context context) {
+    PrimitiveValue result = new PrimitiveValue();
+    try {
+      expression.evaluatePrimitive(context, result);
+    } catch (RuntimeException e) {
+      if (!(expected instanceof RuntimeException)) {
+        throw e;
+      }
+      assertEquals(message, expected.getClass(), e.getClass());
+      return;
+    }
+    if (expected instanceof RuntimeException) {
+      fail(message + ": expected " + expected + ", but was " + result);
+    }
+    assertEquals(message, expected, result.toObject());
+  }
+
+}
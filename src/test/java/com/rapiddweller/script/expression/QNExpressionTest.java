@@ -15,14 +15,20 @@
 
 package com.rapiddweller.script.expression;
 
+import com.rapiddweller.common.ObjectNotFoundException;
+import com.rapiddweller.script.BeanSpec;
 import com.rapiddweller.script.DefaultScriptContext;
+import com.rapiddweller.script.LayeredScriptContext;
 import com.rapiddweller.script.QNExpression;
 import com.rapiddweller.script.ScriptContext;
 import com.rapiddweller.script.ScriptTestUtil;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Collections;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
@@ -72,6 +78,77 @@ public void testVariablePath() {
     assertSame(a.getB().getC(), new QNExpression(new String[] { "a", "b", "c" }).evaluate(context));
   }
 
+  @Test
+  public void testPlanReplay() {
+    QNExpression expression = new QNExpression(new String[] { "a", "b", "c" });
+    A a1 = new A();
+    context.set("a", a1);
+    assertSame(a1.getB().getC(), expression.evaluate(context));
+    A a2 = new A();
+    context.set("a", a2);
+    assertSame(a2.getB().getC(), expression.evaluate(context));
+  }
+
+  @Test
+  public void testPlanInvalidation() {
+    QNExpression expression = new QNExpression(new String[] { "a", "b", "c" });
+    A a = new A();
+    context.set("a", a);
+    assertSame(a.getB().getC(), expression.evaluate(context));
+    // a longer prefix which becomes a variable takes precedence
+    B b = new B();
+    context.set("a.b", b);
+    assertSame(b.getC(), expression.evaluate(context));
+    context.set("a.b.c", "direct");
+    assertEquals("direct", expression.evaluate(context));
+    // the plan is not applied to other contexts
+    ScriptContext context2 = new DefaultScriptContext();
+    context2.set("a", a);
+    assertSame(a.getB().getC(), expression.evaluate(context2));
+  }
+
+  @Test
+  public void testLayeredContexts() {
+    // layers over the same parent share the plan, but their local variables still take precedence
+    QNExpression expression = new QNExpression(new String[] { "a", "b", "c" });
+    A a = new A();
+    context.set("a", a);
+    LayeredScriptContext layer1 = new LayeredScriptContext(context);
+    LayeredScriptContext layer2 = new LayeredScriptContext(context);
+    assertSame(a.getB().getC(), expression.evaluate(layer1));
+    assertSame(a.getB().getC(), expression.evaluate(layer2));
+    layer2.set("a.b.c", "local");
+    assertEquals("local", expression.evaluate(layer2));
+    assertSame(a.getB().getC(), expression.evaluate(layer1));
+    assertEquals("local", expression.evaluate(layer2));
+  }
+
+  @Test
+  public void testClassShadowedByVariable() {
+    QNExpression expression = new QNExpression(new String[] { "ScriptTestUtil", "pubvar" });
+    context.importClass("com.rapiddweller.script.*");
+    assertEquals("pubVarContent", expression.evaluate(context));
+    context.set("ScriptTestUtil", Collections.singletonMap("pubvar", "mapContent"));
+    assertEquals("mapContent", expression.evaluate(context));
+  }
+
+  @Test
+  public void testResolve() {
+    QNExpression expression = new QNExpression(new String[] { "com", "rapiddweller", "script", "ScriptTestUtil" });
+    assertEquals(ScriptTestUtil.class, expression.resolve(context).getBean());
+    assertFalse(expression.resolve(context).isReference());
+    A a = new A();
+    context.set("a", a);
+    BeanSpec spec = new QNExpression(new String[] { "a", "b" }).resolve(context);
+    assertTrue(spec.isReference());
+    assertSame(a.getB(), spec.getBean());
+  }
+
+  @Test(expected = ObjectNotFoundException.class)
+  public void testUndefined() {
+    new QNExpression(new String[] { "x", "y" }).evaluate(context);
+  }
+
   // helpers ---------------------------------------------------------------------------------------------------------
 
   private void check(Object expected, String... parts) {
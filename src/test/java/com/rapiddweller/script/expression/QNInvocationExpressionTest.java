@@ -60,11 +60,47 @@ public void testImportedClass() {
     check("Hello Alice", "ScriptTestUtil.sayHello", "Alice");
   }
 
+  @Test
+  public void testContextVariable() {
+    context.set("name", "Alice");
+    check("ALICE", new QNInvocationExpression(new String[] {"name", "toUpperCase"}, new Expression<?>[0]));
+  }
+
+  @Test
+  public void testFieldChain() {
+    check("PUBVARCONTENT", new QNInvocationExpression(
+        new String[] {"com", "rapiddweller", "script", "ScriptTestUtil", "pubvar", "toUpperCase"}, new Expression<?>[0]));
+  }
+
+  @Test
+  public void testOwnerReplay() {
+    QNInvocationExpression ex = new QNInvocationExpression(new String[] {"x", "length"}, new Expression<?>[0]);
+    context.set("x", "abc");
+    check(3, ex);
+    context.set("x", "abcd");
+    check(4, ex);
+    // a variable which later shadows a class name is detected
+    QNInvocationExpression staticCall = new QNInvocationExpression(
+        new String[] {"Math", "abs"}, new Expression<?>[] {ExpressionUtil.constant(-2)});
+    check(2, staticCall);
+    context.set("Math", new Helper());
+    check("helper", staticCall);
+  }
+
   private void check(Object expected, String qn, String arg) {
     QNInvocationExpression ex = new QNInvocationExpression(
         qn.split("\\."), new Expression<?>[] {ExpressionUtil.constant(arg)});
-    Object actual = ex.evaluate(context);
-    assertEquals(expected, actual);
+    check(expected, ex);
+  }
+
+  private void check(Object expected, QNInvocationExpression ex) {
+    assertEquals(expected, ex.evaluate(context));
+  }
+
+  public static class Helper {
+    public String abs(Integer value) {
+      return "helper";
+    }
   }
 
 }
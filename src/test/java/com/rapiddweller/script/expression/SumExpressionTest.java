@@ -0,0 +1,99 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.expression;
+
+import com.rapiddweller.common.Context;
+import com.rapiddweller.common.Expression;
+import com.rapiddweller.common.context.DefaultContext;
+import com.rapiddweller.script.DatabeneScriptParser;
+import com.rapiddweller.script.compiler.ExpressionCompiler;
+import com.rapiddweller.script.compiler.MethodHandleCompiler;
+import com.rapiddweller.script.math.ArithmeticEngine;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the {@link SumExpression} and the {@link ConcatExpression}.<br/><br/>
+ * Created: 18.10.2026 17:48:09
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public class SumExpressionTest {
+
+  private final Context context = new DefaultContext();
+
+  @Test
+  public void testAllTermsAreAdded() {
+    assertEquals(10, sum(1, 2, 3, 4).evaluate(context));
+    assertEquals(10L, sum(1L, 2L, 3L, 4L).evaluate(context));
+    assertEquals(1.5, sum(0.5, 0.25, 0.75).evaluate(context));
+    assertEquals(1, sum(1).evaluate(context));
+  }
+
+  @Test
+  public void testLikeArithmeticEngine() {
+    Object[][] cases = {
+        { Integer.MAX_VALUE, 1, 1L },
+        { 1, 2L, 3.5, new BigDecimal("1.25") },
+        { null, 1, null, 2 },
+        { 1, 2, "x", 3, null, 4.5, 'c', true },
+        { "a", null, "b" },
+        { new Date(0), 1000L, "x" },
+        { 1L, 2, Integer.MAX_VALUE },
+    };
+    for (Object[] summands : cases) {
+      Object expected = summands[0];
+      for (int i = 1; i < summands.length; i++) {
+        expected = ArithmeticEngine.defaultInstance().add(expected, summands[i]);
+      }
+      assertEquals(expected, sum(summands).evaluate(context));
+    }
+  }
+
+  @Test
+  public void testChain() {
+    context.set("prefix", "id_");
+    context.set("id", 42);
+    context.set("seq", 7L);
+    context.set("suffix", null);
+    String text = "prefix + id + '-' + seq + suffix";
+    Expression<?> chain = DatabeneScriptParser.parseExpression(text);
+    assertEquals("id_42-7", chain.evaluate(context));
+    assertEquals("id_42-7", ExpressionCompiler.compile(chain).evaluate(context));
+    assertEquals("id_42-7", MethodHandleCompiler.compile(chain).evaluate(context));
+    // numbers are added until the first String
+    assertEquals("3a12", DatabeneScriptParser.parseExpression("1 + 2 + 'a' + 1 + 2").evaluate(context));
+  }
+
+  @Test
+  public void testCompiledNary() {
+    SumExpression sum = sum(1, 2, "x", 3);
+    assertEquals("3x3", ExpressionCompiler.compile(sum).evaluate(context));
+    assertEquals("3x3", MethodHandleCompiler.compile(sum).evaluate(context));
+    PrimitiveValue value = new PrimitiveValue();
+    sum(1, 2L, 3).evaluatePrimitive(context, value);
+    assertEquals(6L, value.toObject());
+  }
+
+  @Test
+  public void testConcat() {
+    ConcatExpression concat = new ConcatExpression("", ExpressionUtil.constant("a"),
+        ExpressionUtil.constant(null), ExpressionUtil.constant(1));
+    assertEquals("anull1", concat.evaluate(context));
+  }
+
+  // helpers ---------------------------------------------------------------------------------------------------------
+
+  private static SumExpression sum(Object... summands) {
+    Expression<?>[] terms = new Expression<?>[summands.length];
+    for (int i = 0; i < summands.length; i++) {
+      terms[i] = ExpressionUtil.constant(summands[i]);
+    }
+    return new SumExpression(terms);
+  }
+
+}
@@ -0,0 +1,93 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.math;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link OperationCache} and the specialized operations of the {@link ArithmeticEngine}.<br/><br/>
+ * Created: 17.10.2026 14:02:48
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public class OperationCacheTest {
+
+  private static final ArithmeticEngine ENGINE = ArithmeticEngine.defaultInstance();
+
+  private static final Object[] VALUES = {
+      3, -7, Integer.MAX_VALUE, 5L, Long.MAX_VALUE, 2.5, -0.0, 0.0, Double.NaN, "4", "abc", (short) 2, new BigDecimal("1.5")
+  };
+
+  @Test
+  public void testStates() {
+    OperationCache cache = new OperationCache(ENGINE::addOperation, ENGINE::add);
+    assertEquals(3, cache.apply(1, 2));
+    assertEquals(3, cache.apply(1, 2));
+    assertEquals(1, cache.size());
+    assertEquals(3L, cache.apply(1, 2L));
+    assertEquals(3.5, cache.apply(1, 2.5));
+    assertEquals("ab", cache.apply("a", "b"));
+    assertEquals(4, cache.size());
+    assertFalse(cache.isMegamorphic());
+    assertEquals(3L, cache.apply(1L, 2));
+    assertTrue(cache.isMegamorphic());
+    assertEquals(0, cache.size());
+    assertEquals(3, cache.apply(1, 2));
+  }
+
+  @Test
+  public void testNull() {
+    OperationCache cache = new OperationCache(ENGINE::addOperation, ENGINE::add);
+    assertEquals(1, cache.apply(null, 1));
+    assertEquals(1, cache.apply(1, null));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testTypeArithmetic() {
+    OperationCache cache = new OperationCache(ENGINE::addOperation, ENGINE::add);
+    Date date = new Date(1000000L);
+    assertEquals(ENGINE.add(date, 1000), cache.apply(date, 1000));
+  }
+
+  @Test
+  public void testSpecializedOperations() {
+    check(ENGINE::addOperation, ENGINE::add);
+    check(ENGINE::subtractOperation, ENGINE::subtract);
+    check(ENGINE::multiplyOperation, ENGINE::multiply);
+    check(ENGINE::divideOperation, ENGINE::divide);
+    check(ENGINE::equalsOperation, ENGINE::equals);
+    check(ENGINE::lessOperation, ENGINE::less);
+    check(ENGINE::lessOrEqualsOperation, ENGINE::lessOrEquals);
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private static void check(BiFunction<Class<?>, Class<?>, BinaryOperator<Object>> specializer,
+                            BinaryOperator<Object> generic) {
+    for (Object a : VALUES) {
+      for (Object b : VALUES) {
+        BinaryOperator<Object> specialized = specializer.apply(a.getClass(), b.getClass());
+        assertEquals(a + ", " + b, resultOrException(generic, a, b), resultOrException(specialized, a, b));
+      }
+    }
+  }
+
+  private static Object resultOrException(BinaryOperator<Object> operation, Object a, Object b) {
+    try {
+      return operation.apply(a, b);
+    } catch (RuntimeException e) {
+      return e.getClass();
+    }
+  }
+
+}
@@ -0,0 +1,102 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.math;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the {@link OperationTable}s of the {@link ArithmeticEngine}.<br/><br/>
+ * Created: 17.10.2026 15:48:21
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public class OperationTableTest {
+
+  private static final ArithmeticEngine ENGINE = ArithmeticEngine.defaultInstance();
+
+  @Test
+  public void testNumericWidening() {
+    assertEquals(5, ENGINE.add((byte) 2, (byte) 3));
+    assertEquals(5, ENGINE.add((short) 2, (byte) 3));
+    assertEquals(5L, ENGINE.add(2, 3L));
+    assertEquals(5.5f, ENGINE.add(3L, 2.5f));
+    assertEquals(0.1f + 0.1, ENGINE.add(0.1f, 0.1));
+    assertEquals(-1, ENGINE.subtract((short) 2, 3));
+    assertEquals(6.0, ENGINE.multiply(2, 3.));
+    assertEquals(2L, ENGINE.divide(7L, 3));
+    assertTrue(ENGINE.less((byte) 1, 2L));
+    assertTrue(ENGINE.lessOrEquals(2, 2.0f));
+    assertTrue(ENGINE.equals((short) 2, 2L));
+    assertFalse(ENGINE.equals(-0., 0));
+  }
+
+  @Test
+  public void testConversion() {
+    assertEquals("1a", ENGINE.add(1, "a"));
+    assertEquals("13", ENGINE.add(1, "3"));
+    assertEquals(new BigInteger("5"), ENGINE.add(2, BigInteger.valueOf(3)));
+    assertEquals(new BigDecimal("3.5"), ENGINE.add(2, new BigDecimal("1.5")));
+    assertTrue(ENGINE.equals(3, "3"));
+  }
+
+  @Test
+  public void testTypeArithmetic() {
+    Date date = new Date(1000000L);
+    assertEquals(new Date(1001000L), ENGINE.add(date, 1000));
+    try {
+      ENGINE.divide(date, 2);
+      fail("Exception expected");
+    } catch (UnsupportedOperationException e) {
+      assertEquals("Cannot divide dates", e.getMessage());
+    }
+  }
+
+  @Test
+  public void testSubclasses() {
+    java.sql.Date date = new java.sql.Date(1000000L);
+    assertEquals(new Date(1001000L), ENGINE.add(date, 1000));
+    assertTrue(ENGINE.less(date, new Date(1000001L)));
+  }
+
+  @Test
+  public void testUnknownTypes() {
+    LocalDate date1 = LocalDate.of(2026, 10, 17);
+    LocalDate date2 = LocalDate.of(2026, 10, 18);
+    assertTrue(ENGINE.less(date1, date2));
+    assertTrue(ENGINE.equals(date1, LocalDate.of(2026, 10, 17)));
+    assertException(() -> ENGINE.add(new ArrayList<>(), new ArrayList<>()));
+    assertException(() -> ENGINE.add(1, new ArrayList<>()));
+    assertException(() -> ENGINE.less(new Object(), new Object()));
+  }
+
+  @Test
+  public void testOperations() {
+    assertSame(ENGINE.addOperation(Integer.class, Long.class), ENGINE.addOperation(Integer.class, Long.class));
+    assertEquals(7L, ENGINE.addOperation(Integer.class, Long.class).apply(3, 4L));
+    assertEquals(Boolean.TRUE, ENGINE.lessOperation(String.class, String.class).apply("a", "b"));
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private static void assertException(Runnable operation) {
+    try {
+      operation.run();
+      fail("Exception expected");
+    } catch (RuntimeException e) {
+      // expected
+    }
+  }
+
+}
@@ -15,8 +15,13 @@
 
 package com.rapiddweller.script.math;
 
+import com.rapiddweller.common.exception.IllegalArgumentError;
 import org.junit.Test;
 
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+
 import static org.junit.Assert.assertEquals;
 
 /**
@@ -47,6 +52,30 @@ public void testDifferent() {
     check(Long.class, Long.class, Integer.class);        // 2nd < 1st
   }
 
+  @Test
+  public void testSubclasses() {
+    check(java.sql.Date.class, java.sql.Date.class, Integer.class);
+    check(Timestamp.class, java.sql.Date.class, Timestamp.class);
+    check(String.class, java.sql.Date.class, String.class);
+    check(Date.class, java.sql.Date.class, Date.class);
+  }
+
+  @Test
+  public void testPrimitives() {
+    check(Integer.class, int.class, Integer.class);
+    check(double.class, long.class, double.class);
+  }
+
+  @Test
+  public void testUnsupportedSame() {
+    check(ArrayList.class, ArrayList.class, ArrayList.class);
+  }
+
+  @Test(expected = IllegalArgumentError.class)
+  public void testUnsupported() {
+    TypeManager.combinedType(ArrayList.class, Integer.class);
+  }
+
   private static void check(Class<?> expectedResult, Class<?> type1, Class<?> type2) {
     assertEquals(expectedResult, TypeManager.combinedType(type1, type2));
   }
@@ -0,0 +1,153 @@
+/* (c) Copyright 2026 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.script.parser;
+
+import com.rapiddweller.common.Expression;
+import com.rapiddweller.common.context.DefaultContext;
+import com.rapiddweller.common.exception.SyntaxError;
+import com.rapiddweller.script.Assignment;
+import com.rapiddweller.script.DatabeneScriptParser;
+import com.rapiddweller.script.DatabeneScriptParserTest;
+import com.rapiddweller.script.ParserBackend;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * Runs all tests of the {@link DatabeneScriptParserTest} with the {@link PrattScriptParser}
+ * and verifies that it creates the same expression trees as the ANTLR based parser.<br/><br/>
+ * Created: 13.10.2026 14:05:19
+ * @author Volker Bergmann
+ * @since 1.1.6
+ */
+public class PrattScriptParserTest extends DatabeneScriptParserTest {
+
+  /** Simple names of the classes of the inline caches of the expression nodes, some of which are private. */
+  private static final Set<String> CACHE_TYPES = Set.of("OperationCache", "MethodCallSite", "ConstructorCallSite",
+      "SlotBinding", "AdaptiveTermOrder", "ClassResolution", "BeanFactory", "ResolutionPlan", "OwnerResolution");
+
+  private static final String[] EQUIVALENCE_CORPUS = {
+      "1", "0", "017", "2147483648", "1.5", "1E+2", "'A\\'B\\n'", "null", "true",
+      "x", "a.b.c", "a.b(1, 'x')", "a.b().c", "a.b().c(2)", "x[1][2].y", "(x).y", "'abc'.length()",
+      "1 + 2 * 3 - 4 / 5 % 6", "1 - 2 - 3", "(1 + 2) * 3", "-x + ~y", "!a && b || c && !d",
+      "a | b ^ c & d", "a == b != c", "a < b == c >= d", "1 << 2 >> 3 >>> 4 + 5",
+      "a ? b : c ? d : e", "a ? b = 1 : c", "x = y = 3", "x.y = x.y + 2",
+      "(int) 3.5", "(java.lang.String) x", "(x) - 1", "(date) '2020-01-01'",
+      "new java.lang.String('x')", "new java.lang.String()", "new Foo{a=1, b.c=2}",
+      "  3  ", "1 + \n 2 // comment\n * 3"
+  };
+
+  private ParserBackend previousBackend;
+
+  @Before
+  public void selectPrattBackend() {
+    previousBackend = DatabeneScriptParser.getBackend();
+    DatabeneScriptParser.setBackend(ParserBackend.PRATT);
+  }
+
+  @After
+  public void restoreBackend() {
+    DatabeneScriptParser.setBackend(previousBackend);
+  }
+
+  @Test
+  public void testEquivalence() {
+    for (String text : EQUIVALENCE_CORPUS) {
+      DatabeneScriptParser.setBackend(ParserBackend.ANTLR);
+      Expression<?> expected = DatabeneScriptParser.parseExpression(text);
+      DatabeneScriptParser.setBackend(ParserBackend.PRATT);
+      Expression<?> actual = DatabeneScriptParser.parseExpression(text);
+      assertSameStructure(text, expected, actual);
+    }
+  }
+
+  @Test
+  public void testSyntaxErrors() {
+    String[] texts = {"3 +", "/ 2", "'A' 'B'", "1 = 3", "1 ? 2", "(1", "a.", "new X", "new X{}", "- -1",
+        "1 /* comment */", "1 // comment", "'unterminated", "#"};
+    for (String text : texts) {
+      try {
+        DatabeneScriptParser.parseExpression(text);
+        fail("SyntaxError expected for: " + text);
+      } catch (SyntaxError e) {
+        // expected
+      }
+    }
+  }
+
+  @Test
+  public void testBeanSpecList() {
+    Expression<?>[] specs = DatabeneScriptParser.parseBeanSpecList("java.lang.String, new java.lang.String('x')");
+    assertEquals(2, specs.length);
+    assertEquals("", specs[0].evaluate(new DefaultContext()));
+    assertEquals("x", specs[1].evaluate(new DefaultContext()));
+  }
+
+  @Test
+  public void testLexerOnReader() {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < 5000; i++) {
+      builder.append("'item").append(i).append("'^").append(i % 7).append(", ");
+    }
+    ScriptLexer lexer = new ScriptLexer(new StringReader(builder.toString()));
+    int tokens = 0;
+    ScriptTokenType type;
+    while ((type = lexer.next()) != ScriptTokenType.EOF) {
+      if (tokens % 4 == 0) {
+        assertEquals(ScriptTokenType.STRINGLITERAL, type);
+        assertEquals("'item" + (tokens / 4) + "'", lexer.text());
+      }
+      tokens++;
+    }
+    assertEquals(20000, tokens);
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  /** Compares two object graphs field by field, since most expression classes do not implement equals().
+   *  Fields of the {@link #CACHE_TYPES} hold runtime caches and are ignored. */
+  private static void assertSameStructure(String text, Object expected, Object actual) {
+    if (expected == null || actual == null) {
+      assertSame(text, expected, actual);
+    } else if (expected.getClass().isArray()) {
+      assertEquals(text, Array.getLength(expected), Array.getLength(actual));
+      for (int i = 0; i < Array.getLength(expected); i++) {
+        assertSameStructure(text, Array.get(expected, i), Array.get(actual, i));
+      }
+    } else if (expected instanceof Expression || expected instanceof Assignment) {
+      assertEquals(text, expected.getClass(), actual.getClass());
+      for (Class<?> type = expected.getClass(); type != Object.class; type = type.getSuperclass()) {
+        for (Field field : type.getDeclaredFields()) {
+          if (!Modifier.isStatic(field.getModifiers()) && !isCache(field)) {
+            field.setAccessible(true);
+            try {
+              assertSameStructure(text, field.get(expected), field.get(actual));
+            } catch (IllegalAccessException e) {
+              throw new RuntimeException(e);
+            }
+          }
+        }
+      }
+    } else if (!expected.equals(actual)) {
+      // e.g. converters, which do not implement equals()
+      assertEquals(text, expected.getClass(), actual.getClass());
+      assertEquals(text, expected.toString(), actual.toString());
+    }
+  }
+
+  private static boolean isCache(Field field) {
+    Class<?> type = field.getType();
+    return CACHE_TYPES.contains((type.isArray() ? type.getComponentType() : type).getSimpleName());
+  }
+
+}